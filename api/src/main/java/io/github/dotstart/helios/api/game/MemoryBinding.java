@@ -17,7 +17,9 @@ package io.github.dotstart.helios.api.game;
 
 import javafx.beans.value.ObservableValue;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
 
 public abstract class MemoryBinding<T> implements ObservableValue<T> {
     public static final long PROT_READ = 1;
@@ -32,6 +34,13 @@ public abstract class MemoryBinding<T> implements ObservableValue<T> {
     protected MemoryReader reader;
     protected MemoryWriter writer;
 
+    /**
+     * Holds the most recently read contents of the bound memory region. The buffer is allocated
+     * once per binding and re-used for every subsequent read.
+     */
+    protected final ByteBuffer buffer;
+    private ByteBuffer view;
+
     protected <T extends MemoryReader & MemoryWriter> MemoryBinding(long offset, MemoryBindingType type, long length, long flags,
                             T accessor) {
         this.offset = offset;
@@ -40,6 +49,7 @@ public abstract class MemoryBinding<T> implements ObservableValue<T> {
         this.flags = flags;
         this.reader = accessor;
         this.writer = accessor;
+        this.buffer = ByteBuffer.allocateDirect(Math.toIntExact(length));
     }
 
     public long getOffset() {
@@ -58,26 +68,76 @@ public abstract class MemoryBinding<T> implements ObservableValue<T> {
     protected abstract void execute0();
 
     public boolean execute() {
-        if ((flags & PROT_EXEC) == PROT_EXEC) {
+        if ((flags & PROT_EXEC) != PROT_EXEC) {
             return false;
         }
         execute0();
         return true;
     }
 
+    /**
+     * Reads the bound memory region into the buffer of this binding.
+     *
+     * @return a read-only view of the binding buffer or null if the region is not readable. The
+     * view is shared between calls, is overwritten by the next read and uses the byte order of the
+     * buffer at the time of the call.
+     */
+    @Nullable
+    public ByteBuffer readBuffer() {
+        if ((flags & PROT_READ) != PROT_READ) {
+            return null;
+        }
+        reader.read(offset, buffer, 0, buffer.capacity());
+        return readOnlyView();
+    }
+
+    /**
+     * Provides a read-only view of the binding buffer which is created on first use. Views do not
+     * inherit the byte order of their buffer and are thus updated on every call.
+     *
+     * @return the view, positioned at the start of the buffer
+     */
+    @Nonnull
+    private ByteBuffer readOnlyView() {
+        if (view == null) {
+            view = buffer.asReadOnlyBuffer();
+        }
+        view.clear();
+        return view.order(buffer.order());
+    }
+
     @Nullable
     public byte[] read() {
-        if ((flags & PROT_READ) == PROT_READ) {
+        ByteBuffer contents = readBuffer();
+        if (contents == null) {
             return null;
         }
-        return reader.read(offset, length);
+
+        byte[] value = new byte[contents.remaining()];
+        contents.get(value);
+        return value;
     }
 
     @Nullable
     public byte[] write(byte[] value) {
-        if ((flags & PROT_WRITE) == PROT_WRITE) {
+        if ((flags & PROT_WRITE) != PROT_WRITE) {
             return null;
         }
         return writer.write(offset, value);
     }
+
+    /**
+     * Writes the remaining contents of a buffer to the bound memory region without copying them
+     * into an intermediate array.
+     *
+     * @param value the memory to write
+     * @return false if the region is not writable, true otherwise
+     */
+    public boolean write(@Nonnull ByteBuffer value) {
+        if ((flags & PROT_WRITE) != PROT_WRITE) {
+            return false;
+        }
+        writer.write(offset, value, value.position(), value.remaining());
+        return true;
+    }
 }
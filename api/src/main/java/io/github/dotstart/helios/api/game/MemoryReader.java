@@ -15,8 +15,11 @@
  */
 package io.github.dotstart.helios.api.game;
 
+import io.netty.buffer.ByteBuf;
+
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
 
 /**
  * Represents a method of memory access
@@ -33,4 +36,52 @@ public interface MemoryReader {
      */
     @Nonnull
     byte[] read(@Nonnegative long offset, @Nonnegative long length);
+
+    /**
+     * Synchronously perform a read operation into an existing buffer. The position and limit of
+     * the buffer are left untouched.
+     * <p>
+     * Implementations are expected to copy directly into the buffer (which should be direct)
+     * without allocating intermediate arrays. The default implementation falls back to
+     * {@link #read(long, long)}.
+     *
+     * @param offset the memory offset to read at
+     * @param target the buffer to copy the memory region into
+     * @param position the index within the buffer at which the region is placed
+     * @param length the number of bytes to read
+     *
+     * @return the number of bytes read
+     */
+    default int read(@Nonnegative long offset, @Nonnull ByteBuffer target, @Nonnegative int position,
+                     @Nonnegative int length) {
+        byte[] value = read(offset, length);
+        ByteBuffer view = target.duplicate();
+        view.clear().position(position);
+        view.put(value);
+        return value.length;
+    }
+
+    /**
+     * Synchronously perform a read operation into an existing buffer. The reader and writer index
+     * of the buffer are left untouched.
+     *
+     * @param offset the memory offset to read at
+     * @param target the buffer to copy the memory region into
+     * @param index the index within the buffer at which the region is placed
+     * @param length the number of bytes to read
+     *
+     * @return the number of bytes read
+     * @see #read(long, ByteBuffer, int, int)
+     */
+    default int read(@Nonnegative long offset, @Nonnull ByteBuf target, @Nonnegative int index,
+                     @Nonnegative int length) {
+        if (target.nioBufferCount() == 1) {
+            // shares its contents with the ByteBuf
+            return read(offset, target.nioBuffer(index, length), 0, length);
+        }
+
+        byte[] value = read(offset, length);
+        target.setBytes(index, value);
+        return value.length;
+    }
 }
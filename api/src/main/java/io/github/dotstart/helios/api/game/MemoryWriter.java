@@ -15,8 +15,11 @@
  */
 package io.github.dotstart.helios.api.game;
 
+import io.netty.buffer.ByteBuf;
+
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
 
 /**
  * Represents a method of memory access
@@ -33,4 +36,53 @@ public interface MemoryWriter {
      */
     @Nonnull
     byte[] write(@Nonnegative long offset, byte[] value);
+
+    /**
+     * Synchronously perform a write operation from an existing buffer. The position and limit of
+     * the buffer are left untouched.
+     * <p>
+     * Implementations are expected to copy directly from the buffer (which should be direct)
+     * without allocating intermediate arrays. The default implementation falls back to
+     * {@link #write(long, byte[])}.
+     *
+     * @param offset the memory offset to write at
+     * @param source the buffer which contains the memory to write
+     * @param position the index within the buffer at which the memory starts
+     * @param length the number of bytes to write
+     *
+     * @return the number of bytes written
+     */
+    default int write(@Nonnegative long offset, @Nonnull ByteBuffer source, @Nonnegative int position,
+                      @Nonnegative int length) {
+        byte[] value = new byte[length];
+        ByteBuffer view = source.duplicate();
+        view.clear().position(position);
+        view.get(value);
+        write(offset, value);
+        return length;
+    }
+
+    /**
+     * Synchronously perform a write operation from an existing buffer. The reader and writer index
+     * of the buffer are left untouched.
+     *
+     * @param offset the memory offset to write at
+     * @param source the buffer which contains the memory to write
+     * @param index the index within the buffer at which the memory starts
+     * @param length the number of bytes to write
+     *
+     * @return the number of bytes written
+     * @see #write(long, ByteBuffer, int, int)
+     */
+    default int write(@Nonnegative long offset, @Nonnull ByteBuf source, @Nonnegative int index,
+                      @Nonnegative int length) {
+        if (source.nioBufferCount() == 1) {
+            return write(offset, source.nioBuffer(index, length), 0, length);
+        }
+
+        byte[] value = new byte[length];
+        source.getBytes(index, value);
+        write(offset, value);
+        return length;
+    }
 }
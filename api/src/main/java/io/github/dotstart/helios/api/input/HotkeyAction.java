@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.input;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimeManager;
+
+/**
+ * Enumerates the actions which may be bound to hotkeys.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum HotkeyAction {
+
+  /**
+   * Starts the run, records a split or finishes the run depending on its current state.
+   *
+   * @see TimeManager#split(long)
+   */
+  SPLIT {
+    @Override
+    public void apply(@NonNull TimeManager manager, long timestamp) {
+      manager.split(timestamp);
+    }
+  },
+
+  /**
+   * Reverts the most recent split.
+   *
+   * @see TimeManager#undoSplit(long)
+   */
+  UNDO_SPLIT {
+    @Override
+    public void apply(@NonNull TimeManager manager, long timestamp) {
+      manager.undoSplit(timestamp);
+    }
+  },
+
+  /**
+   * Skips the current segment without recording any times.
+   *
+   * @see TimeManager#skipSplit(long)
+   */
+  SKIP_SPLIT {
+    @Override
+    public void apply(@NonNull TimeManager manager, long timestamp) {
+      manager.skipSplit(timestamp);
+    }
+  },
+
+  /**
+   * Pauses or un-pauses the run.
+   *
+   * @see TimeManager#togglePause(long)
+   */
+  TOGGLE_PAUSE {
+    @Override
+    public void apply(@NonNull TimeManager manager, long timestamp) {
+      manager.togglePause(timestamp);
+    }
+  },
+
+  /**
+   * Resets the run back to its initial state.
+   *
+   * @see TimeManager#reset(long)
+   */
+  RESET {
+    @Override
+    public void apply(@NonNull TimeManager manager, long timestamp) {
+      manager.reset(timestamp);
+    }
+  };
+
+  /**
+   * Applies this action to the specified manager.
+   *
+   * @param manager a time manager.
+   * @param timestamp the time at which the hotkey has been pressed.
+   * @throws IllegalStateException when the action cannot be applied in the current state.
+   */
+  public abstract void apply(@NonNull TimeManager manager, long timestamp);
+}
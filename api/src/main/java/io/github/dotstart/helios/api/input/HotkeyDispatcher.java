@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.input;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.utility.PlatformUtility;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Passes hotkey presses from arbitrary input sources to the time manager.</p>
+ *
+ * <p>Input sources (such as global keyboard hooks provided by modules or key listeners within the
+ * application window) are expected to invoke {@link #dispatch(HotkeyAction)} directly from the
+ * thread on which they receive their input events. The timestamp of the hotkey press is captured
+ * immediately within this call while the action itself is subsequently applied on the JavaFX
+ * application thread. As a result, the recorded times do not depend on the load of the
+ * application thread (e.g. a split which is queued behind a long layout pass is still recorded
+ * with the time at which the key has actually been pressed).</p>
+ *
+ * <p>Since actions are queued in the order in which they are dispatched, sources should dispatch
+ * all of their events from a single thread.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class HotkeyDispatcher {
+
+  private static final Logger logger = LogManager.getFormatterLogger(HotkeyDispatcher.class);
+
+  private final TimeManager timeManager;
+
+  @Inject
+  public HotkeyDispatcher(@NonNull TimeManager timeManager) {
+    this.timeManager = timeManager;
+  }
+
+  /**
+   * Dispatches an action which has been triggered at this exact moment.
+   *
+   * @param action an action.
+   */
+  public void dispatch(@NonNull HotkeyAction action) {
+    this.dispatch(action, this.timeManager.getClock().nanoTime());
+  }
+
+  /**
+   * <p>Dispatches an action which has been triggered at the specified point in time.</p>
+   *
+   * <p>This method is provided for input sources which receive their own timestamps along with
+   * their events. The passed timestamp must originate from the {@link TimeManager#getClock()
+   * manager clock}.</p>
+   *
+   * @param action an action.
+   * @param timestamp the time at which the action has been triggered.
+   */
+  public void dispatch(@NonNull HotkeyAction action, long timestamp) {
+    PlatformUtility.runOnApplicationThread(() -> {
+      try {
+        action.apply(this.timeManager, timestamp);
+      } catch (IllegalStateException ex) {
+        // hotkeys are frequently pressed regardless of the current state (for instance, when a
+        // runner mashes the split key after finishing) - simply ignore them
+        logger.debug("Ignoring %s hotkey: %s", action, ex.getMessage());
+      }
+    });
+  }
+}
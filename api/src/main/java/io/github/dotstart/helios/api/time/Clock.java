@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * <p>Represents a monotonic source of nanosecond timestamps from which timers derive their
+ * elapsed times.</p>
+ *
+ * <p>Values returned by a clock carry no meaning on their own (e.g. they are not relative to any
+ * wall clock epoch) and are only to be compared against other values of the same clock. This is
+ * the same contract as {@link System#nanoTime()}.</p>
+ *
+ * <p>By default the application relies on {@link SystemClock}. Tests and replays may substitute
+ * a {@link ManualClock} while the user interface typically reads through a {@link TickClock} in
+ * order to sample the system timer only once per frame.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+@ImplementedBy(SystemClock.class)
+public interface Clock {
+
+  /**
+   * Retrieves the current value of this clock (in nanoseconds).
+   *
+   * @return a timestamp.
+   */
+  long nanoTime();
+}
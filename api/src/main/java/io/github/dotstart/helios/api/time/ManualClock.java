@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Provides a virtual clock which only advances when explicitly instructed to do so.</p>
+ *
+ * <p>This implementation is primarily intended for deterministic tests and the replay of
+ * previously recorded runs where timestamps are dictated by the caller rather than the system
+ * timer.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ManualClock implements Clock {
+
+  private volatile long time;
+
+  public ManualClock() {
+  }
+
+  public ManualClock(long time) {
+    this.time = time;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long nanoTime() {
+    return this.time;
+  }
+
+  /**
+   * Replaces the current clock value.
+   *
+   * @param time a timestamp (in nanoseconds).
+   */
+  public void set(long time) {
+    this.time = time;
+  }
+
+  /**
+   * Advances the clock by the specified amount of nanoseconds.
+   *
+   * @param nanos an amount of nanoseconds.
+   * @return the new clock value.
+   * @throws IllegalArgumentException when a negative amount is passed.
+   */
+  public long advance(long nanos) {
+    if (nanos < 0) {
+      throw new IllegalArgumentException("Cannot advance clock: Time is monotonic");
+    }
+
+    return this.time += nanos;
+  }
+
+  /**
+   * Advances the clock by the specified amount of time.
+   *
+   * @param amount an amount.
+   * @param unit the unit in which the amount is expressed.
+   * @return the new clock value.
+   * @throws IllegalArgumentException when a negative amount is passed.
+   */
+  public long advance(long amount, @NonNull TimeUnit unit) {
+    return this.advance(unit.toNanos(amount));
+  }
+}
@@ -18,9 +18,10 @@ package io.github.dotstart.helios.api.time;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import javafx.beans.property.ObjectProperty;
+import io.github.dotstart.helios.api.utility.PlatformUtility;
+import java.util.concurrent.atomic.AtomicReference;
 import javafx.beans.property.ReadOnlyObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
@@ -28,22 +29,37 @@ import javafx.beans.property.StringProperty;
  * <p>Represents a single timer which may be started at an arbitrary time and (optionally) paused
  * at any time.</p>
  *
+ * <p>The canonical timer state is kept within a single immutable snapshot which is atomically
+ * replaced on every transition. As a result, timers may be safely controlled from any thread (for
+ * instance, hotkey listeners or game integrations) without locking while the application thread
+ * continues to read the elapsed time. The {@link #stateProperty()} is merely a mirror of this state
+ * which is updated on the JavaFX application thread.</p>
+ *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class NanoTimer implements Timer {
 
+  private final Clock clock;
   private final StringProperty displayName = new SimpleStringProperty();
-  private final ObjectProperty<State> state = new SimpleObjectProperty<>(State.WAITING);
-  private long start;
-  private long end;
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.INITIAL);
 
-  private long pauseStart;
-  private long elapsedPauseTime;
+  private final ReadOnlyObjectWrapper<State> state = new ReadOnlyObjectWrapper<>(State.WAITING);
+  private final Runnable stateUpdater = this::updateStateProperty;
 
   public NanoTimer() {
+    this(SystemClock.INSTANCE);
   }
 
   public NanoTimer(@NonNull String displayName) {
+    this(SystemClock.INSTANCE, displayName);
+  }
+
+  public NanoTimer(@NonNull Clock clock) {
+    this.clock = clock;
+  }
+
+  public NanoTimer(@NonNull Clock clock, @NonNull String displayName) {
+    this.clock = clock;
     this.displayName.setValue(displayName);
   }
 
@@ -51,121 +67,168 @@ public class NanoTimer implements Timer {
    * {@inheritDoc}
    */
   @Override
-  public void start() {
-    this.start(System.nanoTime());
-  }
+  public void start(long nanos) {
+    Snapshot current;
+    do {
+      current = this.snapshot.get();
 
-  void start(long nanos) {
-    if (this.state.get() != State.WAITING) {
-      throw new IllegalStateException("Cannot start timer: Already running");
-    }
+      if (current.state != State.WAITING) {
+        throw new IllegalStateException("Cannot start timer: Already running");
+      }
+    } while (!this.snapshot.compareAndSet(current, current.start(nanos, current.groupSequence)));
 
-    this.start = nanos;
-    this.state.set(State.RUNNING);
+    this.publishState();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void pause() {
-    this.pause(System.nanoTime());
-  }
+  public void pause(long nanos) {
+    Snapshot current;
+    do {
+      current = this.snapshot.get();
 
-  void pause(long nanos) {
-    if (this.state.get() != State.RUNNING) {
-      throw new IllegalStateException("Cannot pause timer: Not running");
-    }
+      if (current.state != State.RUNNING) {
+        throw new IllegalStateException("Cannot pause timer: Not running");
+      }
+    } while (!this.snapshot
+        .compareAndSet(current, current.pause(nanos, false, current.groupSequence)));
 
-    this.pauseStart = nanos;
-    this.state.set(State.PAUSED);
+    this.publishState();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void unpause() {
-    this.unpause(System.nanoTime());
-  }
+  public void unpause(long nanos) {
+    Snapshot current;
+    do {
+      current = this.snapshot.get();
 
-  void unpause(long nanos) {
-    if (this.state.get() != State.PAUSED) {
-      throw new IllegalStateException("Cannot un-pause timer: Not paused");
-    }
+      if (current.state != State.PAUSED) {
+        throw new IllegalStateException("Cannot un-pause timer: Not paused");
+      }
+    } while (!this.snapshot.compareAndSet(current, current.unpause(nanos, current.groupSequence)));
 
-    var delta = nanos - this.pauseStart;
-    this.elapsedPauseTime += delta;
-    this.state.set(State.RUNNING);
+    this.publishState();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void togglePause() {
-    if (this.isPaused()) {
-      this.unpause();
-    } else {
-      this.pause();
-    }
+  public void stop(long nanos) {
+    Snapshot current;
+    do {
+      current = this.snapshot.get();
+
+      if (current.state != State.RUNNING && current.state != State.PAUSED) {
+        throw new IllegalStateException("Cannot stop timer: Not running");
+      }
+    } while (!this.snapshot.compareAndSet(current, current.stop(nanos, current.groupSequence)));
+
+    this.publishState();
   }
 
   /**
-   * {@inheritDoc}
+   * <p>Applies a transition on behalf of a timer group.</p>
+   *
+   * <p>Every group transition is identified by a strictly increasing sequence number. Transitions
+   * are applied at most once per timer (e.g. multiple threads may attempt to complete the same
+   * group transition concurrently). Timers which are not in a compatible state are left
+   * untouched:</p>
+   *
+   * <ul>
+   * <li>{@link State#RUNNING} starts waiting timers and un-pauses timers which have previously
+   * been paused by the group</li>
+   * <li>{@link State#PAUSED} pauses running timers</li>
+   * <li>{@link State#STOPPED} stops running and paused timers</li>
+   * </ul>
+   *
+   * @param target the target group state.
+   * @param sequence the group transition sequence number.
+   * @param nanos the transition timestamp.
    */
-  @Override
-  public void stop() {
-    this.stop(System.nanoTime());
-  }
+  void applyGroupTransition(@NonNull State target, long sequence, long nanos) {
+    Snapshot current;
+    Snapshot next;
+    do {
+      current = this.snapshot.get();
+      if (current.groupSequence >= sequence) {
+        return;
+      }
 
-  void stop(long nanos) {
-    if (this.state.get() != State.RUNNING && this.state.get() != State.PAUSED) {
-      throw new IllegalStateException("Cannot stop timer: Not running");
-    }
+      // each outcome is built with the new sequence number directly so that every member
+      // allocates exactly one snapshot per group transition
+      next = null;
+      switch (target) {
+        case RUNNING:
+          if (current.state == State.WAITING) {
+            next = current.start(nanos, sequence);
+          } else if (current.state == State.PAUSED && current.pausedByGroup) {
+            next = current.unpause(nanos, sequence);
+          }
+          break;
+        case PAUSED:
+          if (current.state == State.RUNNING) {
+            next = current.pause(nanos, true, sequence);
+          }
+          break;
+        case STOPPED:
+          if (current.state == State.RUNNING || current.state == State.PAUSED) {
+            next = current.stop(nanos, sequence);
+          }
+          break;
+      }
+      if (next == null) {
+        next = current.withGroupSequence(sequence);
+      }
+    } while (!this.snapshot.compareAndSet(current, next));
 
-    if (this.isPaused()) {
-      this.unpause();
+    if (current.state != next.state) {
+      this.publishState();
     }
+  }
 
-    this.end = nanos;
-    this.state.set(State.STOPPED);
+  /**
+   * Schedules an update of the state property in order to reflect the current snapshot.
+   */
+  private void publishState() {
+    PlatformUtility.runOnApplicationThread(this.stateUpdater);
+  }
+
+  /**
+   * Copies the state of the most recent snapshot into the state property.
+   */
+  private void updateStateProperty() {
+    this.state.set(this.snapshot.get().state);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public long getElapsedNanos() {
-    switch (this.state.get()) {
-      case WAITING:
-        return 0;
-      case RUNNING:
-        return System.nanoTime() - this.start - this.elapsedPauseTime;
-      case PAUSED:
-        return this.pauseStart - this.start - this.elapsedPauseTime;
-      case STOPPED:
-        return this.end - this.start - this.elapsedPauseTime;
-    }
-
-    throw new UnsupportedOperationException(); // ?!?!
+  public long getElapsedNanos(long now) {
+    return this.snapshot.get().getElapsedNanos(now);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public long getTotalElapsedNanos() {
-    if (this.state.get() == State.WAITING) {
-      return 0;
-    }
-
-    var end = this.end;
-    if (this.state.get() != State.STOPPED) {
-      end = System.nanoTime();
-    }
+  public long getTotalElapsedNanos(long now) {
+    return this.snapshot.get().getTotalElapsedNanos(now);
+  }
 
-    return end - this.start;
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Clock getClock() {
+    return this.clock;
   }
 
   /**
@@ -191,11 +254,110 @@ public class NanoTimer implements Timer {
    */
   @NonNull
   public State getState() {
-    return this.state.get();
+    return this.snapshot.get().state;
   }
 
+  /**
+   * <p>Retrieves an observable mirror of the timer state.</p>
+   *
+   * <p>This property is updated on the JavaFX application thread. When the timer is controlled
+   * from a different thread, it may thus briefly lag behind {@link #getState()}.</p>
+   *
+   * @return a state property.
+   */
   @NonNull
   public ReadOnlyObjectProperty<State> stateProperty() {
-    return this.state;
+    return this.state.getReadOnlyProperty();
+  }
+
+  /**
+   * Represents an immutable copy of the timer state at a given point in time.
+   */
+  private static final class Snapshot {
+
+    static final Snapshot INITIAL = new Snapshot(State.WAITING, 0, 0, 0, 0, false, 0);
+
+    final State state;
+    final long start;
+    final long end;
+    final long pauseStart;
+    final long elapsedPauseTime;
+    final boolean pausedByGroup;
+    final long groupSequence;
+
+    private Snapshot(@NonNull State state, long start, long end, long pauseStart,
+        long elapsedPauseTime, boolean pausedByGroup, long groupSequence) {
+      this.state = state;
+      this.start = start;
+      this.end = end;
+      this.pauseStart = pauseStart;
+      this.elapsedPauseTime = elapsedPauseTime;
+      this.pausedByGroup = pausedByGroup;
+      this.groupSequence = groupSequence;
+    }
+
+    @NonNull
+    Snapshot start(long nanos, long sequence) {
+      return new Snapshot(State.RUNNING, nanos, 0, 0, 0, false, sequence);
+    }
+
+    @NonNull
+    Snapshot pause(long nanos, boolean byGroup, long sequence) {
+      return new Snapshot(State.PAUSED, this.start, 0, nanos, this.elapsedPauseTime, byGroup,
+          sequence);
+    }
+
+    @NonNull
+    Snapshot unpause(long nanos, long sequence) {
+      return new Snapshot(State.RUNNING, this.start, 0, 0,
+          this.elapsedPauseTime + (nanos - this.pauseStart), false, sequence);
+    }
+
+    /**
+     * Computes the final state of a timer when stopped at the specified time. Paused timers are
+     * un-paused at the exact same timestamp in order to account for the time spent in the paused
+     * state (e.g. the clock is never sampled a second time).
+     */
+    @NonNull
+    Snapshot stop(long nanos, long sequence) {
+      var elapsedPauseTime = this.elapsedPauseTime;
+      if (this.state == State.PAUSED) {
+        elapsedPauseTime += nanos - this.pauseStart;
+      }
+
+      return new Snapshot(State.STOPPED, this.start, nanos, 0, elapsedPauseTime, false, sequence);
+    }
+
+    @NonNull
+    Snapshot withGroupSequence(long sequence) {
+      return new Snapshot(this.state, this.start, this.end, this.pauseStart,
+          this.elapsedPauseTime, this.pausedByGroup, sequence);
+    }
+
+    long getElapsedNanos(long now) {
+      switch (this.state) {
+        case WAITING:
+          return 0;
+        case RUNNING:
+          return now - this.start - this.elapsedPauseTime;
+        case PAUSED:
+          return this.pauseStart - this.start - this.elapsedPauseTime;
+        case STOPPED:
+          return this.end - this.start - this.elapsedPauseTime;
+      }
+
+      throw new UnsupportedOperationException(); // ?!?!
+    }
+
+    long getTotalElapsedNanos(long now) {
+      switch (this.state) {
+        case WAITING:
+          return 0;
+        case STOPPED:
+          return this.end - this.start;
+        default:
+          return now - this.start;
+      }
+    }
   }
 }
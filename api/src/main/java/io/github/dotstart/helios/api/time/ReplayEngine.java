@@ -0,0 +1,228 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.split.EventLog;
+import io.github.dotstart.helios.api.time.split.Segment;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.time.split.TimelineEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <p>Replays a recorded event log against a timeline.</p>
+ *
+ * <p>Events are fed into a dedicated {@link TimeManager} (and thus into its timer groups and
+ * timeline) in the order in which they have been recorded. Prior to each event, the manager is
+ * driven by a {@link ManualClock} which is set to the original event timestamp. As no part of the
+ * replay observes the system clock, replaying a log will always produce the exact segment times
+ * of the recorded attempt. This permits reported mistimings to be reproduced as regular test
+ * cases.</p>
+ *
+ * <p>Logs are typically obtained from a file which has been written through {@link
+ * EventLog#save(Path)} (see {@link #load(Path, Timeline)}) or from the attempt journal when an
+ * attempt has been interrupted (see {@link
+ * io.github.dotstart.helios.api.time.journal.RecoveredAttempt#getEventLog()}).</p>
+ *
+ * <p>Replays do not depend on a JavaFX toolkit and are thus capable of running headlessly. Only
+ * the timers which are driven by the timer group (e.g. real time) are reproduced, however, as the
+ * times reported by game integrations are not part of the log.</p>
+ *
+ * <p>This implementation is not thread safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ReplayEngine {
+
+  private final ManualClock clock = new ManualClock();
+  private final EventLog log;
+  private final TimeManager timeManager;
+  private int position;
+
+  /**
+   * Creates a new engine which replays a log against the specified timeline.
+   *
+   * @param log an event log.
+   * @param timeline a timeline which matches the segments of the recorded timeline.
+   * @throws IllegalArgumentException when the log belongs to the target timeline.
+   */
+  public ReplayEngine(@NonNull EventLog log, @NonNull Timeline timeline) {
+    if (log == timeline.getEventLog()) {
+      throw new IllegalArgumentException("Cannot replay log: Target timeline is the log owner");
+    }
+
+    this.log = log;
+    this.timeManager = new TimeManager(this.clock, timeline);
+  }
+
+  /**
+   * Creates a new engine which replays a persisted log against the specified timeline.
+   *
+   * @param path the path of a log which has been written through {@link EventLog#save(Path)}.
+   * @param timeline a timeline which matches the segments of the recorded timeline.
+   * @return an engine.
+   * @throws IOException when reading the log fails.
+   * @throws IllegalArgumentException when the file is not a valid event log.
+   */
+  @NonNull
+  public static ReplayEngine load(@NonNull Path path, @NonNull Timeline timeline)
+      throws IOException {
+    return new ReplayEngine(EventLog.load(path), timeline);
+  }
+
+  /**
+   * Replays an entire log against the specified timeline.
+   *
+   * @param log an event log.
+   * @param timeline a timeline which matches the segments of the recorded timeline.
+   * @return the passed timeline.
+   * @throws IllegalArgumentException when the log belongs to the target timeline.
+   * @throws IllegalStateException when an event cannot be applied in the replayed state.
+   */
+  @NonNull
+  public static Timeline replay(@NonNull EventLog log, @NonNull Timeline timeline) {
+    new ReplayEngine(log, timeline).run();
+    return timeline;
+  }
+
+  /**
+   * Evaluates whether the log contains events which have not been replayed yet.
+   *
+   * @return true if further events remain, false otherwise.
+   */
+  public boolean hasNext() {
+    return this.position < this.log.size();
+  }
+
+  /**
+   * Replays all remaining events.
+   *
+   * @throws IllegalStateException when an event cannot be applied in the replayed state.
+   */
+  public void run() {
+    while (this.hasNext()) {
+      this.step();
+    }
+  }
+
+  /**
+   * Replays all remaining events up to (but excluding) the first event of the specified type.
+   *
+   * @param event an event type.
+   * @return true if an event of the specified type has been reached, false if the end of the log
+   * has been reached instead.
+   * @throws IllegalStateException when an event cannot be applied in the replayed state.
+   */
+  public boolean runUntil(@NonNull TimelineEvent event) {
+    while (this.hasNext()) {
+      if (this.log.getEvent(this.position) == event) {
+        return true;
+      }
+
+      this.step();
+    }
+
+    return false;
+  }
+
+  /**
+   * Replays the next event.
+   *
+   * @return the replayed event type.
+   * @throws IllegalStateException when the log has been exhausted or the event cannot be applied
+   * in the replayed state.
+   */
+  @NonNull
+  public TimelineEvent step() {
+    if (!this.hasNext()) {
+      throw new IllegalStateException("Cannot replay event: End of log has been reached");
+    }
+
+    var event = this.log.getEvent(this.position);
+    var timestamp = this.log.getTimestamp(this.position);
+    ++this.position;
+
+    if (timestamp != Segment.NO_TIME) {
+      this.clock.set(timestamp);
+    }
+    timestamp = this.clock.nanoTime();
+
+    var group = this.timeManager.getTimerGroup();
+    var timeline = this.timeManager.getTimeline();
+    switch (event) {
+      case START:
+        timeline.start(timestamp);
+        break;
+      case SPLIT:
+        timeline.split(group, timestamp);
+        break;
+      case UNDO_SPLIT:
+        timeline.undoSplit(timestamp);
+        break;
+      case SKIP_SPLIT:
+        timeline.skipSplit(timestamp);
+        break;
+      case RESET:
+        this.timeManager.reset(timestamp);
+        break;
+      case TIMER_START:
+        group.start(timestamp);
+        break;
+      case TIMER_PAUSE:
+        group.pause(timestamp);
+        break;
+      case TIMER_UNPAUSE:
+        group.unpause(timestamp);
+        break;
+      case TIMER_STOP:
+        group.stop(timestamp);
+        break;
+    }
+
+    return event;
+  }
+
+  /**
+   * Retrieves the index of the next event which will be replayed.
+   *
+   * @return an event index.
+   */
+  public int getPosition() {
+    return this.position;
+  }
+
+  /**
+   * Retrieves the virtual clock which drives the replay.
+   *
+   * @return a clock.
+   */
+  @NonNull
+  public ManualClock getClock() {
+    return this.clock;
+  }
+
+  /**
+   * Retrieves the manager to which all events are applied.
+   *
+   * @return a time manager.
+   */
+  @NonNull
+  public TimeManager getTimeManager() {
+    return this.timeManager;
+  }
+}
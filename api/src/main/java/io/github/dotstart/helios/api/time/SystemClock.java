@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import com.google.inject.Singleton;
+
+/**
+ * Provides a clock implementation which is directly backed by the system's high resolution timer
+ * (as exposed via {@link System#nanoTime()}).
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public final class SystemClock implements Clock {
+
+  /**
+   * Provides a shared instance for use outside of the injection context.
+   */
+  public static final SystemClock INSTANCE = new SystemClock();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+}
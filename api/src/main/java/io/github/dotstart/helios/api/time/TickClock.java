@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a clock which caches the value of another clock until it is explicitly
+ * refreshed.</p>
+ *
+ * <p>This implementation is intended for render loops which read a large amount of timers within
+ * a single frame: The source clock is sampled exactly once per frame (via {@link #tick()}) while
+ * all subsequent reads within the same frame return the exact same timestamp. As a result, all
+ * displayed times are consistent with each other.</p>
+ *
+ * <p>Note that this clock should never be used to control timers (e.g. start, pause or stop them)
+ * as transitions would otherwise be recorded with the timestamp of the last frame.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TickClock implements Clock {
+
+  private final Clock source;
+  private volatile long time;
+
+  public TickClock(@NonNull Clock source) {
+    this.source = source;
+    this.time = source.nanoTime();
+  }
+
+  /**
+   * Retrieves the clock which is sampled by this clock on every tick.
+   *
+   * @return a source clock.
+   */
+  @NonNull
+  public Clock getSource() {
+    return this.source;
+  }
+
+  /**
+   * Samples the source clock and caches its value until the next tick.
+   *
+   * @return the new clock value.
+   */
+  public long tick() {
+    return this.time = this.source.nanoTime();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long nanoTime() {
+    return this.time;
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.Timer.FormatPrecision;
+import java.util.Arrays;
+
+/**
+ * <p>Converts nanosecond durations into their human readable representation.</p>
+ *
+ * <p>Durations are formatted as {@code [sign][H:]mm:ss[.fraction]} where the amount of fraction
+ * digits is dictated by the configured {@link FormatPrecision}. Fractions are always truncated
+ * (e.g. a time is never displayed ahead of the actual time).</p>
+ *
+ * <p>Each formatter writes its digits into a pre-allocated buffer and retains the last text it has
+ * produced. As a result, {@link #format(long)} will return the exact same string instance for as
+ * long as the visible text does not change (e.g. a timer which is displayed with
+ * {@link FormatPrecision#SECONDS} will only cause a new string to be allocated once per
+ * second).</p>
+ *
+ * <p>Formatter instances are not thread safe and are expected to be owned by a single component
+ * (typically a UI node).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimeFormatter {
+
+  /**
+   * Defines the maximum amount of characters produced by any formatter configuration (sign, up to
+   * 19 integer digits, two separators, two digit seconds and nine fraction digits).
+   */
+  private static final int BUFFER_SIZE = 40;
+
+  private final FormatPrecision precision;
+  private final HourMode hourMode;
+  private final SignMode signMode;
+
+  private char[] buffer = new char[BUFFER_SIZE];
+  private char[] previous = new char[BUFFER_SIZE];
+  private int previousLength = -1;
+  private String previousText;
+
+  public TimeFormatter(@NonNull FormatPrecision precision) {
+    this(precision, HourMode.WHEN_NON_ZERO, SignMode.NEGATIVE);
+  }
+
+  public TimeFormatter(@NonNull FormatPrecision precision, @NonNull HourMode hourMode,
+      @NonNull SignMode signMode) {
+    this.precision = precision;
+    this.hourMode = hourMode;
+    this.signMode = signMode;
+  }
+
+  /**
+   * <p>Appends the human readable representation of a duration to the specified builder.</p>
+   *
+   * <p>This method allocates a scratch buffer on every invocation. Callers which format durations
+   * repeatedly should retain a formatter instance and use {@link #formatTo(StringBuilder, long)}
+   * instead.</p>
+   *
+   * @param out a target builder.
+   * @param nanos a duration (in nanoseconds).
+   * @param precision the smallest displayed unit.
+   * @param hourMode the hour display mode.
+   * @param signMode the sign display mode.
+   * @return the passed builder.
+   */
+  @NonNull
+  public static StringBuilder formatTo(@NonNull StringBuilder out, long nanos,
+      @NonNull FormatPrecision precision, @NonNull HourMode hourMode,
+      @NonNull SignMode signMode) {
+    var buffer = new char[BUFFER_SIZE];
+    var length = write(buffer, nanos, precision, hourMode, signMode);
+    return out.append(buffer, 0, length);
+  }
+
+  /**
+   * Writes the human readable representation of a duration into the specified buffer.
+   *
+   * @param out a buffer of at least {@link #BUFFER_SIZE} characters.
+   * @param nanos a duration (in nanoseconds).
+   * @param precision the smallest displayed unit.
+   * @param hourMode the hour display mode.
+   * @param signMode the sign display mode.
+   * @return the amount of characters written.
+   */
+  private static int write(@NonNull char[] out, long nanos, @NonNull FormatPrecision precision,
+      @NonNull HourMode hourMode, @NonNull SignMode signMode) {
+    // the magnitude is treated as an unsigned value as Long.MIN_VALUE has no positive counterpart
+    var negative = nanos < 0;
+    var magnitude = negative ? -nanos : nanos;
+
+    long fraction = Long.remainderUnsigned(magnitude, 1000000000);
+    long seconds = Long.divideUnsigned(magnitude, 1000000000);
+    long minutes = seconds / 60;
+    seconds %= 60;
+
+    long hours = 0;
+    if (hourMode != HourMode.NEVER) {
+      hours = minutes / 60;
+      minutes %= 60;
+    }
+
+    var pos = 0;
+    if (negative) {
+      out[pos++] = '-';
+    } else if (signMode == SignMode.ALWAYS) {
+      out[pos++] = '+';
+    }
+
+    if (hourMode == HourMode.ALWAYS || (hourMode == HourMode.WHEN_NON_ZERO && hours > 0)) {
+      pos = writeDigits(out, pos, hours, 1);
+      out[pos++] = ':';
+    }
+
+    pos = writeDigits(out, pos, minutes, 2);
+    out[pos++] = ':';
+    pos = writeDigits(out, pos, seconds, 2);
+
+    switch (precision) {
+      case SECONDS:
+        break;
+      case CENTISECONDS:
+        out[pos++] = '.';
+        pos = writeDigits(out, pos, fraction / 10000000, 2);
+        break;
+      case MILLISECONDS:
+        out[pos++] = '.';
+        pos = writeDigits(out, pos, fraction / 1000000, 3);
+        break;
+      case NANOSECONDS:
+        out[pos++] = '.';
+        pos = writeDigits(out, pos, fraction, 9);
+        break;
+    }
+
+    return pos;
+  }
+
+  /**
+   * Writes a positive decimal number (padded with leading zeros to the specified minimum amount
+   * of digits) into a buffer.
+   *
+   * @param out a target buffer.
+   * @param pos the index at which the first digit is placed.
+   * @param value a positive value.
+   * @param minDigits the minimum amount of digits.
+   * @return the index following the last digit.
+   */
+  private static int writeDigits(@NonNull char[] out, int pos, long value, int minDigits) {
+    var digits = 1;
+    for (var i = value / 10; i != 0; i /= 10) {
+      ++digits;
+    }
+    digits = Math.max(digits, minDigits);
+
+    var end = pos + digits;
+    for (var i = end - 1; i >= pos; --i) {
+      out[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+
+    return end;
+  }
+
+  /**
+   * <p>Converts a duration into its human readable representation.</p>
+   *
+   * <p>When the resulting text is identical to the text produced by the previous invocation of
+   * this method, the previously returned string instance is returned instead of allocating a new
+   * one. Callers may thus compare results by identity in order to detect visible changes.</p>
+   *
+   * @param nanos a duration (in nanoseconds).
+   * @return a human readable duration.
+   */
+  @NonNull
+  public String format(long nanos) {
+    var length = write(this.buffer, nanos, this.precision, this.hourMode, this.signMode);
+
+    if (length == this.previousLength && Arrays
+        .equals(this.buffer, 0, length, this.previous, 0, length)) {
+      return this.previousText;
+    }
+
+    var tmp = this.previous;
+    this.previous = this.buffer;
+    this.buffer = tmp;
+
+    this.previousLength = length;
+    this.previousText = new String(this.previous, 0, length);
+    return this.previousText;
+  }
+
+  /**
+   * Appends the human readable representation of a duration to the specified builder.
+   *
+   * @param out a target builder.
+   * @param nanos a duration (in nanoseconds).
+   * @return the passed builder.
+   */
+  @NonNull
+  public StringBuilder formatTo(@NonNull StringBuilder out, long nanos) {
+    var length = write(this.buffer, nanos, this.precision, this.hourMode, this.signMode);
+    return out.append(this.buffer, 0, length);
+  }
+
+  /**
+   * <p>Computes the amount of time which has to pass until the text produced for a running
+   * duration changes.</p>
+   *
+   * <p>As fractions are truncated, the text of a duration changes whenever the duration reaches
+   * the next multiple of the displayed unit. Callers which refresh their display periodically may
+   * thus skip all refreshes until the returned amount of time has passed.</p>
+   *
+   * @param nanos the currently displayed duration (in nanoseconds).
+   * @return a positive amount of nanoseconds.
+   */
+  public long getNanosUntilChange(long nanos) {
+    long unit;
+    switch (this.precision) {
+      case SECONDS:
+        unit = 1000000000;
+        break;
+      case CENTISECONDS:
+        unit = 10000000;
+        break;
+      case MILLISECONDS:
+        unit = 1000000;
+        break;
+      default:
+        return 1;
+    }
+
+    // negative durations are truncated towards zero as well and thus change once they exceed the
+    // next multiple rather than when they reach it (with the exception of the sign which is
+    // dropped once zero is reached)
+    if (nanos < 0) {
+      return nanos > -unit ? -nanos : -(nanos % unit) + 1;
+    }
+    return unit - nanos % unit;
+  }
+
+  /**
+   * Retrieves the smallest unit which is displayed by this formatter.
+   *
+   * @return a precision.
+   */
+  @NonNull
+  public FormatPrecision getPrecision() {
+    return this.precision;
+  }
+
+  /**
+   * Retrieves the mode in which hours are displayed by this formatter.
+   *
+   * @return an hour mode.
+   */
+  @NonNull
+  public HourMode getHourMode() {
+    return this.hourMode;
+  }
+
+  /**
+   * Retrieves the mode in which signs are displayed by this formatter.
+   *
+   * @return a sign mode.
+   */
+  @NonNull
+  public SignMode getSignMode() {
+    return this.signMode;
+  }
+
+  /**
+   * Defines the conditions under which the hour component is displayed.
+   */
+  public enum HourMode {
+
+    /**
+     * Hours are always displayed (e.g. {@code 0:01:30}).
+     */
+    ALWAYS,
+
+    /**
+     * Hours are only displayed when at least one full hour has passed (e.g. {@code 01:30}).
+     */
+    WHEN_NON_ZERO,
+
+    /**
+     * Hours are never displayed and are instead accumulated within the minutes component (e.g.
+     * {@code 75:00}).
+     */
+    NEVER
+  }
+
+  /**
+   * Defines the conditions under which a sign is prepended to the formatted time.
+   */
+  public enum SignMode {
+
+    /**
+     * A sign is only prepended to negative durations (e.g. for regular times).
+     */
+    NEGATIVE,
+
+    /**
+     * A sign is always prepended (e.g. for deltas against a comparison).
+     */
+    ALWAYS
+  }
+}
@@ -16,12 +16,22 @@
  */
 package io.github.dotstart.helios.api.time;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.Timer.State;
 import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.time.split.TimelineEvent;
+import io.github.dotstart.helios.api.time.split.TimelineListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Provides a management component which handles the current timeline and timer state.
@@ -29,22 +39,242 @@ import javafx.beans.property.SimpleObjectProperty;
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 @Singleton
-public class TimeManager {
+public class TimeManager implements Closeable {
 
-  private final ObjectProperty<Timeline> timeline = new SimpleObjectProperty<>(new Timeline());
-  private final ObjectProperty<TimerGroup> timerGroup = new SimpleObjectProperty<>(
-      new TimerGroup());
+  private static final Logger logger = LogManager.getFormatterLogger(TimeManager.class);
+
+  private final Clock clock;
+  private final ObjectProperty<Timeline> timeline = new SimpleObjectProperty<>();
+  private final ObjectProperty<TimerGroup> timerGroup = new SimpleObjectProperty<>();
+
+  private final List<TransitionListener> transitionListeners = new CopyOnWriteArrayList<>();
+  private final List<TimelineListener> timelineListeners = new CopyOnWriteArrayList<>();
+  private final TransitionListener eventRecorder = this::recordTransition;
+  private State recordedState = State.WAITING;
+
+  public TimeManager() {
+    this(SystemClock.INSTANCE);
+  }
+
+  @Inject
+  public TimeManager(@NonNull Clock clock) {
+    this(clock, new Timeline());
+  }
+
+  /**
+   * Creates a new manager which operates on the specified timeline without resetting it.
+   *
+   * @param clock a clock.
+   * @param timeline a timeline.
+   */
+  TimeManager(@NonNull Clock clock, @NonNull Timeline timeline) {
+    this.clock = clock;
+    this.timeline.set(timeline);
+    this.timerGroup.set(new TimerGroup(clock));
+    this.timerGroup.get().addTransitionListener(this.eventRecorder);
+
+    this.timerGroup.addListener((ob, oldValue, newValue) -> {
+      if (oldValue != null) {
+        oldValue.removeTransitionListener(this.eventRecorder);
+      }
+      newValue.addTransitionListener(this.eventRecorder);
+      this.recordedState = newValue.getState();
+
+      this.transitionListeners.forEach((l) -> {
+        if (oldValue != null) {
+          oldValue.removeTransitionListener(l);
+        }
+        newValue.addTransitionListener(l);
+      });
+    });
+    this.timeline.addListener((ob, oldValue, newValue) -> {
+      this.timelineListeners.forEach((l) -> {
+        if (oldValue != null) {
+          oldValue.removeListener(l);
+        }
+        newValue.addListener(l);
+      });
+    });
+  }
+
+  /**
+   * <p>Registers a listener which is notified about the transitions of the current timer group.</p>
+   *
+   * <p>The listener is automatically moved to new groups when the timer is reset.</p>
+   *
+   * @param listener a listener.
+   */
+  public void addTransitionListener(@NonNull TransitionListener listener) {
+    this.transitionListeners.add(listener);
+    this.timerGroup.get().addTransitionListener(listener);
+  }
+
+  /**
+   * Removes a previously registered transition listener.
+   *
+   * @param listener a listener.
+   */
+  public void removeTransitionListener(@NonNull TransitionListener listener) {
+    this.transitionListeners.remove(listener);
+    this.timerGroup.get().removeTransitionListener(listener);
+  }
+
+  /**
+   * <p>Registers a listener which is notified about the progress of the current timeline.</p>
+   *
+   * <p>The listener is automatically moved to new timelines when a different timeline is
+   * selected.</p>
+   *
+   * @param listener a listener.
+   */
+  public void addTimelineListener(@NonNull TimelineListener listener) {
+    this.timelineListeners.add(listener);
+    this.timeline.get().addListener(listener);
+  }
+
+  /**
+   * Removes a previously registered timeline listener.
+   *
+   * @param listener a listener.
+   */
+  public void removeTimelineListener(@NonNull TimelineListener listener) {
+    this.timelineListeners.remove(listener);
+    this.timeline.get().removeListener(listener);
+  }
+
+  /**
+   * <p>Advances the current run at the specified point in time.</p>
+   *
+   * <p>When the timer has not been started yet, both the timer and timeline are started.
+   * Otherwise, a split is recorded within the timeline. When the final segment has been split, the
+   * timer is stopped as well.</p>
+   *
+   * @param nanos a timestamp which originates from the manager {@link #getClock() clock}.
+   * @throws IllegalStateException when the timer is paused or has already been stopped.
+   */
+  public void split(long nanos) {
+    var group = this.timerGroup.get();
+    var timeline = this.timeline.get();
+
+    switch (group.getState()) {
+      case WAITING:
+        group.start(nanos);
+        timeline.start(nanos);
+        break;
+      case RUNNING:
+        if (!timeline.hasStarted()) { // timer has been started manually
+          timeline.start(nanos);
+        }
+
+        timeline.split(group, nanos);
+        if (timeline.hasFinished()) {
+          group.stop(nanos);
+        }
+        break;
+      default:
+        throw new IllegalStateException("Cannot split: Timer is not running");
+    }
+  }
+
+  /**
+   * <p>Reverts the most recent split of the current run at the specified point in time.</p>
+   *
+   * <p>As timers cannot be resumed once stopped, the final split of a finished run cannot be
+   * reverted.</p>
+   *
+   * @param nanos a timestamp which originates from the manager {@link #getClock() clock}.
+   * @throws IllegalStateException when the timer is not running or no split has been recorded.
+   */
+  public void undoSplit(long nanos) {
+    if (!this.timerGroup.get().isRunning()) {
+      throw new IllegalStateException("Cannot undo split: Timer is not running");
+    }
+
+    this.timeline.get().undoSplit(nanos);
+  }
+
+  /**
+   * Skips the current segment of the current run at the specified point in time.
+   *
+   * @param nanos a timestamp which originates from the manager {@link #getClock() clock}.
+   * @throws IllegalStateException when the timer is not running or the final segment has been
+   * reached.
+   */
+  public void skipSplit(long nanos) {
+    if (!this.timerGroup.get().isRunning()) {
+      throw new IllegalStateException("Cannot skip split: Timer is not running");
+    }
+
+    this.timeline.get().skipSplit(nanos);
+  }
+
+  /**
+   * Toggles the pause state of the current timer at the specified point in time.
+   *
+   * @param nanos a timestamp which originates from the manager {@link #getClock() clock}.
+   * @throws IllegalStateException when the timer is not running at the moment.
+   */
+  public void togglePause(long nanos) {
+    this.timerGroup.get().togglePause(nanos);
+  }
 
   /**
    * Resets the timer and timeline back to their initial state.
    */
   public void reset() {
-    this.timeline.get().clear();
-    this.timerGroup.set(new TimerGroup());
+    this.reset(this.clock.nanoTime());
+  }
+
+  /**
+   * Resets the timer and timeline back to their initial state at the specified point in time.
+   *
+   * @param nanos a timestamp which originates from the manager {@link #getClock() clock}.
+   */
+  public void reset(long nanos) {
+    this.timeline.get().clear(nanos);
+    this.timerGroup.set(new TimerGroup(this.clock));
 
     // TODO: Re-Register game integration
   }
 
+  /**
+   * Appends a transition of the current timer group to the event log of the current timeline.
+   *
+   * @param group a timer group.
+   * @param state the new group state.
+   * @param timestamp the transition timestamp.
+   */
+  private void recordTransition(@NonNull TimerGroup group, @NonNull State state, long timestamp) {
+    TimelineEvent event;
+    switch (state) {
+      case RUNNING:
+        event = this.recordedState == State.PAUSED ? TimelineEvent.TIMER_UNPAUSE
+            : TimelineEvent.TIMER_START;
+        break;
+      case PAUSED:
+        event = TimelineEvent.TIMER_PAUSE;
+        break;
+      case STOPPED:
+        event = TimelineEvent.TIMER_STOP;
+        break;
+      default:
+        return;
+    }
+
+    this.recordedState = state;
+    this.timeline.get().appendEvent(event, timestamp);
+  }
+
+  /**
+   * Retrieves the clock which is shared by all timer groups created by this manager.
+   *
+   * @return a clock.
+   */
+  @NonNull
+  public Clock getClock() {
+    return this.clock;
+  }
+
   /**
    * Retrieves the currently selected timeline.
    *
@@ -64,7 +294,7 @@ public class TimeManager {
    * <p>Selects a new timeline.</p>
    *
    * <p>The timer state will automatically reset if a different timeline than the currently active
-   * one is passed through this method.</p>
+   * one is passed through this method. The previous timeline is closed in this case.</p>
    *
    * @param timeline a timeline.
    */
@@ -74,6 +304,28 @@ public class TimeManager {
 
     if (timeline != old) {
       this.reset();
+      closeTimeline(old);
+    }
+  }
+
+  /**
+   * Closes the current timeline (for instance, when the application shuts down).
+   */
+  @Override
+  public void close() {
+    closeTimeline(this.timeline.get());
+  }
+
+  /**
+   * Closes a timeline which is no longer in use.
+   *
+   * @param timeline a timeline.
+   */
+  private static void closeTimeline(@NonNull Timeline timeline) {
+    try {
+      timeline.close();
+    } catch (IOException ex) {
+      logger.warn("Failed to release timeline source", ex);
     }
   }
 
@@ -80,7 +80,22 @@ public interface Timer {
    *
    * @throws IllegalStateException when the timer has previously been started.
    */
-  void start();
+  default void start() {
+    this.start(this.getClock().nanoTime());
+  }
+
+  /**
+   * <p>Starts measuring the passed time from the specified point in time.</p>
+   *
+   * <p>The passed timestamp is expected to originate from the timer {@link #getClock() clock}. It
+   * is typically captured at the moment the respective input has been received (for instance,
+   * within a hotkey listener or at the exact frame reported by an auto splitter) or read back from
+   * a recorded attempt when it is replayed.</p>
+   *
+   * @param nanos the transition timestamp.
+   * @throws IllegalStateException when the timer has previously been started.
+   */
+  void start(long nanos);
 
   /**
    * Temporarily pauses the timer (e.g. stops measuring time from now on until the timer is
@@ -88,14 +103,36 @@ public interface Timer {
    *
    * @throws IllegalStateException when the timer is not running at the moment.
    */
-  void pause();
+  default void pause() {
+    this.pause(this.getClock().nanoTime());
+  }
+
+  /**
+   * Pauses the timer at the specified point in time.
+   *
+   * @param nanos the transition timestamp.
+   * @throws IllegalStateException when the timer is not running at the moment.
+   * @see #start(long)
+   */
+  void pause(long nanos);
 
   /**
    * Un-Pauses the timer.
    *
    * @throws IllegalStateException when the timer is not paused at the moment.
    */
-  void unpause();
+  default void unpause() {
+    this.unpause(this.getClock().nanoTime());
+  }
+
+  /**
+   * Un-Pauses the timer at the specified point in time.
+   *
+   * @param nanos the transition timestamp.
+   * @throws IllegalStateException when the timer is not paused at the moment.
+   * @see #start(long)
+   */
+  void unpause(long nanos);
 
   /**
    * <p>Toggles the pause state of this timer.</p>
@@ -106,10 +143,21 @@ public interface Timer {
    * @throws IllegalStateException when the timer is not running at the moment.
    */
   default void togglePause() {
+    this.togglePause(this.getClock().nanoTime());
+  }
+
+  /**
+   * Toggles the pause state of this timer at the specified point in time.
+   *
+   * @param nanos the transition timestamp.
+   * @throws IllegalStateException when the timer is not running at the moment.
+   * @see #start(long)
+   */
+  default void togglePause(long nanos) {
     if (this.isPaused()) {
-      this.unpause();
+      this.unpause(nanos);
     } else {
-      this.pause();
+      this.pause(nanos);
     }
   }
 
@@ -118,15 +166,53 @@ public interface Timer {
    *
    * <p>This method will also cause the timer to calculate the final elapsed time since its
    * start.</p>
+   *
+   * @throws IllegalStateException when the timer is not running at the moment.
    */
-  void stop();
+  default void stop() {
+    this.stop(this.getClock().nanoTime());
+  }
+
+  /**
+   * Permanently stops the timer at the specified point in time.
+   *
+   * @param nanos the transition timestamp.
+   * @throws IllegalStateException when the timer is not running at the moment.
+   * @see #start(long)
+   */
+  void stop(long nanos);
+
+  /**
+   * <p>Retrieves the clock from which this timer samples its timestamps.</p>
+   *
+   * <p>Unless specified otherwise, timers will rely on the {@link SystemClock}.</p>
+   *
+   * @return a clock.
+   */
+  @NonNull
+  Clock getClock();
 
   /**
    * Retrieves the total elapsed time (in nanoseconds) within this timer.
    *
    * @return an amount of elapsed nanos.
    */
-  long getElapsedNanos();
+  default long getElapsedNanos() {
+    return this.getElapsedNanos(this.getClock().nanoTime());
+  }
+
+  /**
+   * <p>Retrieves the total elapsed time (in nanoseconds) within this timer at the specified point
+   * in time.</p>
+   *
+   * <p>This method permits callers to evaluate a large amount of timers against a single sampled
+   * timestamp (for instance, as provided by a {@link TickClock}). The passed value is expected to
+   * originate from the same clock as the timer's {@link #getClock()}.</p>
+   *
+   * @param now a timestamp (in nanoseconds).
+   * @return an amount of elapsed nanos.
+   */
+  long getElapsedNanos(long now);
 
   /**
    * Retrieves the total elapsed time (in nanoseconds) without regard for times at which this timer
@@ -134,7 +220,19 @@ public interface Timer {
    *
    * @return an amount of elapsed nanos.
    */
-  long getTotalElapsedNanos();
+  default long getTotalElapsedNanos() {
+    return this.getTotalElapsedNanos(this.getClock().nanoTime());
+  }
+
+  /**
+   * Retrieves the total elapsed time (in nanoseconds) at the specified point in time without
+   * regard for times at which this timer has been paused.
+   *
+   * @param now a timestamp (in nanoseconds).
+   * @return an amount of elapsed nanos.
+   * @see #getElapsedNanos(long)
+   */
+  long getTotalElapsedNanos(long now);
 
   /**
    * Retrieves the current timer state.
@@ -188,46 +286,17 @@ public interface Timer {
    * <p>The respective passed precision value defines the smallest unit displayed within the timer.
    * For instance: A precision of {@link FormatPrecision#SECONDS} will result in a time formatted as
    * {@code HH:mm:ss} while {@link FormatPrecision#MILLISECONDS} would result in {@code
-   * HH:mm:ss:SSS}.</p>
+   * HH:mm:ss.SSS}.</p>
+   *
+   * <p>This method allocates a new string on every invocation. Components which refresh their
+   * display on every frame should rely on a dedicated {@link TimeFormatter} instead.</p>
    *
    * @return a human readable version of the elapsed time.
    */
   @NonNull
   default String toString(@NonNull FormatPrecision precision) {
-    var out = "";
-    var val = this.getElapsedNanos();
-
-    long nanos = val % 1000000;
-    val /= 1000000;
-    long millis = val % 1000;
-    val /= 1000;
-    long seconds = val % 60;
-    val /= 60;
-    long minutes = val % 60;
-    val /= 60;
-
-    if (val > 0) {
-      out += val;
-      out += ":";
-    }
-    out += String.format("%02d", minutes);
-    out += ":";
-    out += String.format("%02d", seconds);
-
-    if (precision == FormatPrecision.SECONDS) {
-      return out;
-    }
-
-    if (precision == FormatPrecision.MILLISECONDS) {
-      out += ".";
-      out += String.format("%03d", millis);
-      return out;
-    }
-
-    out += ".";
-    out += String.format("%03d", millis);
-    out += String.format("%06d", nanos);
-    return out;
+    return TimeFormatter.formatTo(new StringBuilder(16), this.getElapsedNanos(), precision,
+        TimeFormatter.HourMode.WHEN_NON_ZERO, TimeFormatter.SignMode.NEGATIVE).toString();
   }
 
   enum State {
@@ -239,6 +308,7 @@ public interface Timer {
 
   enum FormatPrecision {
     SECONDS,
+    CENTISECONDS,
     MILLISECONDS,
     NANOSECONDS
   }
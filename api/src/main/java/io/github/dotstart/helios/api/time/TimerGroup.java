@@ -18,12 +18,13 @@ package io.github.dotstart.helios.api.time;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import io.github.dotstart.helios.api.utility.PlatformUtility;
 import java.net.URI;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -44,33 +45,59 @@ import javafx.collections.ObservableMap;
  * its timers (e.g. timers will not show slightly different results due to the time that each call
  * takes).</p>
  *
+ * <p>Group transitions (start, pause, un-pause and stop) are lock free and may be invoked from any
+ * thread. Each transition is first published within an immutable group snapshot and subsequently
+ * applied to all member timers. Threads which observe an incomplete transition will help complete
+ * it before applying their own. Adding or removing timers is expected to happen on the application
+ * thread while the group is not running.</p>
+ *
+ * <p>Each timer identifier is interned into a {@link TimerSlots slot} when its timer is added to
+ * the group. Consumers which sample all timers at once (such as splits) receive these slots rather
+ * than identifiers in order to store times within primitive arrays.</p>
+ *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class TimerGroup implements Timer {
 
+  private final Clock clock;
   private final StringProperty displayName = new SimpleStringProperty();
 
   private final ObservableMap<URI, NanoTimer> timers = FXCollections.observableHashMap();
   private final ObservableMap<URI, NanoTimer> timerView = FXCollections
       .unmodifiableObservableMap(this.timers);
 
-  private final ObjectProperty<State> state = new SimpleObjectProperty<>(State.WAITING);
+  private volatile Members members = Members.EMPTY;
+  private volatile TransitionListener[] listeners = new TransitionListener[0];
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.INITIAL);
+
+  private final ReadOnlyObjectWrapper<State> state = new ReadOnlyObjectWrapper<>(State.WAITING);
+  private final Runnable stateUpdater = this::updateStateProperty;
   private final NanoTimer realtimeTimer;
   private final ObjectProperty<NanoTimer> activeTimer = new SimpleObjectProperty<>();
-  private final Set<NanoTimer> pausedTimers = new HashSet<>();
 
   public TimerGroup() {
+    this(SystemClock.INSTANCE);
+  }
+
+  public TimerGroup(@NonNull String displayName) {
+    this(SystemClock.INSTANCE, displayName);
+  }
+
+  public TimerGroup(@NonNull Clock clock) {
+    this.clock = clock;
     this.realtimeTimer = this.create(REALTIME, "Realtime");
     this.activeTimer.set(this.realtimeTimer);
   }
 
-  public TimerGroup(@NonNull String displayName) {
-    this();
+  public TimerGroup(@NonNull Clock clock, @NonNull String displayName) {
+    this(clock);
     this.displayName.setValue(displayName);
   }
 
   /**
-   * Creates a new timer within this group.
+   * <p>Creates a new timer within this group.</p>
+   *
+   * <p>The resulting timer will share the clock of this group.</p>
    *
    * @param id a globally unique timer identifier.
    * @param displayName a human readable name for the new timer.
@@ -78,8 +105,9 @@ public class TimerGroup implements Timer {
    */
   @NonNull
   public NanoTimer create(@NonNull URI id, @NonNull String displayName) {
-    var timer = new NanoTimer(displayName);
-    this.timers.put(id, timer);
+    var timer = new NanoTimer(this.clock, displayName);
+    var previous = this.timers.put(id, timer);
+    this.updateMembers(previous, timer, TimerSlots.slotOf(id));
     return timer;
   }
 
@@ -105,7 +133,81 @@ public class TimerGroup implements Timer {
     }
 
     this.timers.remove(id);
-    this.pausedTimers.remove(timer);
+    this.updateMembers(timer, null, -1);
+  }
+
+  /**
+   * Replaces the member arrays which are iterated during group transitions and samples.
+   *
+   * @param removed a removed timer (if any).
+   * @param added an added timer (if any).
+   * @param addedSlot the slot of the added timer.
+   */
+  private void updateMembers(@Nullable NanoTimer removed, @Nullable NanoTimer added,
+      int addedSlot) {
+    var timers = this.members.timers;
+    var slots = this.members.slots;
+
+    if (removed != null) {
+      var timerCopy = new NanoTimer[timers.length - 1];
+      var slotCopy = new int[slots.length - 1];
+      var i = 0;
+      for (var j = 0; j < timers.length; ++j) {
+        if (timers[j] != removed) {
+          timerCopy[i] = timers[j];
+          slotCopy[i++] = slots[j];
+        }
+      }
+      timers = timerCopy;
+      slots = slotCopy;
+    }
+
+    if (added != null) {
+      timers = Arrays.copyOf(timers, timers.length + 1);
+      timers[timers.length - 1] = added;
+      slots = Arrays.copyOf(slots, slots.length + 1);
+      slots[slots.length - 1] = addedSlot;
+    }
+
+    this.members = new Members(timers, slots);
+  }
+
+  /**
+   * <p>Samples the elapsed time of all timers within this group at the specified timestamp.</p>
+   *
+   * <p>Each time is passed to the consumer along with the {@link TimerSlots slot} of its
+   * respective timer. This method does not allocate.</p>
+   *
+   * @param now a timestamp (as provided by the group clock).
+   * @param consumer a consumer which receives the sampled times.
+   */
+  public void sample(long now, @NonNull SampleConsumer consumer) {
+    var members = this.members;
+    for (var i = 0; i < members.timers.length; ++i) {
+      consumer.accept(members.slots[i], members.timers[i].getElapsedNanos(now));
+    }
+  }
+
+  /**
+   * Registers a listener which is notified about all future transitions of this group.
+   *
+   * @param listener a listener.
+   */
+  public synchronized void addTransitionListener(@NonNull TransitionListener listener) {
+    var listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+    listeners[this.listeners.length] = listener;
+    this.listeners = listeners;
+  }
+
+  /**
+   * Removes a previously registered transition listener.
+   *
+   * @param listener a listener.
+   */
+  public synchronized void removeTransitionListener(@NonNull TransitionListener listener) {
+    this.listeners = Arrays.stream(this.listeners)
+        .filter((l) -> l != listener)
+        .toArray(TransitionListener[]::new);
   }
 
   /**
@@ -147,6 +249,34 @@ public class TimerGroup implements Timer {
     return this.activeTimer;
   }
 
+  /**
+   * Retrieves the {@link TimerSlots slot} of the timer against which the application is currently
+   * comparing.
+   *
+   * @return a timer slot.
+   */
+  public int getActiveSlot() {
+    var active = this.activeTimer.get();
+    var members = this.members;
+
+    for (var i = 0; i < members.timers.length; ++i) {
+      if (members.timers[i] == active) {
+        return members.slots[i];
+      }
+    }
+
+    return TimerSlots.REALTIME;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Clock getClock() {
+    return this.clock;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -160,83 +290,106 @@ public class TimerGroup implements Timer {
    * {@inheritDoc}
    */
   @Override
-  public void start() {
-    if (this.state.get() != State.WAITING) {
-      throw new IllegalStateException("Cannot start timer: already running");
-    }
-
-    var time = System.nanoTime();
-    this.timers.values().forEach((t) -> t.start(time));
-
-    this.state.set(State.RUNNING);
+  public void start(long nanos) {
+    this.transition(Action.START, nanos);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void pause() {
-    if (this.state.get() != State.RUNNING) {
-      throw new IllegalStateException("Cannot pause timer: already paused");
-    }
-
-    var time = System.nanoTime();
-    var running = this.timers.values().stream()
-        .filter((t) -> t.getState() == State.RUNNING)
-        .collect(Collectors.toSet());
-
-    this.pausedTimers.clear();
-    this.pausedTimers.addAll(running);
-
-    running.forEach((t) -> t.pause(time));
+  public void pause(long nanos) {
+    this.transition(Action.PAUSE, nanos);
+  }
 
-    this.state.set(State.PAUSED);
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void unpause(long nanos) {
+    this.transition(Action.UNPAUSE, nanos);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void unpause() {
-    if (this.state.get() != State.PAUSED) {
-      throw new IllegalStateException("Cannot un-pause timer: not paused");
+  public void stop(long nanos) {
+    this.transition(Action.STOP, nanos);
+  }
+
+  /**
+   * <p>Transitions the group (and thus all of its member timers) into a new state.</p>
+   *
+   * <p>The passed timestamp is the only timestamp which is applied to member timers (e.g. all
+   * members will agree on the exact time of the transition). This path does not allocate beyond
+   * the replacement snapshots.</p>
+   *
+   * @param action an action.
+   * @param nanos the transition timestamp.
+   * @throws IllegalStateException when the action cannot be applied in the current state.
+   */
+  private void transition(@NonNull Action action, long nanos) {
+    Snapshot next;
+    while (true) {
+      var current = this.snapshot.get();
+
+      if (current.pending) {
+        this.complete(current);
+        continue;
+      }
+      if (!action.isApplicable(current.state)) {
+        throw new IllegalStateException(action.error);
+      }
+
+      next = new Snapshot(action.target, current.sequence + 1, nanos, true);
+      if (this.snapshot.compareAndSet(current, next)) {
+        break;
+      }
     }
 
-    var time = System.nanoTime();
-    this.pausedTimers.forEach((t) -> t.unpause(time));
+    this.complete(next);
+    PlatformUtility.runOnApplicationThread(this.stateUpdater);
 
-    this.state.set(State.RUNNING);
+    for (var listener : this.listeners) {
+      listener.onTransition(this, action.target, nanos);
+    }
   }
 
   /**
-   * {@inheritDoc}
+   * Applies a pending transition to all member timers and marks it as completed.
+   *
+   * @param pending a snapshot which carries a pending transition.
    */
-  @Override
-  public void stop() {
-    if (this.state.get() != State.RUNNING && this.state.get() != State.PAUSED) {
-      throw new IllegalStateException("Cannot stop timer: not running");
+  private void complete(@NonNull Snapshot pending) {
+    for (var member : this.members.timers) {
+      member.applyGroupTransition(pending.state, pending.sequence, pending.timestamp);
     }
 
-    var time = System.nanoTime();
-    this.timers.values().forEach((t) -> t.stop(time));
+    this.snapshot.compareAndSet(pending, pending.completed());
+  }
 
-    this.state.set(State.STOPPED);
+  /**
+   * Copies the state of the most recent snapshot into the state property.
+   */
+  private void updateStateProperty() {
+    this.state.set(this.snapshot.get().state);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public long getElapsedNanos() {
-    return this.activeTimer.get().getElapsedNanos();
+  public long getElapsedNanos(long now) {
+    return this.activeTimer.get().getElapsedNanos(now);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public long getTotalElapsedNanos() {
-    return this.activeTimer.get().getTotalElapsedNanos();
+  public long getTotalElapsedNanos(long now) {
+    return this.activeTimer.get().getTotalElapsedNanos(now);
   }
 
   /**
@@ -245,7 +398,7 @@ public class TimerGroup implements Timer {
   @NonNull
   @Override
   public State getState() {
-    return this.state.get();
+    return this.snapshot.get().state;
   }
 
   /**
@@ -254,6 +407,106 @@ public class TimerGroup implements Timer {
   @NonNull
   @Override
   public ReadOnlyObjectProperty<State> stateProperty() {
-    return this.state;
+    return this.state.getReadOnlyProperty();
+  }
+
+  /**
+   * Receives the times which are sampled from a group.
+   */
+  @FunctionalInterface
+  public interface SampleConsumer {
+
+    /**
+     * Receives the elapsed time of a single timer.
+     *
+     * @param slot the slot of the timer identifier.
+     * @param nanos the elapsed time (in nanoseconds).
+     */
+    void accept(int slot, long nanos);
+  }
+
+  /**
+   * Provides an immutable copy of the member timers along with the slots of their respective
+   * identifiers.
+   */
+  private static final class Members {
+
+    static final Members EMPTY = new Members(new NanoTimer[0], new int[0]);
+
+    final NanoTimer[] timers;
+    final int[] slots;
+
+    private Members(@NonNull NanoTimer[] timers, @NonNull int[] slots) {
+      this.timers = timers;
+      this.slots = slots;
+    }
+  }
+
+  /**
+   * Provides a list of actions which transition the group into a new state.
+   */
+  private enum Action {
+    START(State.RUNNING, "Cannot start timer: already running"),
+    PAUSE(State.PAUSED, "Cannot pause timer: already paused"),
+    UNPAUSE(State.RUNNING, "Cannot un-pause timer: not paused"),
+    STOP(State.STOPPED, "Cannot stop timer: not running");
+
+    final State target;
+    final String error;
+
+    Action(@NonNull State target, @NonNull String error) {
+      this.target = target;
+      this.error = error;
+    }
+
+    /**
+     * Evaluates whether this action may be applied to a group in the specified state.
+     *
+     * @param state a group state.
+     * @return true if applicable, false otherwise.
+     */
+    boolean isApplicable(@NonNull State state) {
+      switch (this) {
+        case START:
+          return state == State.WAITING;
+        case PAUSE:
+          return state == State.RUNNING;
+        case UNPAUSE:
+          return state == State.PAUSED;
+        case STOP:
+          return state == State.RUNNING || state == State.PAUSED;
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * <p>Represents an immutable copy of the group state.</p>
+   *
+   * <p>When a transition is initiated, the group publishes a pending snapshot which carries the
+   * target state along with its timestamp and sequence number. The snapshot is replaced with its
+   * completed counterpart once the transition has been applied to all members.</p>
+   */
+  private static final class Snapshot {
+
+    static final Snapshot INITIAL = new Snapshot(State.WAITING, 0, 0, false);
+
+    final State state;
+    final long sequence;
+    final long timestamp;
+    final boolean pending;
+
+    private Snapshot(@NonNull State state, long sequence, long timestamp, boolean pending) {
+      this.state = state;
+      this.sequence = sequence;
+      this.timestamp = timestamp;
+      this.pending = pending;
+    }
+
+    @NonNull
+    Snapshot completed() {
+      return new Snapshot(this.state, this.sequence, this.timestamp, false);
+    }
   }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Interns timer identifiers into small integer slots.</p>
+ *
+ * <p>Slots are assigned in ascending order the first time an identifier is encountered and remain
+ * valid for the lifetime of the application. Since timer identifiers are typically statically
+ * defined by each respective game integration, the amount of slots is expected to remain very
+ * small. As a result, slots may be used as indices into primitive arrays (for instance, when
+ * storing segment times) rather than hashing identifiers on every access.</p>
+ *
+ * <p>The real time and in-game timers are guaranteed to occupy the slots {@link #REALTIME} and
+ * {@link #IN_GAME} respectively.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TimerSlots {
+
+  /**
+   * Defines the slot of the {@link Timer#REALTIME} timer.
+   */
+  public static final int REALTIME = 0;
+
+  /**
+   * Defines the slot of the {@link Timer#IN_GAME} timer.
+   */
+  public static final int IN_GAME = 1;
+
+  private static final Map<URI, Integer> slots = new ConcurrentHashMap<>();
+  private static volatile URI[] ids = new URI[0];
+
+  static {
+    slotOf(Timer.REALTIME);
+    slotOf(Timer.IN_GAME);
+  }
+
+  private TimerSlots() {
+  }
+
+  /**
+   * Retrieves the slot of the specified timer identifier (assigning a new slot if the identifier
+   * has not been encountered before).
+   *
+   * @param id a timer identifier.
+   * @return a slot.
+   */
+  public static int slotOf(@NonNull URI id) {
+    var slot = slots.get(id);
+    if (slot != null) {
+      return slot;
+    }
+
+    synchronized (TimerSlots.class) {
+      slot = slots.get(id);
+      if (slot != null) {
+        return slot;
+      }
+
+      var copy = Arrays.copyOf(ids, ids.length + 1);
+      copy[ids.length] = id;
+      ids = copy;
+
+      slots.put(id, ids.length - 1);
+      return ids.length - 1;
+    }
+  }
+
+  /**
+   * Looks up the slot of the specified timer identifier without assigning a new slot.
+   *
+   * @param id a timer identifier.
+   * @return a slot or -1 when the identifier has not been encountered before.
+   */
+  public static int find(@NonNull URI id) {
+    var slot = slots.get(id);
+    return slot != null ? slot : -1;
+  }
+
+  /**
+   * Retrieves the timer identifier which has been assigned to the specified slot.
+   *
+   * @param slot a slot.
+   * @return a timer identifier.
+   * @throws IndexOutOfBoundsException when no identifier has been assigned to the slot.
+   */
+  @NonNull
+  public static URI getId(int slot) {
+    return ids[slot];
+  }
+
+  /**
+   * Retrieves the total amount of slots which have been assigned thus far.
+   *
+   * @return an amount of slots.
+   */
+  public static int size() {
+    return ids.length;
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.Timer.State;
+
+/**
+ * <p>Receives notifications about state transitions of a timer group.</p>
+ *
+ * <p>Listeners are invoked synchronously on the thread which performed the transition (which is
+ * not necessarily the JavaFX application thread) and receive the exact timestamp at which the
+ * transition has been applied to the group members. Implementations are thus expected to return
+ * quickly and to never block.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface TransitionListener {
+
+  /**
+   * Handles a completed group transition.
+   *
+   * @param group the group which has been transitioned.
+   * @param state the new group state.
+   * @param timestamp the transition timestamp (as provided by the group clock).
+   */
+  void onTransition(@NonNull TimerGroup group, @NonNull State state, long timestamp);
+}
@@ -0,0 +1,549 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.journal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.github.dotstart.helios.api.time.split.EventLog;
+import io.github.dotstart.helios.api.time.split.Segment;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.time.split.TimelineEvent;
+import io.github.dotstart.helios.api.time.split.TimelineListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Provides an append-only journal which persists the progress of the current attempt as it
+ * happens.</p>
+ *
+ * <p>The journal is written through a memory mapped file. Appending an event is thus a plain
+ * memory write which never blocks on disk I/O. Modified pages are flushed to disk by a background
+ * thread in regular intervals (and when the journal is closed). Should the application crash
+ * mid-run, the operating system retains all events which have been appended up to that point
+ * (and, in case of a system failure, all events up to the last flush).</p>
+ *
+ * <p>The journal persists the {@link Timeline#getEventLog() event log} of the current attempt:
+ * Every event which is appended to the log of the observed timeline is appended to the journal as
+ * well. Since the log does not identify segments, the recorded times of every split (and the
+ * segment which is reverted by every undo) are journaled alongside it. The recovered log may thus
+ * be replayed (for instance, through a {@link io.github.dotstart.helios.api.time.ReplayEngine})
+ * while the recovered times may be archived without the need for a replay.</p>
+ *
+ * <p>Every attempt is written as a separate generation: When a timeline is reset, the journal
+ * increments its generation and starts overwriting the previous attempt. Each record is tagged
+ * with the generation it belongs to and this tag is written last. Partially written records (as
+ * well as stale records of previous attempts) are thus ignored when the journal is recovered.</p>
+ *
+ * <p>When an existing journal is opened, the events of its most recent generation are decoded
+ * into a {@link RecoveredAttempt} which may subsequently be applied to the matching timeline via
+ * {@link #applyRecoveredAttempt(Timeline)}. The recovered generation is retained on disk until it
+ * has been applied (or until a new attempt begins to be journaled) so that a second interruption
+ * does not lose it.</p>
+ *
+ * <p>Journaling never interferes with the attempt itself: When the journal cannot be written (for
+ * instance, because the disk is full), the failure is logged once and journaling is disabled for
+ * the remainder of the session while the timeline continues to operate normally.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class AttemptJournal implements TimelineListener, Closeable {
+
+  private static final Logger logger = LogManager.getFormatterLogger(AttemptJournal.class);
+
+  private static final int MAGIC = 0x484C534A; // HLSJ
+  private static final int VERSION = 2;
+
+  private static final int HEADER_SIZE = 16;
+  private static final int HEADER_GENERATION = 8;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int INITIAL_SIZE = 1024 * 1024;
+  private static final long FLUSH_INTERVAL = 100;
+
+  static final byte TYPE_TIMER = 1;
+  static final byte TYPE_EVENT = 2;
+  static final byte TYPE_SPLIT = 3;
+  static final byte TYPE_UNDO = 4;
+
+  private static final TimelineEvent[] EVENTS = TimelineEvent.values();
+
+  private final FileChannel channel;
+  private final ScheduledExecutorService flusher;
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private final RecoveredAttempt recoveredAttempt;
+
+  private volatile MappedByteBuffer buffer;
+  private int generation;
+  private int position = HEADER_SIZE;
+  private boolean[] definedTimers = new boolean[0];
+  private boolean recoveryPending;
+  private boolean closed;
+  private boolean failed;
+
+  private AttemptJournal(@NonNull FileChannel channel) throws IOException {
+    this.channel = channel;
+
+    var size = Math.max(channel.size(), INITIAL_SIZE);
+    this.buffer = channel.map(MapMode.READ_WRITE, 0, size);
+
+    var existing = channel.size() > HEADER_SIZE && this.buffer.getInt(0) == MAGIC;
+    if (existing && this.buffer.getInt(4) == VERSION) {
+      this.generation = this.buffer.getInt(HEADER_GENERATION);
+      this.recoveredAttempt = this.recover();
+    } else {
+      // journals only retain a single attempt - discarding an incompatible one is preferable
+      // over disabling the journal altogether
+      if (existing) {
+        logger.warn("Journal uses unsupported version %d - Previous attempt discarded",
+            this.buffer.getInt(4));
+        this.generation = this.buffer.getInt(HEADER_GENERATION);
+      }
+
+      this.buffer.putInt(0, MAGIC);
+      this.buffer.putInt(4, VERSION);
+      this.recoveredAttempt = new RecoveredAttempt();
+    }
+
+    // the recovered generation must remain intact until it has been applied to its timeline as
+    // the application may be interrupted again before the timeline is loaded
+    if (this.recoveredAttempt.isEmpty()) {
+      this.startGeneration();
+    } else {
+      this.recoveryPending = true;
+    }
+
+    this.flusher = Executors.newSingleThreadScheduledExecutor((r) -> {
+      var thread = new Thread(r, "journal-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens (or creates) a journal at the specified location.
+   *
+   * @param path a file path.
+   * @return a journal.
+   * @throws IOException when opening or mapping the file fails or the file is not a journal.
+   */
+  @NonNull
+  public static AttemptJournal open(@NonNull Path path) throws IOException {
+    var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+
+    try {
+      return new AttemptJournal(channel);
+    } catch (IOException | RuntimeException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * Decodes all records of the current generation.
+   *
+   * @return a recovered attempt.
+   */
+  @NonNull
+  private RecoveredAttempt recover() {
+    var timers = new HashMap<Integer, URI>();
+    var splits = new ArrayList<RecoveredAttempt.Split>();
+    var log = new EventLog();
+    var state = State.WAITING;
+    var timestamp = 0L;
+    var started = false;
+
+    var offset = HEADER_SIZE;
+    while (offset + RECORD_HEADER_SIZE <= this.buffer.limit()
+        && this.buffer.getInt(offset) == this.generation) {
+      var length = this.buffer.getShort(offset + 4);
+      var type = this.buffer.get(offset + 6);
+      if (length < RECORD_HEADER_SIZE || offset + length > this.buffer.limit()) {
+        logger.warn("Journal record at offset %d is malformed - Recovery stopped", offset);
+        break;
+      }
+
+      var payload = offset + RECORD_HEADER_SIZE;
+      switch (type) {
+        case TYPE_TIMER:
+          var uri = new byte[this.buffer.getShort(payload + 4)];
+          for (var i = 0; i < uri.length; ++i) {
+            uri[i] = this.buffer.get(payload + 6 + i);
+          }
+          timers.put(this.buffer.getInt(payload),
+              URI.create(new String(uri, StandardCharsets.UTF_8)));
+          break;
+        case TYPE_EVENT:
+          var ordinal = this.buffer.get(payload + 8) & 0xFF;
+          if (ordinal >= EVENTS.length) {
+            logger.warn("Journal record at offset %d is of unknown event %d - Skipped", offset,
+                ordinal);
+            break;
+          }
+
+          var event = EVENTS[ordinal];
+          var eventTimestamp = this.buffer.getLong(payload);
+          log.append(event, eventTimestamp);
+
+          switch (event) {
+            case START:
+              started = true;
+              break;
+            case TIMER_START:
+            case TIMER_UNPAUSE:
+              state = State.RUNNING;
+              timestamp = eventTimestamp;
+              break;
+            case TIMER_PAUSE:
+              state = State.PAUSED;
+              timestamp = eventTimestamp;
+              break;
+            case TIMER_STOP:
+              state = State.STOPPED;
+              timestamp = eventTimestamp;
+              break;
+            default:
+              break;
+          }
+          break;
+        case TYPE_SPLIT:
+          var timer = timers.get(this.buffer.getInt(payload + 24));
+          if (timer != null) {
+            splits.add(new RecoveredAttempt.Split(
+                new UUID(this.buffer.getLong(payload), this.buffer.getLong(payload + 8)),
+                timer, this.buffer.getLong(payload + 16)));
+          }
+          break;
+        case TYPE_UNDO:
+          var segmentId = new UUID(this.buffer.getLong(payload), this.buffer.getLong(payload + 8));
+          splits.removeIf((s) -> s.getSegmentId().equals(segmentId));
+          break;
+        default:
+          logger.warn("Journal record at offset %d is of unknown type %d - Skipped", offset, type);
+      }
+
+      offset += length;
+    }
+
+    logger.info("Recovered %d splits from journal generation %d", splits.size(),
+        this.generation);
+    return new RecoveredAttempt(started, state, timestamp, splits, log);
+  }
+
+  /**
+   * Retrieves the attempt which has been recovered from a previous session.
+   *
+   * @return a recovered attempt (which may be empty).
+   */
+  @NonNull
+  public RecoveredAttempt getRecoveredAttempt() {
+    return this.recoveredAttempt;
+  }
+
+  /**
+   * <p>Archives the recovered attempt within the matching segments of a timeline and discards
+   * its generation from the journal.</p>
+   *
+   * <p>When none of the recovered splits match the timeline, the journal remains unchanged so
+   * that the attempt may be applied to another timeline later on.</p>
+   *
+   * @param timeline a timeline.
+   * @return the amount of splits which have been applied.
+   * @throws IllegalStateException when the timeline is currently running.
+   * @see RecoveredAttempt#applyTo(Timeline)
+   */
+  public synchronized int applyRecoveredAttempt(@NonNull Timeline timeline) {
+    if (!this.recoveryPending) {
+      return 0;
+    }
+
+    var applied = this.recoveredAttempt.applyTo(timeline);
+    if (applied != 0) {
+      this.startGeneration();
+    }
+    return applied;
+  }
+
+  /**
+   * Evaluates whether the recovered attempt is still retained within the journal (e.g. it has
+   * not been applied yet).
+   *
+   * @return true if pending, false otherwise.
+   */
+  public synchronized boolean isRecoveryPending() {
+    return this.recoveryPending;
+  }
+
+  /**
+   * Starts a new generation (e.g. discards all events of the previous attempt).
+   */
+  private synchronized void startGeneration() {
+    this.recoveryPending = false;
+    ++this.generation;
+    this.position = HEADER_SIZE;
+    Arrays.fill(this.definedTimers, false);
+
+    this.buffer.putInt(HEADER_GENERATION, this.generation);
+    this.dirty.set(true);
+  }
+
+  /**
+   * Reserves space for a new record and writes its header (with the exception of its generation
+   * tag).
+   *
+   * @param type a record type.
+   * @param payloadLength the length of the record payload.
+   * @return the offset of the record payload.
+   * @throws IOException when the journal file cannot be grown.
+   */
+  private int reserve(byte type, int payloadLength) throws IOException {
+    if (this.recoveryPending) {
+      logger.warn("Recovered attempt has not been applied before a new attempt - Discarded");
+      this.startGeneration();
+    }
+
+    var length = (RECORD_HEADER_SIZE + payloadLength + 7) & ~7;
+    if (this.position + length + RECORD_HEADER_SIZE > this.buffer.capacity()) {
+      this.grow();
+    }
+
+    // invalidate the following record (if any) so that stale records of the previous generation
+    // cannot be mistaken for a continuation of this generation
+    this.buffer.putInt(this.position + length, 0);
+
+    this.buffer.putShort(this.position + 4, (short) length);
+    this.buffer.put(this.position + 6, type);
+    return this.position + RECORD_HEADER_SIZE;
+  }
+
+  /**
+   * Marks the record which has been reserved last as complete.
+   *
+   * @param payloadOffset the offset of the record payload.
+   */
+  private void commit(int payloadOffset) {
+    var offset = payloadOffset - RECORD_HEADER_SIZE;
+    var length = this.buffer.getShort(offset + 4);
+
+    this.buffer.putInt(offset, this.generation);
+    this.position = offset + length;
+    this.dirty.set(true);
+  }
+
+  /**
+   * Doubles the size of the journal file.
+   *
+   * @throws IOException when the file cannot be grown or re-mapped.
+   */
+  private void grow() throws IOException {
+    this.buffer.force();
+    this.buffer = this.channel.map(MapMode.READ_WRITE, 0, this.buffer.capacity() * 2L);
+  }
+
+  /**
+   * Evaluates whether records may currently be appended to the journal.
+   *
+   * @return true if writable, false when the journal has been closed or has failed.
+   */
+  private boolean isWritable() {
+    return !this.closed && !this.failed;
+  }
+
+  /**
+   * <p>Disables the journal for the remainder of the session after a record could not be
+   * written.</p>
+   *
+   * <p>Aside from failures to grow the file, writes to a mapped page which cannot be backed by the
+   * disk (e.g. when it is full) are reported by the JVM as an {@link InternalError}.</p>
+   *
+   * @param ex the cause.
+   */
+  private void fail(@NonNull Throwable ex) {
+    this.failed = true;
+    logger.error("Cannot append to journal: %s - Journaling disabled for this session",
+        ex.getMessage(), ex);
+  }
+
+  /**
+   * Appends the definition of a timer slot to the journal (given that it has not been defined
+   * within the current generation yet).
+   *
+   * @param slot a timer slot.
+   * @throws IOException when the journal file cannot be grown.
+   */
+  private void defineTimer(int slot) throws IOException {
+    if (slot < this.definedTimers.length && this.definedTimers[slot]) {
+      return;
+    }
+    if (slot >= this.definedTimers.length) {
+      this.definedTimers = Arrays.copyOf(this.definedTimers, Math.max(slot + 1, TimerSlots.size()));
+    }
+
+    var uri = TimerSlots.getId(slot).toString().getBytes(StandardCharsets.UTF_8);
+    var payload = this.reserve(TYPE_TIMER, 6 + uri.length);
+    this.buffer.putInt(payload, slot);
+    this.buffer.putShort(payload + 4, (short) uri.length);
+    for (var i = 0; i < uri.length; ++i) {
+      this.buffer.put(payload + 6 + i, uri[i]);
+    }
+    this.commit(payload);
+
+    this.definedTimers[slot] = true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void onEvent(@NonNull Timeline timeline, @NonNull TimelineEvent event,
+      long timestamp) {
+    // resets discard the entire generation and are thus never journaled
+    if (event == TimelineEvent.RESET || !this.isWritable()) {
+      return;
+    }
+
+    try {
+      var payload = this.reserve(TYPE_EVENT, 9);
+      this.buffer.putLong(payload, timestamp);
+      this.buffer.put(payload + 8, (byte) event.ordinal());
+      this.commit(payload);
+    } catch (IOException | RuntimeException | InternalError ex) {
+      this.fail(ex);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void onSplit(@NonNull Timeline timeline, int index, long timestamp) {
+    if (!this.isWritable()) {
+      return;
+    }
+
+    var segment = timeline.getSegments().get(index);
+    var id = segment.getId();
+
+    try {
+      for (var slot = 0; slot < TimerSlots.size(); ++slot) {
+        var time = segment.getTimeNanos(slot);
+        if (time == Segment.NO_TIME) {
+          continue;
+        }
+
+        this.defineTimer(slot);
+
+        var payload = this.reserve(TYPE_SPLIT, 28);
+        this.buffer.putLong(payload, id.getMostSignificantBits());
+        this.buffer.putLong(payload + 8, id.getLeastSignificantBits());
+        this.buffer.putLong(payload + 16, time);
+        this.buffer.putInt(payload + 24, slot);
+        this.commit(payload);
+      }
+    } catch (IOException | RuntimeException | InternalError ex) {
+      this.fail(ex);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void onUndoSplit(@NonNull Timeline timeline, int index, long timestamp) {
+    if (!this.isWritable()) {
+      return;
+    }
+
+    var id = timeline.getSegments().get(index).getId();
+
+    try {
+      var payload = this.reserve(TYPE_UNDO, 16);
+      this.buffer.putLong(payload, id.getMostSignificantBits());
+      this.buffer.putLong(payload + 8, id.getLeastSignificantBits());
+      this.commit(payload);
+    } catch (IOException | RuntimeException | InternalError ex) {
+      this.fail(ex);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void onClear(@NonNull Timeline timeline) {
+    // nothing has been journaled since the recovered attempt was decoded - retain it until it is
+    // applied (timelines are reset whenever they are loaded)
+    if (this.recoveryPending || !this.isWritable()) {
+      return;
+    }
+
+    this.startGeneration();
+  }
+
+  /**
+   * Evaluates whether journaling has been disabled due to a write failure.
+   *
+   * @return true if failed, false otherwise.
+   */
+  public synchronized boolean hasFailed() {
+    return this.failed;
+  }
+
+  /**
+   * Writes all modified pages to disk (given that the journal has been modified since the last
+   * flush).
+   */
+  public void flush() {
+    if (this.dirty.getAndSet(false)) {
+      this.buffer.force();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    this.closed = true;
+    this.flusher.shutdown();
+    this.flush();
+    this.channel.close();
+  }
+}
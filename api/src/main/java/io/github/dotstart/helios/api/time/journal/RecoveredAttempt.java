@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.journal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.github.dotstart.helios.api.time.split.EventLog;
+import io.github.dotstart.helios.api.time.split.Segment;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>Represents an attempt which has been recovered from a journal after the application has
+ * been terminated unexpectedly.</p>
+ *
+ * <p>Recovered attempts cannot be resumed (as timestamps of the previous session are meaningless
+ * within the current one). Instead, their completed segments are archived within the timeline in
+ * the same manner as if the attempt had been reset normally.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class RecoveredAttempt {
+
+  private final boolean started;
+  private final State state;
+  private final long timestamp;
+  private final List<Split> splits;
+  private final EventLog eventLog;
+
+  RecoveredAttempt() {
+    this(false, State.WAITING, 0, Collections.emptyList(), new EventLog());
+  }
+
+  RecoveredAttempt(boolean started, @NonNull State state, long timestamp,
+      @NonNull List<Split> splits, @NonNull EventLog eventLog) {
+    this.started = started;
+    this.state = state;
+    this.timestamp = timestamp;
+    this.splits = Collections.unmodifiableList(splits);
+    this.eventLog = eventLog;
+  }
+
+  /**
+   * Evaluates whether the recovered attempt did not complete any segments.
+   *
+   * @return true if empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.splits.isEmpty();
+  }
+
+  /**
+   * Evaluates whether the timeline had been started within the recovered attempt.
+   *
+   * @return true if started, false otherwise.
+   */
+  public boolean isStarted() {
+    return this.started;
+  }
+
+  /**
+   * Retrieves the last known state of the timer group.
+   *
+   * @return a state.
+   */
+  @NonNull
+  public State getState() {
+    return this.state;
+  }
+
+  /**
+   * Retrieves the timestamp of the last known group transition (as provided by the clock of the
+   * previous session).
+   *
+   * @return a timestamp.
+   */
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * Retrieves all segment times which have been recorded within the recovered attempt.
+   *
+   * @return a list of splits.
+   */
+  @NonNull
+  public List<Split> getSplits() {
+    return this.splits;
+  }
+
+  /**
+   * <p>Retrieves the event log of the recovered attempt.</p>
+   *
+   * <p>The log contains all events up to the interruption (with the exception of resets) in the
+   * order in which they have been recorded and may be replayed against a copy of the timeline in
+   * order to reproduce the interrupted attempt.</p>
+   *
+   * @return an event log.
+   */
+  @NonNull
+  public EventLog getEventLog() {
+    return this.eventLog;
+  }
+
+  /**
+   * <p>Archives the recovered segment times within the matching segments of a timeline.</p>
+   *
+   * <p>Segments are matched via their identifiers. Splits which refer to segments that are not
+   * part of the timeline are ignored. The attempt is archived as a whole (see {@link
+   * Timeline#archiveAttempt()}) so that segments which have not been reached receive a
+   * placeholder.</p>
+   *
+   * @param timeline a timeline.
+   * @return the amount of splits which have been applied.
+   * @throws IllegalStateException when the timeline is currently running.
+   */
+  public int applyTo(@NonNull Timeline timeline) {
+    if (timeline.hasStarted()) {
+      throw new IllegalStateException("Cannot apply recovered attempt: Timeline is running");
+    }
+
+    var segments = new HashMap<UUID, Segment>();
+    timeline.getSegments().forEach((s) -> segments.put(s.getId(), s));
+
+    var applied = 0;
+    for (var split : this.splits) {
+      var segment = segments.get(split.segmentId);
+      if (segment == null) {
+        continue;
+      }
+
+      segment.setTime(TimerSlots.slotOf(split.timerId), split.duration);
+      ++applied;
+    }
+
+    timeline.archiveAttempt();
+    timeline.getSegments().forEach(Segment::clearTime);
+
+    return applied;
+  }
+
+  /**
+   * Represents a single segment time.
+   */
+  public static final class Split {
+
+    private final UUID segmentId;
+    private final URI timerId;
+    private final long duration;
+
+    Split(@NonNull UUID segmentId, @NonNull URI timerId, long duration) {
+      this.segmentId = segmentId;
+      this.timerId = timerId;
+      this.duration = duration;
+    }
+
+    @NonNull
+    public UUID getSegmentId() {
+      return this.segmentId;
+    }
+
+    @NonNull
+    public URI getTimerId() {
+      return this.timerId;
+    }
+
+    public long getDuration() {
+      return this.duration;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.util.List;
+
+/**
+ * <p>Represents a single named comparison column (e.g. a reference run against which the current
+ * attempt is compared).</p>
+ *
+ * <p>Comparisons store the cumulative split time of every segment for every known timer within a
+ * primitive array. These arrays are rebuilt lazily when the owning timeline reports a change to
+ * the underlying segment data. Retrieving a split time or a delta is thus a constant time
+ * operation in the common case.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class Comparison {
+
+  private final String name;
+  private final ComparisonGenerator generator;
+  private final List<Segment> segments;
+
+  private long[][] splitTimes = new long[0][];
+  private boolean dirty = true;
+
+  Comparison(@NonNull String name, @NonNull ComparisonGenerator generator,
+      @NonNull List<Segment> segments) {
+    this.name = name;
+    this.generator = generator;
+    this.segments = segments;
+  }
+
+  /**
+   * Retrieves the name of this comparison.
+   *
+   * @return a name.
+   */
+  @NonNull
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Retrieves the generator which derives the segment times of this comparison.
+   *
+   * @return a generator.
+   */
+  @NonNull
+  public ComparisonGenerator getGenerator() {
+    return this.generator;
+  }
+
+  /**
+   * Marks the split times of this comparison outdated.
+   */
+  void invalidate() {
+    this.dirty = true;
+  }
+
+  /**
+   * Re-computes the cumulative split times of all known timers.
+   */
+  private void compute() {
+    var slots = TimerSlots.size();
+    var segments = this.segments.size();
+
+    if (this.splitTimes.length != slots
+        || (slots != 0 && this.splitTimes[0].length != segments)) {
+      this.splitTimes = new long[slots][segments];
+    }
+
+    for (var slot = 0; slot < slots; ++slot) {
+      var times = this.splitTimes[slot];
+      var total = 0L;
+
+      for (var i = 0; i < segments; ++i) {
+        var time = total == Segment.NO_TIME ? Segment.NO_TIME
+            : this.generator.getSegmentTime(this.segments.get(i), slot);
+        total = time == Segment.NO_TIME ? Segment.NO_TIME : total + time;
+        times[i] = total;
+      }
+    }
+
+    this.dirty = false;
+  }
+
+  /**
+   * Retrieves the cumulative time at which the specified segment is split within this
+   * comparison.
+   *
+   * @param slot a timer slot.
+   * @param segment a segment index.
+   * @return a split time or {@link Segment#NO_TIME} when the split time is unknown.
+   */
+  public long getSplitTime(int slot, int segment) {
+    if (this.dirty) {
+      this.compute();
+    }
+
+    if (slot >= this.splitTimes.length || segment < 0
+        || segment >= this.splitTimes[slot].length) {
+      return Segment.NO_TIME;
+    }
+
+    return this.splitTimes[slot][segment];
+  }
+
+  /**
+   * Retrieves the difference between a time and the split time of a segment within this
+   * comparison.
+   *
+   * @param slot a timer slot.
+   * @param segment a segment index.
+   * @param time a cumulative time.
+   * @return a negative delta when ahead of this comparison, a positive delta when behind it or
+   * {@link Segment#NO_TIME} when the split time is unknown.
+   */
+  public long getDelta(int slot, int segment, long time) {
+    var split = this.getSplitTime(slot, segment);
+    return split == Segment.NO_TIME ? Segment.NO_TIME : time - split;
+  }
+}
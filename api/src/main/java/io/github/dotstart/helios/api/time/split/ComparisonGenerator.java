@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Derives the segment durations of a comparison from the data which is stored within each
+ * segment.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see StandardComparison
+ */
+@FunctionalInterface
+public interface ComparisonGenerator {
+
+  /**
+   * Retrieves the duration of a segment within the generated comparison.
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   * @return a segment duration or {@link Segment#NO_TIME} when no duration is known.
+   */
+  long getSegmentTime(@NonNull Segment segment, int slot);
+}
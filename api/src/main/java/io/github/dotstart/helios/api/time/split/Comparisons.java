@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.Optional;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * <p>Manages the comparisons which are available for a timeline.</p>
+ *
+ * <p>Every timeline provides the {@link StandardComparison standard comparisons} by default.
+ * Additional comparisons may be registered via {@link #add(String, ComparisonGenerator)}. The
+ * selected comparison drives the deltas which are displayed for the current attempt.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class Comparisons {
+
+  private final List<Segment> segments;
+
+  private final ObservableList<Comparison> comparisons = FXCollections.observableArrayList();
+  private final ObservableList<Comparison> comparisonsView = FXCollections
+      .unmodifiableObservableList(this.comparisons);
+  private final ObjectProperty<Comparison> selected = new SimpleObjectProperty<>();
+
+  Comparisons(@NonNull List<Segment> segments) {
+    this.segments = segments;
+
+    for (var comparison : StandardComparison.values()) {
+      this.add(comparison.getDisplayName(), comparison);
+    }
+    this.selected.set(this.comparisons.get(0));
+  }
+
+  /**
+   * Registers a new comparison.
+   *
+   * @param name a unique comparison name.
+   * @param generator a generator which derives the segment times of the comparison.
+   * @return a comparison.
+   * @throws IllegalArgumentException when a comparison with the same name already exists.
+   */
+  @NonNull
+  public Comparison add(@NonNull String name, @NonNull ComparisonGenerator generator) {
+    if (this.get(name).isPresent()) {
+      throw new IllegalArgumentException("Cannot add comparison: Duplicate name \"" + name + "\"");
+    }
+
+    var comparison = new Comparison(name, generator, this.segments);
+    this.comparisons.add(comparison);
+    return comparison;
+  }
+
+  /**
+   * Retrieves a comparison by its name.
+   *
+   * @param name a comparison name.
+   * @return a comparison or an empty optional.
+   */
+  @NonNull
+  public Optional<Comparison> get(@NonNull String name) {
+    return this.comparisons.stream()
+        .filter((c) -> c.getName().equals(name))
+        .findAny();
+  }
+
+  /**
+   * Retrieves the comparison which is backed by the specified standard generator.
+   *
+   * @param comparison a standard comparison.
+   * @return a comparison.
+   */
+  @NonNull
+  public Comparison get(@NonNull StandardComparison comparison) {
+    return this.get(comparison.getDisplayName()).orElseThrow();
+  }
+
+  /**
+   * Retrieves an immutable view of all available comparisons.
+   *
+   * @return a list of comparisons.
+   */
+  @NonNull
+  @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
+  public ObservableList<Comparison> getComparisons() {
+    return this.comparisonsView;
+  }
+
+  /**
+   * Retrieves the comparison against which the current attempt is compared.
+   *
+   * @return a comparison.
+   */
+  @NonNull
+  public Comparison getSelected() {
+    return this.selected.get();
+  }
+
+  @NonNull
+  public ObjectProperty<Comparison> selectedProperty() {
+    return this.selected;
+  }
+
+  public void setSelected(@NonNull Comparison comparison) {
+    if (!this.comparisons.contains(comparison)) {
+      throw new IllegalArgumentException("Cannot select comparison: not registered");
+    }
+
+    this.selected.set(comparison);
+  }
+
+  /**
+   * Marks the split times of all comparisons outdated.
+   */
+  void invalidate() {
+    this.comparisons.forEach(Comparison::invalidate);
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <p>Exports the attempt histories of a timeline as comma separated values.</p>
+ *
+ * <p>The resulting table contains a header row with the segment names followed by one row per
+ * attempt and one column per segment. Segment durations are given in seconds with nanosecond
+ * precision (e.g. {@code 61.250000000}) while segments without a recorded time are left empty.
+ * As every archived attempt appends exactly one entry (or placeholder) to the histories of all
+ * segments (see {@link Timeline#archiveAttempt()}), histories are aligned at their most recent
+ * entry (as done by {@link LiveSplitExporter}). Each row thus refers to a single attempt with the
+ * last row referring to the latest attempt. Segments which have been added after an attempt was
+ * archived are left empty within its row.</p>
+ *
+ * <p>Values are streamed to the target writer without allocating intermediate strings. As tables
+ * are written row by row, times are copied from the segment histories into a window of
+ * {@link #WINDOW_SIZE} rows one segment at a time. Histories which are backed by a split file are
+ * thus read sequentially (and each of their pages is decoded at most twice) regardless of the
+ * amount of segments and the capacity of the page cache. Exporting a timeline requires an amount
+ * of memory proportional to its amount of segments but independent of the size of its
+ * histories.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class CsvExporter {
+
+  /**
+   * Defines the amount of rows which are buffered at once.
+   */
+  static final int WINDOW_SIZE = HistoryPageCache.PAGE_SIZE;
+
+  private CsvExporter() {
+  }
+
+  /**
+   * <p>Encodes the histories of a single timer within a timeline as comma separated values.</p>
+   *
+   * <p>The passed writer is expected to be buffered as the table is written in small
+   * fragments.</p>
+   *
+   * @param out a target writer.
+   * @param timeline a timeline.
+   * @param slot the slot of the exported timer.
+   * @throws IOException when writing to the target fails.
+   */
+  public static void write(@NonNull Writer out, @NonNull Timeline timeline, int slot)
+      throws IOException {
+    var segments = timeline.getSegments();
+    var buffer = new char[LiveSplitExporter.BUFFER_SIZE];
+
+    var attemptCount = 0;
+    out.write("Attempt");
+    for (var segment : segments) {
+      attemptCount = Math.max(attemptCount, segment.getHistory(slot).size());
+
+      out.write(',');
+      writeQuoted(out, segment.getDisplayName() != null ? segment.getDisplayName() : "");
+    }
+    out.write("\r\n");
+
+    var window = new long[segments.size()][Math.min(WINDOW_SIZE, attemptCount)];
+    for (var start = 0; start < attemptCount; start += WINDOW_SIZE) {
+      var length = Math.min(WINDOW_SIZE, attemptCount - start);
+      for (var j = 0; j < window.length; ++j) {
+        copyAligned(segments.get(j).getHistory(slot), attemptCount, start, window[j], length);
+      }
+
+      for (var i = 0; i < length; ++i) {
+        out.write(buffer, 0, LiveSplitExporter.writeDigits(buffer, 0, start + i + 1, 1));
+
+        for (var column : window) {
+          out.write(',');
+
+          if (column[i] != Segment.NO_TIME) {
+            out.write(buffer, 0, formatSeconds(column[i], buffer));
+          }
+        }
+        out.write("\r\n");
+      }
+    }
+
+    out.flush();
+  }
+
+  /**
+   * Writes the histories of a single timer within a timeline to the specified file.
+   *
+   * @param path a file path.
+   * @param timeline a timeline.
+   * @param slot the slot of the exported timer.
+   * @throws IOException when writing to the file fails.
+   */
+  public static void save(@NonNull Path path, @NonNull Timeline timeline, int slot)
+      throws IOException {
+    try (var out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      write(out, timeline, slot);
+    }
+  }
+
+  /**
+   * Copies a range of entries from a history which is aligned to the most recent entry of a
+   * combined history of the specified size.
+   *
+   * @param history a history.
+   * @param size the size of the combined history.
+   * @param index the index of the first copied entry within the combined history.
+   * @param target a target array.
+   * @param length the amount of copied entries.
+   * @see LiveSplitExporter#getAligned(TimeHistory, int, int)
+   */
+  static void copyAligned(@NonNull TimeHistory history, int size, int index,
+      @NonNull long[] target, int length) {
+    var offset = index - (size - history.size());
+    var missing = Math.min(length, Math.max(0, -offset));
+
+    Arrays.fill(target, 0, missing, Segment.NO_TIME);
+    if (missing != length) {
+      history.copyTo(offset + missing, target, missing, length - missing);
+    }
+  }
+
+  /**
+   * Formats a duration as a decimal amount of seconds.
+   *
+   * @param nanos a duration (in nanoseconds).
+   * @param out a buffer of at least {@link LiveSplitExporter#BUFFER_SIZE} characters.
+   * @return the amount of characters written.
+   */
+  static int formatSeconds(long nanos, @NonNull char[] out) {
+    // the magnitude is treated as an unsigned value as Long.MIN_VALUE has no positive counterpart
+    var pos = 0;
+    if (nanos < 0) {
+      out[pos++] = '-';
+      nanos = -nanos;
+    }
+
+    pos = LiveSplitExporter.writeDigits(out, pos, Long.divideUnsigned(nanos, 1000000000), 1);
+    out[pos++] = '.';
+    return LiveSplitExporter.writeDigits(out, pos, Long.remainderUnsigned(nanos, 1000000000), 9);
+  }
+
+  /**
+   * Writes a value as a quoted field (e.g. enclosed in double quotes with all contained double
+   * quotes duplicated).
+   *
+   * @param out a target writer.
+   * @param value a value.
+   * @throws IOException when writing fails.
+   */
+  private static void writeQuoted(@NonNull Writer out, @NonNull String value) throws IOException {
+    out.write('"');
+
+    var start = 0;
+    for (var i = value.indexOf('"'); i != -1; i = value.indexOf('"', i + 1)) {
+      out.write(value, start, i + 1 - start);
+      out.write('"');
+      start = i + 1;
+    }
+    out.write(value, start, value.length() - start);
+
+    out.write('"');
+  }
+}
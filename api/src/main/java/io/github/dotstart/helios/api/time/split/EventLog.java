@@ -0,0 +1,256 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.utility.SerializationUtility;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>Provides an append-only log of timestamped timeline events.</p>
+ *
+ * <p>Every transition of a timeline (as well as every transition of the timer group which
+ * measures its attempts) is appended to its log in the order in which it has been applied. The
+ * state of a timeline is thus the result of applying all logged events to its initial state
+ * (e.g. undoing a split merely appends an event which reverts the effects of the preceding split
+ * rather than rewriting previous events). As a result, the log of an attempt may be persisted
+ * and subsequently replayed in order to reproduce its exact segment times.</p>
+ *
+ * <p>Logs may be stored within a file of their own via {@link #save(Path)} (for instance, in
+ * order to attach a mistimed attempt to a bug report) and subsequently be replayed from it.</p>
+ *
+ * <p>Events are stored within primitive arrays which grow geometrically. Appending an event does
+ * thus not allocate in the common case.</p>
+ *
+ * <p>This implementation is thread safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class EventLog {
+
+  /**
+   * Defines the magic number which prefixes every event log file ("HLSE").
+   */
+  public static final int MAGIC = 0x484C5345;
+
+  /**
+   * Defines the most recent version of the event log file format.
+   */
+  public static final int VERSION = 1;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final TimelineEvent[] EVENTS = TimelineEvent.values();
+
+  private byte[] events = new byte[INITIAL_CAPACITY];
+  private long[] timestamps = new long[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * <p>Decodes a log which has previously been encoded using {@link #write(ByteBuf)}.</p>
+   *
+   * @param source a source buffer.
+   * @return a log.
+   * @throws IllegalArgumentException when the buffer contains an unknown event.
+   */
+  @NonNull
+  public static EventLog read(@NonNull ByteBuf source) {
+    var log = new EventLog();
+    var size = SerializationUtility.readVarInt(source);
+
+    var previous = 0L;
+    for (var i = 0; i < size; ++i) {
+      var ordinal = source.readUnsignedByte();
+      if (ordinal >= EVENTS.length) {
+        throw new IllegalArgumentException("Malformed event log: Unknown event type " + ordinal);
+      }
+
+      previous += SerializationUtility.readSignedVarLong(source);
+      log.append(EVENTS[ordinal], previous);
+    }
+
+    return log;
+  }
+
+  /**
+   * <p>Encodes all events within this log into the specified buffer.</p>
+   *
+   * <p>Timestamps are stored as variable length differences to their respective predecessor and
+   * thus typically occupy five to six bytes per event rather than eight.</p>
+   *
+   * @param target a target buffer.
+   */
+  public synchronized void write(@NonNull ByteBuf target) {
+    SerializationUtility.writeVarInt(target, this.size);
+
+    var previous = 0L;
+    for (var i = 0; i < this.size; ++i) {
+      target.writeByte(this.events[i]);
+      SerializationUtility.writeSignedVarLong(target, this.timestamps[i] - previous);
+      previous = this.timestamps[i];
+    }
+  }
+
+  /**
+   * Reads a log from the specified file.
+   *
+   * @param path a file path.
+   * @return a log.
+   * @throws IOException when reading from the file fails.
+   * @throws IllegalArgumentException when the file is not a valid event log.
+   * @see #save(Path)
+   */
+  @NonNull
+  public static EventLog load(@NonNull Path path) throws IOException {
+    var source = Unpooled.wrappedBuffer(Files.readAllBytes(path));
+    if (!source.isReadable(5) || source.readInt() != MAGIC) {
+      throw new IllegalArgumentException("Malformed event log: Invalid magic number");
+    }
+
+    var version = source.readUnsignedByte();
+    if (version < 1 || version > VERSION) {
+      throw new IllegalArgumentException("Unsupported event log version: " + version);
+    }
+
+    try {
+      return read(source);
+    } catch (IndexOutOfBoundsException ex) {
+      throw new IllegalArgumentException("Malformed event log: Truncated file", ex);
+    }
+  }
+
+  /**
+   * <p>Writes all events within this log to the specified file.</p>
+   *
+   * <p>The log is written to a temporary file within the same directory first and subsequently
+   * moved to its target location. As a result, a previous version of the file is never left in a
+   * partially written state.</p>
+   *
+   * @param path a file path.
+   * @throws IOException when writing to the file fails.
+   */
+  public void save(@NonNull Path path) throws IOException {
+    var buffer = Unpooled.buffer();
+    try {
+      buffer.writeInt(MAGIC);
+      buffer.writeByte(VERSION);
+      this.write(buffer);
+
+      var tmp = path.resolveSibling(path.getFileName() + ".tmp");
+      try (var channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (buffer.isReadable()) {
+          buffer.readBytes(channel, buffer.readableBytes());
+        }
+        channel.force(true);
+      }
+
+      Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  /**
+   * Appends an event to this log.
+   *
+   * @param event an event type.
+   * @param timestamp the event timestamp or {@link Segment#NO_TIME} when the event has been
+   * triggered without a timestamp.
+   */
+  public synchronized void append(@NonNull TimelineEvent event, long timestamp) {
+    if (this.size == this.events.length) {
+      this.events = Arrays.copyOf(this.events, this.size * 2);
+      this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+    }
+
+    this.events[this.size] = (byte) event.ordinal();
+    this.timestamps[this.size] = timestamp;
+    ++this.size;
+  }
+
+  /**
+   * Discards all events within this log (e.g. once the logged attempt has been reset).
+   */
+  synchronized void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Retrieves the type of a logged event.
+   *
+   * @param index an event index where zero refers to the oldest event.
+   * @return an event type.
+   * @throws IndexOutOfBoundsException when the index exceeds the bounds of this log.
+   */
+  @NonNull
+  public synchronized TimelineEvent getEvent(int index) {
+    return EVENTS[this.events[this.checkIndex(index)]];
+  }
+
+  /**
+   * Retrieves the timestamp of a logged event.
+   *
+   * @param index an event index where zero refers to the oldest event.
+   * @return a timestamp or {@link Segment#NO_TIME}.
+   * @throws IndexOutOfBoundsException when the index exceeds the bounds of this log.
+   */
+  public synchronized long getTimestamp(int index) {
+    return this.timestamps[this.checkIndex(index)];
+  }
+
+  /**
+   * Retrieves the total amount of events within this log.
+   *
+   * @return an amount of events.
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Evaluates whether no events have been appended to this log yet.
+   *
+   * @return true if empty, false otherwise.
+   */
+  public synchronized boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Ensures that the specified index lies within the bounds of this log.
+   *
+   * @param index an event index.
+   * @return the passed index.
+   * @throws IndexOutOfBoundsException when the index exceeds the bounds of this log.
+   */
+  private int checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException(
+          "Index " + index + " out of bounds for event log of size " + this.size);
+    }
+
+    return index;
+  }
+}
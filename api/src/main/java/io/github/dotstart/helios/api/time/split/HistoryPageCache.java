@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.utility.SerializationUtility;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Provides access to the history pages of a split file which has been loaded lazily.</p>
+ *
+ * <p>Histories are split into pages of {@link #PAGE_SIZE} delta encoded times each. Pages are
+ * only read from the file when their times are first accessed and are subsequently retained
+ * within a least recently used cache of a fixed amount of pages. The file is kept open until
+ * the cache is closed along with its {@link Timeline#close() timeline}. Caches which are discarded
+ * without being closed release their file once they are garbage collected.</p>
+ *
+ * <p>This implementation is thread safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class HistoryPageCache implements Closeable {
+
+  /**
+   * Defines the maximum amount of times which are stored within a single page.
+   */
+  static final int PAGE_SIZE = 256;
+
+  /**
+   * Defines the default amount of decoded pages which are retained in memory.
+   */
+  static final int DEFAULT_CAPACITY = 64;
+
+  private static final Cleaner cleaner = Cleaner.create();
+
+  private final FileChannel channel;
+  private final long base;
+  private final Map<Long, long[]> pages;
+  private final Cleanable cleanable;
+
+  HistoryPageCache(@NonNull FileChannel channel, long base, int capacity) {
+    this.channel = channel;
+    this.base = base;
+    this.pages = new LinkedHashMap<>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+        return this.size() > capacity;
+      }
+    };
+
+    this.cleanable = cleaner.register(this, new CloseAction(channel));
+  }
+
+  /**
+   * <p>Decodes a single page of delta encoded times.</p>
+   *
+   * <p>Each time is encoded relative to the previous actual time. {@link Segment#NO_TIME}
+   * placeholders are thus encoded relative to the preceding time without becoming the base of the
+   * following time.</p>
+   *
+   * @param source a source buffer.
+   * @param target a target array.
+   * @param offset the index of the first decoded time within the target array.
+   * @param count the amount of times within the page.
+   */
+  static void decode(@NonNull ByteBuf source, @NonNull long[] target, int offset, int count) {
+    var previous = 0L;
+    for (var i = offset; i < offset + count; ++i) {
+      var time = previous + SerializationUtility.readSignedVarLong(source);
+      if (time != Segment.NO_TIME) {
+        previous = time;
+      }
+      target[i] = time;
+    }
+  }
+
+  /**
+   * Encodes a single page of times.
+   *
+   * @param target a target buffer.
+   * @param history a history.
+   * @param offset the index of the first encoded time within the history.
+   * @param count the amount of times within the page.
+   */
+  static void encode(@NonNull ByteBuf target, @NonNull TimeHistory history, int offset,
+      int count) {
+    var previous = 0L;
+    for (var i = offset; i < offset + count; ++i) {
+      var time = history.get(i);
+      SerializationUtility.writeSignedVarLong(target, time - previous);
+      if (time != Segment.NO_TIME) {
+        previous = time;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the decoded contents of a page.
+   *
+   * @param offset the page offset relative to the start of the history section.
+   * @param length the encoded page length (in bytes).
+   * @param count the amount of times within the page.
+   * @return an array of times.
+   * @throws UncheckedIOException when reading the page fails.
+   */
+  @NonNull
+  synchronized long[] getPage(long offset, int length, int count) {
+    var page = this.pages.get(offset);
+    if (page != null) {
+      return page;
+    }
+
+    var buffer = ByteBuffer.allocate(length);
+    try {
+      while (buffer.hasRemaining()) {
+        if (this.channel.read(buffer, this.base + offset + buffer.position()) == -1) {
+          throw new EOFException("Unexpected end of split file within history page");
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to read history page at offset " + offset, ex);
+    }
+
+    page = new long[count];
+    decode(Unpooled.wrappedBuffer(buffer.flip()), page, 0, count);
+    this.pages.put(offset, page);
+    return page;
+  }
+
+  /**
+   * <p>Closes the split file and discards all cached pages.</p>
+   *
+   * <p>Pages can no longer be read once the cache has been closed.</p>
+   */
+  @Override
+  public synchronized void close() {
+    this.pages.clear();
+    this.cleanable.clean();
+  }
+
+  /**
+   * Closes the split file once its cache is closed or no longer reachable.
+   */
+  private static final class CloseAction implements Runnable {
+
+    private final FileChannel channel;
+
+    private CloseAction(@NonNull FileChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+      try {
+        this.channel.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents the index of a history which has not been loaded into memory yet.</p>
+ *
+ * <p>Along with the location of its pages, the precomputed aggregates of the history are retained
+ * so that the most commonly displayed statistics remain available without accessing the
+ * file.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class HistoryPages {
+
+  private final HistoryPageCache cache;
+  private final long[] offsets; // page offsets followed by the end of the last page
+  private final int size;
+
+  final long minimum;
+  final long maximum;
+  final long median;
+
+  HistoryPages(@NonNull HistoryPageCache cache, @NonNull long[] offsets, int size, long minimum,
+      long maximum, long median) {
+    this.cache = cache;
+    this.offsets = offsets;
+    this.size = size;
+    this.minimum = minimum;
+    this.maximum = maximum;
+    this.median = median;
+  }
+
+  /**
+   * Retrieves the decoded contents of the specified page.
+   *
+   * @param page a page index.
+   * @return an array of times.
+   */
+  @NonNull
+  private long[] getPage(int page) {
+    var count = Math.min(HistoryPageCache.PAGE_SIZE, this.size - page * HistoryPageCache.PAGE_SIZE);
+    return this.cache.getPage(this.offsets[page],
+        (int) (this.offsets[page + 1] - this.offsets[page]), count);
+  }
+
+  /**
+   * Retrieves a single time.
+   *
+   * @param index an index where zero refers to the oldest time.
+   * @return a time.
+   */
+  long get(int index) {
+    return this.getPage(index / HistoryPageCache.PAGE_SIZE)[index % HistoryPageCache.PAGE_SIZE];
+  }
+
+  /**
+   * Copies a range of times into the specified array while decoding each page at most once.
+   *
+   * @param index the index of the first copied time.
+   * @param target a target array.
+   * @param offset the offset of the first copied time within the target array.
+   * @param length the amount of copied times.
+   */
+  void copyTo(int index, @NonNull long[] target, int offset, int length) {
+    while (length > 0) {
+      var times = this.getPage(index / HistoryPageCache.PAGE_SIZE);
+      var start = index % HistoryPageCache.PAGE_SIZE;
+      var count = Math.min(length, times.length - start);
+      System.arraycopy(times, start, target, offset, count);
+
+      index += count;
+      offset += count;
+      length -= count;
+    }
+  }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>Exports timelines to LiveSplit split files ({@code .lss}).</p>
+ *
+ * <p>Documents are streamed to the target writer directly from the primitive time storage of each
+ * segment. Durations and attempt identifiers are formatted into a re-used character buffer and are
+ * thus written without allocating intermediate strings. Histories which are backed by a split file
+ * are paged in through their bounded page cache. As a result, exporting a timeline requires a
+ * constant amount of memory regardless of the size of its histories.</p>
+ *
+ * <p>Segment histories retain one entry per archived attempt (see {@link
+ * Timeline#archiveAttempt()}). Attempts are thus identified by their position relative to the
+ * most recent attempt of the timeline: Times receive the identifier of the attempt they have been
+ * recorded in while attempts which did not reach a segment are omitted from its history (as done
+ * by LiveSplit). The attempt history of the document only contains placeholders as Helios does not
+ * retain the start and end of each attempt.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class LiveSplitExporter {
+
+  /**
+   * Defines the LiveSplit document version which is produced by this exporter.
+   */
+  private static final String VERSION = "1.7.0";
+
+  /**
+   * Defines the maximum amount of characters produced by {@link #formatTimeSpan(long, char[])}.
+   */
+  static final int BUFFER_SIZE = 40;
+
+  private final Writer out;
+  private final char[] buffer = new char[BUFFER_SIZE];
+
+  private LiveSplitExporter(@NonNull Writer out) {
+    this.out = out;
+  }
+
+  /**
+   * <p>Encodes a timeline into a LiveSplit document.</p>
+   *
+   * <p>The passed writer is expected to be buffered as the document is written in small
+   * fragments.</p>
+   *
+   * @param out a target writer.
+   * @param timeline a timeline.
+   * @throws IOException when writing to the target fails.
+   */
+  public static void write(@NonNull Writer out, @NonNull Timeline timeline) throws IOException {
+    new LiveSplitExporter(out).writeRun(timeline);
+    out.flush();
+  }
+
+  /**
+   * Writes a timeline to the specified LiveSplit file.
+   *
+   * @param path a file path.
+   * @param timeline a timeline.
+   * @throws IOException when writing to the file fails.
+   */
+  public static void save(@NonNull Path path, @NonNull Timeline timeline) throws IOException {
+    try (var out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      write(out, timeline);
+    }
+  }
+
+  /**
+   * Formats a duration in the LiveSplit (or rather .NET) time span notation
+   * ({@code [-][d.]hh:mm:ss.fffffff}).
+   *
+   * @param nanos a duration (in nanoseconds).
+   * @param out a buffer of at least {@link #BUFFER_SIZE} characters.
+   * @return the amount of characters written.
+   */
+  static int formatTimeSpan(long nanos, @NonNull char[] out) {
+    // the magnitude is treated as an unsigned value as Long.MIN_VALUE has no positive counterpart
+    var pos = 0;
+    if (nanos < 0) {
+      out[pos++] = '-';
+      nanos = -nanos;
+    }
+
+    var ticks = Long.divideUnsigned(nanos, 100) % 10000000;
+    var seconds = Long.divideUnsigned(nanos, 1000000000);
+    var days = seconds / 86400;
+
+    if (days != 0) {
+      pos = writeDigits(out, pos, days, 1);
+      out[pos++] = '.';
+    }
+    pos = writeDigits(out, pos, seconds / 3600 % 24, 2);
+    out[pos++] = ':';
+    pos = writeDigits(out, pos, seconds / 60 % 60, 2);
+    out[pos++] = ':';
+    pos = writeDigits(out, pos, seconds % 60, 2);
+    out[pos++] = '.';
+    return writeDigits(out, pos, ticks, 7);
+  }
+
+  /**
+   * Writes a positive decimal number (padded with leading zeros to the specified minimum amount
+   * of digits) into a buffer.
+   *
+   * @param out a target buffer.
+   * @param pos the index at which the first digit is placed.
+   * @param value a positive value.
+   * @param minDigits the minimum amount of digits.
+   * @return the index following the last digit.
+   */
+  static int writeDigits(@NonNull char[] out, int pos, long value, int minDigits) {
+    var digits = 1;
+    for (var i = value / 10; i != 0; i /= 10) {
+      ++digits;
+    }
+    digits = Math.max(digits, minDigits);
+
+    var end = pos + digits;
+    for (var i = end - 1; i >= pos; --i) {
+      out[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+
+    return end;
+  }
+
+  /**
+   * Writes a text while replacing all characters which are reserved within XML documents with
+   * their respective entities.
+   *
+   * @param out a target writer.
+   * @param text a text.
+   * @throws IOException when writing fails.
+   */
+  static void writeEscaped(@NonNull Writer out, @NonNull String text) throws IOException {
+    var start = 0;
+    for (var i = 0; i < text.length(); ++i) {
+      String entity;
+      switch (text.charAt(i)) {
+        case '<':
+          entity = "&lt;";
+          break;
+        case '>':
+          entity = "&gt;";
+          break;
+        case '&':
+          entity = "&amp;";
+          break;
+        case '"':
+          entity = "&quot;";
+          break;
+        default:
+          continue;
+      }
+
+      out.write(text, start, i - start);
+      out.write(entity);
+      start = i + 1;
+    }
+    out.write(text, start, text.length() - start);
+  }
+
+  /**
+   * Retrieves the amount of entries within the combined history of both exported timers.
+   *
+   * @param segment a segment.
+   * @return an amount of entries.
+   */
+  private static int getHistorySize(@NonNull Segment segment) {
+    return Math.max(segment.getHistory(TimerSlots.REALTIME).size(),
+        segment.getHistory(TimerSlots.IN_GAME).size());
+  }
+
+  /**
+   * Retrieves an entry of a history which is aligned to the most recent entry of a combined
+   * history of the specified size.
+   *
+   * @param history a history.
+   * @param index an index within the combined history.
+   * @param size the size of the combined history.
+   * @return a time or {@link Segment#NO_TIME} when the history has no corresponding entry.
+   */
+  static long getAligned(@NonNull TimeHistory history, int index, int size) {
+    var offset = index - (size - history.size());
+    return offset >= 0 ? history.get(offset) : Segment.NO_TIME;
+  }
+
+  /**
+   * Writes the root element of the document along with all of its children.
+   *
+   * @param timeline a timeline.
+   * @throws IOException when writing fails.
+   */
+  private void writeRun(@NonNull Timeline timeline) throws IOException {
+    var segments = timeline.getSegments();
+
+    var attemptCount = 0;
+    for (var segment : segments) {
+      attemptCount = Math.max(attemptCount, getHistorySize(segment));
+    }
+
+    this.out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    this.out.write("<Run version=\"" + VERSION + "\">\n");
+    this.out.write("  <GameIcon />\n");
+    this.out.write("  <GameName />\n");
+    this.out.write("  <CategoryName />\n");
+    this.out.write("  <Offset>00:00:00</Offset>\n");
+    this.out.write("  <AttemptCount>");
+    this.writeNumber(attemptCount);
+    this.out.write("</AttemptCount>\n");
+
+    this.out.write("  <AttemptHistory>\n");
+    for (var i = 1; i <= attemptCount; ++i) {
+      this.out.write("    <Attempt id=\"");
+      this.writeNumber(i);
+      this.out.write("\" />\n");
+    }
+    this.out.write("  </AttemptHistory>\n");
+
+    this.out.write("  <Segments>\n");
+    var splitTime = new long[]{0, 0};
+    for (var segment : segments) {
+      this.out.write("    <Segment>\n");
+      this.out.write("      <Name>");
+      writeEscaped(this.out, segment.getDisplayName() != null ? segment.getDisplayName() : "");
+      this.out.write("</Name>\n");
+      this.out.write("      <Icon />\n");
+
+      // LiveSplit stores the personal best as cumulative split times which can only be derived
+      // for as long as no segment time is missing
+      for (var slot = 0; slot < splitTime.length; ++slot) {
+        var personalBest = segment.getPersonalBestNanos(slot);
+        splitTime[slot] = splitTime[slot] == Segment.NO_TIME || personalBest == Segment.NO_TIME
+            ? Segment.NO_TIME : splitTime[slot] + personalBest;
+      }
+      this.out.write("      <SplitTimes>\n");
+      this.out.write("        <SplitTime name=\"Personal Best\">\n");
+      this.writeTimes("          ", splitTime[TimerSlots.REALTIME],
+          splitTime[TimerSlots.IN_GAME]);
+      this.out.write("        </SplitTime>\n");
+      this.out.write("      </SplitTimes>\n");
+
+      this.out.write("      <BestSegmentTime>\n");
+      this.writeTimes("        ", segment.getBestNanos(TimerSlots.REALTIME),
+          segment.getBestNanos(TimerSlots.IN_GAME));
+      this.out.write("      </BestSegmentTime>\n");
+
+      this.out.write("      <SegmentHistory>\n");
+      var realTime = segment.getHistory(TimerSlots.REALTIME);
+      var gameTime = segment.getHistory(TimerSlots.IN_GAME);
+      var size = getHistorySize(segment);
+      for (var i = 0; i < size; ++i) {
+        var real = getAligned(realTime, i, size);
+        var game = getAligned(gameTime, i, size);
+        if (real == Segment.NO_TIME && game == Segment.NO_TIME) {
+          continue;
+        }
+
+        this.out.write("        <Time id=\"");
+        this.writeNumber(attemptCount - size + i + 1);
+        this.out.write("\">\n");
+        this.writeTimes("          ", real, game);
+        this.out.write("        </Time>\n");
+      }
+      this.out.write("      </SegmentHistory>\n");
+      this.out.write("    </Segment>\n");
+    }
+    this.out.write("  </Segments>\n");
+
+    this.out.write("  <AutoSplitterSettings />\n");
+    this.out.write("</Run>\n");
+  }
+
+  /**
+   * Writes a positive decimal number.
+   *
+   * @param value a positive value.
+   * @throws IOException when writing fails.
+   */
+  private void writeNumber(long value) throws IOException {
+    this.out.write(this.buffer, 0, writeDigits(this.buffer, 0, value, 1));
+  }
+
+  /**
+   * Writes the real time and game time elements of a time (omitting absent values).
+   *
+   * @param indent the indentation of both elements.
+   * @param realTime a real time or {@link Segment#NO_TIME}.
+   * @param gameTime a game time or {@link Segment#NO_TIME}.
+   * @throws IOException when writing fails.
+   */
+  private void writeTimes(@NonNull String indent, long realTime, long gameTime)
+      throws IOException {
+    if (realTime != Segment.NO_TIME) {
+      this.out.write(indent);
+      this.out.write("<RealTime>");
+      this.out.write(this.buffer, 0, formatTimeSpan(realTime, this.buffer));
+      this.out.write("</RealTime>\n");
+    }
+    if (gameTime != Segment.NO_TIME) {
+      this.out.write(indent);
+      this.out.write("<GameTime>");
+      this.out.write(this.buffer, 0, formatTimeSpan(gameTime, this.buffer));
+      this.out.write("</GameTime>\n");
+    }
+  }
+}
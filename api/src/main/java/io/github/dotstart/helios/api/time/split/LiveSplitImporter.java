@@ -0,0 +1,549 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * <p>Imports timelines from LiveSplit split files ({@code .lss}).</p>
+ *
+ * <p>Files are processed as a stream of XML events. As a result, the document is never
+ * materialized in memory as a whole. Instead, values are decoded directly from the parser buffer
+ * into the respective segments. Memory consumption is thus bounded by the amount of segments and
+ * the capacity of their {@link TimeHistory histories}, regardless of the file size.</p>
+ *
+ * <p>The following information is imported for every segment:</p>
+ *
+ * <ul>
+ * <li>The segment name</li>
+ * <li>The best segment time</li>
+ * <li>The segment time within the personal best run (LiveSplit stores the cumulative split time
+ * which is converted into a segment duration)</li>
+ * <li>The segment history (e.g. the segment durations of all previous attempts which reached the
+ * segment)</li>
+ * </ul>
+ *
+ * <p>Histories retain one entry per attempt (see {@link Timeline#archiveAttempt()}). Attempts
+ * which are missing from the history of a segment (as well as attempts which have been recorded
+ * after the last attempt that reached the segment according to the attempt history) are thus
+ * imported as {@link Segment#NO_TIME} placeholders.</p>
+ *
+ * <p>LiveSplit real time and game time are mapped to {@link TimerSlots#REALTIME} and {@link
+ * TimerSlots#IN_GAME} respectively. All remaining elements (such as icons, attempt details or
+ * auto splitter settings) are skipped.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class LiveSplitImporter {
+
+  /**
+   * Defines the name of the split time which identifies the personal best run.
+   */
+  private static final String PERSONAL_BEST = "Personal Best";
+
+  private static final XMLInputFactory factory = createFactory();
+
+  private final XMLStreamReader reader;
+  private final StringBuilder text = new StringBuilder();
+
+  private final ArrayList<Segment> segments = new ArrayList<>();
+  private final long[] splitTime = new long[2];
+  private final long[] previousSplitTime = new long[2];
+  private final long[][] history = new long[2][TimeHistory.DEFAULT_CAPACITY];
+  private final int[] historySize = new int[2];
+  private final long[] nextAttempt = new long[2];
+  private long lastAttempt = Long.MIN_VALUE;
+  private long attempt;
+
+  private LiveSplitImporter(@NonNull XMLStreamReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Creates a new factory which produces parsers for untrusted documents (e.g. DTDs and external
+   * entities are rejected).
+   *
+   * @return a factory.
+   */
+  @NonNull
+  private static XMLInputFactory createFactory() {
+    var factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    return factory;
+  }
+
+  /**
+   * Decodes a timeline from the specified LiveSplit document.
+   *
+   * @param in a source stream.
+   * @return a timeline.
+   * @throws IOException when reading from the stream fails.
+   * @throws IllegalArgumentException when the stream does not contain a valid LiveSplit document.
+   */
+  @NonNull
+  public static Timeline read(@NonNull InputStream in) throws IOException {
+    XMLStreamReader reader;
+    try {
+      synchronized (factory) {
+        reader = factory.createXMLStreamReader(in);
+      }
+    } catch (XMLStreamException ex) {
+      throw wrap(ex);
+    }
+
+    try {
+      return new LiveSplitImporter(reader).readRun();
+    } catch (XMLStreamException ex) {
+      throw wrap(ex);
+    } finally {
+      try {
+        reader.close();
+      } catch (XMLStreamException ignore) {
+      }
+    }
+  }
+
+  /**
+   * Reads a timeline from the specified LiveSplit file.
+   *
+   * @param path a file path.
+   * @return a timeline.
+   * @throws IOException when reading from the file fails.
+   * @throws IllegalArgumentException when the file is not a valid LiveSplit file.
+   */
+  @NonNull
+  public static Timeline load(@NonNull Path path) throws IOException {
+    try (var in = new BufferedInputStream(Files.newInputStream(path))) {
+      return read(in);
+    }
+  }
+
+  /**
+   * Converts a parser exception into its respective public representation.
+   *
+   * @param ex a parser exception.
+   * @return an exception.
+   * @throws IOException when the exception has been caused by the underlying stream.
+   */
+  @NonNull
+  private static IllegalArgumentException wrap(@NonNull XMLStreamException ex)
+      throws IOException {
+    if (ex.getNestedException() instanceof IOException) {
+      throw (IOException) ex.getNestedException();
+    }
+
+    return new IllegalArgumentException("Malformed LiveSplit file: " + ex.getMessage(), ex);
+  }
+
+  /**
+   * <p>Parses a duration in the LiveSplit (or rather .NET) time span notation
+   * ({@code [-][d.]hh:mm:ss[.fffffff]}).</p>
+   *
+   * <p>Fractions are accepted with up to nine digits. Any excess digits are truncated.</p>
+   *
+   * @param text a time span.
+   * @return a duration (in nanoseconds).
+   * @throws IllegalArgumentException when the passed value is not a valid time span.
+   */
+  static long parseTimeSpan(@NonNull CharSequence text) {
+    var length = text.length();
+    var pos = 0;
+    while (pos < length && Character.isWhitespace(text.charAt(pos))) {
+      ++pos;
+    }
+    while (length > pos && Character.isWhitespace(text.charAt(length - 1))) {
+      --length;
+    }
+
+    var negative = pos < length && text.charAt(pos) == '-';
+    if (negative) {
+      ++pos;
+    }
+
+    var components = new long[3];
+    var componentCount = 0;
+    var days = -1L;
+    var fraction = 0L;
+
+    while (true) {
+      var start = pos;
+      var value = 0L;
+      while (pos < length && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+        value = value * 10 + (text.charAt(pos++) - '0');
+      }
+      if (pos == start || pos - start > 9) {
+        throw new IllegalArgumentException("Malformed time span: " + text);
+      }
+      components[componentCount++] = value;
+
+      if (pos == length) {
+        break;
+      }
+
+      var separator = text.charAt(pos++);
+      if (separator == '.' && componentCount == 1 && days == -1) {
+        // leading day component
+        days = value;
+        componentCount = 0;
+      } else if (separator == '.' && componentCount == 3) {
+        var scale = 100000000L;
+        start = pos;
+        while (pos < length && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+          fraction += (text.charAt(pos++) - '0') * scale;
+          scale /= 10;
+        }
+        if (pos == start || pos != length) {
+          throw new IllegalArgumentException("Malformed time span: " + text);
+        }
+        break;
+      } else if (separator != ':' || componentCount == 3) {
+        throw new IllegalArgumentException("Malformed time span: " + text);
+      }
+    }
+
+    if (componentCount != 3 || components[1] > 59 || components[2] > 59) {
+      throw new IllegalArgumentException("Malformed time span: " + text);
+    }
+
+    var seconds = ((Math.max(days, 0) * 24 + components[0]) * 60 + components[1]) * 60
+        + components[2];
+    var nanos = seconds * 1000000000L + fraction;
+    return negative ? -nanos : nanos;
+  }
+
+  /**
+   * Reads the root element of the document and all of its relevant children.
+   *
+   * @return a timeline.
+   * @throws XMLStreamException when the document is malformed.
+   */
+  @NonNull
+  private Timeline readRun() throws XMLStreamException {
+    Arrays.fill(this.previousSplitTime, 0);
+    Arrays.fill(this.nextAttempt, Long.MIN_VALUE);
+
+    this.reader.nextTag();
+    if (!"Run".equals(this.reader.getLocalName())) {
+      throw new IllegalArgumentException(
+          "Malformed LiveSplit file: Expected root element Run but got " + this.reader
+              .getLocalName());
+    }
+
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      if ("AttemptHistory".equals(this.reader.getLocalName())) {
+        while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+          if ("Attempt".equals(this.reader.getLocalName())) {
+            this.lastAttempt = Math.max(this.lastAttempt, this.readAttemptId(this.lastAttempt));
+          }
+          this.skipElement();
+        }
+      } else if ("Segments".equals(this.reader.getLocalName())) {
+        while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+          if ("Segment".equals(this.reader.getLocalName())) {
+            this.segments.add(this.readSegment());
+          } else {
+            this.skipElement();
+          }
+        }
+      } else {
+        this.skipElement();
+      }
+    }
+
+    if (this.segments.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Malformed LiveSplit file: Run does not define any segments");
+    }
+
+    return new Timeline(this.segments);
+  }
+
+  /**
+   * Reads a single segment definition.
+   *
+   * @return a segment.
+   * @throws XMLStreamException when the document is malformed.
+   */
+  @NonNull
+  private Segment readSegment() throws XMLStreamException {
+    var segment = new Segment("");
+    Arrays.fill(this.splitTime, Segment.NO_TIME);
+
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (this.reader.getLocalName()) {
+        case "Name":
+          segment.setDisplayName(this.readText().toString().trim());
+          break;
+        case "SplitTimes":
+          this.readSplitTimes(segment);
+          break;
+        case "BestSegmentTime":
+          this.readTime(segment, Segment::setBest);
+          break;
+        case "SegmentHistory":
+          while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Time".equals(this.reader.getLocalName())) {
+              this.attempt = this.readAttemptId(this.attempt);
+              this.readTime(segment, this::appendHistory);
+            } else {
+              this.skipElement();
+            }
+          }
+          break;
+        default:
+          this.skipElement();
+          break;
+      }
+    }
+
+    for (var slot = 0; slot < this.splitTime.length; ++slot) {
+      // attempts which have been recorded after the last attempt that reached this segment
+      if (this.nextAttempt[slot] != Long.MIN_VALUE) {
+        this.appendPlaceholders(segment, slot, this.lastAttempt - this.nextAttempt[slot] + 1);
+        this.nextAttempt[slot] = Long.MIN_VALUE;
+      }
+      this.flushHistory(segment, slot);
+
+      var previous = this.previousSplitTime[slot];
+      var current = this.splitTime[slot];
+
+      if (current != Segment.NO_TIME && previous != Segment.NO_TIME) {
+        segment.setPersonalBest(slot, current - previous);
+      }
+      this.previousSplitTime[slot] = current;
+    }
+
+    return segment;
+  }
+
+  /**
+   * <p>Reads the list of comparison split times of a segment.</p>
+   *
+   * <p>Only the personal best comparison is imported as all remaining standard comparisons are
+   * generated from the segment data. Split times which are absent (e.g. segments which have been
+   * skipped within the personal best run) will cause the following segment to remain without a
+   * personal best time as its duration cannot be inferred.</p>
+   *
+   * @param segment a segment.
+   * @throws XMLStreamException when the document is malformed.
+   */
+  private void readSplitTimes(@NonNull Segment segment) throws XMLStreamException {
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      if (!"SplitTime".equals(this.reader.getLocalName()) || !PERSONAL_BEST
+          .equals(this.reader.getAttributeValue(null, "name"))) {
+        this.skipElement();
+        continue;
+      }
+
+      this.readTime(segment, (s, slot, time) -> this.splitTime[slot] = time);
+    }
+  }
+
+  /**
+   * Reads the identifier attribute of the current attempt element.
+   *
+   * @param previous the identifier of the previous attempt.
+   * @return an attempt identifier (or the identifier following the previous attempt when the
+   * element lacks an identifier).
+   * @throws IllegalArgumentException when the identifier is malformed.
+   */
+  private long readAttemptId(long previous) {
+    var id = this.reader.getAttributeValue(null, "id");
+    if (id == null) {
+      return previous + 1;
+    }
+
+    try {
+      return Long.parseLong(id.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException("Malformed LiveSplit file: Invalid attempt id " + id, ex);
+    }
+  }
+
+  /**
+   * Appends the time of the current attempt to the history of the specified slot (preceded by
+   * placeholders for all attempts which have been omitted since the previous time).
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   * @param time a segment duration.
+   */
+  private void appendHistory(@NonNull Segment segment, int slot, long time) {
+    if (this.nextAttempt[slot] != Long.MIN_VALUE) {
+      this.appendPlaceholders(segment, slot, this.attempt - this.nextAttempt[slot]);
+    }
+    this.nextAttempt[slot] = this.attempt + 1;
+
+    this.appendEntry(segment, slot, time);
+  }
+
+  /**
+   * Appends the specified amount of placeholders to the history of a slot.
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   * @param count an amount of placeholders (values beyond the history capacity are clamped as
+   * they would evict all previous entries regardless).
+   */
+  private void appendPlaceholders(@NonNull Segment segment, int slot, long count) {
+    count = Math.min(count, TimeHistory.DEFAULT_CAPACITY);
+    for (var i = 0; i < count; ++i) {
+      this.appendEntry(segment, slot, Segment.NO_TIME);
+    }
+  }
+
+  /**
+   * <p>Appends an entry to the history buffer of the specified slot.</p>
+   *
+   * <p>Entries are passed to the segment history in batches as inserting them one by one would
+   * require the sorted copy of the history to be updated for every single attempt.</p>
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   * @param time a segment duration or {@link Segment#NO_TIME}.
+   */
+  private void appendEntry(@NonNull Segment segment, int slot, long time) {
+    var buffer = this.history[slot];
+    if (this.historySize[slot] == buffer.length) {
+      this.flushHistory(segment, slot);
+    }
+
+    buffer[this.historySize[slot]++] = time;
+  }
+
+  /**
+   * Passes all buffered times of the specified slot to the segment history.
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   */
+  private void flushHistory(@NonNull Segment segment, int slot) {
+    if (this.historySize[slot] != 0) {
+      segment.getHistory(slot).addAll(this.history[slot], 0, this.historySize[slot]);
+      this.historySize[slot] = 0;
+    }
+  }
+
+  /**
+   * Reads a time element (consisting of an optional real time and an optional game time) and
+   * passes its values to the specified consumer.
+   *
+   * @param segment a segment.
+   * @param consumer a consumer.
+   * @throws XMLStreamException when the document is malformed.
+   */
+  private void readTime(@NonNull Segment segment, @NonNull TimeConsumer consumer)
+      throws XMLStreamException {
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      int slot;
+      switch (this.reader.getLocalName()) {
+        case "RealTime":
+          slot = TimerSlots.REALTIME;
+          break;
+        case "GameTime":
+          slot = TimerSlots.IN_GAME;
+          break;
+        default:
+          this.skipElement();
+          continue;
+      }
+
+      var value = this.readText();
+      if (value.length() != 0) {
+        consumer.accept(segment, slot, parseTimeSpan(value));
+      }
+    }
+  }
+
+  /**
+   * <p>Reads the text content of the current element.</p>
+   *
+   * <p>The returned builder is re-used for every invocation of this method and is thus only valid
+   * until the next element is read.</p>
+   *
+   * @return the element text.
+   * @throws XMLStreamException when the element contains child elements.
+   */
+  @NonNull
+  private CharSequence readText() throws XMLStreamException {
+    this.text.setLength(0);
+
+    while (true) {
+      switch (this.reader.next()) {
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          this.text.append(this.reader.getTextCharacters(), this.reader.getTextStart(),
+              this.reader.getTextLength());
+          break;
+        case XMLStreamConstants.COMMENT:
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          return this.text;
+        default:
+          throw new XMLStreamException("Unexpected child element within text-only element",
+              this.reader.getLocation());
+      }
+    }
+  }
+
+  /**
+   * Skips the current element along with all of its children without decoding their contents.
+   *
+   * @throws XMLStreamException when the document is malformed.
+   */
+  private void skipElement() throws XMLStreamException {
+    var depth = 1;
+    while (depth != 0) {
+      switch (this.reader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          ++depth;
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          --depth;
+          break;
+        case XMLStreamConstants.END_DOCUMENT:
+          throw new XMLStreamException("Unexpected end of document", this.reader.getLocation());
+      }
+    }
+  }
+
+  /**
+   * Consumes a single time which has been decoded from a time element.
+   */
+  @FunctionalInterface
+  private interface TimeConsumer {
+
+    void accept(@NonNull Segment segment, int slot, long time);
+  }
+}
@@ -17,14 +17,15 @@
 package io.github.dotstart.helios.api.time.split;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimerSlots;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.OptionalLong;
 import java.util.UUID;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 
 /**
@@ -35,24 +36,46 @@ import javafx.collections.ObservableMap;
  * however, that {@link io.github.dotstart.helios.api.time.Timer#REALTIME} is assumed to always be
  * present.</p>
  *
+ * <p>Times are stored within primitive arrays which are indexed by {@link TimerSlots slot}. The
+ * observable maps returned by {@link #getTimes()} and {@link #getBestTimes()} are only created
+ * when first requested (e.g. when a UI component binds to them) and are kept in sync from there
+ * on. Until then, recording and comparing times does not allocate.</p>
+ *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class Segment {
 
+  /**
+   * Marks slots for which no time has been recorded.
+   */
+  public static final long NO_TIME = Long.MIN_VALUE;
+
+  private static final long[] EMPTY = new long[0];
+  private static final TimeHistory[] EMPTY_HISTORY = new TimeHistory[0];
+
   private final UUID id;
 
   private final StringProperty displayName = new SimpleStringProperty();
-  private final ObservableMap<URI, Long> times = FXCollections.observableHashMap();
-  private final ObservableMap<URI, Long> bestTimes = FXCollections.observableHashMap();
-  private final ObservableList<Long> timeHistory = FXCollections.observableArrayList();
 
-  private final ObservableMap<URI, Long> timesView = FXCollections
-      .unmodifiableObservableMap(this.times);
-  private final ObservableMap<URI, Long> bestTimesView = FXCollections
-      .unmodifiableObservableMap(this.bestTimes);
+  private long[] times = EMPTY;
+  private long[] bestTimes = EMPTY;
+  private long[] replacedBestTimes = EMPTY;
+  private long[] personalBestTimes = EMPTY;
+  private TimeHistory[] histories = EMPTY_HISTORY;
+
+  Timeline timeline;
+
+  private ObservableMap<URI, Long> timeMap;
+  private ObservableMap<URI, Long> timeMapView;
+  private ObservableMap<URI, Long> bestTimeMap;
+  private ObservableMap<URI, Long> bestTimeMapView;
 
   public Segment(@NonNull String displayName) {
-    this.id = UUID.randomUUID();
+    this(UUID.randomUUID(), displayName);
+  }
+
+  Segment(@NonNull UUID id, @NonNull String displayName) {
+    this.id = id;
     this.displayName.setValue(displayName);
   }
 
@@ -107,14 +130,49 @@ public class Segment {
   @NonNull
   @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
   public ObservableMap<URI, Long> getTimes() {
-    return this.timesView;
+    if (this.timeMapView == null) {
+      this.timeMap = createMap(this.times);
+      this.timeMapView = FXCollections.unmodifiableObservableMap(this.timeMap);
+    }
+
+    return this.timeMapView;
   }
 
   /**
    * Clears all stored times from this segment.
    */
   public void clearTime() {
-    this.times.clear();
+    Arrays.fill(this.times, NO_TIME);
+
+    if (this.timeMap != null) {
+      this.timeMap.clear();
+    }
+  }
+
+  /**
+   * <p>Clears all stored times from this segment while restoring the best times which have been
+   * replaced by them.</p>
+   *
+   * <p>This method is invoked when a split is undone and thus only reverts the effects of the most
+   * recent {@link #setTime(int, long)} invocation of each timer.</p>
+   */
+  void revertTime() {
+    for (var slot = 0; slot < this.times.length; ++slot) {
+      var time = this.times[slot];
+      if (time == NO_TIME || slot >= this.replacedBestTimes.length
+          || this.getBestNanos(slot) != time || this.replacedBestTimes[slot] == time) {
+        continue;
+      }
+
+      var previous = this.replacedBestTimes[slot];
+      if (previous == NO_TIME) {
+        this.clearBest(TimerSlots.getId(slot));
+      } else {
+        this.setBest(slot, previous);
+      }
+    }
+
+    this.clearTime();
   }
 
   /**
@@ -123,7 +181,14 @@ public class Segment {
    * @param timerId a timer identifier.
    */
   public void clearTime(@NonNull URI timerId) {
-    this.times.remove(timerId);
+    var slot = TimerSlots.find(timerId);
+    if (slot != -1 && slot < this.times.length) {
+      this.times[slot] = NO_TIME;
+    }
+
+    if (this.timeMap != null) {
+      this.timeMap.remove(timerId);
+    }
   }
 
   /**
@@ -137,8 +202,19 @@ public class Segment {
    */
   @NonNull
   public OptionalLong getTime(@NonNull URI timerId) {
-    var value = this.times.get(timerId);
-    return value != null ? OptionalLong.of(value) : OptionalLong.empty();
+    var slot = TimerSlots.find(timerId);
+    var value = slot != -1 ? this.getTimeNanos(slot) : NO_TIME;
+    return value != NO_TIME ? OptionalLong.of(value) : OptionalLong.empty();
+  }
+
+  /**
+   * Retrieves the current time for the timer within the specified slot.
+   *
+   * @param slot a timer slot.
+   * @return a split duration or {@link #NO_TIME} when no time has been registered.
+   */
+  public long getTimeNanos(int slot) {
+    return slot < this.times.length ? this.times[slot] : NO_TIME;
   }
 
   /**
@@ -152,11 +228,30 @@ public class Segment {
    * @param duration a split duration.
    */
   public void setTime(@NonNull URI timerId, long duration) {
-    this.times.put(timerId, duration);
+    this.setTime(TimerSlots.slotOf(timerId), duration);
+  }
 
-    var best = this.bestTimes.get(timerId);
-    if (best == null || best > duration) {
-      this.bestTimes.put(timerId, duration);
+  /**
+   * Updates the duration of this segment for the timer within the specified slot.
+   *
+   * @param slot a timer slot.
+   * @param duration a split duration.
+   * @see #setTime(URI, long)
+   */
+  public void setTime(int slot, long duration) {
+    this.times = ensureCapacity(this.times, slot);
+    this.times[slot] = duration;
+
+    if (this.timeMap != null) {
+      this.timeMap.put(TimerSlots.getId(slot), duration);
+    }
+
+    var best = this.getBestNanos(slot);
+    this.replacedBestTimes = ensureCapacity(this.replacedBestTimes, slot);
+    this.replacedBestTimes[slot] = best;
+
+    if (best == NO_TIME || best > duration) {
+      this.setBest(slot, duration);
     }
   }
 
@@ -173,14 +268,26 @@ public class Segment {
   @NonNull
   @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
   public ObservableMap<URI, Long> getBestTimes() {
-    return this.bestTimesView;
+    if (this.bestTimeMapView == null) {
+      this.bestTimeMap = createMap(this.bestTimes);
+      this.bestTimeMapView = FXCollections.unmodifiableObservableMap(this.bestTimeMap);
+    }
+
+    return this.bestTimeMapView;
   }
 
   /**
    * Clears all best segment times.
    */
   public void clearBest() {
-    this.bestTimes.clear();
+    Arrays.fill(this.bestTimes, NO_TIME);
+
+    if (this.bestTimeMap != null) {
+      this.bestTimeMap.clear();
+    }
+    if (this.timeline != null) {
+      this.timeline.invalidateBest();
+    }
   }
 
   /**
@@ -189,7 +296,20 @@ public class Segment {
    * @param timerId a timer identifier.
    */
   public void clearBest(@NonNull URI timerId) {
-    this.bestTimes.remove(timerId);
+    var slot = TimerSlots.find(timerId);
+    if (slot == -1) {
+      return;
+    }
+    if (slot < this.bestTimes.length) {
+      this.bestTimes[slot] = NO_TIME;
+    }
+
+    if (this.bestTimeMap != null) {
+      this.bestTimeMap.remove(timerId);
+    }
+    if (this.timeline != null) {
+      this.timeline.invalidateBest(this, slot);
+    }
   }
 
   /**
@@ -203,8 +323,19 @@ public class Segment {
    */
   @NonNull
   public OptionalLong getBest(@NonNull URI timerId) {
-    var value = this.bestTimes.get(timerId);
-    return value != null ? OptionalLong.of(value) : OptionalLong.empty();
+    var slot = TimerSlots.find(timerId);
+    var value = slot != -1 ? this.getBestNanos(slot) : NO_TIME;
+    return value != NO_TIME ? OptionalLong.of(value) : OptionalLong.empty();
+  }
+
+  /**
+   * Retrieves the best segment time for the timer within the specified slot.
+   *
+   * @param slot a timer slot.
+   * @return a segment duration or {@link #NO_TIME} when no best has been registered.
+   */
+  public long getBestNanos(int slot) {
+    return slot < this.bestTimes.length ? this.bestTimes[slot] : NO_TIME;
   }
 
   /**
@@ -216,7 +347,25 @@ public class Segment {
    * @param duration a segment duration.
    */
   public void setBest(@NonNull URI timerId, long duration) {
-    this.bestTimes.put(timerId, duration);
+    this.setBest(TimerSlots.slotOf(timerId), duration);
+  }
+
+  /**
+   * Sets the best time for the timer within the specified slot.
+   *
+   * @param slot a timer slot.
+   * @param duration a segment duration.
+   */
+  public void setBest(int slot, long duration) {
+    this.bestTimes = ensureCapacity(this.bestTimes, slot);
+    this.bestTimes[slot] = duration;
+
+    if (this.bestTimeMap != null) {
+      this.bestTimeMap.put(TimerSlots.getId(slot), duration);
+    }
+    if (this.timeline != null) {
+      this.timeline.invalidateBest(this, slot);
+    }
   }
 
   /**
@@ -229,10 +378,203 @@ public class Segment {
    * @return true if gold, false otherwise.
    */
   public boolean isGold(@NonNull URI timerId) {
-    var best = this.bestTimes.get(timerId);
-    var current = this.times.get(timerId);
+    var slot = TimerSlots.find(timerId);
+    return slot != -1 && this.isGold(slot);
+  }
+
+  /**
+   * Evaluates whether this split is considered a "gold" split for the timer within the specified
+   * slot.
+   *
+   * @param slot a timer slot.
+   * @return true if gold, false otherwise.
+   * @see #isGold(URI)
+   */
+  public boolean isGold(int slot) {
+    var best = this.getBestNanos(slot);
+    var current = this.getTimeNanos(slot);
+
+    return best != NO_TIME && current != NO_TIME && current <= best;
+  }
+
+  /**
+   * <p>Retrieves the history of previously completed attempts for the specified timer.</p>
+   *
+   * <p>Histories are created on demand and will thus be empty for timers which have not been
+   * archived within this segment yet.</p>
+   *
+   * @param timerId a timer identifier.
+   * @return a history.
+   */
+  @NonNull
+  public TimeHistory getHistory(@NonNull URI timerId) {
+    return this.getHistory(TimerSlots.slotOf(timerId));
+  }
+
+  /**
+   * Retrieves the history of previously completed attempts for the timer within the specified
+   * slot.
+   *
+   * @param slot a timer slot.
+   * @return a history.
+   */
+  @NonNull
+  public TimeHistory getHistory(int slot) {
+    if (slot >= this.histories.length) {
+      this.histories = Arrays.copyOf(this.histories, Math.max(slot + 1, TimerSlots.size()));
+    }
+
+    var history = this.histories[slot];
+    if (history == null) {
+      history = this.histories[slot] = new TimeHistory();
+    }
+    return history;
+  }
 
-    return best != null && current != null && current <= best;
+  /**
+   * Replaces the history of the timer within the specified slot (e.g. with a history which is
+   * backed by a split file).
+   *
+   * @param slot a timer slot.
+   * @param history a history.
+   */
+  void setHistory(int slot, @NonNull TimeHistory history) {
+    if (slot >= this.histories.length) {
+      this.histories = Arrays.copyOf(this.histories, Math.max(slot + 1, TimerSlots.size()));
+    }
+
+    this.histories[slot] = history;
+  }
+
+  /**
+   * Evaluates whether a history has been recorded for the timer within the specified slot.
+   *
+   * @param slot a timer slot.
+   * @return true if at least one attempt has been archived, false otherwise.
+   */
+  boolean hasHistory(int slot) {
+    return slot < this.histories.length && this.histories[slot] != null
+        && !this.histories[slot].isEmpty();
+  }
+
+  /**
+   * Appends the current times of the specified timers to their respective histories (e.g. when an
+   * attempt is completed or reset). Timers without a current time receive a {@link #NO_TIME}
+   * placeholder.
+   *
+   * @param slots a mask of timer slots which are archived.
+   * @see Timeline#archiveAttempt()
+   */
+  void archiveTime(@NonNull boolean[] slots) {
+    for (var slot = 0; slot < slots.length; ++slot) {
+      if (slots[slot]) {
+        this.getHistory(slot).add(this.getTimeNanos(slot));
+      }
+    }
+
+    if (this.timeline != null) {
+      this.timeline.invalidateComparisons();
+    }
+  }
+
+  /**
+   * <p>Retrieves the duration of this segment within the personal best run of the specified
+   * timer.</p>
+   *
+   * <p>When no personal best has been recorded yet, an empty optional is returned instead.</p>
+   *
+   * @param timerId a timer identifier.
+   * @return a segment duration or an empty optional.
+   */
+  @NonNull
+  public OptionalLong getPersonalBest(@NonNull URI timerId) {
+    var slot = TimerSlots.find(timerId);
+    var value = slot != -1 ? this.getPersonalBestNanos(slot) : NO_TIME;
+    return value != NO_TIME ? OptionalLong.of(value) : OptionalLong.empty();
+  }
+
+  /**
+   * Retrieves the duration of this segment within the personal best run of the timer within the
+   * specified slot.
+   *
+   * @param slot a timer slot.
+   * @return a segment duration or {@link #NO_TIME} when no personal best has been recorded.
+   */
+  public long getPersonalBestNanos(int slot) {
+    return slot < this.personalBestTimes.length ? this.personalBestTimes[slot] : NO_TIME;
+  }
+
+  /**
+   * Sets the duration of this segment within the personal best run of the specified timer.
+   *
+   * @param timerId a timer identifier.
+   * @param duration a segment duration.
+   */
+  public void setPersonalBest(@NonNull URI timerId, long duration) {
+    this.setPersonalBest(TimerSlots.slotOf(timerId), duration);
+  }
+
+  /**
+   * Sets the duration of this segment within the personal best run of the timer within the
+   * specified slot.
+   *
+   * @param slot a timer slot.
+   * @param duration a segment duration.
+   */
+  public void setPersonalBest(int slot, long duration) {
+    this.personalBestTimes = ensureCapacity(this.personalBestTimes, slot);
+    this.personalBestTimes[slot] = duration;
+
+    if (this.timeline != null) {
+      this.timeline.invalidateComparisons();
+    }
+  }
+
+  /**
+   * Clears the personal best durations of all timers within this segment.
+   */
+  public void clearPersonalBest() {
+    Arrays.fill(this.personalBestTimes, NO_TIME);
+
+    if (this.timeline != null) {
+      this.timeline.invalidateComparisons();
+    }
+  }
+
+  /**
+   * Grows an array of times (if necessary) so that it is capable of holding the specified slot.
+   *
+   * @param times an array of times.
+   * @param slot a timer slot.
+   * @return an array of sufficient size.
+   */
+  @NonNull
+  private static long[] ensureCapacity(@NonNull long[] times, int slot) {
+    if (slot < times.length) {
+      return times;
+    }
+
+    var offset = times.length;
+    times = Arrays.copyOf(times, Math.max(slot + 1, TimerSlots.size()));
+    Arrays.fill(times, offset, times.length, NO_TIME);
+    return times;
+  }
+
+  /**
+   * Creates an observable map which mirrors the contents of the specified array of times.
+   *
+   * @param times an array of times.
+   * @return a map of times.
+   */
+  @NonNull
+  private static ObservableMap<URI, Long> createMap(@NonNull long[] times) {
+    ObservableMap<URI, Long> map = FXCollections.observableHashMap();
+    for (var slot = 0; slot < times.length; ++slot) {
+      if (times[slot] != NO_TIME) {
+        map.put(TimerSlots.getId(slot), times[slot]);
+      }
+    }
+    return map;
   }
 
   /**
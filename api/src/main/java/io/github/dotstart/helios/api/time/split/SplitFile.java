@@ -0,0 +1,476 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.github.dotstart.helios.api.utility.SerializationUtility;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>Provides a compact binary representation of timelines.</p>
+ *
+ * <p>Split files consist of a header (magic number, format version and section lengths) followed
+ * by the metadata section and the history section. The metadata section contains the table of
+ * timer identifiers which are referenced within the file and the list of segments. For every
+ * segment, its identifier, display name, best time and personal best time are stored along with
+ * the aggregates (size, amount of actual times, mean, standard deviation, extremes and median) and
+ * the page index of the history of archived attempts per timer. The history section contains the
+ * actual attempt times in pages of up to {@value HistoryPageCache#PAGE_SIZE} times. Attempts which
+ * did not record a time for a segment are stored as {@link Segment#NO_TIME} placeholders (as of
+ * version 3). All durations are encoded as variable length integers while histories are
+ * additionally delta encoded (e.g. consecutive attempts of similar duration typically require two
+ * to four bytes each).</p>
+ *
+ * <p>When a file is {@link #load(Path) loaded} from disk, only its metadata section is read
+ * eagerly. History pages are read on demand (for instance, when a history is exported or its
+ * oldest time is evicted at the end of an attempt) and retained within a bounded cache. As a
+ * result, loading a file requires a constant amount of time and memory per segment regardless of
+ * the amount of recorded attempts.</p>
+ *
+ * <p>The times of an attempt which is currently in progress are not persisted.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class SplitFile {
+
+  /**
+   * Defines the magic number which prefixes every split file ("HLSF").
+   */
+  public static final int MAGIC = 0x484C5346;
+
+  /**
+   * Defines the most recent version of the split file format.
+   */
+  public static final int VERSION = 3;
+
+  /**
+   * Defines the length of the header which precedes the metadata section (magic number, version
+   * and the lengths of both sections).
+   */
+  private static final int HEADER_SIZE = 13;
+
+  private static final int FLAG_BEST = 0x01;
+  private static final int FLAG_PERSONAL_BEST = 0x02;
+
+  private SplitFile() {
+  }
+
+  /**
+   * Decodes a timeline from the specified source buffer.
+   *
+   * @param source a source buffer.
+   * @return a timeline.
+   * @throws IllegalArgumentException when the buffer does not contain a valid split file.
+   */
+  @NonNull
+  public static Timeline read(@NonNull ByteBuf source) {
+    var version = readVersion(source);
+    if (version == 1) {
+      return readMetadata(source, version, null, null, 0);
+    }
+    if (!source.isReadable(8)) {
+      throw new IllegalArgumentException("Malformed split file: Truncated header");
+    }
+
+    var metadataLength = source.readInt();
+    var historyLength = source.readInt();
+    if (metadataLength < 0 || historyLength < 0
+        || (long) metadataLength + historyLength > source.readableBytes()) {
+      throw new IllegalArgumentException("Malformed split file: Sections exceed file size");
+    }
+
+    var metadata = source.readSlice(metadataLength);
+    var history = source.readSlice(historyLength);
+    return readMetadata(metadata, version, history, null, historyLength);
+  }
+
+  /**
+   * Decodes the magic number and version of a split file.
+   *
+   * @param source a source buffer.
+   * @return a format version.
+   * @throws IllegalArgumentException when the magic number or version is invalid.
+   */
+  private static int readVersion(@NonNull ByteBuf source) {
+    if (!source.isReadable(5) || source.readInt() != MAGIC) {
+      throw new IllegalArgumentException("Malformed split file: Invalid magic number");
+    }
+
+    var version = source.readUnsignedByte();
+    if (version < 1 || version > VERSION) {
+      throw new IllegalArgumentException("Unsupported split file version: " + version);
+    }
+    return version;
+  }
+
+  /**
+   * <p>Decodes the timer table and segments of a split file.</p>
+   *
+   * <p>Histories are decoded from the passed history section when present. Otherwise, they are
+   * backed by the passed page cache.</p>
+   *
+   * @param source a buffer which contains the metadata section.
+   * @param version the file format version.
+   * @param historySection a buffer which contains the history section or null.
+   * @param cache a history page cache or null.
+   * @param historyLength the length of the history section (in bytes).
+   * @return a timeline.
+   */
+  @NonNull
+  private static Timeline readMetadata(@NonNull ByteBuf source, int version,
+      @Nullable ByteBuf historySection, @Nullable HistoryPageCache cache, long historyLength) {
+    var timerCount = SerializationUtility.readVarInt(source);
+    var slots = new int[timerCount];
+    for (var i = 0; i < timerCount; ++i) {
+      slots[i] = TimerSlots.slotOf(URI.create(SerializationUtility.readString(source)));
+    }
+
+    var segmentCount = SerializationUtility.readVarInt(source);
+    var segments = new ArrayList<Segment>(Math.min(segmentCount, source.readableBytes()));
+    var history = new long[64];
+
+    for (var i = 0; i < segmentCount; ++i) {
+      var id = new UUID(source.readLong(), source.readLong());
+      var segment = new Segment(id, SerializationUtility.readString(source));
+
+      var entryCount = SerializationUtility.readVarInt(source);
+      for (var j = 0; j < entryCount; ++j) {
+        var timerIndex = SerializationUtility.readVarInt(source);
+        if (timerIndex >= timerCount) {
+          throw new IllegalArgumentException(
+              "Malformed split file: Reference to unknown timer #" + timerIndex);
+        }
+
+        var slot = slots[timerIndex];
+        var flags = source.readUnsignedByte();
+        if ((flags & FLAG_BEST) != 0) {
+          segment.setBest(slot, SerializationUtility.readVarLong(source));
+        }
+        if ((flags & FLAG_PERSONAL_BEST) != 0) {
+          segment.setPersonalBest(slot, SerializationUtility.readVarLong(source));
+        }
+
+        var historySize = SerializationUtility.readVarInt(source);
+        if (historySize < 0 || historySize > (version == 1 ? source.readableBytes()
+            : historyLength)) {
+          throw new IllegalArgumentException("Malformed split file: History exceeds file size");
+        }
+        if (historySize == 0) {
+          continue;
+        }
+        if (historySize > history.length) {
+          history = new long[historySize];
+        }
+
+        if (version == 1) {
+          HistoryPageCache.decode(source, history, 0, historySize);
+          segment.getHistory(slot).addAll(history, 0, historySize);
+          continue;
+        }
+
+        var timeCount = version >= 3 ? SerializationUtility.readVarInt(source) : historySize;
+        if (timeCount < 0 || timeCount > historySize) {
+          throw new IllegalArgumentException("Malformed split file: Invalid history size");
+        }
+
+        var mean = source.readDouble();
+        var standardDeviation = source.readDouble();
+        var minimum = SerializationUtility.readSignedVarLong(source);
+        var maximum = SerializationUtility.readSignedVarLong(source);
+        var median = SerializationUtility.readSignedVarLong(source);
+
+        var pageCount = (historySize + HistoryPageCache.PAGE_SIZE - 1) / HistoryPageCache.PAGE_SIZE;
+        var offsets = new long[pageCount + 1];
+        offsets[0] = SerializationUtility.readVarLong(source);
+        for (var k = 0; k < pageCount; ++k) {
+          offsets[k + 1] = offsets[k] + SerializationUtility.readVarInt(source);
+        }
+        if (offsets[0] < 0 || offsets[pageCount] > historyLength) {
+          throw new IllegalArgumentException("Malformed split file: History exceeds file size");
+        }
+
+        if (cache != null) {
+          var pages = new HistoryPages(cache, offsets, historySize, minimum, maximum, median);
+          if (historySize <= TimeHistory.DEFAULT_CAPACITY) {
+            segment.setHistory(slot,
+                new TimeHistory(TimeHistory.DEFAULT_CAPACITY, pages, historySize, timeCount, mean,
+                    standardDeviation));
+          } else {
+            pages.copyTo(0, history, 0, historySize);
+            segment.getHistory(slot).addAll(history, 0, historySize);
+          }
+          continue;
+        }
+
+        for (var k = 0; k < pageCount; ++k) {
+          var count = Math.min(HistoryPageCache.PAGE_SIZE,
+              historySize - k * HistoryPageCache.PAGE_SIZE);
+          var page = historySection
+              .slice((int) offsets[k], (int) (offsets[k + 1] - offsets[k]));
+          HistoryPageCache.decode(page, history, k * HistoryPageCache.PAGE_SIZE, count);
+        }
+        segment.getHistory(slot).addAll(history, 0, historySize);
+      }
+
+      segments.add(segment);
+    }
+
+    return new Timeline(segments);
+  }
+
+  /**
+   * Encodes a timeline into the specified target buffer.
+   *
+   * @param target a target buffer.
+   * @param timeline a timeline.
+   */
+  public static void write(@NonNull ByteBuf target, @NonNull Timeline timeline) {
+    var segments = timeline.getSegments();
+
+    // collect the set of timers which are actually referenced within the timeline in order to
+    // keep the identifier table small
+    var indices = new int[TimerSlots.size()];
+    Arrays.fill(indices, -1);
+
+    var timers = new ArrayList<URI>();
+    for (var segment : segments) {
+      for (var slot = 0; slot < indices.length; ++slot) {
+        if (indices[slot] == -1 && hasData(segment, slot)) {
+          indices[slot] = timers.size();
+          timers.add(TimerSlots.getId(slot));
+        }
+      }
+    }
+
+    target.writeInt(MAGIC);
+    target.writeByte(VERSION);
+
+    var lengthIndex = target.writerIndex();
+    target.writeInt(0);
+    target.writeInt(0);
+    var metadataIndex = target.writerIndex();
+
+    var historySection = Unpooled.buffer();
+    try {
+      writeMetadata(target, historySection, segments, indices, timers);
+
+      target.setInt(lengthIndex, target.writerIndex() - metadataIndex);
+      target.setInt(lengthIndex + 4, historySection.readableBytes());
+      target.writeBytes(historySection);
+    } finally {
+      historySection.release();
+    }
+  }
+
+  /**
+   * Encodes the timer table and segments of a timeline.
+   *
+   * @param target a buffer which receives the metadata section.
+   * @param historySection a buffer which receives the history section.
+   * @param segments a list of segments.
+   * @param indices a map of timer slots to their respective index within the timer table.
+   * @param timers a timer table.
+   */
+  private static void writeMetadata(@NonNull ByteBuf target, @NonNull ByteBuf historySection,
+      @NonNull List<Segment> segments, @NonNull int[] indices, @NonNull List<URI> timers) {
+    SerializationUtility.writeVarInt(target, timers.size());
+    timers.forEach((id) -> SerializationUtility.writeString(target, id.toString()));
+
+    SerializationUtility.writeVarInt(target, segments.size());
+    for (var segment : segments) {
+      target.writeLong(segment.getId().getMostSignificantBits());
+      target.writeLong(segment.getId().getLeastSignificantBits());
+      SerializationUtility.writeString(target, segment.getDisplayName());
+
+      var entryCount = 0;
+      for (var slot = 0; slot < indices.length; ++slot) {
+        if (hasData(segment, slot)) {
+          ++entryCount;
+        }
+      }
+      SerializationUtility.writeVarInt(target, entryCount);
+
+      for (var slot = 0; slot < indices.length; ++slot) {
+        if (!hasData(segment, slot)) {
+          continue;
+        }
+
+        var best = segment.getBestNanos(slot);
+        var personalBest = segment.getPersonalBestNanos(slot);
+
+        SerializationUtility.writeVarInt(target, indices[slot]);
+        target.writeByte((best != Segment.NO_TIME ? FLAG_BEST : 0)
+            | (personalBest != Segment.NO_TIME ? FLAG_PERSONAL_BEST : 0));
+        if (best != Segment.NO_TIME) {
+          SerializationUtility.writeVarLong(target, best);
+        }
+        if (personalBest != Segment.NO_TIME) {
+          SerializationUtility.writeVarLong(target, personalBest);
+        }
+
+        var history = segment.getHistory(slot);
+        SerializationUtility.writeVarInt(target, history.size());
+        if (history.isEmpty()) {
+          continue;
+        }
+
+        SerializationUtility.writeVarInt(target, history.getCount());
+        target.writeDouble(history.getMean());
+        target.writeDouble(history.getStandardDeviation());
+        SerializationUtility.writeSignedVarLong(target, history.getMinimum());
+        SerializationUtility.writeSignedVarLong(target, history.getMaximum());
+        SerializationUtility.writeSignedVarLong(target, history.getMedian());
+
+        SerializationUtility.writeVarLong(target, historySection.writerIndex());
+        for (var i = 0; i < history.size(); i += HistoryPageCache.PAGE_SIZE) {
+          var start = historySection.writerIndex();
+          HistoryPageCache.encode(historySection, history, i,
+              Math.min(HistoryPageCache.PAGE_SIZE, history.size() - i));
+          SerializationUtility.writeVarInt(target, historySection.writerIndex() - start);
+        }
+      }
+    }
+  }
+
+  /**
+   * Evaluates whether a segment holds any persistent data for the specified timer.
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   * @return true if data is present, false otherwise.
+   */
+  private static boolean hasData(@NonNull Segment segment, int slot) {
+    return segment.getBestNanos(slot) != Segment.NO_TIME
+        || segment.getPersonalBestNanos(slot) != Segment.NO_TIME
+        || !segment.getHistory(slot).isEmpty();
+  }
+
+  /**
+   * <p>Reads a timeline from the specified file.</p>
+   *
+   * <p>Only the metadata section of the file is read by this method. Histories remain backed by
+   * the file and are paged in as needed. The file is thus kept open until the returned timeline
+   * is {@link Timeline#close() closed}.</p>
+   *
+   * @param path a file path.
+   * @return a timeline.
+   * @throws IOException when reading from the file fails.
+   * @throws IllegalArgumentException when the file is not a valid split file.
+   */
+  @NonNull
+  public static Timeline load(@NonNull Path path) throws IOException {
+    var channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      var header = Unpooled
+          .wrappedBuffer(readFully(channel, 0, (int) Math.min(HEADER_SIZE, channel.size())));
+      var version = readVersion(header);
+      if (version == 1) {
+        var timeline = read(Unpooled.wrappedBuffer(readFully(channel, 0, (int) channel.size())));
+        channel.close();
+        return timeline;
+      }
+      if (!header.isReadable(8)) {
+        throw new IllegalArgumentException("Malformed split file: Truncated header");
+      }
+
+      var metadataLength = header.readInt();
+      var historyLength = header.readInt();
+      if (metadataLength < 0 || historyLength < 0
+          || HEADER_SIZE + (long) metadataLength + historyLength > channel.size()) {
+        throw new IllegalArgumentException("Malformed split file: Sections exceed file size");
+      }
+
+      var metadata = Unpooled.wrappedBuffer(readFully(channel, HEADER_SIZE, metadataLength));
+      var cache = new HistoryPageCache(channel, HEADER_SIZE + metadataLength,
+          HistoryPageCache.DEFAULT_CAPACITY);
+      var timeline = readMetadata(metadata, version, null, cache, historyLength);
+      timeline.setSource(cache);
+      return timeline;
+    } catch (IOException | RuntimeException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * Reads a range of bytes from the specified channel.
+   *
+   * @param channel a file channel.
+   * @param position the position of the first byte.
+   * @param length the amount of bytes.
+   * @return a buffer which contains the requested range.
+   * @throws IOException when reading fails or the file ends prematurely.
+   */
+  @NonNull
+  private static ByteBuffer readFully(@NonNull FileChannel channel, long position, int length)
+      throws IOException {
+    var buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) == -1) {
+        throw new EOFException("Unexpected end of split file");
+      }
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * <p>Writes a timeline to the specified file.</p>
+   *
+   * <p>The timeline is written to a temporary file within the same directory first and
+   * subsequently moved to its target location. As a result, a previous version of the file is
+   * never left in a partially written state.</p>
+   *
+   * @param path a file path.
+   * @param timeline a timeline.
+   * @throws IOException when writing to the file fails.
+   */
+  public static void save(@NonNull Path path, @NonNull Timeline timeline) throws IOException {
+    var buffer = Unpooled.buffer();
+    try {
+      write(buffer, timeline);
+
+      var tmp = path.resolveSibling(path.getFileName() + ".tmp");
+      try (var channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (buffer.isReadable()) {
+          buffer.readBytes(channel, buffer.readableBytes());
+        }
+        channel.force(true);
+      }
+
+      Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      buffer.release();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides the comparisons which are available for every timeline.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum StandardComparison implements ComparisonGenerator {
+
+  /**
+   * Compares against the fastest completed run.
+   */
+  PERSONAL_BEST("Personal Best") {
+    @Override
+    public long getSegmentTime(@NonNull Segment segment, int slot) {
+      return segment.getPersonalBestNanos(slot);
+    }
+  },
+
+  /**
+   * Compares against the best known duration of each segment.
+   */
+  BEST_SEGMENTS("Best Segments") {
+    @Override
+    public long getSegmentTime(@NonNull Segment segment, int slot) {
+      return segment.getBestNanos(slot);
+    }
+  },
+
+  /**
+   * Compares against the mean duration of each segment within all archived attempts.
+   */
+  AVERAGE("Average Segments") {
+    @Override
+    public long getSegmentTime(@NonNull Segment segment, int slot) {
+      var history = segment.getHistory(slot);
+      return history.getCount() == 0 ? Segment.NO_TIME : Math.round(history.getMean());
+    }
+  },
+
+  /**
+   * Compares against the median duration of each segment within all archived attempts.
+   */
+  MEDIAN("Median Segments") {
+    @Override
+    public long getSegmentTime(@NonNull Segment segment, int slot) {
+      return segment.getHistory(slot).getMedian();
+    }
+  },
+
+  /**
+   * Compares against the duration of each segment within the most recently archived attempt.
+   */
+  LATEST("Latest Run") {
+    @Override
+    public long getSegmentTime(@NonNull Segment segment, int slot) {
+      return segment.getHistory(slot).getLatest();
+    }
+  };
+
+  private final String displayName;
+
+  StandardComparison(@NonNull String displayName) {
+    this.displayName = displayName;
+  }
+
+  /**
+   * Retrieves a human readable name for this comparison.
+   *
+   * @return a display name.
+   */
+  @NonNull
+  public String getDisplayName() {
+    return this.displayName;
+  }
+}
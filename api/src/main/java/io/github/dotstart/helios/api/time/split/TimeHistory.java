@@ -0,0 +1,718 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>Stores the times of previously completed attempts for a single timer within a segment.</p>
+ *
+ * <p>Histories retain exactly one entry per archived attempt. Attempts which did not record a
+ * time for the segment (for instance, because the segment has been skipped or the attempt has been
+ * reset before reaching it) are represented by a {@link Segment#NO_TIME} placeholder. The entries
+ * of all histories within a timeline thus refer to the same attempt when they are aligned at their
+ * most recent entry. Placeholders are excluded from all statistics.</p>
+ *
+ * <p>Entries are kept within a ring buffer which grows on demand until it reaches its capacity.
+ * Once full, each new entry replaces the oldest entry. Statistics (mean, standard deviation,
+ * median and arbitrary percentiles) are maintained incrementally as times are added or evicted and
+ * may thus be queried in constant time regardless of the amount of recorded attempts.</p>
+ *
+ * <p>Percentiles are computed over an additional sorted copy of the stored times. Adding a time
+ * thus costs a binary search and a single array shift while retrieving any percentile is a plain
+ * array access.</p>
+ *
+ * <p>Histories which have been {@link SplitFile#load(java.nio.file.Path) loaded} from a split file
+ * may initially be backed by the file itself. In this case, only the aggregates which have been
+ * stored along with the history (its size, mean, standard deviation, extremes and median) are
+ * kept in memory while individual times are paged in on demand. New times are appended to an
+ * in-memory tail while evictions consume the oldest paged times. Mean and standard deviation are
+ * updated incrementally as usual. Percentiles (as well as extremes which have been evicted) are
+ * selected by streaming over the history within a fixed size buffer instead. A history is only
+ * held in memory entirely once all of its paged times have been evicted.</p>
+ *
+ * <p>This implementation is not thread safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimeHistory {
+
+  /**
+   * Defines the default maximum amount of attempts which are retained per history.
+   */
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  private static final int INITIAL_SIZE = 8;
+  private static final int SELECTION_BUCKETS = 256;
+
+  private final int capacity;
+
+  private long[] times;
+  private long[] sorted;
+  private int head;
+  private int size;
+  private int count;
+
+  private double mean;
+  private double squaredDeviation;
+
+  private HistoryPages pages;
+  private int pagedOffset;
+  private int pagedSize;
+  private long minimum;
+  private long maximum;
+  private boolean extremesValid;
+  private long median;
+  private boolean medianValid;
+
+  public TimeHistory() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public TimeHistory(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Cannot create history: Capacity must be positive");
+    }
+
+    this.capacity = capacity;
+    this.times = new long[Math.min(INITIAL_SIZE, capacity)];
+    this.sorted = new long[this.times.length];
+  }
+
+  TimeHistory(int capacity, @NonNull HistoryPages pages, int size, int count, double mean,
+      double standardDeviation) {
+    this(capacity);
+
+    if (size > capacity || count > size) {
+      throw new IllegalArgumentException(
+          "Cannot create history: Size exceeds capacity of " + capacity);
+    }
+
+    this.pages = pages;
+    this.pagedSize = size;
+    this.size = size;
+    this.count = count;
+    this.mean = count == 0 ? 0 : mean;
+    this.squaredDeviation = count == 0 ? 0 : standardDeviation * standardDeviation * count;
+
+    this.minimum = pages.minimum;
+    this.maximum = pages.maximum;
+    this.extremesValid = count != 0;
+    this.median = pages.median;
+    this.medianValid = count != 0;
+  }
+
+  /**
+   * Evaluates whether all times of this history are currently held in memory.
+   *
+   * @return true if loaded, false if times are paged in from a split file.
+   */
+  boolean isLoaded() {
+    return this.pages == null;
+  }
+
+  /**
+   * <p>Records the time of an archived attempt.</p>
+   *
+   * <p>When the history has reached its capacity, the oldest entry is evicted.</p>
+   *
+   * @param time a segment duration (in nanoseconds) or {@link Segment#NO_TIME} when the attempt
+   * did not record a time for the segment.
+   */
+  public void add(long time) {
+    if (this.pages != null) {
+      this.addPaged(time);
+      return;
+    }
+
+    var evicted = Segment.NO_TIME;
+    if (this.size == this.capacity) {
+      evicted = this.times[this.head];
+      this.times[this.head] = time;
+      this.head = (this.head + 1) % this.capacity;
+    } else {
+      if (this.size == this.times.length) {
+        this.grow();
+      }
+
+      this.times[(this.head + this.size) % this.times.length] = time;
+      ++this.size;
+    }
+
+    if (evicted != Segment.NO_TIME && time != Segment.NO_TIME) {
+      this.replaceSorted(evicted, time);
+      this.replaceStatistics(evicted, time);
+    } else if (evicted != Segment.NO_TIME) {
+      this.removeSorted(evicted);
+      this.removeStatistics(evicted);
+    } else if (time != Segment.NO_TIME) {
+      this.insertSorted(time);
+      this.addStatistics(time);
+    }
+  }
+
+  /**
+   * Records the time of an archived attempt while the history is backed by a split file.
+   *
+   * @param time a segment duration (in nanoseconds) or {@link Segment#NO_TIME}.
+   */
+  private void addPaged(long time) {
+    var tail = this.size - this.pagedSize;
+    if (tail == this.times.length) {
+      this.times = Arrays.copyOf(this.times, Math.min(this.times.length * 2, this.capacity));
+    }
+    this.times[tail] = time;
+
+    var evicted = Segment.NO_TIME;
+    if (this.size == this.capacity) {
+      evicted = this.pages.get(this.pagedOffset);
+      ++this.pagedOffset;
+      --this.pagedSize;
+    } else {
+      ++this.size;
+    }
+
+    if (evicted != Segment.NO_TIME && time != Segment.NO_TIME) {
+      this.replaceStatistics(evicted, time);
+    } else if (evicted != Segment.NO_TIME) {
+      this.removeStatistics(evicted);
+    } else if (time != Segment.NO_TIME) {
+      this.addStatistics(time);
+    }
+
+    if (evicted != Segment.NO_TIME && (evicted == this.minimum || evicted == this.maximum)) {
+      this.extremesValid = false;
+    }
+    if (time != Segment.NO_TIME && this.extremesValid) {
+      this.minimum = Math.min(this.minimum, time);
+      this.maximum = Math.max(this.maximum, time);
+    } else if (time != Segment.NO_TIME && this.count == 1) {
+      this.minimum = this.maximum = time;
+      this.extremesValid = true;
+    }
+    this.medianValid = false;
+
+    if (this.pagedSize == 0) {
+      this.unpage();
+    }
+  }
+
+  /**
+   * Detaches this history from its split file once all paged times have been evicted (e.g. when
+   * the in-memory tail holds the entire history).
+   */
+  private void unpage() {
+    this.pages = null;
+    this.pagedOffset = 0;
+    this.head = 0;
+
+    this.sorted = new long[this.times.length];
+    var index = 0;
+    for (var i = 0; i < this.size; ++i) {
+      if (this.times[i] != Segment.NO_TIME) {
+        this.sorted[index++] = this.times[i];
+      }
+    }
+    Arrays.sort(this.sorted, 0, this.count);
+  }
+
+  /**
+   * <p>Records the times of multiple archived attempts (ordered from oldest to newest).</p>
+   *
+   * <p>Unlike repeated invocations of {@link #add(long)}, this method sorts the retained times and
+   * re-computes all statistics only once and is thus preferable when loading large histories.</p>
+   *
+   * @param values an array of segment durations (or {@link Segment#NO_TIME} placeholders).
+   * @param offset the index of the first duration.
+   * @param length the amount of durations.
+   * @throws IndexOutOfBoundsException when the specified range exceeds the array bounds.
+   */
+  public void addAll(@NonNull long[] values, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, values.length);
+
+    if (this.pages != null) {
+      if (length < this.capacity) {
+        for (var i = offset; i < offset + length; ++i) {
+          this.addPaged(values[i]);
+        }
+        return;
+      }
+
+      // every paged time is evicted by the passed times
+      this.clear();
+    }
+
+    if (length > this.capacity) {
+      offset += length - this.capacity;
+      length = this.capacity;
+    }
+
+    for (var i = offset; i < offset + length; ++i) {
+      if (this.size == this.capacity) {
+        this.times[this.head] = values[i];
+        this.head = (this.head + 1) % this.capacity;
+        continue;
+      }
+
+      if (this.size == this.times.length) {
+        this.grow();
+      }
+      this.times[(this.head + this.size) % this.times.length] = values[i];
+      ++this.size;
+    }
+
+    this.count = 0;
+    this.mean = 0;
+    this.squaredDeviation = 0;
+    for (var i = 0; i < this.size; ++i) {
+      var time = this.get(i);
+      if (time != Segment.NO_TIME) {
+        this.sorted[this.count] = time;
+        this.addStatistics(time);
+      }
+    }
+    Arrays.sort(this.sorted, 0, this.count);
+  }
+
+  /**
+   * Removes all recorded times from this history.
+   */
+  public void clear() {
+    this.pages = null;
+    this.pagedOffset = 0;
+    this.pagedSize = 0;
+    this.head = 0;
+    this.size = 0;
+    this.count = 0;
+    this.mean = 0;
+    this.squaredDeviation = 0;
+  }
+
+  /**
+   * Grows the backing buffers while unrolling the ring buffer so that its head is placed at the
+   * start of the array.
+   */
+  private void grow() {
+    var length = Math.min(this.times.length * 2, this.capacity);
+
+    var times = new long[length];
+    for (var i = 0; i < this.size; ++i) {
+      times[i] = this.times[(this.head + i) % this.times.length];
+    }
+
+    this.times = times;
+    this.sorted = Arrays.copyOf(this.sorted, length);
+    this.head = 0;
+  }
+
+  /**
+   * Inserts a time into the sorted copy of this history.
+   *
+   * @param time a time.
+   */
+  private void insertSorted(long time) {
+    var index = Arrays.binarySearch(this.sorted, 0, this.count, time);
+    if (index < 0) {
+      index = -index - 1;
+    }
+
+    System.arraycopy(this.sorted, index, this.sorted, index + 1, this.count - index);
+    this.sorted[index] = time;
+  }
+
+  /**
+   * Removes an evicted time from the sorted copy of this history.
+   *
+   * @param evicted an evicted time.
+   */
+  private void removeSorted(long evicted) {
+    var index = Arrays.binarySearch(this.sorted, 0, this.count, evicted);
+    System.arraycopy(this.sorted, index + 1, this.sorted, index, this.count - index - 1);
+  }
+
+  /**
+   * Replaces an evicted time with a new time within the sorted copy of this history.
+   *
+   * @param evicted an evicted time.
+   * @param time a new time.
+   */
+  private void replaceSorted(long evicted, long time) {
+    this.removeSorted(evicted);
+
+    var target = Arrays.binarySearch(this.sorted, 0, this.count - 1, time);
+    if (target < 0) {
+      target = -target - 1;
+    }
+
+    System.arraycopy(this.sorted, target, this.sorted, target + 1, this.count - 1 - target);
+    this.sorted[target] = time;
+  }
+
+  /**
+   * Updates the running statistics when a time is added.
+   *
+   * @param time a new time.
+   */
+  private void addStatistics(long time) {
+    ++this.count;
+
+    var delta = time - this.mean;
+    this.mean += delta / this.count;
+    this.squaredDeviation += delta * (time - this.mean);
+  }
+
+  /**
+   * Updates the running statistics when a time is evicted without replacement (e.g. when it is
+   * replaced by a placeholder).
+   *
+   * @param evicted an evicted time.
+   */
+  private void removeStatistics(long evicted) {
+    --this.count;
+    if (this.count == 0) {
+      this.mean = 0;
+      this.squaredDeviation = 0;
+      return;
+    }
+
+    var delta = evicted - this.mean;
+    this.mean -= delta / this.count;
+    this.squaredDeviation -= delta * (evicted - this.mean);
+
+    if (this.squaredDeviation < 0) {
+      this.squaredDeviation = 0;
+    }
+  }
+
+  /**
+   * Updates the running statistics when a time is replaced with another while the amount of
+   * samples remains unchanged.
+   *
+   * @param evicted an evicted time.
+   * @param time a new time.
+   */
+  private void replaceStatistics(long evicted, long time) {
+    var previousMean = this.mean;
+    this.mean += (double) (time - evicted) / this.count;
+    this.squaredDeviation += (time - evicted) * (time - this.mean + evicted - previousMean);
+
+    if (this.squaredDeviation < 0) {
+      this.squaredDeviation = 0;
+    }
+  }
+
+  /**
+   * Retrieves the maximum amount of times which are retained by this history.
+   *
+   * @return a capacity.
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Retrieves the amount of entries (e.g. archived attempts) which are currently retained by this
+   * history.
+   *
+   * @return an amount of entries.
+   * @see #getCount()
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Retrieves the amount of entries which hold an actual time (e.g. the amount of retained
+   * attempts which recorded a time for the segment).
+   *
+   * @return an amount of times.
+   */
+  public int getCount() {
+    return this.count;
+  }
+
+  /**
+   * Evaluates whether this history does not contain any entries.
+   *
+   * @return true if empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Retrieves a recorded entry.
+   *
+   * @param index an index where zero refers to the oldest retained entry.
+   * @return a time or {@link Segment#NO_TIME} when the respective attempt did not record a time.
+   * @throws IndexOutOfBoundsException when the index is outside of the history bounds.
+   */
+  public long get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException(
+          "Index " + index + " is out of bounds for history of size " + this.size);
+    }
+    if (this.pages != null) {
+      return index < this.pagedSize ? this.pages.get(this.pagedOffset + index)
+          : this.times[index - this.pagedSize];
+    }
+
+    return this.times[(this.head + index) % this.times.length];
+  }
+
+  /**
+   * <p>Copies a range of recorded entries into an array.</p>
+   *
+   * <p>When the history is backed by a split file, every page within the range is decoded at
+   * most once.</p>
+   *
+   * @param index the index of the first copied entry where zero refers to the oldest retained
+   *     entry.
+   * @param target a target array.
+   * @param offset the offset of the first copied entry within the target array.
+   * @param length the amount of copied entries.
+   * @throws IndexOutOfBoundsException when the range is outside of the history bounds.
+   */
+  void copyTo(int index, @NonNull long[] target, int offset, int length) {
+    if (index < 0 || length < 0 || index + length > this.size) {
+      throw new IndexOutOfBoundsException(
+          "Range " + index + "+" + length + " is out of bounds for history of size " + this.size);
+    }
+    if (this.pages != null) {
+      var paged = Math.max(0, Math.min(length, this.pagedSize - index));
+      if (paged != 0) {
+        this.pages.copyTo(this.pagedOffset + index, target, offset, paged);
+      }
+      if (paged != length) {
+        System.arraycopy(this.times, index + paged - this.pagedSize, target, offset + paged,
+            length - paged);
+      }
+      return;
+    }
+
+    var start = (this.head + index) % this.times.length;
+    var head = Math.min(length, this.times.length - start);
+    System.arraycopy(this.times, start, target, offset, head);
+    System.arraycopy(this.times, 0, target, offset + head, length - head);
+  }
+
+  /**
+   * Retrieves the entry of the most recently archived attempt.
+   *
+   * @return a time or {@link Segment#NO_TIME} when the history is empty or the most recent attempt
+   * did not record a time.
+   */
+  public long getLatest() {
+    if (this.size == 0) {
+      return Segment.NO_TIME;
+    }
+
+    return this.get(this.size - 1);
+  }
+
+  /**
+   * Retrieves the arithmetic mean of all retained times.
+   *
+   * @return a mean or {@link Double#NaN} when the history contains no times.
+   */
+  public double getMean() {
+    return this.count == 0 ? Double.NaN : this.mean;
+  }
+
+  /**
+   * Retrieves the population standard deviation of all retained times.
+   *
+   * @return a standard deviation or {@link Double#NaN} when the history contains no times.
+   */
+  public double getStandardDeviation() {
+    return this.count == 0 ? Double.NaN : Math.sqrt(this.squaredDeviation / this.count);
+  }
+
+  /**
+   * Retrieves the smallest retained time.
+   *
+   * @return a time or {@link Segment#NO_TIME} when the history contains no times.
+   */
+  public long getMinimum() {
+    if (this.count == 0) {
+      return Segment.NO_TIME;
+    }
+    if (this.pages != null) {
+      this.computeExtremes();
+      return this.minimum;
+    }
+
+    return this.sorted[0];
+  }
+
+  /**
+   * Retrieves the largest retained time.
+   *
+   * @return a time or {@link Segment#NO_TIME} when the history contains no times.
+   */
+  public long getMaximum() {
+    if (this.count == 0) {
+      return Segment.NO_TIME;
+    }
+    if (this.pages != null) {
+      this.computeExtremes();
+      return this.maximum;
+    }
+
+    return this.sorted[this.count - 1];
+  }
+
+  /**
+   * <p>Retrieves the median of all retained times.</p>
+   *
+   * <p>When an even amount of times is retained, the mean of both center values is returned.</p>
+   *
+   * @return a median or {@link Segment#NO_TIME} when the history contains no times.
+   */
+  public long getMedian() {
+    if (this.count == 0) {
+      return Segment.NO_TIME;
+    }
+    if (this.pages != null) {
+      if (!this.medianValid) {
+        var lower = this.select((this.count - 1) / 2);
+        var upper = this.select(this.count / 2);
+        this.median = lower + (upper - lower) / 2;
+        this.medianValid = true;
+      }
+
+      return this.median;
+    }
+
+    var lower = this.sorted[(this.count - 1) / 2];
+    var upper = this.sorted[this.count / 2];
+    return lower + (upper - lower) / 2;
+  }
+
+  /**
+   * <p>Retrieves the specified percentile of all retained times.</p>
+   *
+   * <p>Percentiles are computed using the nearest rank method (e.g. the returned value is always a
+   * time which has actually been recorded).</p>
+   *
+   * @param percentile a percentile between 0 and 100 (inclusive).
+   * @return a time or {@link Segment#NO_TIME} when the history contains no times.
+   * @throws IllegalArgumentException when the percentile is out of range.
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Cannot compute percentile: Must be within [0, 100]");
+    }
+    if (this.count == 0) {
+      return Segment.NO_TIME;
+    }
+
+    var rank = Math.max(0, (int) Math.ceil(percentile / 100 * this.count) - 1);
+    if (this.pages != null) {
+      return this.select(rank);
+    }
+
+    return this.sorted[rank];
+  }
+
+  /**
+   * Re-computes the extremes of a paged history after one of them has been evicted.
+   */
+  private void computeExtremes() {
+    if (this.extremesValid) {
+      return;
+    }
+
+    var minimum = Long.MAX_VALUE;
+    var maximum = Long.MIN_VALUE;
+    var window = new long[HistoryPageCache.PAGE_SIZE];
+    for (var i = 0; i < this.size; i += window.length) {
+      var length = Math.min(window.length, this.size - i);
+      this.copyTo(i, window, 0, length);
+
+      for (var j = 0; j < length; ++j) {
+        if (window[j] != Segment.NO_TIME) {
+          minimum = Math.min(minimum, window[j]);
+          maximum = Math.max(maximum, window[j]);
+        }
+      }
+    }
+
+    this.minimum = minimum;
+    this.maximum = maximum;
+    this.extremesValid = true;
+  }
+
+  /**
+   * <p>Selects the time of the specified rank within a paged history.</p>
+   *
+   * <p>Each pass streams over the history and counts its times within a fixed amount of equally
+   * sized value ranges between the current bounds. The search is then narrowed to the range which
+   * contains the requested rank. As every pass reduces the width of the bounds by a factor of
+   * {@link #SELECTION_BUCKETS}, the rank is found within a fixed amount of passes while memory use
+   * remains independent of the history size.</p>
+   *
+   * @param rank a rank where zero refers to the smallest time.
+   * @return a time.
+   */
+  private long select(int rank) {
+    this.computeExtremes();
+
+    var window = new long[HistoryPageCache.PAGE_SIZE];
+    var buckets = new int[SELECTION_BUCKETS];
+    var lower = this.minimum;
+    var upper = this.maximum;
+
+    while (lower != upper) {
+      var width = Long.divideUnsigned(upper - lower, SELECTION_BUCKETS) + 1;
+      var below = 0;
+      Arrays.fill(buckets, 0);
+
+      for (var i = 0; i < this.size; i += window.length) {
+        var length = Math.min(window.length, this.size - i);
+        this.copyTo(i, window, 0, length);
+
+        for (var j = 0; j < length; ++j) {
+          var time = window[j];
+          if (time == Segment.NO_TIME) {
+            continue;
+          }
+
+          if (time < lower) {
+            ++below;
+          } else if (time <= upper) {
+            ++buckets[(int) Long.divideUnsigned(time - lower, width)];
+          }
+        }
+      }
+
+      var bucket = 0;
+      while (below + buckets[bucket] <= rank) {
+        below += buckets[bucket++];
+      }
+
+      lower += bucket * width;
+      if (Long.compareUnsigned(upper - lower, width - 1) > 0) {
+        upper = lower + width - 1;
+      }
+    }
+
+    return lower;
+  }
+}
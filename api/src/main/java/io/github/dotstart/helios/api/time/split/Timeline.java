@@ -17,12 +17,26 @@
 package io.github.dotstart.helios.api.time.split;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.github.dotstart.helios.api.time.TimerGroup;
+import io.github.dotstart.helios.api.time.TimerGroup.SampleConsumer;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * <p>Represents a pre-configured set of splits, their respective display names and various
@@ -33,18 +47,92 @@ import javafx.collections.ObservableList;
  * however that splits are guaranteed to contain times for the {@link
  * io.github.dotstart.helios.api.time.Timer#REALTIME} category at all times.</p>
  *
+ * <p>Timelines maintain the sum of their best segments (and thus the best possible time of the
+ * current attempt) incrementally: For every timer, a suffix sum over all segment bests is updated
+ * whenever a best changes. Retrieving either value is thus a constant time operation.</p>
+ *
+ * <p>In addition, each timeline provides a set of {@link Comparisons comparisons} against which
+ * the current attempt is compared. When a finished attempt is cleared, it replaces the personal
+ * best of every timer for which it is faster.</p>
+ *
+ * <p>All transitions are appended to the {@link EventLog event log} of the timeline along with
+ * their timestamps. The segment times of the current attempt are derived incrementally from these
+ * events as they are applied: Splits record the time since the previous split while undoing or
+ * skipping a split adjusts the running split times of the attempt in constant time (per timer).
+ * The log may thus be persisted and replayed in order to reproduce an attempt (for instance,
+ * through a {@link io.github.dotstart.helios.api.time.ReplayEngine}). Listeners receive every
+ * appended event through {@link TimelineListener#onEvent(Timeline, TimelineEvent, long)} which
+ * permits them to persist the log as it grows.</p>
+ *
+ * <p>Timelines which have been loaded from a split file retain the file in order to page in their
+ * histories on demand. Such timelines must be {@link #close() closed} once they are no longer
+ * used.</p>
+ *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
-public class Timeline {
+public class Timeline implements Closeable {
+
+  private static final Logger logger = LogManager.getFormatterLogger(Timeline.class);
 
   private short segmentIndex = -1;
   private final ObservableList<Segment> segments = FXCollections.observableArrayList();
 
   private final ObservableList<Segment> segmentsView = FXCollections
       .unmodifiableObservableList(this.segments);
+  private final Comparisons comparisons = new Comparisons(this.segmentsView);
+  private final List<TimelineListener> listeners = new CopyOnWriteArrayList<>();
+  private final EventLog eventLog = new EventLog();
+  private Closeable source;
+
+  private long[] splitTimes = new long[0];
+  private Segment recordingSegment;
+  private final SampleConsumer recorder = this::record;
+
+  private long[][] bestSuffix = new long[0][];
+  private ReadOnlyLongWrapper[] sumOfBest = new ReadOnlyLongWrapper[0];
+  private ReadOnlyLongWrapper[] bestPossibleTime = new ReadOnlyLongWrapper[0];
 
   public Timeline() {
-    this.add("");
+    this(List.of(new Segment("")));
+  }
+
+  Timeline(@NonNull Collection<Segment> segments) {
+    this.segments.addListener((ListChangeListener<Segment>) (change) -> {
+      while (change.next()) {
+        change.getRemoved().forEach((s) -> s.timeline = null);
+        change.getAddedSubList().forEach((s) -> s.timeline = this);
+      }
+
+      this.invalidateBest();
+    });
+
+    this.segments.addAll(segments);
+  }
+
+  /**
+   * Sets the source which backs the histories of this timeline and is released along with it.
+   *
+   * @param source a source or null.
+   */
+  void setSource(@Nullable Closeable source) {
+    this.source = source;
+  }
+
+  /**
+   * <p>Releases the source which backs the histories of this timeline (if any).</p>
+   *
+   * <p>Histories which are backed by the source can no longer be paged in afterwards. Timelines
+   * which have not been loaded from a file are unaffected.</p>
+   *
+   * @throws IOException when releasing the source fails.
+   */
+  @Override
+  public void close() throws IOException {
+    var source = this.source;
+    if (source != null) {
+      this.source = null;
+      source.close();
+    }
   }
 
   /**
@@ -70,11 +158,109 @@ public class Timeline {
   }
 
   /**
-   * Resets the entire timeline back to its original state.
+   * <p>Resets the entire timeline back to its original state.</p>
+   *
+   * <p>When the timeline has been started, the times of all completed segments are archived within
+   * their respective histories before they are cleared.</p>
+   *
+   * <p>The reset is logged without a timestamp. Resets which are triggered by the user should rely
+   * on {@link #clear(long)} instead.</p>
    */
   public void clear() {
+    this.clear(Segment.NO_TIME);
+  }
+
+  /**
+   * <p>Resets the entire timeline back to its original state at the specified point in time.</p>
+   *
+   * <p>The event log of the previous attempt (including the reset itself) remains available to
+   * all registered listeners until they have been notified and is subsequently discarded.</p>
+   *
+   * @param now the transition timestamp.
+   * @see #clear()
+   */
+  public void clear(long now) {
+    if (this.hasFinished()) {
+      this.updatePersonalBest();
+    }
+    if (this.hasStarted()) {
+      this.archiveAttempt();
+    }
+
     this.segments.forEach(Segment::clearTime);
     this.segmentIndex = -1;
+    Arrays.fill(this.splitTimes, 0);
+    this.updateBestPossibleTimes();
+
+    this.appendEvent(TimelineEvent.RESET, now);
+    for (var listener : this.listeners) {
+      listener.onClear(this);
+    }
+
+    this.eventLog.clear();
+  }
+
+  /**
+   * <p>Appends the current times of all segments to their respective histories.</p>
+   *
+   * <p>Every timer which has recorded a time within the attempt (or for which a history exists
+   * within any segment) receives exactly one entry per segment. Segments which have not been
+   * reached or have been skipped receive a {@link Segment#NO_TIME} placeholder instead. All
+   * histories of a timer thus remain aligned at their most recent entry. Attempts which did not
+   * record any time are not archived at all.</p>
+   *
+   * <p>This method is invoked when the timeline is reset and does not alter the current
+   * times.</p>
+   */
+  public void archiveAttempt() {
+    var slots = new boolean[TimerSlots.size()];
+    var recorded = false;
+    for (var segment : this.segments) {
+      for (var slot = 0; slot < slots.length; ++slot) {
+        if (segment.getTimeNanos(slot) != Segment.NO_TIME) {
+          slots[slot] = true;
+          recorded = true;
+        }
+      }
+    }
+    if (!recorded) {
+      return;
+    }
+
+    for (var segment : this.segments) {
+      for (var slot = 0; slot < slots.length; ++slot) {
+        slots[slot] |= segment.hasHistory(slot);
+      }
+    }
+
+    for (var segment : this.segments) {
+      segment.archiveTime(slots);
+    }
+  }
+
+  /**
+   * Replaces the personal best of every timer for which the finished attempt is faster than the
+   * previous personal best.
+   */
+  private void updatePersonalBest() {
+    for (var slot = 0; slot < this.splitTimes.length; ++slot) {
+      var total = 0L;
+      var complete = true;
+
+      for (var segment : this.segments) {
+        var pb = segment.getPersonalBestNanos(slot);
+        total = pb == Segment.NO_TIME || total == Segment.NO_TIME ? Segment.NO_TIME : total + pb;
+        complete &= segment.getTimeNanos(slot) != Segment.NO_TIME;
+      }
+
+      if (!complete || (total != Segment.NO_TIME && total <= this.splitTimes[slot])) {
+        continue;
+      }
+
+      for (var segment : this.segments) {
+        segment.setPersonalBest(slot, segment.getTimeNanos(slot));
+      }
+    }
   }
 
   /**
@@ -85,20 +271,458 @@ public class Timeline {
   }
 
   /**
-   * Records all current times and moves the timeline to the next segment within the queue (given
-   * that there is any left).
+   * Moves the timeline to its first segment.
+   *
+   * <p>The transition is logged without a timestamp. Callers which are aware of the time at
+   * which the attempt has been started should rely on {@link #start(long)} instead.</p>
+   *
+   * @throws IllegalStateException when the timeline has already been started.
+   */
+  public void start() {
+    this.start(Segment.NO_TIME);
+  }
+
+  /**
+   * Moves the timeline to its first segment at the specified point in time.
+   *
+   * @param now the transition timestamp.
+   * @throws IllegalStateException when the timeline has already been started.
+   */
+  public void start(long now) {
+    if (this.hasStarted()) {
+      throw new IllegalStateException("Cannot start: Timeline is already running");
+    }
+
+    this.segmentIndex = 0;
+    Arrays.fill(this.splitTimes, 0);
+    this.updateBestPossibleTimes();
+
+    this.appendEvent(TimelineEvent.START, now);
+    for (var listener : this.listeners) {
+      listener.onStart(this);
+    }
+  }
+
+  /**
+   * <p>Records all current times and moves the timeline to the next segment within the queue
+   * (given that there is any left).</p>
+   *
+   * <p>The group clock is sampled exactly once. All timers within the group are evaluated against
+   * this timestamp. Times are recorded by timer slot and thus do not allocate.</p>
+   *
+   * <p>Each segment receives its own duration (e.g. the time which has passed since the previous
+   * split) rather than the total elapsed time.</p>
    *
    * @param group a timer group to retrieve the segment times from.
+   * @throws IllegalStateException when the timeline is not running.
    */
   public void split(@NonNull TimerGroup group) {
+    this.split(group, group.getClock().nanoTime());
+  }
+
+  /**
+   * <p>Records all times at the specified point in time and moves the timeline to the next
+   * segment within the queue.</p>
+   *
+   * <p>The passed timestamp is expected to originate from the group clock (for instance, as
+   * captured by a hotkey listener at the moment the key press has been received).</p>
+   *
+   * @param group a timer group to retrieve the segment times from.
+   * @param now the split timestamp.
+   * @throws IllegalStateException when the timeline is not running.
+   * @see #split(TimerGroup)
+   */
+  public void split(@NonNull TimerGroup group, long now) {
     if (!this.hasStarted() || this.hasFinished()) {
       throw new IllegalStateException("Cannot split: Timeline is not running");
     }
 
-    var active = this.segments.get(this.segmentIndex);
-    group.getTimers().forEach((id, t) -> active.setTime(id, t.getElapsedNanos()));
+    this.recordingSegment = this.segments.get(this.segmentIndex);
+    group.sample(now, this.recorder);
+    this.recordingSegment = null;
+
+    ++this.segmentIndex;
+    this.updateBestPossibleTimes();
+
+    this.appendEvent(TimelineEvent.SPLIT, now);
+    for (var listener : this.listeners) {
+      listener.onSplit(this, this.segmentIndex - 1, now);
+    }
+  }
+
+  /**
+   * <p>Reverts the most recent split and moves the timeline back to the previous segment.</p>
+   *
+   * <p>The times of the previous segment are discarded and any best segment times which have been
+   * replaced by them are restored. The next split will thus once again measure the time since the
+   * split which preceded the reverted one.</p>
+   *
+   * <p>Timelines do not measure time on their own when a split is reverted. The passed timestamp
+   * is merely passed on to all registered listeners so that the transition can be recorded and
+   * replayed at its original position.</p>
+   *
+   * @param now the transition timestamp.
+   * @throws IllegalStateException when no segment has been completed yet.
+   */
+  public void undoSplit(long now) {
+    if (this.segmentIndex <= 0) {
+      throw new IllegalStateException("Cannot undo split: No segment has been completed yet");
+    }
+
+    var segment = this.segments.get(--this.segmentIndex);
+    for (var slot = 0; slot < this.splitTimes.length; ++slot) {
+      var time = segment.getTimeNanos(slot);
+      if (time != Segment.NO_TIME) {
+        this.splitTimes[slot] -= time;
+      }
+    }
+    segment.revertTime();
+    this.updateBestPossibleTimes();
+
+    this.appendEvent(TimelineEvent.UNDO_SPLIT, now);
+    for (var listener : this.listeners) {
+      listener.onUndoSplit(this, this.segmentIndex, now);
+    }
+  }
+
+  /**
+   * <p>Moves the timeline to the next segment without recording any times.</p>
+   *
+   * <p>The skipped segment remains empty while the following split receives the combined duration
+   * of both segments (e.g. the time which has passed since the last recorded split). The final
+   * segment cannot be skipped as the attempt would otherwise end without a final time.</p>
+   *
+   * @param now the transition timestamp.
+   * @throws IllegalStateException when the timeline is not running or has reached its final
+   * segment.
+   * @see #undoSplit(long)
+   */
+  public void skipSplit(long now) {
+    if (!this.hasStarted() || this.hasFinished()) {
+      throw new IllegalStateException("Cannot skip split: Timeline is not running");
+    }
+    if (this.segmentIndex == this.segments.size() - 1) {
+      throw new IllegalStateException("Cannot skip split: Final segment cannot be skipped");
+    }
 
     ++this.segmentIndex;
+    this.updateBestPossibleTimes();
+
+    this.appendEvent(TimelineEvent.SKIP_SPLIT, now);
+    for (var listener : this.listeners) {
+      listener.onSkipSplit(this, this.segmentIndex - 1, now);
+    }
+  }
+
+  /**
+   * <p>Appends an event to the log of this timeline and notifies all registered listeners.</p>
+   *
+   * <p>This method merely records the event. It is invoked by the transitions of the timeline
+   * itself (once their state has been applied) and by {@link
+   * io.github.dotstart.helios.api.time.TimeManager} for the transitions of the timer group which
+   * measures the current attempt.</p>
+   *
+   * <p>Listeners which fail to process an event are logged and skipped as the transition has
+   * already taken place at this point.</p>
+   *
+   * @param event an event type.
+   * @param timestamp the event timestamp or {@link Segment#NO_TIME} when the event has been
+   * triggered without a timestamp.
+   */
+  public void appendEvent(@NonNull TimelineEvent event, long timestamp) {
+    this.eventLog.append(event, timestamp);
+
+    for (var listener : this.listeners) {
+      try {
+        listener.onEvent(this, event, timestamp);
+      } catch (RuntimeException ex) {
+        logger.error("Listener %s failed to process %s event", listener, event, ex);
+      }
+    }
+  }
+
+  /**
+   * <p>Retrieves the log of all events which have been applied to this timeline since it has last
+   * been reset.</p>
+   *
+   * <p>Aside from the transitions of the timeline itself, the log contains the transitions of the
+   * timer group which measures its attempts when it is driven through a {@link
+   * io.github.dotstart.helios.api.time.TimeManager}.</p>
+   *
+   * @return an event log.
+   */
+  @NonNull
+  public EventLog getEventLog() {
+    return this.eventLog;
+  }
+
+  /**
+   * Registers a listener which is notified about the progress of all future attempts.
+   *
+   * @param listener a listener.
+   */
+  public void addListener(@NonNull TimelineListener listener) {
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Removes a previously registered listener.
+   *
+   * @param listener a listener.
+   */
+  public void removeListener(@NonNull TimelineListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Records the segment duration of a single timer within the segment which is currently being
+   * split.
+   *
+   * @param slot a timer slot.
+   * @param elapsed the total elapsed time of the timer.
+   */
+  private void record(int slot, long elapsed) {
+    if (slot >= this.splitTimes.length) {
+      this.splitTimes = Arrays.copyOf(this.splitTimes, Math.max(slot + 1, TimerSlots.size()));
+    }
+
+    this.recordingSegment.setTime(slot, elapsed - this.splitTimes[slot]);
+    this.splitTimes[slot] = elapsed;
+  }
+
+  /**
+   * Discards the best suffix sums of all timers (e.g. when segments are added, removed or all
+   * bests are cleared at once).
+   */
+  void invalidateBest() {
+    this.bestSuffix = new long[0][];
+    this.updateBestPossibleTimes();
+    this.comparisons.invalidate();
+  }
+
+  /**
+   * Updates the best suffix sums of a single timer after the best time of the specified segment
+   * has changed.
+   *
+   * @param segment a segment.
+   * @param slot a timer slot.
+   */
+  void invalidateBest(@NonNull Segment segment, int slot) {
+    if (slot < this.bestSuffix.length && this.bestSuffix[slot] != null) {
+      var index = this.segments.indexOf(segment);
+      if (index == -1) {
+        return;
+      }
+
+      this.computeSuffix(this.bestSuffix[slot], slot, index);
+    }
+
+    this.updateBestProperties(slot);
+    this.comparisons.invalidate();
+  }
+
+  /**
+   * Marks all comparisons outdated after the personal best or history of a segment has changed.
+   */
+  void invalidateComparisons() {
+    this.comparisons.invalidate();
+  }
+
+  /**
+   * Retrieves the comparisons against which attempts on this timeline are compared.
+   *
+   * @return a set of comparisons.
+   */
+  @NonNull
+  public Comparisons getComparisons() {
+    return this.comparisons;
+  }
+
+  /**
+   * <p>Retrieves the difference between the current attempt and the selected comparison.</p>
+   *
+   * <p>While a segment is active, the passed elapsed time is compared against the split time of
+   * the active segment within the comparison. Once the timeline has been finished, the final
+   * split is compared instead.</p>
+   *
+   * @param slot a timer slot.
+   * @param elapsed the current elapsed time of the timer.
+   * @return a negative delta when ahead of the comparison, a positive delta when behind it or
+   * {@link Segment#NO_TIME} when the timeline has not been started or the comparison lacks the
+   * respective split time.
+   */
+  public long getDelta(int slot, long elapsed) {
+    if (!this.hasStarted()) {
+      return Segment.NO_TIME;
+    }
+
+    var comparison = this.comparisons.getSelected();
+    if (this.hasFinished()) {
+      var split = slot < this.splitTimes.length ? this.splitTimes[slot] : 0;
+      return comparison.getDelta(slot, this.segments.size() - 1, split);
+    }
+
+    return comparison.getDelta(slot, this.segmentIndex, elapsed);
+  }
+
+  /**
+   * Retrieves the suffix sums over all best segments of the specified timer (computing them if
+   * necessary).
+   *
+   * @param slot a timer slot.
+   * @return an array in which each element holds the sum of the best times of the segment at the
+   * same index and all of its successors (or {@link Segment#NO_TIME} if any of these segments lacks
+   * a best time).
+   */
+  @NonNull
+  private long[] getBestSuffix(int slot) {
+    if (slot >= this.bestSuffix.length) {
+      this.bestSuffix = Arrays.copyOf(this.bestSuffix, Math.max(slot + 1, TimerSlots.size()));
+    }
+
+    var suffix = this.bestSuffix[slot];
+    if (suffix == null) {
+      suffix = this.bestSuffix[slot] = new long[this.segments.size() + 1];
+      this.computeSuffix(suffix, slot, this.segments.size() - 1);
+    }
+    return suffix;
+  }
+
+  /**
+   * Re-computes the suffix sums of a timer starting at the specified segment and moving towards
+   * the first segment.
+   *
+   * @param suffix an array of suffix sums.
+   * @param slot a timer slot.
+   * @param from the index of the last segment which has changed.
+   */
+  private void computeSuffix(@NonNull long[] suffix, int slot, int from) {
+    for (var i = from; i >= 0; --i) {
+      var best = this.segments.get(i).getBestNanos(slot);
+      var next = suffix[i + 1];
+
+      suffix[i] =
+          best == Segment.NO_TIME || next == Segment.NO_TIME ? Segment.NO_TIME : best + next;
+    }
+  }
+
+  /**
+   * Retrieves the sum of all best segment times for the specified timer.
+   *
+   * @param slot a timer slot.
+   * @return a sum or {@link Segment#NO_TIME} when at least one segment lacks a best time.
+   */
+  public long getSumOfBest(int slot) {
+    return this.getBestSuffix(slot)[0];
+  }
+
+  /**
+   * <p>Retrieves the best time which may still be achieved within the current attempt.</p>
+   *
+   * <p>The returned value consists of the time at which the last segment has been split, the
+   * duration of the active segment (or its best time, whichever is larger) and the best times of
+   * all remaining segments. Prior to starting the timeline, this value is equal to the sum of
+   * best segments. Once finished, it is equal to the final time.</p>
+   *
+   * @param slot a timer slot.
+   * @param elapsed the current elapsed time of the timer.
+   * @return a time or {@link Segment#NO_TIME} when at least one remaining segment lacks a best
+   * time.
+   */
+  public long getBestPossibleTime(int slot, long elapsed) {
+    if (!this.hasStarted()) {
+      return this.getSumOfBest(slot);
+    }
+
+    var split = slot < this.splitTimes.length ? this.splitTimes[slot] : 0;
+    if (this.hasFinished()) {
+      return split;
+    }
+
+    var suffix = this.getBestSuffix(slot);
+    var remaining = suffix[this.segmentIndex + 1];
+    var best = this.segments.get(this.segmentIndex).getBestNanos(slot);
+    if (remaining == Segment.NO_TIME || best == Segment.NO_TIME) {
+      return Segment.NO_TIME;
+    }
+
+    return split + Math.max(elapsed - split, best) + remaining;
+  }
+
+  /**
+   * <p>Retrieves an observable sum of best segments for the specified timer.</p>
+   *
+   * <p>The value is updated whenever a best segment time within this timeline changes and will be
+   * {@link Segment#NO_TIME} while at least one segment lacks a best time.</p>
+   *
+   * @param slot a timer slot.
+   * @return a sum of best segments.
+   */
+  @NonNull
+  public ReadOnlyLongProperty sumOfBestProperty(int slot) {
+    this.ensureBestProperties(slot);
+    return this.sumOfBest[slot].getReadOnlyProperty();
+  }
+
+  /**
+   * <p>Retrieves an observable best possible time for the specified timer.</p>
+   *
+   * <p>The value is updated whenever the timeline is started, split or cleared and whenever a
+   * best segment time changes. It assumes that the active segment is completed in its best time.
+   * Components which display a continuously updated value should use {@link
+   * #getBestPossibleTime(int, long)} instead.</p>
+   *
+   * @param slot a timer slot.
+   * @return a best possible time.
+   */
+  @NonNull
+  public ReadOnlyLongProperty bestPossibleTimeProperty(int slot) {
+    this.ensureBestProperties(slot);
+    return this.bestPossibleTime[slot].getReadOnlyProperty();
+  }
+
+  /**
+   * Creates the aggregate properties for the specified timer (if they do not exist yet).
+   *
+   * @param slot a timer slot.
+   */
+  private void ensureBestProperties(int slot) {
+    if (slot >= this.sumOfBest.length) {
+      var length = Math.max(slot + 1, TimerSlots.size());
+      this.sumOfBest = Arrays.copyOf(this.sumOfBest, length);
+      this.bestPossibleTime = Arrays.copyOf(this.bestPossibleTime, length);
+    }
+
+    if (this.sumOfBest[slot] == null) {
+      this.sumOfBest[slot] = new ReadOnlyLongWrapper();
+      this.bestPossibleTime[slot] = new ReadOnlyLongWrapper();
+      this.updateBestProperties(slot);
+    }
+  }
+
+  /**
+   * Updates the aggregate properties of a timer (if they have been requested before).
+   *
+   * @param slot a timer slot.
+   */
+  private void updateBestProperties(int slot) {
+    if (slot >= this.sumOfBest.length || this.sumOfBest[slot] == null) {
+      return;
+    }
+
+    this.sumOfBest[slot].set(this.getSumOfBest(slot));
+
+    var split = slot < this.splitTimes.length ? this.splitTimes[slot] : 0;
+    this.bestPossibleTime[slot].set(this.getBestPossibleTime(slot, split));
+  }
+
+  /**
+   * Updates the aggregate properties of all timers.
+   */
+  private void updateBestPossibleTimes() {
+    for (var slot = 0; slot < this.sumOfBest.length; ++slot) {
+      this.updateBestProperties(slot);
+    }
   }
 
   /**
@@ -134,6 +758,16 @@ public class Timeline {
     return Optional.ofNullable(this.segments.get(this.segmentIndex));
   }
 
+  /**
+   * Retrieves the index of the currently active segment.
+   *
+   * @return a segment index, -1 when the timeline has not been started or the amount of segments
+   * when it has been finished.
+   */
+  public int getActiveSegmentIndex() {
+    return this.segmentIndex;
+  }
+
   /**
    * Evaluates whether this timeline has been started.
    *
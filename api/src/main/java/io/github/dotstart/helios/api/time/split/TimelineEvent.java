@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+/**
+ * Enumerates the types of events which are recorded within an {@link EventLog}.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum TimelineEvent {
+
+  /**
+   * The timeline has been moved to its first segment.
+   *
+   * @see Timeline#start(long)
+   */
+  START,
+
+  /**
+   * The times of the current segment have been recorded.
+   *
+   * @see Timeline#split(io.github.dotstart.helios.api.time.TimerGroup, long)
+   */
+  SPLIT,
+
+  /**
+   * The most recent split has been reverted.
+   *
+   * @see Timeline#undoSplit(long)
+   */
+  UNDO_SPLIT,
+
+  /**
+   * The current segment has been skipped without recording any times.
+   *
+   * @see Timeline#skipSplit(long)
+   */
+  SKIP_SPLIT,
+
+  /**
+   * The timeline has been reset back to its original state.
+   *
+   * @see Timeline#clear(long)
+   */
+  RESET,
+
+  /**
+   * The timer group which measures the attempt has been started.
+   */
+  TIMER_START,
+
+  /**
+   * The timer group which measures the attempt has been paused.
+   */
+  TIMER_PAUSE,
+
+  /**
+   * The timer group which measures the attempt has been un-paused.
+   */
+  TIMER_UNPAUSE,
+
+  /**
+   * The timer group which measures the attempt has been stopped.
+   */
+  TIMER_STOP
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Receives notifications about the progress of an attempt on a timeline.</p>
+ *
+ * <p>Listeners are invoked synchronously on the thread which modified the timeline and are thus
+ * expected to return quickly and to never block.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface TimelineListener {
+
+  /**
+   * <p>Handles an event which has been appended to the {@link Timeline#getEventLog() event log}
+   * of a timeline.</p>
+   *
+   * <p>This method is invoked before the transition specific callback (if any) and receives the
+   * transitions of the timer group which measures the attempt as well.</p>
+   *
+   * @param timeline a timeline.
+   * @param event an event type.
+   * @param timestamp the event timestamp or {@link Segment#NO_TIME} when the event has been
+   * triggered without a timestamp.
+   */
+  default void onEvent(@NonNull Timeline timeline, @NonNull TimelineEvent event, long timestamp) {
+  }
+
+  /**
+   * Handles the start of a new attempt.
+   *
+   * @param timeline a timeline.
+   */
+  default void onStart(@NonNull Timeline timeline) {
+  }
+
+  /**
+   * <p>Handles the completion of a segment.</p>
+   *
+   * <p>The segment times have already been recorded when this method is invoked.</p>
+   *
+   * @param timeline a timeline.
+   * @param index the index of the completed segment.
+   * @param timestamp the split timestamp.
+   */
+  default void onSplit(@NonNull Timeline timeline, int index, long timestamp) {
+  }
+
+  /**
+   * <p>Handles the reversal of a split.</p>
+   *
+   * <p>The segment times have already been discarded when this method is invoked.</p>
+   *
+   * @param timeline a timeline.
+   * @param index the index of the segment which is once again in progress.
+   * @param timestamp the transition timestamp.
+   */
+  default void onUndoSplit(@NonNull Timeline timeline, int index, long timestamp) {
+  }
+
+  /**
+   * Handles a segment which has been skipped without recording any times.
+   *
+   * @param timeline a timeline.
+   * @param index the index of the skipped segment.
+   * @param timestamp the transition timestamp.
+   */
+  default void onSkipSplit(@NonNull Timeline timeline, int index, long timestamp) {
+  }
+
+  /**
+   * <p>Handles the reset of a timeline.</p>
+   *
+   * <p>The times of the previous attempt have already been archived when this method is
+   * invoked.</p>
+   *
+   * @param timeline a timeline.
+   */
+  default void onClear(@NonNull Timeline timeline) {
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.utility;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import javafx.application.Platform;
+
+/**
+ * Provides utility methods which simplify the interaction with the JavaFX application thread
+ * from arbitrary threads (such as hotkey listeners or game integrations).
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class PlatformUtility {
+
+  private static volatile boolean toolkitRunning;
+
+  private PlatformUtility() {
+  }
+
+  /**
+   * Evaluates whether the JavaFX toolkit has been marked as running.
+   *
+   * @return true if tasks are dispatched to the application thread, false otherwise.
+   * @see #setToolkitRunning(boolean)
+   */
+  public static boolean isToolkitRunning() {
+    return toolkitRunning;
+  }
+
+  /**
+   * <p>Marks the JavaFX toolkit as running or stopped.</p>
+   *
+   * <p>This method is expected to be invoked by the application entry point once the toolkit has
+   * been started and again once it shuts down. The state is tracked explicitly as JavaFX provides
+   * no way of querying it without attempting to queue a task.</p>
+   *
+   * @param running true if the toolkit has been started, false if it has been stopped.
+   */
+  public static void setToolkitRunning(boolean running) {
+    toolkitRunning = running;
+  }
+
+  /**
+   * <p>Executes the specified task on the JavaFX application thread.</p>
+   *
+   * <p>When invoked from the application thread, the task will be executed immediately. Otherwise
+   * it is queued for later execution. When the JavaFX toolkit has not been marked as running (for
+   * instance, within unit tests or headless tools), the task is executed on the calling thread
+   * instead as there are no observers which could be affected.</p>
+   *
+   * @param task an arbitrary task.
+   */
+  public static void runOnApplicationThread(@NonNull Runnable task) {
+    if (!toolkitRunning || Platform.isFxApplicationThread()) {
+      task.run();
+      return;
+    }
+
+    Platform.runLater(task);
+  }
+}
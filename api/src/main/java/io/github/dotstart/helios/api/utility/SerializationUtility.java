@@ -23,8 +23,8 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Provides utility methods for the (de-)serialization of various complex data types within themes
- * and components configurations.
+ * Provides utility methods for the (de-)serialization of various complex data types within themes,
+ * components configurations and split files.
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
@@ -74,17 +74,129 @@ public final class SerializationUtility {
    *
    * @param target a target buffer.
    * @param value an arbitrary string.
+   * @throws IllegalArgumentException when the encoded string exceeds 255 bytes.
    */
   public static void writeString(@NonNull ByteBuf target, @Nullable String value) {
     if (value == null) {
       value = "";
     }
 
-    target.writeByte(value.length());
+    var encoded = value.getBytes(STR_CHARSET);
+    if (encoded.length > 255) {
+      throw new IllegalArgumentException(
+          "Cannot encode string: Exceeds maximum length of 255 bytes (got " + encoded.length
+              + ")");
+    }
+
+    target.writeByte(encoded.length);
+    target.writeBytes(encoded);
+  }
+
+  /**
+   * <p>Decodes a variable length unsigned integer from the specified source buffer.</p>
+   *
+   * <p>Values are encoded in groups of seven bits (least significant group first) where the most
+   * significant bit of each byte indicates whether another group follows.</p>
+   *
+   * @param source a source buffer.
+   * @return a decoded value.
+   * @throws IllegalArgumentException when the encoded value exceeds 64 bits or the end of the
+   * buffer is reached prematurely.
+   */
+  public static long readVarLong(@NonNull ByteBuf source) {
+    var value = 0L;
+
+    for (var shift = 0; shift < 64; shift += 7) {
+      if (!source.isReadable()) {
+        throw new IllegalArgumentException(
+            "Reached end of buffer: Expected at least one readable byte");
+      }
+
+      var b = source.readByte();
+      value |= (long) (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IllegalArgumentException("Malformed variable length integer: Exceeds 64 bits");
+  }
 
-    if (value.isEmpty()) {
-      return;
+  /**
+   * <p>Encodes a variable length unsigned integer into the specified target buffer.</p>
+   *
+   * <p>Small values require a single byte while the full 64 bit range requires up to ten bytes.
+   * Negative values are treated as unsigned and thus always require ten bytes (use {@link
+   * #writeSignedVarLong(ByteBuf, long)} instead).</p>
+   *
+   * @param target a target buffer.
+   * @param value an arbitrary value.
+   */
+  public static void writeVarLong(@NonNull ByteBuf target, long value) {
+    while ((value & ~0x7FL) != 0) {
+      target.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
     }
-    target.writeBytes(value.getBytes(STR_CHARSET));
+
+    target.writeByte((int) value);
+  }
+
+  /**
+   * Decodes a variable length signed (zig-zag encoded) integer from the specified source buffer.
+   *
+   * @param source a source buffer.
+   * @return a decoded value.
+   * @see #readVarLong(ByteBuf)
+   */
+  public static long readSignedVarLong(@NonNull ByteBuf source) {
+    var value = readVarLong(source);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * <p>Encodes a variable length signed integer into the specified target buffer.</p>
+   *
+   * <p>Values are zig-zag encoded prior to their encoding (e.g. values of small magnitude require
+   * few bytes regardless of their sign).</p>
+   *
+   * @param target a target buffer.
+   * @param value an arbitrary value.
+   */
+  public static void writeSignedVarLong(@NonNull ByteBuf target, long value) {
+    writeVarLong(target, (value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Decodes a variable length unsigned integer which is expected to fit within the positive range
+   * of a 32 bit integer (such as element counts).
+   *
+   * @param source a source buffer.
+   * @return a decoded value.
+   * @throws IllegalArgumentException when the value exceeds the 32 bit range.
+   */
+  public static int readVarInt(@NonNull ByteBuf source) {
+    var value = readVarLong(source);
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Malformed variable length integer: Exceeds 31 bits");
+    }
+
+    return (int) value;
+  }
+
+  /**
+   * Encodes a variable length unsigned integer (such as an element count) into the specified target
+   * buffer.
+   *
+   * @param target a target buffer.
+   * @param value a positive value.
+   * @throws IllegalArgumentException when a negative value is passed.
+   */
+  public static void writeVarInt(@NonNull ByteBuf target, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Cannot encode integer: Value must be positive");
+    }
+
+    writeVarLong(target, value);
   }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.game;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Evaluates the buffer based fallbacks of memory readers and writers.
+ */
+public class MemoryAccessTest {
+    private static final MemoryReader reader = (offset, length) -> {
+        byte[] value = new byte[(int) length];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) (offset + i);
+        }
+        return value;
+    };
+
+    @Test
+    public void testReadIntoByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.position(1).limit(2);
+
+        Assertions.assertEquals(4, reader.read(16, buffer, 2, 4));
+        Assertions.assertEquals(1, buffer.position());
+        Assertions.assertEquals(2, buffer.limit());
+
+        buffer.clear();
+        Assertions.assertEquals(0, buffer.get(1));
+        Assertions.assertEquals(16, buffer.get(2));
+        Assertions.assertEquals(19, buffer.get(5));
+        Assertions.assertEquals(0, buffer.get(6));
+    }
+
+    @Test
+    public void testReadIntoByteBuf() {
+        ByteBuf direct = Unpooled.directBuffer(8, 8);
+        Assertions.assertEquals(3, reader.read(32, direct, 4, 3));
+        Assertions.assertEquals(0, direct.writerIndex());
+        Assertions.assertEquals(33, direct.getByte(5));
+
+        ByteBuf composite = Unpooled.wrappedBuffer(new byte[4], new byte[4]);
+        Assertions.assertEquals(4, reader.read(64, composite, 2, 4));
+        Assertions.assertEquals(64, composite.getByte(2));
+        Assertions.assertEquals(67, composite.getByte(5));
+    }
+
+    @Test
+    public void testWriteFromBuffers() {
+        byte[][] written = new byte[1][];
+        MemoryWriter writer = (offset, value) -> written[0] = value;
+
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        Assertions.assertEquals(2, writer.write(0, buffer, 1, 2));
+        Assertions.assertArrayEquals(new byte[]{2, 3}, written[0]);
+        Assertions.assertEquals(0, buffer.position());
+
+        ByteBuf composite = Unpooled.wrappedBuffer(new byte[]{1, 2}, new byte[]{3, 4});
+        Assertions.assertEquals(2, writer.write(0, composite, 1, 2));
+        Assertions.assertArrayEquals(new byte[]{2, 3}, written[0]);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.input;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.time.Timer;
+import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the application of hotkey actions.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class HotkeyDispatcherTest {
+
+  /**
+   * Evaluates whether actions are applied with the timestamp at which they have been dispatched
+   * rather than the time at which they are processed.
+   */
+  @Test
+  public void testTimestamp() {
+    var clock = new ManualClock();
+    var manager = new TimeManager(clock);
+    var timeline = new Timeline();
+    timeline.add("Second");
+    manager.setTimeline(timeline);
+
+    var dispatcher = new HotkeyDispatcher(manager);
+    dispatcher.dispatch(HotkeyAction.SPLIT);
+    Assertions.assertEquals(State.RUNNING, manager.getTimerGroup().getState());
+    Assertions.assertTrue(timeline.hasStarted());
+
+    clock.advance(5000);
+    dispatcher.dispatch(HotkeyAction.SPLIT, 1000);
+    Assertions.assertEquals(1000,
+        timeline.getSegments().get(0).getTime(Timer.REALTIME).orElseThrow());
+
+    dispatcher.dispatch(HotkeyAction.TOGGLE_PAUSE, 2000);
+    dispatcher.dispatch(HotkeyAction.SPLIT, 3000); // ignored while paused
+    Assertions.assertEquals(State.PAUSED, manager.getTimerGroup().getState());
+    dispatcher.dispatch(HotkeyAction.TOGGLE_PAUSE, 4000);
+
+    dispatcher.dispatch(HotkeyAction.SPLIT);
+    Assertions.assertEquals(State.STOPPED, manager.getTimerGroup().getState());
+    Assertions.assertEquals(2000,
+        timeline.getSegments().get(1).getTime(Timer.REALTIME).orElseThrow());
+    Assertions.assertEquals(3000, manager.getTimerGroup().getElapsedNanos());
+
+    dispatcher.dispatch(HotkeyAction.RESET);
+    Assertions.assertEquals(State.WAITING, manager.getTimerGroup().getState());
+    Assertions.assertFalse(timeline.hasStarted());
+  }
+}
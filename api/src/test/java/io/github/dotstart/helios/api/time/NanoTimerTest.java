@@ -17,6 +17,7 @@
 package io.github.dotstart.helios.api.time;
 
 import io.github.dotstart.helios.api.time.Timer.State;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -24,47 +25,66 @@ import org.junit.jupiter.api.Test;
  * <p>Provides test cases which evaluate whether the timer implementation operates within the
  * specified bounds.</p>
  *
- * <p>Due to the inaccurate nature of {@link Thread#sleep(long)}, we'll give the timer a 250 ms
- * grace period to operate in. While this kind of deviation is not acceptable within real world
- * scenarios, it is perfectly within the bounds of this test.</p>
+ * <p>All timers within this test are driven by a {@link ManualClock} and are thus expected to
+ * report their times exactly (e.g. without any tolerance).</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class NanoTimerTest {
 
-  private static final long SLEEP_TOLERANCE = 250 * 1000000; // 2s
+  private static final long TEN_SECONDS = TimeUnit.SECONDS.toNanos(10);
 
   /**
    * Evaluates whether the timer component correctly keeps track of the time even while paused.
    */
   @Test
-  public void testTime() throws InterruptedException {
-    var timer = new NanoTimer();
+  public void testTime() {
+    var clock = new ManualClock(42);
+    var timer = new NanoTimer(clock);
     Assertions.assertEquals(State.WAITING, timer.getState());
     Assertions.assertEquals(0, timer.getElapsedNanos());
     Assertions.assertEquals(0, timer.getTotalElapsedNanos());
 
     timer.start();
-    Thread.sleep(10000);
+    clock.advance(TEN_SECONDS);
     timer.pause();
 
-    Assertions.assertEquals((double) 10000 * 1000000, timer.getElapsedNanos(), SLEEP_TOLERANCE);
-    Assertions
-        .assertEquals((double) 10000 * 1000000, timer.getTotalElapsedNanos(), SLEEP_TOLERANCE);
-    Thread.sleep(10000);
-    Assertions.assertEquals((double) 10000 * 1000000, timer.getElapsedNanos(), SLEEP_TOLERANCE);
-    Assertions
-        .assertEquals((double) 20000 * 1000000, timer.getTotalElapsedNanos(), SLEEP_TOLERANCE);
+    Assertions.assertEquals(TEN_SECONDS, timer.getElapsedNanos());
+    Assertions.assertEquals(TEN_SECONDS, timer.getTotalElapsedNanos());
+    clock.advance(TEN_SECONDS);
+    Assertions.assertEquals(TEN_SECONDS, timer.getElapsedNanos());
+    Assertions.assertEquals(2 * TEN_SECONDS, timer.getTotalElapsedNanos());
 
     timer.unpause();
-    Assertions.assertEquals((double) 10000 * 1000000, timer.getElapsedNanos(), SLEEP_TOLERANCE);
-    Assertions
-        .assertEquals((double) 20000 * 1000000, timer.getTotalElapsedNanos(), SLEEP_TOLERANCE);
+    Assertions.assertEquals(TEN_SECONDS, timer.getElapsedNanos());
+    Assertions.assertEquals(2 * TEN_SECONDS, timer.getTotalElapsedNanos());
 
-    Thread.sleep(10000);
+    clock.advance(TEN_SECONDS);
     timer.stop();
-    Assertions.assertEquals((double) 20000 * 1000000, timer.getElapsedNanos(), SLEEP_TOLERANCE);
-    Assertions
-        .assertEquals((double) 30000 * 1000000, timer.getTotalElapsedNanos(), SLEEP_TOLERANCE);
+    Assertions.assertEquals(2 * TEN_SECONDS, timer.getElapsedNanos());
+    Assertions.assertEquals(3 * TEN_SECONDS, timer.getTotalElapsedNanos());
+
+    clock.advance(TEN_SECONDS);
+    Assertions.assertEquals(2 * TEN_SECONDS, timer.getElapsedNanos());
+    Assertions.assertEquals(3 * TEN_SECONDS, timer.getTotalElapsedNanos());
+  }
+
+  /**
+   * Evaluates whether timers may be evaluated against an externally sampled timestamp.
+   */
+  @Test
+  public void testTickClock() {
+    var clock = new ManualClock();
+    var tick = new TickClock(clock);
+    var timer = new NanoTimer(clock);
+
+    timer.start();
+    clock.advance(TEN_SECONDS);
+    Assertions.assertEquals(0, timer.getElapsedNanos(tick.nanoTime()));
+
+    tick.tick();
+    clock.advance(TEN_SECONDS);
+    Assertions.assertEquals(TEN_SECONDS, timer.getElapsedNanos(tick.nanoTime()));
+    Assertions.assertEquals(2 * TEN_SECONDS, timer.getElapsedNanos());
   }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import io.github.dotstart.helios.api.time.journal.AttemptJournal;
+import io.github.dotstart.helios.api.time.split.EventLog;
+import io.github.dotstart.helios.api.time.split.SplitFile;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.time.split.TimelineEvent;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the deterministic replay of recorded attempts.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ReplayEngineTest {
+
+  /**
+   * Creates a timeline with three segments.
+   */
+  private static Timeline createTimeline() {
+    var timeline = new Timeline();
+    timeline.add("Second");
+    timeline.add("Third");
+    return timeline;
+  }
+
+  /**
+   * Evaluates whether replaying a recorded log reproduces the exact segment times and histories
+   * of the recorded attempt.
+   */
+  @Test
+  public void testReplay() {
+    var clock = new ManualClock(TimeUnit.HOURS.toNanos(3));
+    var manager = new TimeManager(clock);
+    var recorded = createTimeline();
+    manager.setTimeline(recorded);
+
+    manager.split(clock.nanoTime());
+    manager.split(clock.advance(1234567));
+    manager.togglePause(clock.advance(1000));
+    manager.togglePause(clock.advance(TimeUnit.SECONDS.toNanos(30)));
+    manager.split(clock.advance(7654321));
+    manager.undoSplit(clock.advance(10));
+    manager.skipSplit(clock.advance(20));
+    manager.split(clock.advance(4242));
+
+    var buffer = Unpooled.buffer();
+    recorded.getEventLog().write(buffer);
+    var log = EventLog.read(buffer);
+
+    var engine = new ReplayEngine(log, createTimeline());
+    engine.run();
+    var replayed = engine.getTimeManager().getTimeline();
+    Assertions.assertTrue(replayed.hasFinished());
+    Assertions.assertTrue(engine.getTimeManager().getTimerGroup().isStopped());
+    for (var i = 0; i < 3; ++i) {
+      Assertions.assertEquals(recorded.getSegments().get(i).getTimeNanos(TimerSlots.REALTIME),
+          replayed.getSegments().get(i).getTimeNanos(TimerSlots.REALTIME));
+    }
+    Assertions.assertEquals(1234567, replayed.getSegments().get(0).getTimeNanos(
+        TimerSlots.REALTIME));
+    Assertions.assertEquals(1000 + 7654321 + 10 + 20 + 4242,
+        replayed.getSegments().get(2).getTimeNanos(TimerSlots.REALTIME));
+
+    // the same log can be replayed repeatedly and stepwise
+    var stepped = new ReplayEngine(log, createTimeline());
+    Assertions.assertTrue(stepped.runUntil(TimelineEvent.UNDO_SPLIT));
+    Assertions.assertEquals(1000 + 7654321, stepped.getTimeManager().getTimeline()
+        .getSegments().get(1).getTimeNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(TimelineEvent.UNDO_SPLIT, stepped.step());
+    Assertions.assertFalse(stepped.runUntil(TimelineEvent.RESET));
+    Assertions.assertThrows(IllegalStateException.class, stepped::step);
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new ReplayEngine(recorded.getEventLog(), recorded));
+  }
+
+  /**
+   * Evaluates whether an attempt which has been recorded against the system clock is reproduced
+   * exactly after its log has been recovered from the attempt journal and persisted to a file.
+   */
+  @Test
+  public void testRecordedAttempt() throws IOException, InterruptedException {
+    var journalPath = Files.createTempFile("helios", ".journal");
+    var logPath = Files.createTempFile("helios", ".hlog");
+    try {
+      var manager = new TimeManager();
+      var recorded = createTimeline();
+      manager.setTimeline(recorded);
+
+      var buffer = Unpooled.buffer();
+      SplitFile.write(buffer, recorded);
+      var target = SplitFile.read(buffer);
+
+      var journal = AttemptJournal.open(journalPath);
+      try {
+        manager.addTimelineListener(journal);
+
+        manager.split(manager.getClock().nanoTime());
+        Thread.sleep(2);
+        manager.split(manager.getClock().nanoTime());
+        manager.togglePause(manager.getClock().nanoTime());
+        Thread.sleep(1);
+        manager.togglePause(manager.getClock().nanoTime());
+        manager.split(manager.getClock().nanoTime());
+        manager.undoSplit(manager.getClock().nanoTime());
+        Thread.sleep(1);
+        manager.split(manager.getClock().nanoTime());
+        Thread.sleep(1);
+        manager.split(manager.getClock().nanoTime());
+      } finally {
+        journal.close();
+      }
+
+      // recover the attempt as if the application had been terminated
+      try (var reopened = AttemptJournal.open(journalPath)) {
+        reopened.getRecoveredAttempt().getEventLog().save(logPath);
+      }
+
+      var engine = ReplayEngine.load(logPath, target);
+      engine.run();
+
+      Assertions.assertTrue(target.hasFinished());
+      Assertions.assertEquals(recorded.getEventLog().size(), engine.getPosition());
+      for (var i = 0; i < 3; ++i) {
+        Assertions.assertEquals(recorded.getSegments().get(i).getTimeNanos(TimerSlots.REALTIME),
+            target.getSegments().get(i).getTimeNanos(TimerSlots.REALTIME));
+      }
+
+      Files.write(logPath, new byte[]{0x48, 0x4C});
+      Assertions.assertThrows(IllegalArgumentException.class,
+          () -> ReplayEngine.load(logPath, createTimeline()));
+    } finally {
+      Files.deleteIfExists(journalPath);
+      Files.deleteIfExists(logPath);
+    }
+  }
+}
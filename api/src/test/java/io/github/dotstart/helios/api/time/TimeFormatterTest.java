@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import io.github.dotstart.helios.api.time.TimeFormatter.HourMode;
+import io.github.dotstart.helios.api.time.TimeFormatter.SignMode;
+import io.github.dotstart.helios.api.time.Timer.FormatPrecision;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the output of the time formatter in its various
+ * configurations.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimeFormatterTest {
+
+  private static final long TIME = TimeUnit.HOURS.toNanos(1)
+      + TimeUnit.MINUTES.toNanos(2)
+      + TimeUnit.SECONDS.toNanos(3)
+      + 456789012;
+
+  /**
+   * Evaluates whether each precision produces the expected amount of fraction digits.
+   */
+  @Test
+  public void testPrecision() {
+    Assertions.assertEquals("1:02:03", new TimeFormatter(FormatPrecision.SECONDS).format(TIME));
+    Assertions
+        .assertEquals("1:02:03.45", new TimeFormatter(FormatPrecision.CENTISECONDS).format(TIME));
+    Assertions
+        .assertEquals("1:02:03.456", new TimeFormatter(FormatPrecision.MILLISECONDS).format(TIME));
+    Assertions.assertEquals("1:02:03.456789012",
+        new TimeFormatter(FormatPrecision.NANOSECONDS).format(TIME));
+  }
+
+  /**
+   * Evaluates whether the extremes of the value range are formatted with their exact magnitude.
+   */
+  @Test
+  public void testExtremes() {
+    var formatter = new TimeFormatter(FormatPrecision.NANOSECONDS);
+    Assertions.assertEquals("-2562047:47:16.854775808", formatter.format(Long.MIN_VALUE));
+    Assertions.assertEquals("2562047:47:16.854775807", formatter.format(Long.MAX_VALUE));
+  }
+
+  /**
+   * Evaluates whether hours and signs are displayed according to their respective modes.
+   */
+  @Test
+  public void testModes() {
+    var formatter = new TimeFormatter(FormatPrecision.MILLISECONDS);
+    Assertions.assertEquals("00:00.000", formatter.format(0));
+    Assertions.assertEquals("02:03.456", formatter.format(TIME - TimeUnit.HOURS.toNanos(1)));
+    Assertions.assertEquals("-00:01.500", formatter.format(-1500000000));
+
+    formatter = new TimeFormatter(FormatPrecision.SECONDS, HourMode.ALWAYS, SignMode.ALWAYS);
+    Assertions.assertEquals("+0:00:05", formatter.format(TimeUnit.SECONDS.toNanos(5)));
+    Assertions.assertEquals("-0:00:05", formatter.format(-TimeUnit.SECONDS.toNanos(5)));
+
+    formatter = new TimeFormatter(FormatPrecision.SECONDS, HourMode.NEVER, SignMode.NEGATIVE);
+    Assertions.assertEquals("62:03", formatter.format(TIME));
+  }
+
+  /**
+   * Evaluates whether unchanged output re-uses the previously returned string instance.
+   */
+  @Test
+  public void testCache() {
+    var formatter = new TimeFormatter(FormatPrecision.SECONDS);
+
+    var first = formatter.format(TimeUnit.MILLISECONDS.toNanos(1100));
+    var second = formatter.format(TimeUnit.MILLISECONDS.toNanos(1900));
+    Assertions.assertSame(first, second);
+
+    var third = formatter.format(TimeUnit.MILLISECONDS.toNanos(2000));
+    Assertions.assertNotSame(second, third);
+    Assertions.assertEquals("00:02", third);
+  }
+
+  /**
+   * Evaluates whether the time until the next visible change matches the formatted output.
+   */
+  @Test
+  public void testNanosUntilChange() {
+    var precisions = new FormatPrecision[]{FormatPrecision.SECONDS, FormatPrecision.CENTISECONDS,
+        FormatPrecision.MILLISECONDS, FormatPrecision.NANOSECONDS};
+    var times = new long[]{0, 1, 999999999, TIME, -1, -1000000000, -1500000000, -TIME};
+
+    for (var precision : precisions) {
+      var formatter = new TimeFormatter(precision);
+      for (var time : times) {
+        var delay = formatter.getNanosUntilChange(time);
+        Assertions.assertTrue(delay > 0);
+
+        var text = formatter.formatTo(new StringBuilder(), time).toString();
+        Assertions.assertEquals(text,
+            formatter.formatTo(new StringBuilder(), time + delay - 1).toString());
+        Assertions.assertNotEquals(text,
+            formatter.formatTo(new StringBuilder(), time + delay).toString());
+      }
+    }
+
+    Assertions.assertEquals(1000000000,
+        new TimeFormatter(FormatPrecision.SECONDS).getNanosUntilChange(0));
+  }
+
+  /**
+   * Evaluates whether the legacy timer conversion produces the same results.
+   */
+  @Test
+  public void testTimerToString() {
+    var clock = new ManualClock();
+    var timer = new NanoTimer(clock);
+    timer.start();
+    clock.advance(TIME);
+
+    Assertions.assertEquals("1:02:03.456", timer.toString(FormatPrecision.MILLISECONDS));
+    Assertions.assertEquals("1:02:03.456789012", timer.toString(FormatPrecision.NANOSECONDS));
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time;
+
+import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Provides test cases which evaluate the synchronization of timers within a group.</p>
+ *
+ * <p>Most tests rely on a clock which advances with every read. Any transition which samples the
+ * clock more than once will thus cause member timers to disagree on their elapsed times.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimerGroupTest {
+
+  private static final int THREADS = 8;
+  private static final int ITERATIONS = 10000;
+  private static final int TIMERS = 16;
+
+  /**
+   * Creates a clock which advances by one microsecond every time it is read.
+   */
+  private static Clock createAdvancingClock() {
+    var time = new AtomicLong();
+    return () -> time.addAndGet(1000);
+  }
+
+  /**
+   * Creates a group with a set of additional timers.
+   */
+  private static TimerGroup createGroup(Clock clock) {
+    var group = new TimerGroup(clock);
+    for (var i = 0; i < TIMERS; ++i) {
+      group.create(URI.create("helios+timer://io.github.dotstart.helios.test/timer" + i),
+          "Timer " + i);
+    }
+    return group;
+  }
+
+  /**
+   * Asserts that all timers within a group report the exact same times.
+   */
+  private static void assertAgreement(TimerGroup group, long now) {
+    var expected = group.getElapsedNanos(now);
+    var expectedTotal = group.getTotalElapsedNanos(now);
+
+    group.getTimers().values().forEach((t) -> {
+      Assertions.assertEquals(group.getState(), t.getState());
+      Assertions.assertEquals(expected, t.getElapsedNanos(now));
+      Assertions.assertEquals(expectedTotal, t.getTotalElapsedNanos(now));
+    });
+  }
+
+  /**
+   * Evaluates whether all group transitions are applied from a single timestamp.
+   */
+  @Test
+  public void testTransitionAgreement() {
+    var clock = createAdvancingClock();
+    var group = createGroup(clock);
+
+    group.start();
+    assertAgreement(group, clock.nanoTime());
+
+    group.pause();
+    assertAgreement(group, clock.nanoTime());
+
+    group.unpause();
+    assertAgreement(group, clock.nanoTime());
+
+    group.pause();
+    group.stop();
+    assertAgreement(group, clock.nanoTime());
+  }
+
+  /**
+   * Evaluates whether stopping a paused group excludes the remaining pause from the final time.
+   */
+  @Test
+  public void testStopWhilePaused() {
+    var clock = new ManualClock();
+    var group = createGroup(clock);
+
+    group.start(0);
+    group.pause(1000);
+    group.stop(5000);
+
+    assertAgreement(group, 10000);
+    Assertions.assertEquals(1000, group.getElapsedNanos());
+    Assertions.assertEquals(5000, group.getTotalElapsedNanos());
+  }
+
+  /**
+   * Evaluates whether timers which have been paused individually remain paused when their group is
+   * un-paused.
+   */
+  @Test
+  public void testIndividualPause() {
+    var clock = new ManualClock();
+    var group = createGroup(clock);
+    var gameTime = group.create(Timer.IN_GAME, "Game Time");
+
+    group.start(0);
+    gameTime.pause(1000);
+
+    group.pause(2000);
+    group.unpause(3000);
+    Assertions.assertEquals(State.PAUSED, gameTime.getState());
+    Assertions.assertEquals(State.RUNNING, group.getActiveTimer().getState());
+
+    gameTime.unpause(4000);
+    group.stop(5000);
+    Assertions.assertEquals(4000, group.getElapsedNanos());
+    Assertions.assertEquals(2000, gameTime.getElapsedNanos());
+  }
+
+  /**
+   * Evaluates whether splits record the exact same time for all timers within a group.
+   */
+  @Test
+  public void testSplitAgreement() {
+    var clock = createAdvancingClock();
+    var group = createGroup(clock);
+    var timeline = new Timeline();
+    timeline.add("Second");
+
+    group.start();
+    timeline.start();
+    timeline.split(group);
+    timeline.split(group);
+
+    timeline.getSegments().forEach((s) -> {
+      var expected = s.getTime(Timer.REALTIME).orElseThrow();
+      Assertions.assertEquals(TIMERS + 1, s.getTimes().size());
+      s.getTimes().values().forEach((t) -> Assertions.assertEquals(expected, (long) t));
+    });
+  }
+
+  /**
+   * Evaluates whether concurrent transitions from multiple threads leave all member timers in a
+   * state which is consistent with their group.
+   */
+  @Test
+  public void testConcurrentTransitions() throws InterruptedException {
+    var group = createGroup(new ManualClock());
+
+    var starts = new AtomicInteger();
+    var latch = new CountDownLatch(1);
+    var threads = new ArrayList<Thread>();
+    for (var i = 0; i < THREADS; ++i) {
+      var thread = new Thread(() -> {
+        try {
+          latch.await();
+        } catch (InterruptedException ex) {
+          return;
+        }
+
+        try {
+          group.start();
+          starts.incrementAndGet();
+        } catch (IllegalStateException ignore) {
+        }
+
+        for (var j = 0; j < ITERATIONS; ++j) {
+          try {
+            group.togglePause();
+          } catch (IllegalStateException ignore) {
+            // another thread has changed the state in between
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    latch.countDown();
+    for (var thread : threads) {
+      thread.join();
+    }
+
+    Assertions.assertEquals(1, starts.get());
+    group.getTimers().values()
+        .forEach((t) -> Assertions.assertEquals(group.getState(), t.getState()));
+
+    if (group.isPaused()) {
+      group.unpause();
+    }
+    group.stop();
+    group.getTimers().values().forEach((t) -> Assertions.assertEquals(State.STOPPED, t.getState()));
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.journal;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.time.Timer;
+import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.split.Segment;
+import io.github.dotstart.helios.api.time.split.SplitFile;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the recovery of interrupted attempts from a journal.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class AttemptJournalTest {
+
+  /**
+   * Evaluates whether an attempt which has not been reset is recovered and archived within a
+   * timeline with matching segments.
+   */
+  @Test
+  public void testRecovery() throws IOException {
+    var path = Files.createTempFile("helios", ".journal");
+    try {
+      var clock = new ManualClock();
+      var manager = new TimeManager(clock);
+      manager.getTimeline().add("Second");
+      manager.getTimeline().add("Third");
+
+      var journal = AttemptJournal.open(path);
+      Assertions.assertTrue(journal.getRecoveredAttempt().isEmpty());
+      manager.addTimelineListener(journal);
+
+      // a completed attempt which is reset normally must not be recovered
+      manager.getTimerGroup().start();
+      manager.getTimeline().start();
+      clock.advance(5000);
+      manager.getTimeline().split(manager.getTimerGroup());
+      manager.reset();
+
+      manager.getTimerGroup().start();
+      manager.getTimeline().start();
+      clock.advance(1000);
+      manager.getTimeline().split(manager.getTimerGroup());
+      manager.getTimerGroup().pause();
+      clock.advance(500);
+      manager.getTimerGroup().unpause();
+      clock.advance(2000);
+      manager.getTimeline().split(manager.getTimerGroup());
+
+      // splits which have been reverted must not be recovered
+      clock.advance(500);
+      manager.getTimeline().split(manager.getTimerGroup());
+      manager.getTimeline().undoSplit(clock.nanoTime());
+      manager.getTimerGroup().pause();
+
+      // simulate a crash by closing the journal without resetting the timeline
+      journal.close();
+
+      var buffer = Unpooled.buffer();
+      SplitFile.write(buffer, manager.getTimeline());
+      var timeline = SplitFile.read(buffer);
+
+      // an attempt which has not been applied yet must survive another interruption
+      journal = AttemptJournal.open(path);
+      try {
+        Assertions.assertTrue(journal.isRecoveryPending());
+        Assertions.assertEquals(2, journal.getRecoveredAttempt().getSplits().size());
+        journal.onClear(timeline);
+      } finally {
+        journal.close();
+      }
+
+      journal = AttemptJournal.open(path);
+      try {
+        var recovered = journal.getRecoveredAttempt();
+        Assertions.assertTrue(recovered.isStarted());
+        Assertions.assertEquals(State.PAUSED, recovered.getState());
+        Assertions.assertEquals(9000, recovered.getTimestamp());
+        Assertions.assertEquals(2, recovered.getSplits().size());
+
+        // the journal persists the event log of the interrupted attempt
+        var log = manager.getTimeline().getEventLog();
+        var recoveredLog = recovered.getEventLog();
+        Assertions.assertEquals(log.size(), recoveredLog.size());
+        for (var i = 0; i < log.size(); ++i) {
+          Assertions.assertEquals(log.getEvent(i), recoveredLog.getEvent(i));
+          Assertions.assertEquals(log.getTimestamp(i), recoveredLog.getTimestamp(i));
+        }
+
+        Assertions.assertTrue(journal.isRecoveryPending());
+        Assertions.assertEquals(2, journal.applyRecoveredAttempt(timeline));
+        Assertions.assertFalse(journal.isRecoveryPending());
+        var first = timeline.getSegments().get(0).getHistory(Timer.REALTIME);
+        var second = timeline.getSegments().get(1).getHistory(Timer.REALTIME);
+        Assertions.assertEquals(1000, first.getLatest());
+        Assertions.assertEquals(2000, second.getLatest());
+
+        // segments which have not been reached receive a placeholder for every archived attempt
+        var third = timeline.getSegments().get(2).getHistory(Timer.REALTIME);
+        Assertions.assertEquals(first.size(), third.size());
+        Assertions.assertEquals(0, third.getCount());
+        Assertions.assertEquals(Segment.NO_TIME, third.getLatest());
+      } finally {
+        journal.close();
+      }
+
+      // the previous attempt is discarded once it has been applied
+      journal = AttemptJournal.open(path);
+      try {
+        Assertions.assertTrue(journal.getRecoveredAttempt().isEmpty());
+      } finally {
+        journal.close();
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  /**
+   * Evaluates whether journals of an incompatible version are discarded rather than rejected.
+   */
+  @Test
+  public void testIncompatibleVersion() throws IOException {
+    var path = Files.createTempFile("helios", ".journal");
+    try {
+      var header = ByteBuffer.allocate(32);
+      header.putInt(0x484C534A).putInt(1).putInt(7);
+      Files.write(path, header.array());
+
+      try (var journal = AttemptJournal.open(path)) {
+        Assertions.assertFalse(journal.isRecoveryPending());
+        Assertions.assertTrue(journal.getRecoveredAttempt().isEmpty());
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  /**
+   * Evaluates whether a journal which can no longer be written does not interfere with the
+   * attempt it observes.
+   */
+  @Test
+  public void testClosed() throws IOException {
+    var path = Files.createTempFile("helios", ".journal");
+    try {
+      var clock = new ManualClock();
+      var manager = new TimeManager(clock);
+      manager.getTimeline().add("Second");
+
+      var journal = AttemptJournal.open(path);
+      manager.addTimelineListener(journal);
+      journal.close();
+
+      manager.getTimerGroup().start();
+      manager.getTimeline().start();
+      clock.advance(1000);
+      manager.getTimeline().split(manager.getTimerGroup());
+      manager.getTimeline().undoSplit(clock.nanoTime());
+      manager.getTimeline().split(manager.getTimerGroup());
+      Assertions.assertEquals(1, manager.getTimeline().getActiveSegmentIndex());
+      Assertions.assertFalse(journal.hasFailed());
+
+      manager.reset();
+      Assertions.assertFalse(manager.getTimeline().hasStarted());
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.TimerGroup;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the generation of comparisons from previous attempts.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ComparisonTest {
+
+  private static final int SLOT = TimerSlots.REALTIME;
+
+  /**
+   * Completes an attempt with the specified segment durations.
+   */
+  private static void run(Timeline timeline, ManualClock clock, long... durations) {
+    var group = new TimerGroup(clock);
+    group.start();
+    timeline.start();
+
+    for (var duration : durations) {
+      clock.advance(duration);
+      timeline.split(group);
+    }
+
+    group.stop();
+    timeline.clear();
+  }
+
+  /**
+   * Evaluates whether the standard comparisons reflect previously completed attempts.
+   */
+  @Test
+  public void testStandardComparisons() {
+    var clock = new ManualClock();
+    var timeline = new Timeline();
+    timeline.add("Second");
+
+    run(timeline, clock, 3000, 1000);
+    run(timeline, clock, 1000, 4000);
+    run(timeline, clock, 2000, 3000);
+
+    var comparisons = timeline.getComparisons();
+    var pb = comparisons.get(StandardComparison.PERSONAL_BEST);
+    Assertions.assertEquals(3000, pb.getSplitTime(SLOT, 0));
+    Assertions.assertEquals(4000, pb.getSplitTime(SLOT, 1));
+
+    var best = comparisons.get(StandardComparison.BEST_SEGMENTS);
+    Assertions.assertEquals(1000, best.getSplitTime(SLOT, 0));
+    Assertions.assertEquals(2000, best.getSplitTime(SLOT, 1));
+    Assertions.assertEquals(timeline.getSumOfBest(SLOT), best.getSplitTime(SLOT, 1));
+
+    var average = comparisons.get(StandardComparison.AVERAGE);
+    Assertions.assertEquals(2000, average.getSplitTime(SLOT, 0));
+    Assertions.assertEquals(4667, average.getSplitTime(SLOT, 1));
+
+    var median = comparisons.get(StandardComparison.MEDIAN);
+    Assertions.assertEquals(2000, median.getSplitTime(SLOT, 0));
+    Assertions.assertEquals(5000, median.getSplitTime(SLOT, 1));
+
+    var latest = comparisons.get(StandardComparison.LATEST);
+    Assertions.assertEquals(2000, latest.getSplitTime(SLOT, 0));
+    Assertions.assertEquals(5000, latest.getSplitTime(SLOT, 1));
+  }
+
+  /**
+   * Evaluates whether deltas are computed against the active segment of the selected comparison.
+   */
+  @Test
+  public void testDelta() {
+    var clock = new ManualClock();
+    var timeline = new Timeline();
+    timeline.add("Second");
+    Assertions.assertEquals(Segment.NO_TIME, timeline.getDelta(SLOT, 0));
+
+    run(timeline, clock, 2000, 2000);
+
+    var group = new TimerGroup(clock);
+    group.start();
+    timeline.start();
+    Assertions.assertEquals(-500, timeline.getDelta(SLOT, 1500));
+
+    clock.advance(1500);
+    timeline.split(group);
+    Assertions.assertEquals(-1000, timeline.getDelta(SLOT, 3000));
+    Assertions.assertEquals(500, timeline.getDelta(SLOT, 4500));
+
+    timeline.getComparisons()
+        .setSelected(timeline.getComparisons().get(StandardComparison.BEST_SEGMENTS));
+    Assertions.assertEquals(-500, timeline.getDelta(SLOT, 3000));
+
+    clock.advance(3000);
+    timeline.split(group);
+    Assertions.assertEquals(1000, timeline.getDelta(SLOT, 0));
+  }
+}
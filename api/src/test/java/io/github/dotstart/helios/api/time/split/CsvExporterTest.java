@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the export of attempt histories as comma separated values.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class CsvExporterTest {
+
+  /**
+   * Evaluates whether histories are written as one row per attempt and one column per segment.
+   */
+  @Test
+  public void testWrite() throws IOException {
+    var timeline = new Timeline();
+    timeline.getSegments().get(0).setDisplayName("Say \"Hi\"");
+    timeline.add("Second");
+
+    var first = timeline.getSegments().get(0).getHistory(TimerSlots.REALTIME);
+    first.add(61_250_000_000L);
+    first.add(60_000_000_001L);
+    timeline.getSegments().get(1).getHistory(TimerSlots.REALTIME).add(5_000_000_000L);
+
+    var out = new StringWriter();
+    CsvExporter.write(out, timeline, TimerSlots.REALTIME);
+
+    Assertions.assertEquals("Attempt,\"Say \"\"Hi\"\"\",\"Second\"\r\n"
+        + "1,61.250000000,\r\n"
+        + "2,60.000000001,5.000000000\r\n", out.toString());
+  }
+
+  /**
+   * Evaluates whether histories which are backed by a split file are exported correctly when
+   * the timeline contains more segments than the page cache retains pages.
+   */
+  @Test
+  public void testWritePaged() throws IOException {
+    var timeline = new Timeline();
+    for (var i = 1; i < HistoryPageCache.DEFAULT_CAPACITY + 6; ++i) {
+      timeline.add("Segment " + i);
+    }
+
+    var segments = timeline.getSegments();
+    for (var j = 0; j < segments.size(); ++j) {
+      var history = segments.get(j).getHistory(TimerSlots.REALTIME);
+      for (var i = 0; i < 3 * CsvExporter.WINDOW_SIZE - j * 7; ++i) {
+        history.add(1_000_000_000L * j + i);
+      }
+    }
+
+    var expected = new StringWriter();
+    CsvExporter.write(expected, timeline, TimerSlots.REALTIME);
+
+    var path = Files.createTempFile("helios", ".hsplits");
+    try {
+      SplitFile.save(path, timeline);
+      var loaded = SplitFile.load(path);
+
+      var out = new StringWriter();
+      CsvExporter.write(out, loaded, TimerSlots.REALTIME);
+      Assertions.assertEquals(expected.toString(), out.toString());
+      Assertions.assertFalse(
+          loaded.getSegments().get(0).getHistory(TimerSlots.REALTIME).isLoaded());
+    } finally {
+      Files.delete(path);
+    }
+
+    // every history ends within the last row
+    var rows = expected.toString().split("\r\n");
+    Assertions.assertEquals(3 * CsvExporter.WINDOW_SIZE + 1, rows.length);
+    Assertions.assertTrue(rows[rows.length - 1].endsWith(",69.000000284"));
+    Assertions.assertTrue(rows[1].endsWith(","));
+  }
+
+  /**
+   * Evaluates whether histories which have exceeded their capacity are exported starting with
+   * their oldest retained time.
+   */
+  @Test
+  public void testWriteWrapped() throws IOException {
+    var history = new TimeHistory(4);
+    for (var i = 1; i <= 6; ++i) {
+      history.add(i * 1_000_000_000L);
+    }
+
+    var target = new long[6];
+    CsvExporter.copyAligned(history, 6, 0, target, 6);
+    Assertions.assertArrayEquals(new long[]{Segment.NO_TIME, Segment.NO_TIME, 3_000_000_000L,
+        4_000_000_000L, 5_000_000_000L, 6_000_000_000L}, target);
+  }
+
+  /**
+   * Evaluates whether the smallest representable duration is formatted exactly.
+   */
+  @Test
+  public void testFormatExtremes() {
+    var buffer = new char[LiveSplitExporter.BUFFER_SIZE];
+    Assertions.assertEquals("-9223372036.854775808",
+        new String(buffer, 0, CsvExporter.formatSeconds(Long.MIN_VALUE, buffer)));
+    Assertions.assertEquals("9223372036.854775807",
+        new String(buffer, 0, CsvExporter.formatSeconds(Long.MAX_VALUE, buffer)));
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the recording and encoding of timeline event logs.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class EventLogTest {
+
+  /**
+   * Evaluates whether all transitions of an attempt are logged in order along with their
+   * timestamps and survive a round trip.
+   */
+  @Test
+  public void testRecording() {
+    var manager = new TimeManager(new ManualClock());
+    var timeline = manager.getTimeline();
+    timeline.add("Second");
+
+    manager.split(100);
+    manager.togglePause(200);
+    manager.togglePause(300);
+    manager.split(400);
+    manager.undoSplit(500);
+    manager.skipSplit(600);
+    manager.split(700);
+
+    // the log is discarded once all listeners have been notified about the reset
+    var buffer = Unpooled.buffer();
+    manager.addTimelineListener(new TimelineListener() {
+      @Override
+      public void onClear(Timeline timeline) {
+        timeline.getEventLog().write(buffer);
+      }
+    });
+    manager.reset(800);
+    Assertions.assertTrue(timeline.getEventLog().isEmpty());
+
+    var expected = new TimelineEvent[]{
+        TimelineEvent.TIMER_START, TimelineEvent.START, TimelineEvent.TIMER_PAUSE,
+        TimelineEvent.TIMER_UNPAUSE, TimelineEvent.SPLIT, TimelineEvent.UNDO_SPLIT,
+        TimelineEvent.SKIP_SPLIT, TimelineEvent.SPLIT, TimelineEvent.TIMER_STOP,
+        TimelineEvent.RESET
+    };
+    var timestamps = new long[]{100, 100, 200, 300, 400, 500, 600, 700, 700, 800};
+
+    var log = EventLog.read(buffer);
+    Assertions.assertEquals(expected.length, log.size());
+    for (var i = 0; i < expected.length; ++i) {
+      Assertions.assertEquals(expected[i], log.getEvent(i));
+      Assertions.assertEquals(timestamps[i], log.getTimestamp(i));
+    }
+    Assertions.assertEquals(0, buffer.readableBytes());
+  }
+}
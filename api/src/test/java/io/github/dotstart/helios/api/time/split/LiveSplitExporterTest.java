@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the export of LiveSplit split files.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class LiveSplitExporterTest {
+
+  /**
+   * Evaluates whether exported documents are imported with identical segment data.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    var timeline = new Timeline();
+    timeline.getSegments().get(0).setDisplayName("<First> & \"Second\"");
+    timeline.add("Third");
+
+    var first = timeline.getSegments().get(0);
+    first.setBest(TimerSlots.REALTIME, 59_250_000_000L);
+    first.setBest(TimerSlots.IN_GAME, 58_000_000_000L);
+    first.setPersonalBest(TimerSlots.REALTIME, 60_500_000_000L);
+    first.setPersonalBest(TimerSlots.IN_GAME, 59_000_000_000L);
+    for (var i = 0; i < 100; ++i) {
+      first.getHistory(TimerSlots.REALTIME).add(60_000_000_000L + i * 1_234_567_800L);
+    }
+
+    var second = timeline.getSegments().get(1);
+    second.setPersonalBest(TimerSlots.REALTIME, 86_430_000_000_000L);
+    second.getHistory(TimerSlots.IN_GAME).add(1_000_000_000L);
+
+    var out = new StringWriter();
+    LiveSplitExporter.write(out, timeline);
+    var imported = LiveSplitImporter
+        .read(new ByteArrayInputStream(out.toString().getBytes(StandardCharsets.UTF_8)));
+
+    Assertions.assertEquals(2, imported.getSegments().size());
+    for (var i = 0; i < 2; ++i) {
+      var expected = timeline.getSegments().get(i);
+      var actual = imported.getSegments().get(i);
+
+      Assertions.assertEquals(expected.getDisplayName(), actual.getDisplayName());
+      for (var slot : new int[]{TimerSlots.REALTIME, TimerSlots.IN_GAME}) {
+        Assertions.assertEquals(expected.getBestNanos(slot), actual.getBestNanos(slot));
+        Assertions
+            .assertEquals(expected.getPersonalBestNanos(slot), actual.getPersonalBestNanos(slot));
+
+        var expectedHistory = expected.getHistory(slot);
+        var actualHistory = actual.getHistory(slot);
+        Assertions.assertEquals(expectedHistory.size(), actualHistory.size());
+        for (var j = 0; j < expectedHistory.size(); ++j) {
+          Assertions.assertEquals(expectedHistory.get(j), actualHistory.get(j));
+        }
+      }
+    }
+  }
+
+  /**
+   * Evaluates whether durations are formatted in the time span notation.
+   */
+  @Test
+  public void testFormatTimeSpan() {
+    var buffer = new char[LiveSplitExporter.BUFFER_SIZE];
+
+    Assertions.assertEquals("00:00:00.0000000",
+        new String(buffer, 0, LiveSplitExporter.formatTimeSpan(0, buffer)));
+    Assertions.assertEquals("01:02:03.4567891",
+        new String(buffer, 0, LiveSplitExporter.formatTimeSpan(3_723_456_789_123L, buffer)));
+    Assertions.assertEquals("-1.01:01:01.5000000",
+        new String(buffer, 0, LiveSplitExporter.formatTimeSpan(-90_061_500_000_000L, buffer)));
+    Assertions.assertEquals("-106751.23:47:16.8547758",
+        new String(buffer, 0, LiveSplitExporter.formatTimeSpan(Long.MIN_VALUE, buffer)));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the import of LiveSplit split files.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class LiveSplitImporterTest {
+
+  private static final String DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<Run version=\"1.7.0\">\n"
+      + "  <GameIcon><![CDATA[AAEAAAD/////AQAAAAAAAAAMAgAAAA==]]></GameIcon>\n"
+      + "  <GameName>Test</GameName>\n"
+      + "  <AttemptCount>3</AttemptCount>\n"
+      + "  <AttemptHistory>\n"
+      + "    <Attempt id=\"1\"><RealTime>00:02:00</RealTime></Attempt>\n"
+      + "  </AttemptHistory>\n"
+      + "  <Segments>\n"
+      + "    <Segment>\n"
+      + "      <Name>Tom &amp; Jerry</Name>\n"
+      + "      <Icon />\n"
+      + "      <SplitTimes>\n"
+      + "        <SplitTime name=\"Personal Best\">\n"
+      + "          <RealTime>00:01:00.5000000</RealTime>\n"
+      + "          <GameTime>00:00:58</GameTime>\n"
+      + "        </SplitTime>\n"
+      + "        <SplitTime name=\"Custom\"><RealTime>00:00:01</RealTime></SplitTime>\n"
+      + "      </SplitTimes>\n"
+      + "      <BestSegmentTime><RealTime>00:00:59.2500000</RealTime></BestSegmentTime>\n"
+      + "      <SegmentHistory>\n"
+      + "        <Time id=\"1\"><RealTime>00:01:01</RealTime></Time>\n"
+      + "        <Time id=\"2\" />\n"
+      + "        <Time id=\"3\"><RealTime>00:00:59.2500000</RealTime></Time>\n"
+      + "      </SegmentHistory>\n"
+      + "    </Segment>\n"
+      + "    <Segment>\n"
+      + "      <Name>Second</Name>\n"
+      + "      <SplitTimes>\n"
+      + "        <SplitTime name=\"Personal Best\">\n"
+      + "          <RealTime>1.00:01:30.5</RealTime>\n"
+      + "        </SplitTime>\n"
+      + "      </SplitTimes>\n"
+      + "      <BestSegmentTime />\n"
+      + "      <SegmentHistory />\n"
+      + "    </Segment>\n"
+      + "  </Segments>\n"
+      + "  <AutoSplitterSettings><Setting id=\"a\">True</Setting></AutoSplitterSettings>\n"
+      + "</Run>\n";
+
+  private static Timeline read(String document) throws IOException {
+    return LiveSplitImporter
+        .read(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Evaluates whether segment names, best times, personal best times and histories are mapped to
+   * their respective segments.
+   */
+  @Test
+  public void testImport() throws IOException {
+    var timeline = read(DOCUMENT);
+    Assertions.assertEquals(2, timeline.getSegments().size());
+
+    var first = timeline.getSegments().get(0);
+    Assertions.assertEquals("Tom & Jerry", first.getDisplayName());
+    Assertions.assertEquals(59_250_000_000L, first.getBestNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(Segment.NO_TIME, first.getBestNanos(TimerSlots.IN_GAME));
+    Assertions.assertEquals(60_500_000_000L, first.getPersonalBestNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(58_000_000_000L, first.getPersonalBestNanos(TimerSlots.IN_GAME));
+
+    var history = first.getHistory(TimerSlots.REALTIME);
+    Assertions.assertEquals(3, history.size());
+    Assertions.assertEquals(2, history.getCount());
+    Assertions.assertEquals(61_000_000_000L, history.get(0));
+    Assertions.assertEquals(Segment.NO_TIME, history.get(1));
+    Assertions.assertEquals(59_250_000_000L, history.get(2));
+
+    var second = timeline.getSegments().get(1);
+    Assertions.assertEquals("Second", second.getDisplayName());
+    Assertions.assertEquals(86_430_000_000_000L,
+        second.getPersonalBestNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(Segment.NO_TIME, second.getPersonalBestNanos(TimerSlots.IN_GAME));
+    Assertions.assertTrue(second.getHistory(TimerSlots.REALTIME).isEmpty());
+  }
+
+  /**
+   * Evaluates whether time spans are decoded correctly.
+   */
+  @Test
+  public void testParseTimeSpan() {
+    Assertions.assertEquals(0, LiveSplitImporter.parseTimeSpan("00:00:00"));
+    Assertions.assertEquals(3_723_456_789_100L,
+        LiveSplitImporter.parseTimeSpan("01:02:03.4567891"));
+    Assertions.assertEquals(-1_500_000_000L, LiveSplitImporter.parseTimeSpan("-00:00:01.5"));
+    Assertions.assertEquals(90_061_000_000_000L,
+        LiveSplitImporter.parseTimeSpan(" 1.01:01:01 "));
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> LiveSplitImporter.parseTimeSpan("01:02"));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> LiveSplitImporter.parseTimeSpan("00:61:00"));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> LiveSplitImporter.parseTimeSpan("00:00:00."));
+  }
+
+  /**
+   * Evaluates whether malformed documents are rejected.
+   */
+  @Test
+  public void testMalformed() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> read("<Splits />"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> read("<Run><Segments>"));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> read("<Run><Segments /></Run>"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> read(
+        "<!DOCTYPE Run [<!ENTITY x SYSTEM \"file:///etc/passwd\">]><Run>&x;</Run>"));
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.Timer;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.net.URI;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the storage of segment times.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SegmentTest {
+
+  private static final URI TIMER = URI
+      .create("helios+timer://io.github.dotstart.helios.test/segment");
+
+  /**
+   * Evaluates whether times and bests are tracked per slot.
+   */
+  @Test
+  public void testTimes() {
+    var segment = new Segment("Test");
+    var slot = TimerSlots.slotOf(TIMER);
+
+    Assertions.assertEquals(Segment.NO_TIME, segment.getTimeNanos(slot));
+    Assertions.assertFalse(segment.getTime(TIMER).isPresent());
+
+    segment.setTime(slot, 2000);
+    segment.setTime(Timer.REALTIME, 3000);
+    Assertions.assertEquals(2000, segment.getTime(TIMER).orElseThrow());
+    Assertions.assertEquals(3000, segment.getTimeNanos(TimerSlots.REALTIME));
+    Assertions.assertTrue(segment.isGold(slot));
+
+    segment.setTime(slot, 2500);
+    Assertions.assertEquals(2000, segment.getBestNanos(slot));
+    Assertions.assertFalse(segment.isGold(TIMER));
+
+    segment.clearTime();
+    Assertions.assertEquals(Segment.NO_TIME, segment.getTimeNanos(slot));
+    Assertions.assertEquals(2000, segment.getBest(TIMER).orElseThrow());
+  }
+
+  /**
+   * Evaluates whether looking up times of unknown timers leaves the global slot table untouched.
+   */
+  @Test
+  public void testUnknownTimer() {
+    var segment = new Segment("Test");
+    var unknown = URI.create("helios+timer://io.github.dotstart.helios.test/unknown");
+    var size = TimerSlots.size();
+
+    Assertions.assertFalse(segment.getTime(unknown).isPresent());
+    Assertions.assertFalse(segment.getBest(unknown).isPresent());
+    Assertions.assertFalse(segment.getPersonalBest(unknown).isPresent());
+    Assertions.assertFalse(segment.isGold(unknown));
+    segment.clearTime(unknown);
+    segment.clearBest(unknown);
+
+    Assertions.assertEquals(-1, TimerSlots.find(unknown));
+    Assertions.assertEquals(size, TimerSlots.size());
+  }
+
+  /**
+   * Evaluates whether the observable facade reflects times which have been recorded before and
+   * after it has been created.
+   */
+  @Test
+  public void testObservableFacade() {
+    var segment = new Segment("Test");
+    segment.setTime(Timer.REALTIME, 1000);
+
+    var times = segment.getTimes();
+    Assertions.assertEquals(1, times.size());
+    Assertions.assertEquals(1000, (long) times.get(Timer.REALTIME));
+
+    segment.setTime(TIMER, 500);
+    Assertions.assertEquals(500, (long) times.get(TIMER));
+    Assertions.assertEquals(500, (long) segment.getBestTimes().get(TIMER));
+
+    segment.clearTime(TIMER);
+    Assertions.assertFalse(times.containsKey(TIMER));
+    Assertions.assertTrue(segment.getBestTimes().containsKey(TIMER));
+  }
+}
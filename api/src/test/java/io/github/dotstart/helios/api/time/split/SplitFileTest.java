@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the encoding and decoding of split files.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SplitFileTest {
+
+  private static final URI TIMER = URI
+      .create("helios+timer://io.github.dotstart.helios.test/split-file");
+
+  /**
+   * Evaluates whether all persistent segment data survives a round trip.
+   */
+  @Test
+  public void testRoundTrip() {
+    var slot = TimerSlots.slotOf(TIMER);
+    var timeline = new Timeline();
+    timeline.getSegments().get(0).setDisplayName("First");
+    timeline.add("Second – Ünïcödé");
+
+    var first = timeline.getSegments().get(0);
+    first.setBest(TimerSlots.REALTIME, 61_234_567_890L);
+    first.setPersonalBest(TimerSlots.REALTIME, 62_000_000_000L);
+    first.setBest(slot, 1000);
+    for (var i = 0; i < 10000; ++i) {
+      first.getHistory(TimerSlots.REALTIME).add(i % 17 == 0 ? Segment.NO_TIME
+          : 60_000_000_000L + (i * 7919L) % 5_000_000_000L);
+    }
+
+    var buffer = Unpooled.buffer();
+    SplitFile.write(buffer, timeline);
+    var decoded = SplitFile.read(buffer);
+    Assertions.assertFalse(buffer.isReadable());
+
+    Assertions.assertEquals(2, decoded.getSegments().size());
+    for (var i = 0; i < 2; ++i) {
+      var expected = timeline.getSegments().get(i);
+      var actual = decoded.getSegments().get(i);
+
+      Assertions.assertEquals(expected.getId(), actual.getId());
+      Assertions.assertEquals(expected.getDisplayName(), actual.getDisplayName());
+      for (var s : new int[]{TimerSlots.REALTIME, slot}) {
+        Assertions.assertEquals(expected.getBestNanos(s), actual.getBestNanos(s));
+        Assertions.assertEquals(expected.getPersonalBestNanos(s), actual.getPersonalBestNanos(s));
+
+        var expectedHistory = expected.getHistory(s);
+        var actualHistory = actual.getHistory(s);
+        Assertions.assertEquals(expectedHistory.size(), actualHistory.size());
+        Assertions.assertEquals(expectedHistory.getCount(), actualHistory.getCount());
+        for (var j = 0; j < expectedHistory.size(); ++j) {
+          Assertions.assertEquals(expectedHistory.get(j), actualHistory.get(j));
+        }
+        Assertions.assertEquals(expectedHistory.getMedian(), actualHistory.getMedian());
+        Assertions.assertEquals(expectedHistory.getMean(), actualHistory.getMean(), 1);
+      }
+    }
+
+    Assertions.assertEquals(timeline.getSumOfBest(slot), decoded.getSumOfBest(slot));
+  }
+
+  /**
+   * Evaluates whether histories of loaded files are paged in on demand while their aggregates
+   * remain available without accessing the file.
+   */
+  @Test
+  public void testLazyLoad() throws IOException {
+    var timeline = new Timeline();
+    var history = timeline.getSegments().get(0).getHistory(TimerSlots.REALTIME);
+    for (var i = 0; i < TimeHistory.DEFAULT_CAPACITY; ++i) {
+      history.add(60_000_000_000L + (i * 7919L) % 5_000_000_000L);
+    }
+
+    var path = Files.createTempFile("helios", ".hsplits");
+    try {
+      SplitFile.save(path, timeline);
+      var loaded = SplitFile.load(path).getSegments().get(0).getHistory(TimerSlots.REALTIME);
+
+      Assertions.assertFalse(loaded.isLoaded());
+      Assertions.assertEquals(history.size(), loaded.size());
+      Assertions.assertEquals(history.getMean(), loaded.getMean(), 1);
+      Assertions.assertEquals(history.getStandardDeviation(), loaded.getStandardDeviation(), 1);
+      Assertions.assertEquals(history.getMinimum(), loaded.getMinimum());
+      Assertions.assertEquals(history.getMaximum(), loaded.getMaximum());
+      Assertions.assertEquals(history.getMedian(), loaded.getMedian());
+      Assertions.assertEquals(history.getLatest(), loaded.getLatest());
+      for (var i = 0; i < history.size(); i += 97) {
+        Assertions.assertEquals(history.get(i), loaded.get(i));
+      }
+      Assertions.assertFalse(loaded.isLoaded());
+
+      // new times are appended without loading the paged times
+      history.add(1000);
+      loaded.add(1000);
+      Assertions.assertFalse(loaded.isLoaded());
+      Assertions.assertEquals(history.get(0), loaded.get(0));
+      Assertions.assertEquals(history.getLatest(), loaded.getLatest());
+      Assertions.assertEquals(history.getMinimum(), loaded.getMinimum());
+      Assertions.assertEquals(history.getMedian(), loaded.getMedian());
+      Assertions.assertEquals(history.getPercentile(90), loaded.getPercentile(90));
+      Assertions.assertEquals(history.getMean(), loaded.getMean(), 1);
+
+      // evicting the extremes forces them to be re-computed from the remaining times
+      for (var i = 0; i < history.size(); i += 131) {
+        var time = i % 2 == 0 ? 90_000_000_000L - i : 30_000_000_000L + i;
+        history.add(time);
+        loaded.add(time);
+
+        Assertions.assertEquals(history.getMinimum(), loaded.getMinimum());
+        Assertions.assertEquals(history.getMaximum(), loaded.getMaximum());
+        Assertions.assertEquals(history.getMedian(), loaded.getMedian());
+        Assertions.assertEquals(history.getPercentile(1), loaded.getPercentile(1));
+        Assertions.assertEquals(history.getStandardDeviation(), loaded.getStandardDeviation(),
+            1000);
+      }
+      Assertions.assertFalse(loaded.isLoaded());
+
+      var window = new long[history.size()];
+      loaded.copyTo(0, window, 0, window.length);
+      for (var i = 0; i < window.length; ++i) {
+        Assertions.assertEquals(history.get(i), window[i]);
+      }
+
+      // the history is detached from the file once all of its paged times have been evicted
+      for (var i = 0; i < history.getCapacity(); ++i) {
+        history.add(i);
+        loaded.add(i);
+      }
+      Assertions.assertTrue(loaded.isLoaded());
+      Assertions.assertEquals(history.getMedian(), loaded.getMedian());
+      Assertions.assertEquals(history.getPercentile(90), loaded.getPercentile(90));
+      Assertions.assertEquals(history.getMinimum(), loaded.getMinimum());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  /**
+   * Evaluates whether the file of a loaded timeline is released once the timeline is replaced.
+   */
+  @Test
+  public void testClose() throws IOException {
+    var timeline = new Timeline();
+    var history = timeline.getSegments().get(0).getHistory(TimerSlots.REALTIME);
+    for (var i = 0; i < 16; ++i) {
+      history.add(1000 + i);
+    }
+
+    var path = Files.createTempFile("helios", ".hsplits");
+    try {
+      SplitFile.save(path, timeline);
+      var loaded = SplitFile.load(path);
+      var manager = new TimeManager(new ManualClock());
+      manager.setTimeline(loaded);
+      Assertions.assertEquals(1000, loaded.getSegments().get(0).getHistory(TimerSlots.REALTIME)
+          .get(0));
+
+      manager.setTimeline(new Timeline());
+      Assertions.assertThrows(UncheckedIOException.class,
+          () -> loaded.getSegments().get(0).getHistory(TimerSlots.REALTIME).get(1));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  /**
+   * Evaluates whether foreign data is rejected.
+   */
+  @Test
+  public void testMalformed() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> SplitFile.read(Unpooled.wrappedBuffer(new byte[]{1, 2, 3, 4, 5})));
+
+    var buffer = Unpooled.buffer();
+    buffer.writeInt(SplitFile.MAGIC);
+    buffer.writeByte(SplitFile.VERSION + 1);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> SplitFile.read(buffer));
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.Timer;
+import io.github.dotstart.helios.api.time.TimerGroup;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the incremental statistics of segment histories.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimeHistoryTest {
+
+  private static final int CAPACITY = 100;
+  private static final int ATTEMPTS = 1000;
+
+  /**
+   * Evaluates whether the incremental statistics match statistics which are computed over the
+   * entire set of retained times (including after the history has started evicting times).
+   */
+  @Test
+  public void testStatistics() {
+    var history = new TimeHistory(CAPACITY);
+    var random = new Random(42);
+    var expected = new long[ATTEMPTS];
+
+    Assertions.assertEquals(Segment.NO_TIME, history.getMedian());
+    Assertions.assertTrue(Double.isNaN(history.getMean()));
+
+    for (var i = 0; i < ATTEMPTS; ++i) {
+      expected[i] = 60_000_000_000L + random.nextInt(1_000_000_000);
+      history.add(expected[i]);
+
+      var from = Math.max(0, i + 1 - CAPACITY);
+      var window = Arrays.copyOfRange(expected, from, i + 1);
+      Assertions.assertEquals(window.length, history.size());
+      Assertions.assertEquals(window[0], history.get(0));
+      Assertions.assertEquals(expected[i], history.getLatest());
+
+      var mean = Arrays.stream(window).average().orElseThrow();
+      var deviation = Math.sqrt(
+          Arrays.stream(window).mapToDouble((t) -> (t - mean) * (t - mean)).sum() / window.length);
+      Assertions.assertEquals(mean, history.getMean(), 1);
+      Assertions.assertEquals(deviation, history.getStandardDeviation(), 1);
+
+      Arrays.sort(window);
+      Assertions.assertEquals(window[0], history.getMinimum());
+      Assertions.assertEquals(window[window.length - 1], history.getMaximum());
+      Assertions.assertEquals(window[(int) Math.ceil(0.9 * window.length) - 1],
+          history.getPercentile(90));
+
+      var lower = window[(window.length - 1) / 2];
+      var upper = window[window.length / 2];
+      Assertions.assertEquals(lower + (upper - lower) / 2, history.getMedian());
+    }
+  }
+
+  /**
+   * Evaluates whether timelines record segment durations and archive them when cleared.
+   */
+  @Test
+  public void testArchive() {
+    var clock = new ManualClock();
+    var timeline = new Timeline();
+    timeline.add("Second");
+
+    for (var attempt = 1; attempt <= 2; ++attempt) {
+      var group = new TimerGroup(clock);
+      group.start();
+      timeline.start();
+
+      clock.advance(1000 * attempt);
+      timeline.split(group);
+      clock.advance(500);
+      timeline.split(group);
+
+      Assertions.assertEquals(1000 * attempt,
+          timeline.getSegments().get(0).getTime(Timer.REALTIME).orElseThrow());
+      Assertions.assertEquals(500,
+          timeline.getSegments().get(1).getTime(Timer.REALTIME).orElseThrow());
+      timeline.clear();
+    }
+
+    var history = timeline.getSegments().get(0).getHistory(Timer.REALTIME);
+    Assertions.assertEquals(2, history.size());
+    Assertions.assertEquals(1500, history.getMedian());
+    Assertions.assertEquals(1500, history.getMean(), 0.5);
+    Assertions.assertEquals(500,
+        timeline.getSegments().get(1).getHistory(TimerSlots.REALTIME).getMaximum());
+    Assertions.assertFalse(timeline.getSegments().get(0).getTime(Timer.REALTIME).isPresent());
+  }
+
+  /**
+   * Evaluates whether attempts which are reset early archive placeholders for their unreached
+   * segments so that every history retains one entry per attempt.
+   */
+  @Test
+  public void testArchiveReset() {
+    var clock = new ManualClock();
+    var timeline = new Timeline();
+    timeline.add("Second");
+
+    for (var splits = 2; splits >= 0; --splits) {
+      var group = new TimerGroup(clock);
+      group.start();
+      timeline.start();
+
+      for (var i = 0; i < splits; ++i) {
+        clock.advance(1000);
+        timeline.split(group);
+      }
+      timeline.clear();
+    }
+
+    var first = timeline.getSegments().get(0).getHistory(Timer.REALTIME);
+    var second = timeline.getSegments().get(1).getHistory(Timer.REALTIME);
+    Assertions.assertEquals(2, first.size());
+    Assertions.assertEquals(2, first.getCount());
+    Assertions.assertEquals(2, second.size());
+    Assertions.assertEquals(1, second.getCount());
+    Assertions.assertEquals(1000, second.get(0));
+    Assertions.assertEquals(Segment.NO_TIME, second.get(1));
+    Assertions.assertEquals(1000, second.getMedian());
+    Assertions.assertEquals(1000, second.getMean(), 0.5);
+  }
+
+  /**
+   * Evaluates whether each split records the duration of its own segment (excluding pauses)
+   * rather than the total elapsed time of the attempt.
+   */
+  @Test
+  public void testSplitDurations() {
+    var clock = new ManualClock();
+    var timeline = new Timeline();
+    timeline.add("Second");
+    timeline.add("Third");
+
+    var group = new TimerGroup(clock);
+    group.start();
+    timeline.start();
+
+    clock.advance(1000);
+    timeline.split(group);
+    clock.advance(1500);
+    group.pause();
+    clock.advance(700);
+    group.unpause();
+    clock.advance(500);
+    timeline.split(group);
+    clock.advance(300);
+    timeline.split(group);
+
+    var segments = timeline.getSegments();
+    Assertions.assertEquals(1000, segments.get(0).getTimeNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(2000, segments.get(1).getTimeNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(300, segments.get(2).getTimeNanos(TimerSlots.REALTIME));
+    Assertions.assertEquals(group.getElapsedNanos(clock.nanoTime()),
+        segments.stream().mapToLong((s) -> s.getTimeNanos(TimerSlots.REALTIME)).sum());
+
+    // a new attempt measures its first segment from the start of the attempt again
+    timeline.clear();
+    group = new TimerGroup(clock);
+    group.start();
+    timeline.start();
+    clock.advance(400);
+    timeline.split(group);
+    Assertions.assertEquals(400, segments.get(0).getTimeNanos(TimerSlots.REALTIME));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.time.split;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.TimerGroup;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the aggregates maintained by timelines.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimelineTest {
+
+  private static final int SLOT = TimerSlots.REALTIME;
+
+  /**
+   * Creates a timeline with three segments and the specified best times.
+   */
+  private static Timeline createTimeline(long... bests) {
+    var timeline = new Timeline();
+    timeline.add("Second");
+    timeline.add("Third");
+
+    for (var i = 0; i < bests.length; ++i) {
+      timeline.getSegments().get(i).setBest(SLOT, bests[i]);
+    }
+    return timeline;
+  }
+
+  /**
+   * Evaluates whether the sum of best segments follows changes to individual bests as well as to
+   * the segment list.
+   */
+  @Test
+  public void testSumOfBest() {
+    var timeline = createTimeline(1000, 2000);
+    var property = timeline.sumOfBestProperty(SLOT);
+    Assertions.assertEquals(Segment.NO_TIME, property.get());
+
+    timeline.getSegments().get(2).setBest(SLOT, 3000);
+    Assertions.assertEquals(6000, property.get());
+    Assertions.assertEquals(6000, timeline.getSumOfBest(SLOT));
+
+    timeline.getSegments().get(0).setBest(SLOT, 500);
+    Assertions.assertEquals(5500, property.get());
+
+    timeline.remove(timeline.getSegments().get(1).getId());
+    Assertions.assertEquals(3500, property.get());
+
+    timeline.add("Fourth");
+    Assertions.assertEquals(Segment.NO_TIME, property.get());
+
+    timeline.clearBest();
+    Assertions.assertEquals(Segment.NO_TIME, timeline.getSumOfBest(SLOT));
+  }
+
+  /**
+   * Evaluates whether the best possible time reflects the progress of the current attempt.
+   */
+  @Test
+  public void testBestPossibleTime() {
+    var clock = new ManualClock();
+    var group = new TimerGroup(clock);
+    var timeline = createTimeline(1000, 2000, 3000);
+    var property = timeline.bestPossibleTimeProperty(SLOT);
+    Assertions.assertEquals(6000, property.get());
+
+    group.start();
+    timeline.start();
+    clock.advance(1500);
+    Assertions.assertEquals(6000, timeline.getBestPossibleTime(SLOT, 900));
+    Assertions.assertEquals(6500, timeline.getBestPossibleTime(SLOT, 1500));
+
+    timeline.split(group);
+    Assertions.assertEquals(6500, property.get());
+
+    clock.advance(1000);
+    timeline.split(group);
+    Assertions.assertEquals(1000, timeline.getSegments().get(1).getBestNanos(SLOT));
+    Assertions.assertEquals(5500, property.get());
+    Assertions.assertEquals(5000, timeline.getSumOfBest(SLOT));
+
+    clock.advance(3000);
+    timeline.split(group);
+    Assertions.assertEquals(5500, property.get());
+    Assertions.assertEquals(5500, timeline.getBestPossibleTime(SLOT, 9000));
+
+    timeline.clear();
+    Assertions.assertEquals(5000, property.get());
+  }
+
+  /**
+   * Evaluates whether skipped and reverted splits are reflected within the recorded times and
+   * bests.
+   */
+  @Test
+  public void testUndoAndSkipSplit() {
+    var clock = new ManualClock();
+    var group = new TimerGroup(clock);
+    var timeline = createTimeline(1000, 2000, 3000);
+    var first = timeline.getSegments().get(0);
+    var second = timeline.getSegments().get(1);
+
+    group.start(0);
+    timeline.start();
+    Assertions.assertThrows(IllegalStateException.class, () -> timeline.undoSplit(0));
+
+    timeline.split(group, 500);
+    Assertions.assertEquals(500, first.getBestNanos(SLOT));
+
+    timeline.undoSplit(600);
+    Assertions.assertEquals(Segment.NO_TIME, first.getTimeNanos(SLOT));
+    Assertions.assertEquals(1000, first.getBestNanos(SLOT));
+    Assertions.assertEquals(6000, timeline.getSumOfBest(SLOT));
+
+    timeline.split(group, 1200);
+    Assertions.assertEquals(1200, first.getTimeNanos(SLOT));
+
+    timeline.skipSplit(1300);
+    Assertions.assertEquals(Segment.NO_TIME, second.getTimeNanos(SLOT));
+    Assertions.assertThrows(IllegalStateException.class, () -> timeline.skipSplit(1400));
+
+    timeline.split(group, 5200);
+    Assertions.assertEquals(4000, timeline.getSegments().get(2).getTimeNanos(SLOT));
+    Assertions.assertTrue(timeline.hasFinished());
+
+    timeline.undoSplit(5300);
+    timeline.undoSplit(5400);
+    timeline.split(group, 3200);
+    Assertions.assertEquals(2000, second.getTimeNanos(SLOT));
+  }
+
+  /**
+   * Evaluates whether transitions take place even when a listener fails to process their events.
+   */
+  @Test
+  public void testListenerFailure() {
+    var clock = new ManualClock();
+    var timeline = createTimeline();
+    var splits = new int[1];
+    timeline.addListener(new TimelineListener() {
+      @Override
+      public void onEvent(Timeline timeline, TimelineEvent event, long timestamp) {
+        throw new IllegalStateException("Cannot process event: Simulated failure");
+      }
+
+      @Override
+      public void onSplit(Timeline timeline, int index, long timestamp) {
+        ++splits[0];
+      }
+    });
+
+    var group = new TimerGroup(clock);
+    group.start();
+    timeline.start(clock.nanoTime());
+    clock.advance(1000);
+    timeline.split(group);
+    Assertions.assertEquals(1, timeline.getActiveSegmentIndex());
+    Assertions.assertEquals(1, splits[0]);
+    Assertions.assertEquals(1000, timeline.getSegments().get(0).getTimeNanos(SLOT));
+
+    timeline.undoSplit(clock.nanoTime());
+    Assertions.assertEquals(0, timeline.getActiveSegmentIndex());
+
+    timeline.clear(clock.nanoTime());
+    Assertions.assertFalse(timeline.hasStarted());
+  }
+}
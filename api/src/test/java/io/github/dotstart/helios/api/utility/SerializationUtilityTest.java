@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.api.utility;
+
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Provides test cases which evaluate the encoding of primitive values.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SerializationUtilityTest {
+
+  private static final long[] VALUES = {0, 1, -1, 63, -64, 127, 128, 16383, 16384,
+      Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+
+  /**
+   * Evaluates whether variable length integers survive a round trip and require the expected
+   * amount of bytes.
+   */
+  @Test
+  public void testVarLong() {
+    var buffer = Unpooled.buffer();
+    for (var value : VALUES) {
+      SerializationUtility.writeVarLong(buffer, value);
+      SerializationUtility.writeSignedVarLong(buffer, value);
+    }
+    for (var value : VALUES) {
+      Assertions.assertEquals(value, SerializationUtility.readVarLong(buffer));
+      Assertions.assertEquals(value, SerializationUtility.readSignedVarLong(buffer));
+    }
+
+    buffer.clear();
+    SerializationUtility.writeVarLong(buffer, 127);
+    Assertions.assertEquals(1, buffer.readableBytes());
+
+    buffer.clear();
+    SerializationUtility.writeSignedVarLong(buffer, -64);
+    Assertions.assertEquals(1, buffer.readableBytes());
+
+    buffer.clear();
+    SerializationUtility.writeVarLong(buffer, -1);
+    Assertions.assertEquals(10, buffer.readableBytes());
+  }
+
+  /**
+   * Evaluates whether multi-byte characters are accounted for within the string length prefix.
+   */
+  @Test
+  public void testString() {
+    var buffer = Unpooled.buffer();
+    SerializationUtility.writeString(buffer, "Ünïcödé");
+    Assertions.assertEquals("Ünïcödé", SerializationUtility.readString(buffer));
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> SerializationUtility.writeString(buffer, "ü".repeat(128)));
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.TimerGroup;
+import io.github.dotstart.helios.api.time.journal.AttemptJournal;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.time.split.TimelineEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of appending events to the attempt journal.</p>
+ *
+ * <p>Each invocation appends a batch of events and subsequently resets the journal in order to
+ * keep the journal file at a constant size.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttemptJournalBenchmark {
+
+  private static final int BATCH = 1000;
+
+  private Path path;
+  private AttemptJournal journal;
+  private TimerGroup group;
+  private Timeline timeline;
+
+  @Setup
+  public void setup() throws IOException {
+    this.path = Files.createTempFile("helios", ".journal");
+    this.journal = AttemptJournal.open(this.path);
+    this.group = new TimerGroup();
+
+    this.timeline = new Timeline();
+    this.group.start();
+    this.timeline.start();
+    this.timeline.split(this.group);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.journal.close();
+    Files.deleteIfExists(this.path);
+  }
+
+  /**
+   * Appends timeline events.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public AttemptJournal event() {
+    for (var i = 0; i < BATCH; ++i) {
+      this.journal.onEvent(this.timeline, TimelineEvent.TIMER_PAUSE, i);
+    }
+
+    this.journal.onClear(this.timeline);
+    return this.journal;
+  }
+
+  /**
+   * Appends the segment times of a split.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public AttemptJournal split() {
+    for (var i = 0; i < BATCH; ++i) {
+      this.journal.onSplit(this.timeline, 0, 0);
+    }
+
+    this.journal.onClear(this.timeline);
+    return this.journal;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.github.dotstart.helios.api.time.split.CsvExporter;
+import io.github.dotstart.helios.api.time.split.LiveSplitExporter;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of exporting timelines with large attempt histories.</p>
+ *
+ * <p>Documents are written to a buffered writer which discards its output in order to measure
+ * the encoding cost only. Run with {@code -prof gc} to verify that the amount of allocations does
+ * not depend on the amount of attempts.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+
+  @Param({"10", "50"})
+  public int segments;
+
+  @Param({"100", "4096"})
+  public int attempts;
+
+  private Timeline timeline;
+  private Writer writer;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+
+    this.timeline = new Timeline();
+    for (var i = 1; i < this.segments; ++i) {
+      this.timeline.add("Segment " + i);
+    }
+    for (var segment : this.timeline.getSegments()) {
+      for (var slot : new int[]{TimerSlots.REALTIME, TimerSlots.IN_GAME}) {
+        var history = segment.getHistory(slot);
+        for (var i = 0; i < this.attempts; ++i) {
+          history.add(60_000_000_000L + random.nextInt(Integer.MAX_VALUE));
+        }
+        segment.setBest(slot, history.getMinimum());
+        segment.setPersonalBest(slot, history.getMedian());
+      }
+    }
+
+    this.writer = new BufferedWriter(new Writer() {
+      @Override
+      public void write(char[] buffer, int offset, int length) {
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    });
+  }
+
+  /**
+   * Exports the timeline as a LiveSplit document.
+   */
+  @Benchmark
+  public Writer exportLiveSplit() throws IOException {
+    LiveSplitExporter.write(this.writer, this.timeline);
+    return this.writer;
+  }
+
+  /**
+   * Exports the real time history of the timeline as comma separated values.
+   */
+  @Benchmark
+  public Writer exportCsv() throws IOException {
+    CsvExporter.write(this.writer, this.timeline, TimerSlots.REALTIME);
+    return this.writer;
+  }
+}
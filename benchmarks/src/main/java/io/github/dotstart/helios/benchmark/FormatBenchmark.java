@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.NanoTimer;
+import io.github.dotstart.helios.api.time.TimeFormatter;
+import io.github.dotstart.helios.api.time.Timer.FormatPrecision;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of converting timer values into their human readable representation at
+ * each supported precision.</p>
+ *
+ * <p>Allocation rates may be compared by running this benchmark with the {@code gc} profiler
+ * ({@code -prof gc}).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+  @Param
+  public FormatPrecision precision;
+
+  private NanoTimer timer;
+  private TimeFormatter formatter;
+
+  @Setup
+  public void setup() {
+    this.timer = new NanoTimer();
+    this.timer.start();
+
+    this.formatter = new TimeFormatter(this.precision);
+  }
+
+  /**
+   * Converts the current timer value through the legacy timer API.
+   */
+  @Benchmark
+  public String timerToString() {
+    return this.timer.toString(this.precision);
+  }
+
+  /**
+   * Converts the current timer value through a cached formatter.
+   */
+  @Benchmark
+  public String formatter() {
+    return this.formatter.format(this.timer.getElapsedNanos());
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.split.LiveSplitImporter;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of importing large LiveSplit split files.</p>
+ *
+ * <p>A synthetic split file is generated for every parameter combination. With 50 segments and
+ * 10,000 attempts, the generated file exceeds 50 MB. The heap of the forked VM is restricted in
+ * order to verify that the import does not depend on the file size.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+public class LiveSplitImportBenchmark {
+
+  @Param({"10", "50"})
+  public int segments;
+
+  @Param({"1000", "10000"})
+  public int attempts;
+
+  private Path file;
+
+  /**
+   * Writes a single LiveSplit time element.
+   */
+  private static void writeTime(BufferedWriter writer, String element, String attributes,
+      long realTime, long gameTime) throws IOException {
+    writer.write("      <" + element + attributes + ">\n");
+    writer.write("        <RealTime>" + formatTimeSpan(realTime) + "</RealTime>\n");
+    writer.write("        <GameTime>" + formatTimeSpan(gameTime) + "</GameTime>\n");
+    writer.write("      </" + element + ">\n");
+  }
+
+  /**
+   * Converts a duration into the .NET time span notation.
+   */
+  private static String formatTimeSpan(long nanos) {
+    var ticks = nanos / 100;
+    var seconds = ticks / 10_000_000;
+    return String.format("%02d:%02d:%02d.%07d", seconds / 3600, seconds / 60 % 60, seconds % 60,
+        ticks % 10_000_000);
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    var random = new Random(42);
+    this.file = Files.createTempFile("helios-benchmark", ".lss");
+
+    try (var writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8)) {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<Run version=\"1.7.0\">\n");
+      writer.write("  <GameName>Benchmark</GameName>\n  <CategoryName>Any%</CategoryName>\n");
+      writer.write("  <AttemptCount>" + this.attempts + "</AttemptCount>\n");
+
+      writer.write("  <AttemptHistory>\n");
+      for (var i = 1; i <= this.attempts; ++i) {
+        writeTime(writer, "Attempt", " id=\"" + i + "\" started=\"01/01/2018 00:00:00\"",
+            3_600_000_000_000L + random.nextInt(Integer.MAX_VALUE), 3_500_000_000_000L);
+      }
+      writer.write("  </AttemptHistory>\n");
+
+      writer.write("  <Segments>\n");
+      var splitTime = 0L;
+      for (var i = 0; i < this.segments; ++i) {
+        var best = 60_000_000_000L;
+        splitTime += best + 1_000_000_000L;
+
+        writer.write("    <Segment>\n      <Name>Segment " + i + "</Name>\n      <Icon />\n");
+        writer.write("      <SplitTimes>\n");
+        writeTime(writer, "SplitTime", " name=\"Personal Best\"", splitTime, splitTime);
+        writer.write("      </SplitTimes>\n");
+        writeTime(writer, "BestSegmentTime", "", best, best);
+
+        writer.write("      <SegmentHistory>\n");
+        for (var j = 1; j <= this.attempts; ++j) {
+          var time = best + random.nextInt(Integer.MAX_VALUE);
+          writeTime(writer, "Time", " id=\"" + j + "\"", time, time - 1_000_000_000L);
+        }
+        writer.write("      </SegmentHistory>\n    </Segment>\n");
+      }
+      writer.write("  </Segments>\n</Run>\n");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(this.file);
+  }
+
+  /**
+   * Imports the generated split file.
+   */
+  @Benchmark
+  public Timeline load() throws IOException {
+    return LiveSplitImporter.load(this.file);
+  }
+}
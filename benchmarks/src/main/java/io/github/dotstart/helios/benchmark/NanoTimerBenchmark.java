@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.NanoTimer;
+import io.github.dotstart.helios.api.time.SystemClock;
+import io.github.dotstart.helios.api.time.TickClock;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of retrieving the elapsed time of a running timer.</p>
+ *
+ * <p>This is the most frequently executed operation within the application as every displayed
+ * timer is queried at least once per frame.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NanoTimerBenchmark {
+
+  private NanoTimer timer;
+  private NanoTimer tickTimer;
+  private TickClock tickClock;
+
+  @Setup
+  public void setup() {
+    this.timer = new NanoTimer();
+    this.timer.start();
+
+    this.tickClock = new TickClock(SystemClock.INSTANCE);
+    this.tickTimer = new NanoTimer(this.tickClock);
+    this.tickTimer.start();
+  }
+
+  /**
+   * Retrieves the elapsed time while sampling the system clock.
+   */
+  @Benchmark
+  public long elapsedNanos() {
+    return this.timer.getElapsedNanos();
+  }
+
+  /**
+   * Retrieves the elapsed time against a pre-sampled frame timestamp.
+   */
+  @Benchmark
+  public long elapsedNanosTick() {
+    return this.tickTimer.getElapsedNanos();
+  }
+
+  /**
+   * Retrieves the total elapsed time (including pauses) while sampling the system clock.
+   */
+  @Benchmark
+  public long totalElapsedNanos() {
+    return this.timer.getTotalElapsedNanos();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.ManualClock;
+import io.github.dotstart.helios.api.time.ReplayEngine;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.time.split.EventLog;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the throughput of replaying recorded attempts headlessly.</p>
+ *
+ * <p>Each invocation replays an entire attempt (including a pause as well as an undone and a
+ * skipped split) against a fresh timeline. The resulting score thus reflects the amount of
+ * regression runs which can be executed per second.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+  @Param({"10", "100"})
+  public int segments;
+
+  private EventLog log;
+
+  @Setup
+  public void setup() {
+    var clock = new ManualClock();
+    var manager = new TimeManager(clock);
+    manager.setTimeline(this.createTimeline());
+
+    manager.split(clock.nanoTime());
+    manager.togglePause(clock.advance(1000));
+    manager.togglePause(clock.advance(1000));
+    manager.split(clock.advance(1000));
+    manager.undoSplit(clock.advance(1000));
+    manager.skipSplit(clock.advance(1000));
+    for (var i = 1; i < this.segments; ++i) {
+      manager.split(clock.advance(TimeUnit.SECONDS.toNanos(30)));
+    }
+
+    var buffer = Unpooled.buffer();
+    manager.getTimeline().getEventLog().write(buffer);
+    this.log = EventLog.read(buffer);
+  }
+
+  /**
+   * Creates a timeline with the configured amount of segments.
+   */
+  private Timeline createTimeline() {
+    var timeline = new Timeline();
+    for (var i = 1; i < this.segments; ++i) {
+      timeline.add("Segment " + i);
+    }
+    return timeline;
+  }
+
+  /**
+   * Replays the recorded attempt against a fresh timeline.
+   */
+  @Benchmark
+  public Timeline replay() {
+    return ReplayEngine.replay(this.log, this.createTimeline());
+  }
+}
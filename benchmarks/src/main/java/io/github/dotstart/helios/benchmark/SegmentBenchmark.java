@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.Timer;
+import io.github.dotstart.helios.api.time.split.Segment;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of recording and retrieving segment times.</p>
+ *
+ * <p>Recorded times alternate between two values in order to exercise both the regular and the
+ * best time paths.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentBenchmark {
+
+  private Segment segment;
+  private long time;
+
+  @Setup
+  public void setup() {
+    this.segment = new Segment("Benchmark");
+    this.segment.setTime(Timer.REALTIME, 1000);
+  }
+
+  /**
+   * Records a new time for the real time timer.
+   */
+  @Benchmark
+  public Segment setTime() {
+    this.time ^= 1;
+    this.segment.setTime(Timer.REALTIME, 1000 + this.time);
+    return this.segment;
+  }
+
+  /**
+   * Retrieves the recorded time for the real time timer.
+   */
+  @Benchmark
+  public OptionalLong getTime() {
+    return this.segment.getTime(Timer.REALTIME);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.github.dotstart.helios.api.time.split.SplitFile;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of encoding and decoding split files with large attempt histories.</p>
+ *
+ * <p>{@link #load()} measures the lazy load path which only decodes the metadata section and is
+ * thus expected to remain constant regardless of the amount of attempts.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitFileBenchmark {
+
+  @Param({"10", "50"})
+  public int segments;
+
+  @Param({"100", "4096"})
+  public int attempts;
+
+  private Timeline timeline;
+  private ByteBuf encoded;
+  private ByteBuf target;
+  private Path file;
+
+  @Setup
+  public void setup() throws IOException {
+    var random = new Random(42);
+
+    this.timeline = new Timeline();
+    for (var i = 1; i < this.segments; ++i) {
+      this.timeline.add("Segment " + i);
+    }
+    for (var segment : this.timeline.getSegments()) {
+      var history = segment.getHistory(TimerSlots.REALTIME);
+      for (var i = 0; i < this.attempts; ++i) {
+        history.add(60_000_000_000L + random.nextInt(Integer.MAX_VALUE));
+      }
+      segment.setBest(TimerSlots.REALTIME, history.getMinimum());
+    }
+
+    this.encoded = Unpooled.buffer();
+    SplitFile.write(this.encoded, this.timeline);
+    this.target = Unpooled.buffer(this.encoded.readableBytes());
+
+    this.file = Files.createTempFile("helios-benchmark", ".hsplits");
+    SplitFile.save(this.file, this.timeline);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(this.file);
+  }
+
+  /**
+   * Encodes the timeline into a pre-allocated buffer.
+   */
+  @Benchmark
+  public ByteBuf write() {
+    this.target.clear();
+    SplitFile.write(this.target, this.timeline);
+    return this.target;
+  }
+
+  /**
+   * Decodes the timeline from its encoded representation.
+   */
+  @Benchmark
+  public Timeline read() {
+    return SplitFile.read(this.encoded.duplicate());
+  }
+
+  /**
+   * Loads the timeline from disk while leaving its histories within the file.
+   */
+  @Benchmark
+  public Timeline load() throws IOException {
+    return SplitFile.load(this.file);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.TimerGroup;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of completing an entire run through timelines of varying sizes.</p>
+ *
+ * <p>Each invocation splits through every segment of the timeline. The resulting scores are thus
+ * divided by the amount of segments in order to retrieve the cost of a single split.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimelineBenchmark {
+
+  private static final int TIMERS = 4;
+
+  @Param({"10", "100", "1000"})
+  public int segments;
+
+  private TimerGroup group;
+  private Timeline timeline;
+
+  @Setup
+  public void setup() {
+    this.group = new TimerGroup();
+    for (var i = 1; i < TIMERS; ++i) {
+      this.group.create(URI.create("helios+timer://io.github.dotstart.helios.benchmark/timer" + i),
+          "Timer " + i);
+    }
+    this.group.start();
+
+    this.timeline = new Timeline();
+    for (var i = 1; i < this.segments; ++i) {
+      this.timeline.add("Segment " + i);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void reset() {
+    this.timeline.clear();
+    this.timeline.start();
+  }
+
+  /**
+   * Splits through every segment within the timeline.
+   */
+  @Benchmark
+  public Timeline split() {
+    for (var i = 0; i < this.segments; ++i) {
+      this.timeline.split(this.group);
+    }
+    return this.timeline;
+  }
+}
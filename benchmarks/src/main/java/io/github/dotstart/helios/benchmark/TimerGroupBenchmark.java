@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.benchmark;
+
+import io.github.dotstart.helios.api.time.TimerGroup;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Evaluates the cost of group transitions in relation to the amount of timers within a
+ * group.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerGroupBenchmark {
+
+  /**
+   * Creates a new group with the specified total amount of timers (including its real time
+   * timer).
+   */
+  private static TimerGroup createGroup(int timers) {
+    var group = new TimerGroup();
+    for (var i = 1; i < timers; ++i) {
+      group.create(URI.create("helios+timer://io.github.dotstart.helios.benchmark/timer" + i),
+          "Timer " + i);
+    }
+    return group;
+  }
+
+  /**
+   * Pauses and immediately un-pauses a running group.
+   */
+  @Benchmark
+  public TimerGroup pauseCycle(RunningGroup state) {
+    state.group.pause();
+    state.group.unpause();
+    return state.group;
+  }
+
+  /**
+   * Starts and immediately stops a freshly reset group.
+   */
+  @Benchmark
+  public TimerGroup startStop(ResetGroup state) {
+    state.group.start();
+    state.group.stop();
+    return state.group;
+  }
+
+  /**
+   * Provides a group which is kept running throughout the entire trial.
+   */
+  @State(Scope.Thread)
+  public static class RunningGroup {
+
+    @Param({"1", "4", "16", "64"})
+    public int timers;
+
+    TimerGroup group;
+
+    @Setup
+    public void setup() {
+      this.group = createGroup(this.timers);
+      this.group.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+      this.group.stop();
+    }
+  }
+
+  /**
+   * Provides a group which is reset before every invocation.
+   */
+  @State(Scope.Thread)
+  public static class ResetGroup {
+
+    @Param({"1", "4", "16", "64"})
+    public int timers;
+
+    TimerGroup group;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      this.group = createGroup(this.timers);
+    }
+  }
+}
@@ -9,18 +9,18 @@ extern "C" {
 #endif
 /*
  * Class:     io_github_dotstart_helios_game_RemoteGameProcess_DirectMemoryAccessor
- * Method:    read
+ * Method:    read0
  * Signature: (JJ)[B
  */
-JNIEXPORT jbyteArray JNICALL Java_io_github_dotstart_helios_game_RemoteGameProcess_00024DirectMemoryAccessor_read
+JNIEXPORT jbyteArray JNICALL Java_io_github_dotstart_helios_game_RemoteGameProcess_00024DirectMemoryAccessor_read0
   (JNIEnv *, jobject, jlong, jlong);
 
 /*
  * Class:     io_github_dotstart_helios_game_RemoteGameProcess_DirectMemoryAccessor
- * Method:    write
+ * Method:    write0
  * Signature: (J[B)[B
  */
-JNIEXPORT jbyteArray JNICALL Java_io_github_dotstart_helios_game_RemoteGameProcess_00024DirectMemoryAccessor_write
+JNIEXPORT jbyteArray JNICALL Java_io_github_dotstart_helios_game_RemoteGameProcess_00024DirectMemoryAccessor_write0
   (JNIEnv *, jobject, jlong, jbyteArray);
 
 #ifdef __cplusplus
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import io.github.dotstart.helios.api.game.MemoryBinding;
+import io.github.dotstart.helios.api.game.MemoryBindingType;
+import javafx.beans.value.ObservableIntegerValue;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Binds a single signed byte without boxing its value on access. As JavaFX provides no byte
+ * observable, the value is widened to an integer.
+ */
+public class ByteMemoryBinding extends DirectMemoryBinding<Number> implements ObservableIntegerValue {
+
+    ByteMemoryBinding(long offset, RemoteGameProcess process) {
+        super(offset, MemoryBindingType.DIRECT, Byte.BYTES, MemoryBinding.PROT_READ | MemoryBinding.PROT_WRITE, process);
+    }
+
+    /**
+     * @return the value as of the last poll or zero if the region could not be read
+     */
+    @Override
+    public synchronized int get() {
+        return isValid() ? buffer.get(0) : 0;
+    }
+
+    @Nonnull
+    @Override
+    protected Number decode() {
+        return (int) buffer.get(0);
+    }
+
+    @Override
+    public int intValue() {
+        return get();
+    }
+
+    @Override
+    public long longValue() {
+        return (long) get();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) get();
+    }
+
+    @Override
+    public double doubleValue() {
+        return (double) get();
+    }
+}
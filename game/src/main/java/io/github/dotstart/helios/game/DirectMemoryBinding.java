@@ -20,41 +20,271 @@ import io.github.dotstart.helios.api.game.MemoryBindingType;
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 
-import java.util.ArrayList;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Binds a region of process memory which is sampled by the {@link MemoryPoller} of its process.
+ * <p>
+ * Listeners are only notified when the contents of the region actually change between two polls
+ * (or when the region becomes unreadable) and are invoked on the polling thread.
+ */
 public class DirectMemoryBinding<T> extends MemoryBinding<T> {
+    /**
+     * Defines the interval at which bindings are polled unless configured otherwise (60 Hz).
+     */
+    public static final long DEFAULT_POLL_INTERVAL = TimeUnit.SECONDS.toNanos(1) / 60;
+
     private RemoteGameProcess process;
     private boolean isValid;
     private List<InvalidationListener> invalidationListeners;
+    private List<ChangeListener<? super T>> changeListeners;
     private final Class<T> conversionType;
+    private volatile long pollInterval = DEFAULT_POLL_INTERVAL;
+
+    private T value;
+    private boolean decoded;
+
+    private final Object readLock = new Object();
+    private ByteBuffer scratch;
+    private ByteBuffer scratchView;
 
     protected DirectMemoryBinding(long offset, MemoryBindingType type, long length, long flags, RemoteGameProcess process, Class<T> clazz) {
+        this(offset, type, length, flags, process, clazz, true);
+    }
+
+    /**
+     * Creates a binding whose values are decoded by an implementation of {@link #decode()}.
+     */
+    protected DirectMemoryBinding(long offset, MemoryBindingType type, long length, long flags, RemoteGameProcess process) {
+        this(offset, type, length, flags, process, null, false);
+    }
+
+    private DirectMemoryBinding(long offset, MemoryBindingType type, long length, long flags, RemoteGameProcess process,
+                                Class<T> clazz, boolean primitive) {
         super(offset, type, length, flags, process.directAccessor);
         this.process = process;
-        this.invalidationListeners = new ArrayList<>();
+        this.invalidationListeners = new CopyOnWriteArrayList<>();
+        this.changeListeners = new CopyOnWriteArrayList<>();
         this.conversionType = clazz;
-        if (!conversionType.isPrimitive()) {
+        if (primitive && !conversionType.isPrimitive()) {
             throw new IllegalArgumentException("memory can only be bound to primitive types.");
         }
+        buffer.order(ByteOrder.nativeOrder());
     }
 
-    @Override
-    protected native void execute0();
+    /**
+     * @return the byte order in which multi-byte values are decoded
+     */
+    @Nonnull
+    public ByteOrder getByteOrder() {
+        return buffer.order();
+    }
+
+    /**
+     * Changes the byte order in which multi-byte values are decoded. Bindings default to the
+     * native byte order of the Helios process.
+     *
+     * @param order a byte order
+     */
+    public synchronized void setByteOrder(@Nonnull ByteOrder order) {
+        buffer.order(order);
+        decoded = false;
+    }
 
+    /**
+     * @return the interval at which this binding is polled (in nanoseconds)
+     */
+    @Nonnegative
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * Changes the rate at which this binding is polled. Bindings with the same interval are read
+     * together with a single scatter-gather read.
+     *
+     * @param interval the interval between two polls
+     * @param unit the unit of the interval
+     */
+    public void setPollInterval(@Nonnegative long interval, @Nonnull TimeUnit unit) {
+        long nanos = unit.toNanos(interval);
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive");
+        }
+        pollInterval = nanos;
+        process.invalidateLayout();
+    }
+
+    /**
+     * Publishes the current contents of the bound region. Listeners are only notified if the
+     * contents differ from those of the previous poll.
+     *
+     * @param contents a buffer whose remaining bytes contain the region
+     */
+    void update(ByteBuffer contents) {
+        T previous;
+        synchronized (this) {
+            if (isValid && buffer.equals(contents)) {
+                return;
+            }
+
+            previous = changeListeners.isEmpty() ? null : getValue();
+            buffer.clear();
+            buffer.put(contents);
+            buffer.flip();
+            isValid = true;
+            decoded = false;
+        }
+        fireValueChangedEvent(previous);
+    }
+
+    /**
+     * Reads the bound region on the calling thread and publishes its contents as if they had been
+     * polled. The region is read into a scratch buffer first as the binding buffer may only be
+     * replaced while holding the monitor of the binding.
+     *
+     * @return a read-only view of the scratch buffer or null if the region is not readable. The
+     * view is shared between calls and is overwritten by the next read.
+     */
     @Override
-    public void addListener(ChangeListener changeListener) {
+    @Nullable
+    public ByteBuffer readBuffer() {
+        if (!isReadable()) {
+            return null;
+        }
+
+        synchronized (readLock) {
+            if (scratch == null) {
+                scratch = ByteBuffer.allocateDirect(buffer.capacity());
+                scratchView = scratch.asReadOnlyBuffer();
+            }
+            reader.read(offset, scratch, 0, scratch.capacity());
+            update(scratch.clear());
+
+            scratchView.clear();
+            return scratchView.order(getByteOrder());
+        }
+    }
+
+    /**
+     * @return false if the region could not be read during the last poll, true otherwise
+     */
+    public boolean isValid() {
+        return isValid;
+    }
 
+    /**
+     * @return true if the binding permits reads, false otherwise
+     */
+    boolean isReadable() {
+        return (flags & PROT_READ) == PROT_READ;
     }
 
+    /**
+     * @return the buffer which holds the contents of the region as of the last poll
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Marks the bound region as unreadable (e.g. as it is not mapped by the process at the moment).
+     */
+    void invalidate() {
+        T previous;
+        synchronized (this) {
+            if (!isValid) {
+                return;
+            }
+
+            previous = changeListeners.isEmpty() ? null : getValue();
+            isValid = false;
+            decoded = false;
+        }
+        fireValueChangedEvent(previous);
+    }
+
+    private void fireValueChangedEvent(@Nullable T previous) {
+        for (InvalidationListener listener : invalidationListeners) {
+            listener.invalidated(this);
+        }
+
+        if (!changeListeners.isEmpty()) {
+            T current = getValue();
+            if (!Objects.equals(previous, current)) {
+                for (ChangeListener<? super T> listener : changeListeners) {
+                    listener.changed(this, previous, current);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes the contents of the bound region.
+     *
+     * @return the decoded value
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    protected T decode() {
+        Object result;
+        if (conversionType == byte.class) {
+            result = buffer.get(0);
+        } else if (conversionType == short.class) {
+            result = buffer.getShort(0);
+        } else if (conversionType == char.class) {
+            result = buffer.getChar(0);
+        } else if (conversionType == int.class) {
+            result = buffer.getInt(0);
+        } else if (conversionType == long.class) {
+            result = buffer.getLong(0);
+        } else if (conversionType == float.class) {
+            result = buffer.getFloat(0);
+        } else if (conversionType == double.class) {
+            result = buffer.getDouble(0);
+        } else if (conversionType == boolean.class) {
+            result = buffer.get(0) != 0;
+        } else {
+            throw new UnsupportedOperationException("Cannot decode memory as " + conversionType);
+        }
+        return (T) result;
+    }
+
+    @Override
+    protected native void execute0();
+
     @Override
-    public void removeListener(ChangeListener changeListener) {
+    public void addListener(ChangeListener<? super T> changeListener) {
+        changeListeners.add(changeListener);
+    }
 
+    @Override
+    public void removeListener(ChangeListener<? super T> changeListener) {
+        changeListeners.remove(changeListener);
     }
 
+    /**
+     * @return the value as of the last poll or null if the region could not be read
+     */
     @Override
-    public T getValue() {
-        return null;
+    @Nullable
+    public synchronized T getValue() {
+        if (!isValid) {
+            return null;
+        }
+        if (!decoded) {
+            value = decode();
+            decoded = true;
+        }
+        return value;
     }
 
     @Override
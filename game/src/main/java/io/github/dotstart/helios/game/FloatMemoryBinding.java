@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import io.github.dotstart.helios.api.game.MemoryBinding;
+import io.github.dotstart.helios.api.game.MemoryBindingType;
+import javafx.beans.value.ObservableFloatValue;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Binds a 32-bit floating point number without boxing its value on access.
+ */
+public class FloatMemoryBinding extends DirectMemoryBinding<Number> implements ObservableFloatValue {
+
+    FloatMemoryBinding(long offset, RemoteGameProcess process) {
+        super(offset, MemoryBindingType.DIRECT, Float.BYTES, MemoryBinding.PROT_READ | MemoryBinding.PROT_WRITE, process);
+    }
+
+    /**
+     * @return the value as of the last poll or zero if the region could not be read
+     */
+    @Override
+    public synchronized float get() {
+        return isValid() ? buffer.getFloat(0) : 0;
+    }
+
+    @Nonnull
+    @Override
+    protected Number decode() {
+        return buffer.getFloat(0);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) get();
+    }
+
+    @Override
+    public long longValue() {
+        return (long) get();
+    }
+
+    @Override
+    public float floatValue() {
+        return get();
+    }
+
+    @Override
+    public double doubleValue() {
+        return (double) get();
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Accesses the memory of a Linux process through <code>process_vm_readv(2)</code> and
+ * <code>process_vm_writev(2)</code>.
+ * <p>
+ * The system calls are bound through JNA direct mapping and copy straight into (or out of) direct
+ * buffers without any intermediate copies. Heap buffers, as well as systems on which the calls are
+ * unavailable or rejected (e.g. due to kernel or container restrictions), are served through a
+ * {@link FileChannel} on <code>/proc/[pid]/mem</code> instead. Both methods are subject to the
+ * ptrace access mode checks of the kernel (see <code>kernel.yama.ptrace_scope</code>).
+ */
+final class LinuxProcessMemory implements ProcessMemory {
+    private static final int EPERM = 1;
+    private static final int ESRCH = 3;
+    private static final int EFAULT = 14;
+    private static final int ENOSYS = 38;
+
+    private static final int IOVEC_SIZE = 2 * Native.POINTER_SIZE;
+
+    /**
+     * Defines the maximum amount of vectors which are accepted by a single system call.
+     */
+    private static final int IOV_MAX = 1024;
+
+    private static final boolean nativeAvailable;
+
+    static {
+        boolean available = false;
+        if (Native.POINTER_SIZE == 8) {
+            try {
+                Native.register("c");
+                available = true;
+            } catch (UnsatisfiedLinkError ignore) {
+                // fall back to /proc/[pid]/mem
+            }
+        }
+        nativeAvailable = available;
+    }
+
+    private final int pid;
+    private final long baseAddress;
+
+    private Memory iov = new Memory(2 * IOVEC_SIZE);
+    private boolean useSyscall = nativeAvailable;
+    private FileChannel channel;
+
+    private LinuxProcessMemory(int pid, long baseAddress) {
+        this.pid = pid;
+        this.baseAddress = baseAddress;
+    }
+
+    /**
+     * Opens the memory of a process.
+     *
+     * @param pid a process identifier
+     * @return an accessor for the process memory
+     * @throws IOException when the memory layout of the process cannot be determined
+     */
+    @Nonnull
+    static LinuxProcessMemory open(long pid) throws IOException {
+        String executable = Files.readSymbolicLink(MemoryMap.getProcPath(pid, "exe")).toString();
+        long baseAddress = MemoryMap.read(pid).findModuleBase(executable)
+                .orElseThrow(() -> new IOException("Cannot locate executable " + executable + " in memory of process " + pid));
+
+        return new LinuxProcessMemory((int) pid, baseAddress);
+    }
+
+    private static native long process_vm_readv(int pid, Pointer localIov, long localIovCount, Pointer remoteIov,
+                                                long remoteIovCount, long flags) throws LastErrorException;
+
+    private static native long process_vm_writev(int pid, Pointer localIov, long localIovCount, Pointer remoteIov,
+                                                 long remoteIovCount, long flags) throws LastErrorException;
+
+    @Override
+    public long getBaseAddress() {
+        return baseAddress;
+    }
+
+    @Override
+    public synchronized int read(long address, @Nonnull ByteBuffer target, int position, int length)
+            throws IOException {
+        if (useSyscall && target.isDirect()) {
+            try {
+                setVector(address, target, position, length);
+                return (int) process_vm_readv(pid, iov, 1, iov.share(IOVEC_SIZE), 1, 0);
+            } catch (LastErrorException ex) {
+                handleError(ex, address);
+            }
+        }
+
+        int previousPosition = target.position();
+        int previousLimit = target.limit();
+        try {
+            target.limit(position + length).position(position);
+            return Math.max(0, getChannel().read(target, address));
+        } finally {
+            target.limit(previousLimit).position(previousPosition);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All ranges are transferred with a single system call (or one call per {@link #IOV_MAX}
+     * ranges) when the target buffer is direct.
+     */
+    @Override
+    public synchronized long read(@Nonnull long[] addresses, @Nonnull int[] lengths, int index, int count,
+                                  @Nonnull ByteBuffer target, int position) throws IOException {
+        long transferred = 0;
+        while (useSyscall && target.isDirect() && count > 0) {
+            int batch = Math.min(count, IOV_MAX);
+            if (iov.size() < (batch + 1) * IOVEC_SIZE) {
+                iov = new Memory((IOV_MAX + 1) * IOVEC_SIZE);
+            }
+
+            int expected = 0;
+            for (int i = 0; i < batch; i++) {
+                long vector = (i + 1) * IOVEC_SIZE;
+                iov.setLong(vector, addresses[index + i]);
+                iov.setLong(vector + Native.POINTER_SIZE, lengths[index + i]);
+                expected += lengths[index + i];
+            }
+            setLocalVector(target, position + (int) transferred, expected);
+
+            long result;
+            try {
+                result = process_vm_readv(pid, iov, 1, iov.share(IOVEC_SIZE), batch, 0);
+            } catch (LastErrorException ex) {
+                if (ex.getErrorCode() == EFAULT) {
+                    return transferred; // the first range of the batch is not mapped
+                }
+                handleError(ex, addresses[index]);
+                break;
+            }
+
+            transferred += result;
+            if (result != expected) {
+                return transferred;
+            }
+            index += batch;
+            count -= batch;
+        }
+
+        if (count == 0) {
+            return transferred;
+        }
+        return transferred + ProcessMemory.super.read(addresses, lengths, index, count, target,
+                position + (int) transferred);
+    }
+
+    @Override
+    public synchronized int write(long address, @Nonnull ByteBuffer source, int position, int length)
+            throws IOException {
+        if (useSyscall && source.isDirect()) {
+            try {
+                setVector(address, source, position, length);
+                return (int) process_vm_writev(pid, iov, 1, iov.share(IOVEC_SIZE), 1, 0);
+            } catch (LastErrorException ex) {
+                handleError(ex, address);
+            }
+        }
+
+        int previousPosition = source.position();
+        int previousLimit = source.limit();
+        try {
+            source.limit(position + length).position(position);
+            return getChannel().write(source, address);
+        } finally {
+            source.limit(previousLimit).position(previousPosition);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Populates the local and remote vector with a section of a buffer.
+     */
+    private void setVector(long address, @Nonnull ByteBuffer buffer, int position, int length) {
+        setLocalVector(buffer, position, length);
+        iov.setLong(IOVEC_SIZE, address);
+        iov.setLong(IOVEC_SIZE + Native.POINTER_SIZE, length);
+    }
+
+    /**
+     * Populates the local vector with a section of a buffer.
+     */
+    private void setLocalVector(@Nonnull ByteBuffer buffer, int position, int length) {
+        if (position < 0 || length < 0 || position + length > buffer.capacity()) {
+            throw new IndexOutOfBoundsException("Cannot access " + length + " bytes at index " + position
+                    + " of buffer with capacity " + buffer.capacity());
+        }
+
+        iov.setLong(0, Pointer.nativeValue(Native.getDirectBufferPointer(buffer)) + position);
+        iov.setLong(Native.POINTER_SIZE, length);
+    }
+
+    /**
+     * Translates a failed system call into an exception or permanently switches to the
+     * <code>/proc/[pid]/mem</code> fallback when the call itself is unavailable.
+     */
+    private void handleError(@Nonnull LastErrorException ex, long address) throws IOException {
+        switch (ex.getErrorCode()) {
+            case EPERM:
+            case ENOSYS:
+                useSyscall = false;
+                return;
+            case ESRCH:
+                throw new IOException("Process " + pid + " has terminated", ex);
+            case EFAULT:
+                throw new IOException("Address 0x" + Long.toHexString(address) + " is not mapped in process " + pid, ex);
+            default:
+                throw new IOException("Cannot access memory of process " + pid, ex);
+        }
+    }
+
+    @Nonnull
+    private FileChannel getChannel() throws IOException {
+        if (channel == null) {
+            Path path = MemoryMap.getProcPath(pid, "mem");
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (AccessDeniedException ex) {
+                // some kernels only permit read access
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            }
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Represents the memory layout of a Linux process as exposed through <code>/proc/[pid]/maps</code>.
+ */
+public final class MemoryMap {
+    private final List<Region> regions;
+
+    private MemoryMap(List<Region> regions) {
+        this.regions = Collections.unmodifiableList(regions);
+    }
+
+    /**
+     * Reads the current memory layout of a process.
+     *
+     * @param pid a process identifier
+     * @return the memory map of the process
+     * @throws IOException when the map cannot be read (e.g. the process has terminated)
+     */
+    @Nonnull
+    public static MemoryMap read(long pid) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(getProcPath(pid, "maps"), StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses a memory map in the format of <code>/proc/[pid]/maps</code>.
+     *
+     * @param reader a reader which provides the map contents
+     * @return a memory map
+     * @throws IOException when reading fails
+     * @throws IllegalArgumentException when the map is malformed
+     */
+    @Nonnull
+    static MemoryMap parse(@Nonnull BufferedReader reader) throws IOException {
+        List<Region> regions = new ArrayList<>();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            // start-end perms offset dev inode [path]
+            String[] columns = line.trim().split("\\s+", 6);
+            int separator = columns[0].indexOf('-');
+            if (columns.length < 5 || separator == -1) {
+                throw new IllegalArgumentException("Malformed memory map entry: " + line);
+            }
+
+            try {
+                regions.add(new Region(
+                        Long.parseUnsignedLong(columns[0].substring(0, separator), 16),
+                        Long.parseUnsignedLong(columns[0].substring(separator + 1), 16),
+                        columns[1],
+                        Long.parseUnsignedLong(columns[2], 16),
+                        columns.length == 6 ? columns[5] : null));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Malformed memory map entry: " + line, ex);
+            }
+        }
+
+        return new MemoryMap(regions);
+    }
+
+    /**
+     * @param pid a process identifier
+     * @param name a file within the process directory
+     * @return the path to the file within <code>/proc</code>
+     */
+    @Nonnull
+    static Path getProcPath(long pid, @Nonnull String name) {
+        return Paths.get("/proc", Long.toString(pid), name);
+    }
+
+    /**
+     * @return all mapped regions in ascending order of their start address
+     */
+    @Nonnull
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    /**
+     * Locates the address at which a module (e.g. the game executable or one of its shared
+     * libraries) has been loaded.
+     *
+     * @param module the absolute path or file name of the module
+     * @return the lowest address at which the start of the module file has been mapped
+     */
+    @Nonnull
+    public OptionalLong findModuleBase(@Nonnull String module) {
+        boolean absolute = module.startsWith("/");
+        for (Region region : regions) {
+            if (region.path == null || region.offset != 0) {
+                continue;
+            }
+
+            String path = region.path;
+            if (!absolute) {
+                path = path.substring(path.lastIndexOf('/') + 1);
+            }
+            if (path.equals(module)) {
+                return OptionalLong.of(region.start);
+            }
+        }
+
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Represents a single contiguous mapping.
+     */
+    public static final class Region {
+        private final long start;
+        private final long end;
+        private final String permissions;
+        private final long offset;
+        private final String path;
+
+        Region(long start, long end, @Nonnull String permissions, long offset, @Nullable String path) {
+            this.start = start;
+            this.end = end;
+            this.permissions = permissions;
+            this.offset = offset;
+            this.path = path;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * @return the permission string of the mapping (e.g. <code>r-xp</code>)
+         */
+        @Nonnull
+        public String getPermissions() {
+            return permissions;
+        }
+
+        public boolean isReadable() {
+            return permissions.charAt(0) == 'r';
+        }
+
+        public boolean isWritable() {
+            return permissions.length() > 1 && permissions.charAt(1) == 'w';
+        }
+
+        /**
+         * @return the offset of the mapping within its backing file
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return the backing file or pseudo path (such as <code>[heap]</code>), if any
+         */
+        @Nullable
+        public String getPath() {
+            return path;
+        }
+
+        public boolean contains(long address) {
+            return Long.compareUnsigned(address, start) >= 0 && Long.compareUnsigned(address, end) < 0;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples the bindings of a process on a dedicated high priority thread.
+ * <p>
+ * Bindings are grouped by their poll interval. Every group is read with a single scatter-gather
+ * read whenever its deadline passes. Deadlines advance by a fixed interval so that polls do not
+ * drift. When the poller falls behind, it drops the missed polls instead of issuing them all at
+ * once.
+ */
+final class MemoryPoller {
+    private static final Logger logger = LogManager.getFormatterLogger(MemoryPoller.class);
+
+    private final RemoteGameProcess process;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private long layoutVersion = -1;
+    private Group[] groups = new Group[0];
+
+    MemoryPoller(@Nonnull RemoteGameProcess process) {
+        this.process = process;
+
+        thread = new Thread(this::run, "memory-poller-" + process.getHandle().pid());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Causes the poller to re-evaluate its schedule (e.g. after bindings have been added).
+     */
+    void wakeup() {
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (running) {
+            long version = process.getLayoutVersion();
+            if (version != layoutVersion) {
+                layoutVersion = version;
+                groups = createGroups();
+            }
+
+            long now = System.nanoTime();
+            long delay = Long.MAX_VALUE;
+            for (Group group : groups) {
+                if (now - group.deadline >= 0) {
+                    try {
+                        process.poll(group.snapshot);
+                    } catch (IOException ex) {
+                        logger.error("Cannot poll memory of process %d", process.getHandle().pid(), ex);
+                        process.onPollerTerminated(this);
+                        return;
+                    }
+
+                    group.deadline += group.interval;
+                    if (now - group.deadline >= 0) {
+                        group.deadline = now + group.interval;
+                    }
+                }
+                delay = Math.min(delay, group.deadline - now);
+            }
+
+            if (delay == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(this, delay);
+            }
+        }
+    }
+
+    @Nonnull
+    private Group[] createGroups() {
+        Map<Long, List<DirectMemoryBinding<?>>> intervals = new TreeMap<>();
+        for (DirectMemoryBinding<?> binding : process.getBindings()) {
+            intervals.computeIfAbsent(binding.getPollInterval(), (k) -> new ArrayList<>()).add(binding);
+        }
+
+        long now = System.nanoTime();
+        Group[] result = new Group[intervals.size()];
+        int i = 0;
+        for (Map.Entry<Long, List<DirectMemoryBinding<?>>> entry : intervals.entrySet()) {
+            result[i++] = new Group(entry.getKey(), new MemorySnapshot(process.getBaseAddress(), entry.getValue()), now);
+        }
+        return result;
+    }
+
+    /**
+     * Represents a set of bindings which share the same poll interval.
+     */
+    private static final class Group {
+        private final long interval;
+        private final MemorySnapshot snapshot;
+        private long deadline;
+
+        Group(long interval, @Nonnull MemorySnapshot snapshot, long deadline) {
+            this.interval = interval;
+            this.snapshot = snapshot;
+            this.deadline = deadline;
+        }
+    }
+}
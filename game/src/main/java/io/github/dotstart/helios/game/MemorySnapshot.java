@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Captures the memory regions of a fixed set of bindings with a single scatter-gather read.
+ * <p>
+ * Readable bindings are sorted by their offset and overlapping or adjacent regions are merged into
+ * contiguous ranges. All ranges are copied back to back into one direct buffer from which the
+ * contents of every binding are published after each poll.
+ */
+final class MemorySnapshot {
+    private final DirectMemoryBinding<?>[] bindings;
+    private final int[] bindingRanges;
+    private final int[] bindingPositions;
+
+    private final long[] addresses;
+    private final int[] lengths;
+    private final boolean[] valid;
+    private final int rangeCount;
+
+    private final ByteBuffer buffer;
+
+    MemorySnapshot(long baseAddress, @Nonnull Collection<? extends DirectMemoryBinding<?>> bindings) {
+        this.bindings = bindings.stream()
+                .filter(DirectMemoryBinding::isReadable)
+                .sorted(Comparator.comparingLong(DirectMemoryBinding::getOffset))
+                .toArray(DirectMemoryBinding<?>[]::new);
+
+        bindingRanges = new int[this.bindings.length];
+        bindingPositions = new int[this.bindings.length];
+        addresses = new long[this.bindings.length];
+        lengths = new int[this.bindings.length];
+        valid = new boolean[this.bindings.length];
+
+        int range = -1;
+        int position = 0;
+        long rangeEnd = 0;
+        for (int i = 0; i < this.bindings.length; i++) {
+            long start = baseAddress + this.bindings[i].getOffset();
+            long end = start + this.bindings[i].getLength();
+
+            if (range == -1 || start > rangeEnd) {
+                if (range != -1) {
+                    position += lengths[range];
+                }
+                range++;
+                addresses[range] = start;
+                rangeEnd = end;
+            } else {
+                rangeEnd = Math.max(rangeEnd, end);
+            }
+            lengths[range] = Math.toIntExact(rangeEnd - addresses[range]);
+
+            bindingRanges[i] = range;
+            bindingPositions[i] = position + (int) (start - addresses[range]);
+        }
+        rangeCount = range + 1;
+
+        buffer = ByteBuffer.allocateDirect(range == -1 ? 0 : position + lengths[range]);
+    }
+
+    /**
+     * @return the amount of contiguous ranges which are read per poll
+     */
+    int getRangeCount() {
+        return rangeCount;
+    }
+
+    /**
+     * @return the combined size of all ranges
+     */
+    int getSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Reads all ranges and publishes their contents to the bindings. Bindings which reside within
+     * a range that could not be read are invalidated instead.
+     *
+     * @param memory the memory of the bound process
+     * @throws IOException when the process can no longer be accessed
+     */
+    void poll(@Nonnull ProcessMemory memory) throws IOException {
+        int range = 0;
+        int position = 0;
+        while (range < rangeCount) {
+            long transferred = memory.read(addresses, lengths, range, rangeCount - range, buffer, position);
+            while (range < rangeCount && transferred >= lengths[range]) {
+                valid[range] = true;
+                transferred -= lengths[range];
+                position += lengths[range++];
+            }
+
+            // skip the range at which the transfer stopped and resume with the one following it
+            if (range < rangeCount) {
+                valid[range] = false;
+                position += lengths[range++];
+            }
+        }
+
+        for (int i = 0; i < bindings.length; i++) {
+            if (valid[bindingRanges[i]]) {
+                buffer.limit(bindingPositions[i] + (int) bindings[i].getLength()).position(bindingPositions[i]);
+                bindings[i].update(buffer);
+            } else {
+                bindings[i].invalidate();
+            }
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Provides platform specific access to the address space of a remote process.
+ */
+interface ProcessMemory extends Closeable {
+
+    /**
+     * @return the address at which the main executable of the process has been loaded
+     */
+    @Nonnegative
+    long getBaseAddress();
+
+    /**
+     * Copies remote memory into a section of a buffer. The position and limit of the buffer are
+     * left untouched.
+     *
+     * @param address an absolute address within the remote process
+     * @param target a target buffer
+     * @param position the index within the buffer at which the memory is placed
+     * @param length the amount of bytes to read
+     * @return the amount of bytes read (which may be less than requested when the range crosses
+     * into unmapped memory)
+     * @throws IOException when the memory cannot be read
+     */
+    int read(long address, @Nonnull ByteBuffer target, @Nonnegative int position, @Nonnegative int length)
+            throws IOException;
+
+    /**
+     * Copies a section of a buffer into remote memory. The position and limit of the buffer are
+     * left untouched.
+     *
+     * @param address an absolute address within the remote process
+     * @param source a source buffer
+     * @param position the index within the buffer at which the memory starts
+     * @param length the amount of bytes to write
+     * @return the amount of bytes written
+     * @throws IOException when the memory cannot be written
+     */
+    int write(long address, @Nonnull ByteBuffer source, @Nonnegative int position, @Nonnegative int length)
+            throws IOException;
+
+    /**
+     * Copies a list of remote memory ranges into consecutive sections of a buffer. The position
+     * and limit of the buffer are left untouched.
+     * <p>
+     * Transfers stop at the first range which cannot be read entirely, in which case the returned
+     * amount of bytes is less than the combined length of all ranges.
+     *
+     * @param addresses the absolute start addresses of all ranges
+     * @param lengths the lengths of all ranges
+     * @param index the index of the first range to read
+     * @param count the amount of ranges to read
+     * @param target a target buffer
+     * @param position the index within the buffer at which the first range is placed
+     * @return the amount of bytes read
+     * @throws IOException when the process can no longer be accessed
+     */
+    default long read(@Nonnull long[] addresses, @Nonnull int[] lengths, @Nonnegative int index,
+                      @Nonnegative int count, @Nonnull ByteBuffer target, @Nonnegative int position)
+            throws IOException {
+        long transferred = 0;
+        for (int i = index; i < index + count; i++) {
+            int result;
+            try {
+                result = read(addresses[i], target, position + (int) transferred, lengths[i]);
+            } catch (IOException ex) {
+                // unmapped memory cannot be told apart from other failures here
+                return transferred;
+            }
+
+            transferred += result;
+            if (result != lengths[i]) {
+                break;
+            }
+        }
+        return transferred;
+    }
+}
@@ -21,18 +21,50 @@ import io.github.dotstart.helios.api.game.MemoryBindingType;
 import io.github.dotstart.helios.api.game.MemoryReader;
 import io.github.dotstart.helios.api.game.MemoryWriter;
 
-public class RemoteGameProcess implements GameProcess {
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class RemoteGameProcess implements GameProcess, Closeable {
     private final ProcessHandle handle;
     private long process;
+    private final ProcessMemory memory;
+    private final ProcessMemory snapshotMemory;
+    private final Map<Long, DirectMemoryBinding<?>> bindings = new HashMap<>();
+    private MemorySnapshot snapshot;
+    private volatile long layoutVersion;
+    private MemoryPoller poller;
 
     DirectMemoryAccessor directAccessor;
 
     private static final boolean isWin32 = System.getProperty("os.name").toLowerCase().contains("windows");
 
-    public RemoteGameProcess(ProcessHandle handle) {
+    public RemoteGameProcess(ProcessHandle handle) throws IOException {
         this.handle = handle;
-        attach();
-        directAccessor = new DirectMemoryAccessor(process);
+        if (isWin32) {
+            attach();
+            memory = null;
+        } else {
+            memory = LinuxProcessMemory.open(handle.pid());
+        }
+        directAccessor = new DirectMemoryAccessor(process, memory);
+        snapshotMemory = memory != null ? memory : new AccessorMemory(directAccessor, process);
+    }
+
+    RemoteGameProcess(@Nonnull ProcessHandle handle, @Nonnull ProcessMemory memory) {
+        this.handle = handle;
+        this.memory = memory;
+        directAccessor = new DirectMemoryAccessor(process, memory);
+        snapshotMemory = memory;
     }
 
     @Override
@@ -45,18 +77,243 @@ public class RemoteGameProcess implements GameProcess {
         if (isWin32) {
             return process; // On windows the process handle pointer should be the same as the base address.
         } else {
-            throw new UnsupportedOperationException("I'd just like to interject for a moment");
+            return memory.getBaseAddress();
         }
     }
 
+    /**
+     * Returns an existing binding. New bindings cannot be created through this method as the
+     * length of the bound region is unknown.
+     *
+     * @see #getOrCreateBinding(long, long, Class)
+     */
     @Override
-    public <T> MemoryBinding<T> getOrCreateBinding(long offset, MemoryBindingType type) {
-        return null;
+    @SuppressWarnings("unchecked")
+    public synchronized <T> MemoryBinding<T> getOrCreateBinding(long offset, MemoryBindingType type) {
+        return (MemoryBinding<T>) bindings.get(offset);
+    }
+
+    /**
+     * Create a binding which is updated whenever the process is polled.
+     *
+     * @param offset memory offset, added to base address
+     * @param length the number of bound bytes
+     * @param type the primitive type to cast the memory to
+     * @param <T> the primitive box type to cast the memory to
+     * @return a new or reused memory binding
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T> DirectMemoryBinding<T> getOrCreateBinding(long offset, long length, @Nonnull Class<T> type) {
+        return getOrCreateBinding(offset, DirectMemoryBinding.class,
+                () -> new DirectMemoryBinding<>(offset, MemoryBindingType.DIRECT, length,
+                        MemoryBinding.PROT_READ | MemoryBinding.PROT_WRITE, this, type));
+    }
+
+    /**
+     * Create a binding to a signed 32-bit integer.
+     *
+     * @param offset memory offset, added to base address
+     * @return a new or reused memory binding
+     * @throws IllegalStateException when the offset is bound to a different type already
+     */
+    @Nonnull
+    public IntMemoryBinding getOrCreateIntBinding(long offset) {
+        return getOrCreateBinding(offset, IntMemoryBinding.class, () -> new IntMemoryBinding(offset, this));
+    }
+
+    /**
+     * Create a binding to a signed 64-bit integer.
+     *
+     * @param offset memory offset, added to base address
+     * @return a new or reused memory binding
+     * @throws IllegalStateException when the offset is bound to a different type already
+     */
+    @Nonnull
+    public LongMemoryBinding getOrCreateLongBinding(long offset) {
+        return getOrCreateBinding(offset, LongMemoryBinding.class, () -> new LongMemoryBinding(offset, this));
+    }
+
+    /**
+     * Create a binding to a 32-bit floating point number.
+     *
+     * @param offset memory offset, added to base address
+     * @return a new or reused memory binding
+     * @throws IllegalStateException when the offset is bound to a different type already
+     */
+    @Nonnull
+    public FloatMemoryBinding getOrCreateFloatBinding(long offset) {
+        return getOrCreateBinding(offset, FloatMemoryBinding.class, () -> new FloatMemoryBinding(offset, this));
+    }
+
+    /**
+     * Create a binding to a 64-bit floating point number.
+     *
+     * @param offset memory offset, added to base address
+     * @return a new or reused memory binding
+     * @throws IllegalStateException when the offset is bound to a different type already
+     */
+    @Nonnull
+    public DoubleMemoryBinding getOrCreateDoubleBinding(long offset) {
+        return getOrCreateBinding(offset, DoubleMemoryBinding.class, () -> new DoubleMemoryBinding(offset, this));
+    }
+
+    /**
+     * Create a binding to a single signed byte.
+     *
+     * @param offset memory offset, added to base address
+     * @return a new or reused memory binding
+     * @throws IllegalStateException when the offset is bound to a different type already
+     */
+    @Nonnull
+    public ByteMemoryBinding getOrCreateByteBinding(long offset) {
+        return getOrCreateBinding(offset, ByteMemoryBinding.class, () -> new ByteMemoryBinding(offset, this));
+    }
+
+    /**
+     * Create a binding to a fixed-length string.
+     *
+     * @param offset memory offset, added to base address
+     * @param length the maximum length of the string (in bytes)
+     * @param charset the charset in which the string is encoded
+     * @return a new or reused memory binding
+     * @throws IllegalStateException when the offset is bound to a different type already
+     */
+    @Nonnull
+    public StringMemoryBinding getOrCreateStringBinding(long offset, int length, @Nonnull Charset charset) {
+        return getOrCreateBinding(offset, StringMemoryBinding.class,
+                () -> new StringMemoryBinding(offset, length, charset, this));
+    }
+
+    @Nonnull
+    private synchronized <B extends DirectMemoryBinding<?>> B getOrCreateBinding(long offset, @Nonnull Class<B> type,
+                                                                              @Nonnull Supplier<B> factory) {
+        DirectMemoryBinding<?> binding = bindings.get(offset);
+        if (binding == null) {
+            binding = factory.get();
+            bindings.put(offset, binding);
+            invalidateLayout();
+        } else if (!type.isInstance(binding)) {
+            throw new IllegalStateException("Offset 0x" + Long.toHexString(offset) + " is already bound as "
+                    + binding.getClass().getSimpleName());
+        }
+        return type.cast(binding);
     }
 
     @Override
-    public boolean removeBinding(long offset) {
-        return false;
+    public synchronized boolean removeBinding(long offset) {
+        if (bindings.remove(offset) == null) {
+            return false;
+        }
+        invalidateLayout();
+        return true;
+    }
+
+    /**
+     * Reads the memory of all bindings at once regardless of their poll interval. On Linux, all
+     * bound regions are coalesced into as few ranges as possible and transferred with a single
+     * system call.
+     *
+     * @throws IOException when the process can no longer be accessed
+     */
+    public synchronized void poll() throws IOException {
+        if (snapshot == null) {
+            snapshot = new MemorySnapshot(getBaseAddress(), bindings.values());
+        }
+        poll(snapshot);
+    }
+
+    /**
+     * Reads the memory of a subset of bindings.
+     *
+     * @param snapshot a snapshot of the bindings
+     * @throws IOException when the process can no longer be accessed
+     */
+    synchronized void poll(@Nonnull MemorySnapshot snapshot) throws IOException {
+        snapshot.poll(snapshotMemory);
+    }
+
+    /**
+     * Starts sampling all bindings at their respective poll intervals on a dedicated thread.
+     */
+    public synchronized void startPolling() {
+        if (poller == null) {
+            poller = new MemoryPoller(this);
+            poller.start();
+        }
+    }
+
+    /**
+     * Stops sampling bindings.
+     */
+    public synchronized void stopPolling() {
+        if (poller != null) {
+            poller.stop();
+            poller = null;
+        }
+    }
+
+    /**
+     * @return true if bindings are currently sampled on a dedicated thread
+     */
+    public synchronized boolean isPolling() {
+        return poller != null;
+    }
+
+    /**
+     * Releases a poller which stopped after the process could no longer be accessed so that
+     * polling may be restarted.
+     *
+     * @param terminated the terminated poller
+     */
+    synchronized void onPollerTerminated(@Nonnull MemoryPoller terminated) {
+        if (poller == terminated) {
+            poller = null;
+        }
+        invalidateBindings();
+    }
+
+    /**
+     * @return a copy of all registered bindings
+     */
+    @Nonnull
+    synchronized List<DirectMemoryBinding<?>> getBindings() {
+        return new ArrayList<>(bindings.values());
+    }
+
+    /**
+     * @return a counter which is incremented whenever bindings are added, removed or rescheduled
+     */
+    long getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Notifies the poller about changes to the set of bindings or their poll intervals.
+     */
+    synchronized void invalidateLayout() {
+        snapshot = null;
+        layoutVersion++;
+        if (poller != null) {
+            poller.wakeup();
+        }
+    }
+
+    /**
+     * Marks all bindings as unreadable (e.g. after the process has terminated).
+     */
+    synchronized void invalidateBindings() {
+        for (DirectMemoryBinding<?> binding : bindings.values()) {
+            binding.invalidate();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopPolling();
+        if (memory != null) {
+            memory.close();
+        }
     }
 
     private native void attach();
@@ -64,15 +321,113 @@ public class RemoteGameProcess implements GameProcess {
 
     static class DirectMemoryAccessor implements MemoryReader, MemoryWriter {
         private long process;
+        private final ProcessMemory memory;
 
-        DirectMemoryAccessor(long process) {
+        DirectMemoryAccessor(long process, @Nullable ProcessMemory memory) {
             this.process = process;
+            this.memory = memory;
+        }
+
+        @Override
+        public byte[] read(long offset, long length) {
+            if (memory == null) {
+                return read0(offset, length);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(length));
+            read(offset, buffer, 0, buffer.capacity());
+            return buffer.array();
+        }
+
+        @Override
+        public int read(long offset, @Nonnull ByteBuffer target, int position, int length) {
+            if (memory == null) {
+                return MemoryReader.super.read(offset, target, position, length);
+            }
+
+            try {
+                int transferred = 0;
+                while (transferred < length) {
+                    int result = memory.read(memory.getBaseAddress() + offset + transferred, target,
+                            position + transferred, length - transferred);
+                    if (result <= 0) {
+                        throw new IOException("Cannot read past end of mapping");
+                    }
+                    transferred += result;
+                }
+                return transferred;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to read memory at offset 0x" + Long.toHexString(offset), ex);
+            }
+        }
+
+        @Override
+        public byte[] write(long offset, byte[] value) {
+            if (memory == null) {
+                return write0(offset, value);
+            }
+
+            write(offset, ByteBuffer.wrap(value), 0, value.length);
+            return read(offset, value.length);
         }
 
         @Override
-        public native byte[] read(long offset, long length);
+        public int write(long offset, @Nonnull ByteBuffer source, int position, int length) {
+            if (memory == null) {
+                return MemoryWriter.super.write(offset, source, position, length);
+            }
+
+            try {
+                int transferred = 0;
+                while (transferred < length) {
+                    int result = memory.write(memory.getBaseAddress() + offset + transferred, source,
+                            position + transferred, length - transferred);
+                    if (result <= 0) {
+                        throw new IOException("Cannot write past end of mapping");
+                    }
+                    transferred += result;
+                }
+                return transferred;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to write memory at offset 0x" + Long.toHexString(offset), ex);
+            }
+        }
+
+        private native byte[] read0(long offset, long length);
+
+        private native byte[] write0(long offset, byte[] value);
+    }
+
+    /**
+     * Exposes the accessor natives to snapshots on platforms without a {@link ProcessMemory}
+     * implementation.
+     */
+    private static final class AccessorMemory implements ProcessMemory {
+        private final DirectMemoryAccessor accessor;
+        private final long baseAddress;
+
+        AccessorMemory(DirectMemoryAccessor accessor, long baseAddress) {
+            this.accessor = accessor;
+            this.baseAddress = baseAddress;
+        }
 
         @Override
-        public native byte[] write(long offset, byte[] value);
+        public long getBaseAddress() {
+            return baseAddress;
+        }
+
+        @Override
+        public int read(long address, @Nonnull ByteBuffer target, int position, int length) {
+            return accessor.read(address - baseAddress, target, position, length);
+        }
+
+        @Override
+        public int write(long address, @Nonnull ByteBuffer source, int position, int length) {
+            return accessor.write(address - baseAddress, source, position, length);
+        }
+
+        @Override
+        public void close() {
+        }
     }
 }
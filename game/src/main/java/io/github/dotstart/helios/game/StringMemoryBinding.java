@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import io.github.dotstart.helios.api.game.MemoryBinding;
+import io.github.dotstart.helios.api.game.MemoryBindingType;
+import javafx.beans.value.ObservableStringValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Binds a fixed-length character array. The value ends at the first NUL character (if any).
+ * <p>
+ * Strings are decoded once per change of the underlying memory and cached until the next change.
+ */
+public class StringMemoryBinding extends DirectMemoryBinding<String> implements ObservableStringValue {
+    private final Charset charset;
+    private final int unitSize;
+
+    StringMemoryBinding(long offset, @Nonnegative int length, @Nonnull Charset charset, RemoteGameProcess process) {
+        super(offset, MemoryBindingType.DIRECT, length, MemoryBinding.PROT_READ | MemoryBinding.PROT_WRITE, process);
+        this.charset = charset;
+
+        // UTF-16 and UTF-32 terminate with a NUL code unit rather than a single NUL byte
+        String name = charset.name();
+        this.unitSize = name.startsWith("UTF-32") ? 4 : name.startsWith("UTF-16") ? 2 : 1;
+    }
+
+    /**
+     * @return the charset in which the string is encoded
+     */
+    @Nonnull
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public String get() {
+        return getValue();
+    }
+
+    @Nonnull
+    @Override
+    protected String decode() {
+        int end = 0;
+        while (end + unitSize <= buffer.limit() && !isTerminator(end)) {
+            end += unitSize;
+        }
+
+        ByteBuffer contents = buffer.duplicate();
+        contents.position(0).limit(end);
+        return charset.decode(contents).toString();
+    }
+
+    private boolean isTerminator(int index) {
+        for (int i = index; i < index + unitSize; i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
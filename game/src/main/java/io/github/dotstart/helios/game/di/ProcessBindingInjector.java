@@ -17,12 +17,17 @@ package io.github.dotstart.helios.game.di;
 
 import com.google.inject.MembersInjector;
 import io.github.dotstart.helios.game.RemoteGameProcess;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 public class ProcessBindingInjector<T> implements MembersInjector<T> {
+    private static final Logger logger = LogManager.getFormatterLogger(ProcessBindingInjector.class);
+
     private final Field field;
     private final Pattern regex;
 
@@ -42,8 +47,10 @@ public class ProcessBindingInjector<T> implements MembersInjector<T> {
             } else {
                 field.set(instance, null);
             }
+        } catch (IOException e) {
+            logger.error("Cannot attach to process %d", handle.get().pid(), e);
         } catch (ReflectiveOperationException e) {
-            e.printStackTrace(); // TODO logger
+            logger.error("Cannot inject process into field %s", field, e);
         }
     }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Evaluates the change detection of memory bindings.
+ */
+public class DirectMemoryBindingTest {
+
+    @Test
+    public void testChangeDetection() throws IOException {
+        Assumptions.assumeFalse(System.getProperty("os.name").toLowerCase().contains("windows"));
+
+        try (RemoteGameProcess process = new RemoteGameProcess(ProcessHandle.current())) {
+            DirectMemoryBinding<Short> binding = process.getOrCreateBinding(0x1fe, 2, short.class);
+            MemorySnapshot snapshot = new MemorySnapshot(FakeProcessMemory.BASE_ADDRESS, List.of(binding));
+            FakeProcessMemory memory = new FakeProcessMemory();
+
+            int[] invalidations = new int[1];
+            List<Short> changes = new ArrayList<>();
+            binding.addListener((observable) -> invalidations[0]++);
+            binding.addListener((observable, previous, current) -> changes.add(current));
+
+            // the region starts within unmapped memory
+            snapshot.poll(memory);
+            Assertions.assertFalse(binding.isValid());
+            Assertions.assertNull(binding.getValue());
+            Assertions.assertEquals(0, invalidations[0]);
+
+            process.removeBinding(0x1fe);
+            binding = process.getOrCreateBinding(0x200, 2, short.class);
+            binding.addListener((observable) -> invalidations[0]++);
+            binding.addListener((observable, previous, current) -> changes.add(current));
+            snapshot = new MemorySnapshot(FakeProcessMemory.BASE_ADDRESS, List.of(binding));
+
+            snapshot.poll(memory);
+            short expected = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? (short) 0x0100 : (short) 0x0001;
+            Assertions.assertEquals(expected, (short) binding.getValue());
+            Assertions.assertEquals(1, invalidations[0]);
+            Assertions.assertEquals(List.of(expected), changes);
+
+            snapshot.poll(memory);
+            snapshot.poll(memory);
+            Assertions.assertEquals(1, invalidations[0]);
+
+            memory.set(0x200, (byte) 0x02);
+            memory.set(0x201, (byte) 0x02);
+            snapshot.poll(memory);
+            Assertions.assertEquals((short) 0x0202, (short) binding.getValue());
+            Assertions.assertEquals(2, invalidations[0]);
+            Assertions.assertEquals(List.of(expected, (short) 0x0202), changes);
+        }
+    }
+
+    @Test
+    public void testPollInterval() throws IOException {
+        Assumptions.assumeFalse(System.getProperty("os.name").toLowerCase().contains("windows"));
+
+        try (RemoteGameProcess process = new RemoteGameProcess(ProcessHandle.current())) {
+            DirectMemoryBinding<Integer> binding = process.getOrCreateBinding(0, 4, int.class);
+            Assertions.assertEquals(DirectMemoryBinding.DEFAULT_POLL_INTERVAL, binding.getPollInterval());
+
+            long version = process.getLayoutVersion();
+            binding.setPollInterval(5, TimeUnit.MILLISECONDS);
+            Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(5), binding.getPollInterval());
+            Assertions.assertNotEquals(version, process.getLayoutVersion());
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> binding.setPollInterval(0, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testTypedBindings() throws IOException {
+        Assumptions.assumeFalse(System.getProperty("os.name").toLowerCase().contains("windows"));
+
+        try (RemoteGameProcess process = new RemoteGameProcess(ProcessHandle.current())) {
+            IntMemoryBinding intBinding = process.getOrCreateIntBinding(0x200);
+            intBinding.setByteOrder(ByteOrder.BIG_ENDIAN);
+            LongMemoryBinding longBinding = process.getOrCreateLongBinding(0x208);
+            longBinding.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+            FloatMemoryBinding floatBinding = process.getOrCreateFloatBinding(0x210);
+            floatBinding.setByteOrder(ByteOrder.BIG_ENDIAN);
+            DoubleMemoryBinding doubleBinding = process.getOrCreateDoubleBinding(0x218);
+            doubleBinding.setByteOrder(ByteOrder.BIG_ENDIAN);
+            ByteMemoryBinding byteBinding = process.getOrCreateByteBinding(0x2ff);
+            StringMemoryBinding stringBinding = process.getOrCreateStringBinding(0x300, 8, StandardCharsets.US_ASCII);
+
+            Assertions.assertSame(intBinding, process.getOrCreateIntBinding(0x200));
+            Assertions.assertThrows(IllegalStateException.class, () -> process.getOrCreateLongBinding(0x200));
+
+            Assertions.assertEquals(0, intBinding.get());
+            Assertions.assertNull(stringBinding.get());
+
+            FakeProcessMemory memory = new FakeProcessMemory();
+            writeFloat(memory, 0x210, 1.5f);
+            writeDouble(memory, 0x218, -0.25);
+            byte[] text = "Helios\0!".getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < text.length; i++) {
+                memory.set(0x300 + i, text[i]);
+            }
+
+            MemorySnapshot snapshot = new MemorySnapshot(FakeProcessMemory.BASE_ADDRESS, process.getBindings());
+            Assertions.assertEquals(4, snapshot.getRangeCount());
+            Assertions.assertEquals(4 + 12 + 8 + 9, snapshot.getSize());
+            snapshot.poll(memory);
+
+            Assertions.assertEquals(0x00010203, intBinding.get());
+            Assertions.assertEquals(0x00010203, intBinding.getValue());
+            Assertions.assertEquals(0x0f0e0d0c0b0a0908L, longBinding.get());
+            Assertions.assertEquals(1.5f, floatBinding.get());
+            Assertions.assertEquals(-0.25, doubleBinding.get());
+            Assertions.assertEquals(-1, byteBinding.get());
+            Assertions.assertEquals(-1, byteBinding.getValue());
+            Assertions.assertEquals("Helios", stringBinding.get());
+
+            intBinding.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+            Assertions.assertEquals(0x03020100, intBinding.get());
+            Assertions.assertEquals(0x03020100, intBinding.getValue());
+        }
+    }
+
+    @Test
+    public void testReadBuffer() throws IOException {
+        FakeProcessMemory memory = new FakeProcessMemory();
+
+        try (RemoteGameProcess process = new RemoteGameProcess(ProcessHandle.current(), memory)) {
+            IntMemoryBinding binding = process.getOrCreateIntBinding(0x200);
+            binding.setByteOrder(ByteOrder.BIG_ENDIAN);
+            List<Number> changes = new ArrayList<>();
+            binding.addListener((observable, previous, current) -> changes.add(current));
+
+            // direct reads are published like polls and report the byte order of the binding
+            ByteBuffer contents = binding.readBuffer();
+            Assertions.assertEquals(ByteOrder.BIG_ENDIAN, contents.order());
+            Assertions.assertEquals(0x00010203, contents.getInt(0));
+            Assertions.assertEquals(0x00010203, binding.get());
+            Assertions.assertEquals(List.of(0x00010203), changes);
+
+            memory.set(0x200, (byte) 0x04);
+            MemorySnapshot snapshot = new MemorySnapshot(FakeProcessMemory.BASE_ADDRESS, List.of(binding));
+            snapshot.poll(memory);
+            Assertions.assertEquals(List.of(0x00010203, 0x04010203), changes);
+
+            binding.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+            contents = binding.readBuffer();
+            Assertions.assertEquals(0x03020104, contents.getInt(0));
+            Assertions.assertEquals(2, changes.size());
+        }
+    }
+
+    @Test
+    public void testPollerTermination() throws IOException, InterruptedException {
+        FakeProcessMemory memory = new FakeProcessMemory();
+
+        try (RemoteGameProcess process = new RemoteGameProcess(ProcessHandle.current(), memory)) {
+            IntMemoryBinding binding = process.getOrCreateIntBinding(0x200);
+            binding.setPollInterval(1, TimeUnit.MILLISECONDS);
+
+            process.startPolling();
+            awaitCondition(binding::isValid);
+            Assertions.assertTrue(process.isPolling());
+
+            // the poller stops once the process can no longer be read
+            memory.terminated = true;
+            awaitCondition(() -> !process.isPolling());
+            Assertions.assertFalse(binding.isValid());
+
+            // and may be restarted afterwards
+            memory.terminated = false;
+            process.startPolling();
+            Assertions.assertTrue(process.isPolling());
+            awaitCondition(binding::isValid);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() - deadline < 0, "Condition has not been met in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void writeFloat(FakeProcessMemory memory, int offset, float value) {
+        int bits = Float.floatToIntBits(value);
+        for (int i = 0; i < Float.BYTES; i++) {
+            memory.set(offset + i, (byte) (bits >>> (24 - 8 * i)));
+        }
+    }
+
+    private static void writeDouble(FakeProcessMemory memory, int offset, double value) {
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < Double.BYTES; i++) {
+            memory.set(offset + i, (byte) (bits >>> (56 - 8 * i)));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Simulates the memory of a process in which every byte initially holds the lower bits of its
+ * offset and memory at <code>0x100</code> through <code>0x1ff</code> is not mapped.
+ */
+final class FakeProcessMemory implements ProcessMemory {
+    static final long BASE_ADDRESS = 0x1000;
+
+    private final byte[] contents = new byte[0x400];
+    int calls;
+    volatile boolean terminated;
+
+    FakeProcessMemory() {
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) i;
+        }
+    }
+
+    void set(int offset, byte value) {
+        contents[offset] = value;
+    }
+
+    @Override
+    public long getBaseAddress() {
+        return BASE_ADDRESS;
+    }
+
+    @Override
+    public int read(long address, @Nonnull ByteBuffer target, int position, int length) throws IOException {
+        int offset = (int) (address - BASE_ADDRESS);
+        if (offset >= 0x100 && offset < 0x200) {
+            throw new IOException("Input/output error");
+        }
+        for (int i = 0; i < length; i++) {
+            target.put(position + i, contents[offset + i]);
+        }
+        return length;
+    }
+
+    @Override
+    public long read(@Nonnull long[] addresses, @Nonnull int[] lengths, int index, int count,
+                     @Nonnull ByteBuffer target, int position) throws IOException {
+        calls++;
+        if (terminated) {
+            throw new IOException("No such process");
+        }
+        return ProcessMemory.super.read(addresses, lengths, index, count, target, position);
+    }
+
+    @Override
+    public int write(long address, @Nonnull ByteBuffer source, int position, int length) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Evaluates the parsing of <code>/proc/[pid]/maps</code> tables.
+ */
+public class MemoryMapTest {
+    private static final String MAPS = ""
+            + "55d1c4a00000-55d1c4a2c000 r--p 00000000 fd:01 1835092                    /usr/games/game\n"
+            + "55d1c4a2c000-55d1c4b10000 r-xp 0002c000 fd:01 1835092                    /usr/games/game\n"
+            + "55d1c6200000-55d1c6221000 rw-p 00000000 00:00 0                          [heap]\n"
+            + "7f3a10000000-7f3a10028000 r--p 00000000 fd:01 1310985                    /usr/lib/libc.so.6\n"
+            + "7f3a10400000-7f3a10401000 rw-p 00000000 00:00 0 \n"
+            + "ffffffffff600000-ffffffffff601000 --xp 00000000 00:00 0                  [vsyscall]\n";
+
+    private static MemoryMap parse(String contents) throws IOException {
+        return MemoryMap.parse(new BufferedReader(new StringReader(contents)));
+    }
+
+    @Test
+    public void testParse() throws IOException {
+        MemoryMap map = parse(MAPS);
+        Assertions.assertEquals(6, map.getRegions().size());
+
+        MemoryMap.Region text = map.getRegions().get(1);
+        Assertions.assertEquals(0x55d1c4a2c000L, text.getStart());
+        Assertions.assertEquals(0x55d1c4b10000L, text.getEnd());
+        Assertions.assertEquals(0x2c000L, text.getOffset());
+        Assertions.assertEquals("/usr/games/game", text.getPath());
+        Assertions.assertTrue(text.isReadable());
+        Assertions.assertFalse(text.isWritable());
+        Assertions.assertTrue(text.contains(0x55d1c4a2c000L));
+        Assertions.assertFalse(text.contains(0x55d1c4b10000L));
+
+        Assertions.assertNull(map.getRegions().get(4).getPath());
+        Assertions.assertEquals(0xffffffffff600000L, map.getRegions().get(5).getStart());
+    }
+
+    @Test
+    public void testFindModuleBase() throws IOException {
+        MemoryMap map = parse(MAPS);
+        Assertions.assertEquals(0x55d1c4a00000L, map.findModuleBase("/usr/games/game").getAsLong());
+        Assertions.assertEquals(0x7f3a10000000L, map.findModuleBase("libc.so.6").getAsLong());
+        Assertions.assertFalse(map.findModuleBase("/usr/lib/libc.so.6.1").isPresent());
+    }
+
+    @Test
+    public void testMalformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse("55d1c4a00000 r--p\n"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> parse("55d1c4a00000-zzzz r--p 00000000 fd:01 1835092\n"));
+    }
+}
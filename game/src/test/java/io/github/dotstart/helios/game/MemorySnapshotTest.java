@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Hex <hex@hex.lc>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Evaluates the coalescing and publishing of scatter-gather memory reads.
+ */
+public class MemorySnapshotTest {
+    @Test
+    public void testPoll() throws IOException {
+        Assumptions.assumeFalse(System.getProperty("os.name").toLowerCase().contains("windows"));
+
+        try (RemoteGameProcess process = new RemoteGameProcess(ProcessHandle.current())) {
+            DirectMemoryBinding<Integer> first = process.getOrCreateBinding(0, 4, int.class);
+            DirectMemoryBinding<Integer> second = process.getOrCreateBinding(4, 4, int.class);
+            DirectMemoryBinding<Integer> overlapping = process.getOrCreateBinding(2, 4, int.class);
+            DirectMemoryBinding<Long> separate = process.getOrCreateBinding(16, 8, long.class);
+            DirectMemoryBinding<Short> unmapped = process.getOrCreateBinding(0x100, 2, short.class);
+            DirectMemoryBinding<Byte> last = process.getOrCreateBinding(0x200, 1, byte.class);
+
+            MemorySnapshot snapshot = new MemorySnapshot(FakeProcessMemory.BASE_ADDRESS,
+                    List.of(last, unmapped, separate, overlapping, second, first));
+            Assertions.assertEquals(4, snapshot.getRangeCount());
+            Assertions.assertEquals(8 + 8 + 2 + 1, snapshot.getSize());
+
+            FakeProcessMemory memory = new FakeProcessMemory();
+            snapshot.poll(memory);
+            Assertions.assertEquals(2, memory.calls); // resumed once past the unmapped range
+
+            assertContents(first, 0, 4);
+            assertContents(second, 4, 4);
+            assertContents(overlapping, 2, 4);
+            assertContents(separate, 16, 8);
+            Assertions.assertFalse(unmapped.isValid());
+            assertContents(last, 0x200, 1);
+        }
+    }
+
+    private static void assertContents(DirectMemoryBinding<?> binding, int offset, int length) {
+        Assertions.assertTrue(binding.isValid());
+
+        ByteBuffer buffer = binding.getBuffer();
+        Assertions.assertEquals(length, buffer.remaining());
+        for (int i = 0; i < length; i++) {
+            Assertions.assertEquals((byte) (offset + i), buffer.get(i));
+        }
+    }
+}
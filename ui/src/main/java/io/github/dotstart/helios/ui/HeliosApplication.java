@@ -19,16 +19,27 @@ package io.github.dotstart.helios.ui;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.time.journal.AttemptJournal;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.utility.PlatformUtility;
 import io.github.dotstart.helios.di.provider.FXMLLoaderProvider;
+import io.github.dotstart.helios.ui.input.GlobalHotkeySource;
+import io.github.dotstart.helios.ui.input.SceneHotkeySource;
 import io.github.dotstart.helios.ui.module.ModuleManager;
 import io.github.dotstart.helios.ui.theme.ThemeManager;
 import io.github.dotstart.helios.ui.utility.WindowUtility;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.EnumSet;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javafx.application.Application;
 import javafx.application.ConditionalFeature;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.fxml.FXMLLoader;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -47,8 +58,12 @@ public class HeliosApplication extends Application {
   private static final Logger logger = LogManager.getFormatterLogger(HeliosApplication.class);
 
   private final Injector injector;
+  private AttemptJournal journal;
 
   public HeliosApplication() {
+    // the toolkit is started before the application is constructed
+    PlatformUtility.setToolkitRunning(true);
+
     this.injector = Guice.createInjector((binder) -> {
       binder.bind(HeliosApplication.class).toInstance(this);
 
@@ -111,9 +126,14 @@ public class HeliosApplication extends Application {
 
     printCapabilities();
     this.injector.getInstance(ModuleManager.class).initializeModules();
+    this.openJournal();
 
     var scene = WindowUtility.createScene(this.injector, "/fxml/MainWindow.fxml");
     this.injector.getInstance(ThemeManager.class).hookScene(scene);
+    if (!this.injector.getInstance(GlobalHotkeySource.class).start()) {
+      logger.info("Falling back to hotkeys which require the main window to be focused");
+      this.injector.getInstance(SceneHotkeySource.class).hookScene(scene);
+    }
 
     var transparencyAvailable = Platform.isSupported(ConditionalFeature.TRANSPARENT_WINDOW);
     primaryStage.initStyle(transparencyAvailable ? StageStyle.TRANSPARENT : StageStyle.UNDECORATED);
@@ -121,6 +141,61 @@ public class HeliosApplication extends Application {
     primaryStage.show();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void stop() throws Exception {
+    this.injector.getInstance(GlobalHotkeySource.class).stop();
+
+    if (this.journal != null) {
+      this.journal.close();
+    }
+    this.injector.getInstance(TimeManager.class).close();
+
+    PlatformUtility.setToolkitRunning(false);
+  }
+
+  /**
+   * <p>Opens the attempt journal and attaches it to the time manager.</p>
+   *
+   * <p>When the journal contains an interrupted attempt, it is archived within the first timeline
+   * which contains the recorded segments.</p>
+   */
+  private void openJournal() {
+    var path = Paths.get(System.getProperty("io.github.dotstart.helios.ui.journal",
+        Paths.get(System.getProperty("user.home"), ".helios", "attempt.journal").toString()));
+
+    try {
+      Files.createDirectories(path.toAbsolutePath().getParent());
+      this.journal = AttemptJournal.open(path);
+    } catch (IOException ex) {
+      logger.error("Failed to open attempt journal at " + path
+          + " - Attempts will not be recovered after a crash", ex);
+      return;
+    }
+
+    var timeManager = this.injector.getInstance(TimeManager.class);
+    timeManager.addTimelineListener(this.journal);
+
+    if (!this.journal.isRecoveryPending()) {
+      return;
+    }
+
+    logger.warn("Previous attempt has been interrupted - Splits will be recovered when loaded");
+    timeManager.timelineProperty().addListener(new ChangeListener<>() {
+      @Override
+      public void changed(ObservableValue<? extends Timeline> observable, Timeline oldValue,
+          Timeline newValue) {
+        var applied = HeliosApplication.this.journal.applyRecoveredAttempt(newValue);
+        if (applied != 0) {
+          logger.info("Recovered %d splits from interrupted attempt", applied);
+          observable.removeListener(this);
+        }
+      }
+    });
+  }
+
   /**
    * Writes all available JavaFX conditional features to the log.
    */
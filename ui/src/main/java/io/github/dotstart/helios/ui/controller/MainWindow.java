@@ -24,8 +24,15 @@ import io.github.dotstart.helios.api.layout.TimerLayout;
 import io.github.dotstart.helios.api.node.layout.SwitchLayout;
 import io.github.dotstart.helios.api.time.TimeManager;
 import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.TimerSlots;
+import io.github.dotstart.helios.api.time.split.CsvExporter;
+import io.github.dotstart.helios.api.time.split.LiveSplitExporter;
+import io.github.dotstart.helios.api.time.split.LiveSplitImporter;
+import io.github.dotstart.helios.api.time.split.SplitFile;
+import io.github.dotstart.helios.api.time.split.Timeline;
 import io.github.dotstart.helios.ui.module.component.TimerComponent;
 import io.github.dotstart.helios.ui.utility.WindowUtility;
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.net.URL;
@@ -41,6 +48,8 @@ import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuItem;
 import javafx.scene.input.MouseButton;
+import javafx.stage.FileChooser;
+import javafx.stage.FileChooser.ExtensionFilter;
 import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -54,6 +63,9 @@ import org.apache.logging.log4j.Logger;
 public class MainWindow implements Initializable {
 
   private static final Logger logger = LogManager.getFormatterLogger(MainWindow.class);
+  private static final String SPLIT_FILE_PATTERN = "*.hsplits";
+  private static final String LIVESPLIT_FILE_PATTERN = "*.lss";
+  private static final String CSV_FILE_PATTERN = "*.csv";
 
   private final Provider<FXMLLoader> fxmlLoaderProvider;
   private final TimeManager timeManager;
@@ -164,15 +176,39 @@ public class MainWindow implements Initializable {
     menu.getItems().add(subMenu);
 
     item = new MenuItem("Open File ...");
-    item.setDisable(true); // TODO
+    item.setOnAction(event -> this.onOpenSplits());
+    item.disableProperty().bind(Bindings.createBooleanBinding(
+        () -> state.get() == State.RUNNING || state.get() == State.PAUSED,
+        state
+    ));
+    subMenu.getItems().add(item);
+
+    item = new MenuItem("Import from LiveSplit ...");
+    item.setOnAction(event -> this.onImportSplits());
+    item.disableProperty().bind(Bindings.createBooleanBinding(
+        () -> state.get() == State.RUNNING || state.get() == State.PAUSED,
+        state
+    ));
     subMenu.getItems().add(item);
 
     item = new MenuItem("Save to File ...");
-    item.setDisable(true); // TODO
+    item.setOnAction(event -> this.onSaveSplits());
+    subMenu.getItems().add(item);
+
+    item = new MenuItem("Export to LiveSplit ...");
+    item.setOnAction(event -> this.onExportSplits());
+    subMenu.getItems().add(item);
+
+    item = new MenuItem("Export History as CSV ...");
+    item.setOnAction(event -> this.onExportHistory());
     subMenu.getItems().add(item);
 
     item = new MenuItem("Close");
-    item.setDisable(true); // TODO
+    item.setOnAction(event -> this.timeManager.setTimeline(new Timeline()));
+    item.disableProperty().bind(Bindings.createBooleanBinding(
+        () -> state.get() == State.RUNNING || state.get() == State.PAUSED,
+        state
+    ));
     subMenu.getItems().add(item);
 
     // === Layout Menu ===
@@ -240,6 +276,107 @@ public class MainWindow implements Initializable {
     return layout;
   }
 
+  /**
+   * Creates a file chooser which is restricted to split files.
+   *
+   * @param title a window title.
+   * @return a file chooser.
+   */
+  @NonNull
+  private FileChooser createSplitFileChooser(@NonNull String title) {
+    var chooser = new FileChooser();
+    chooser.setTitle(title);
+    chooser.getExtensionFilters().add(new ExtensionFilter("Helios Splits", SPLIT_FILE_PATTERN));
+    return chooser;
+  }
+
+  private void onOpenSplits() {
+    var file = this.createSplitFileChooser("Open Splits")
+        .showOpenDialog(this.componentPane.getScene().getWindow());
+    if (file == null) {
+      return;
+    }
+
+    try {
+      this.timeManager.setTimeline(SplitFile.load(file.toPath()));
+      logger.info("Loaded splits from %s", file);
+    } catch (IOException | IllegalArgumentException ex) {
+      logger.error("Failed to load splits from " + file, ex);
+    }
+  }
+
+  private void onImportSplits() {
+    var chooser = new FileChooser();
+    chooser.setTitle("Import LiveSplit Splits");
+    chooser.getExtensionFilters()
+        .add(new ExtensionFilter("LiveSplit Splits", LIVESPLIT_FILE_PATTERN));
+
+    var file = chooser.showOpenDialog(this.componentPane.getScene().getWindow());
+    if (file == null) {
+      return;
+    }
+
+    try {
+      this.timeManager.setTimeline(LiveSplitImporter.load(file.toPath()));
+      logger.info("Imported LiveSplit splits from %s", file);
+    } catch (IOException | IllegalArgumentException ex) {
+      logger.error("Failed to import LiveSplit splits from " + file, ex);
+    }
+  }
+
+  private void onSaveSplits() {
+    var file = this.createSplitFileChooser("Save Splits")
+        .showSaveDialog(this.componentPane.getScene().getWindow());
+    if (file == null) {
+      return;
+    }
+
+    try {
+      SplitFile.save(file.toPath(), this.timeManager.getTimeline());
+      logger.info("Saved splits to %s", file);
+    } catch (IOException ex) {
+      logger.error("Failed to save splits to " + file, ex);
+    }
+  }
+
+  private void onExportSplits() {
+    var chooser = new FileChooser();
+    chooser.setTitle("Export LiveSplit Splits");
+    chooser.getExtensionFilters()
+        .add(new ExtensionFilter("LiveSplit Splits", LIVESPLIT_FILE_PATTERN));
+
+    var file = chooser.showSaveDialog(this.componentPane.getScene().getWindow());
+    if (file == null) {
+      return;
+    }
+
+    try {
+      LiveSplitExporter.save(file.toPath(), this.timeManager.getTimeline());
+      logger.info("Exported LiveSplit splits to %s", file);
+    } catch (IOException ex) {
+      logger.error("Failed to export LiveSplit splits to " + file, ex);
+    }
+  }
+
+  private void onExportHistory() {
+    var chooser = new FileChooser();
+    chooser.setTitle("Export Attempt History");
+    chooser.getExtensionFilters()
+        .add(new ExtensionFilter("Comma Separated Values", CSV_FILE_PATTERN));
+
+    var file = chooser.showSaveDialog(this.componentPane.getScene().getWindow());
+    if (file == null) {
+      return;
+    }
+
+    try {
+      CsvExporter.save(file.toPath(), this.timeManager.getTimeline(), TimerSlots.REALTIME);
+      logger.info("Exported attempt history to %s", file);
+    } catch (IOException ex) {
+      logger.error("Failed to export attempt history to " + file, ex);
+    }
+  }
+
   private void onEditLayout() {
     var window = WindowUtility
         .createWindow(this.fxmlLoaderProvider.get(), "/fxml/LayoutWindow.fxml");
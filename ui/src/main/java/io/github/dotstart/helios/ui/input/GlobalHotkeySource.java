@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.input;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sun.jna.Platform;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.input.HotkeyAction;
+import io.github.dotstart.helios.api.input.HotkeyDispatcher;
+import java.io.IOException;
+import java.util.Map;
+import javafx.scene.input.KeyCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Provides hotkeys which are active regardless of which application is focused.</p>
+ *
+ * <p>Key presses are received through a native keyboard hook on a dedicated high priority input
+ * thread which remains blocked within the platform's event source until a key is pressed. Whenever
+ * a bound key transitions to its pressed state, its action is passed to the {@link
+ * HotkeyDispatcher} directly from the input thread. The timestamp of each hotkey press is thus
+ * captured as soon as the event is delivered regardless of the load of the JavaFX application
+ * thread.</p>
+ *
+ * <p>Hooks are provided through JNA for Windows (a {@code WH_KEYBOARD_LL} hook) and X11 (the
+ * record extension). When neither is available (for instance, on Wayland sessions without
+ * XWayland), {@link #start()} fails and callers are expected to fall back to the {@link
+ * SceneHotkeySource}.</p>
+ *
+ * <p>By default, the same keys as within the {@link SceneHotkeySource} are bound.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class GlobalHotkeySource {
+
+  private static final Logger logger = LogManager.getFormatterLogger(GlobalHotkeySource.class);
+
+  /**
+   * Defines the interval in which stop requests are repeated until the input thread has
+   * terminated (in milliseconds).
+   */
+  private static final long STOP_INTERVAL = 100;
+
+  private final HotkeyDispatcher dispatcher;
+  private final Map<KeyCode, HotkeyAction> bindings = SceneHotkeySource.createDefaultBindings();
+
+  private Thread thread;
+  private KeyboardHook hook;
+  private volatile HotkeyAction[] actions = new HotkeyAction[KeyboardHook.CODE_COUNT];
+
+  @Inject
+  public GlobalHotkeySource(@NonNull HotkeyDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Binds an action to the specified key (replacing any previously bound action).
+   *
+   * @param code a key code.
+   * @param action an action.
+   */
+  public synchronized void bind(@NonNull KeyCode code, @NonNull HotkeyAction action) {
+    this.bindings.put(code, action);
+    this.updateActions();
+  }
+
+  /**
+   * Removes the action which is bound to the specified key (if any).
+   *
+   * @param code a key code.
+   */
+  public synchronized void unbind(@NonNull KeyCode code) {
+    this.bindings.remove(code);
+    this.updateActions();
+  }
+
+  /**
+   * Publishes the current bindings to the input thread (if any).
+   */
+  private synchronized void updateActions() {
+    if (this.hook == null) {
+      return;
+    }
+
+    var actions = new HotkeyAction[KeyboardHook.CODE_COUNT];
+    for (var entry : this.bindings.entrySet()) {
+      var code = this.hook.getCode(entry.getKey());
+      if (code == -1) {
+        logger.warn("Key %s cannot be bound globally - Ignored", entry.getKey());
+        continue;
+      }
+
+      actions[code] = entry.getValue();
+    }
+    this.actions = actions;
+  }
+
+  /**
+   * Starts listening for hotkeys on a dedicated input thread.
+   *
+   * @return true if hotkeys are available, false if the keyboard of this platform cannot be
+   * hooked.
+   */
+  public synchronized boolean start() {
+    if (this.thread != null) {
+      return true;
+    }
+
+    KeyboardHook hook;
+    try {
+      if (Platform.isWindows()) {
+        hook = Win32KeyboardHook.open();
+      } else if (Platform.isLinux()) {
+        hook = X11KeyboardHook.open();
+      } else {
+        logger.warn("Global hotkeys are not supported on this platform");
+        return false;
+      }
+    } catch (IOException ex) {
+      logger.warn("Global hotkeys are unavailable: %s", ex.getMessage());
+      return false;
+    }
+
+    this.hook = hook;
+    this.updateActions();
+
+    this.thread = new Thread(() -> this.run(hook), "global-hotkeys");
+    this.thread.setDaemon(true);
+    this.thread.setPriority(Thread.MAX_PRIORITY);
+    this.thread.start();
+    return true;
+  }
+
+  /**
+   * Stops listening for hotkeys and waits for the input thread to release the keyboard hook.
+   */
+  public void stop() {
+    Thread thread;
+    KeyboardHook hook;
+    synchronized (this) {
+      thread = this.thread;
+      hook = this.hook;
+      this.thread = null;
+      this.hook = null;
+    }
+    if (thread == null) {
+      return;
+    }
+
+    try {
+      // requests which arrive before the hook has entered its event source may be lost
+      do {
+        hook.stop();
+        thread.join(STOP_INTERVAL);
+      } while (thread.isAlive());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Evaluates whether hotkeys are currently captured.
+   *
+   * @return true if running, false otherwise.
+   */
+  public synchronized boolean isRunning() {
+    return this.thread != null;
+  }
+
+  /**
+   * Dispatches the actions of bound keys until the source is stopped.
+   *
+   * @param hook a keyboard hook which is owned by the calling thread.
+   */
+  private void run(@NonNull KeyboardHook hook) {
+    try {
+      hook.run(code -> {
+        var action = this.actions[code];
+        if (action != null) {
+          this.dispatcher.dispatch(action);
+        }
+      });
+    } catch (RuntimeException ex) {
+      logger.error("Global hotkeys have failed", ex);
+    } finally {
+      hook.close();
+
+      // permit the source to be restarted when it has failed
+      synchronized (this) {
+        if (this.hook == hook) {
+          this.thread = null;
+          this.hook = null;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.input;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.Closeable;
+import javafx.scene.input.KeyCode;
+
+/**
+ * <p>Receives key presses of the local keyboard regardless of which application is currently
+ * focused.</p>
+ *
+ * <p>Events are delivered on the thread which calls {@link #run(Listener)} while it is blocked
+ * within the native event source. Implementations are thus idle until input arrives. With the
+ * exception of {@link #stop()} and {@link #getCode(KeyCode)}, hooks are expected to be accessed
+ * by this thread only.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+interface KeyboardHook extends Closeable {
+
+  /**
+   * Defines the number of distinct platform specific key codes.
+   */
+  int CODE_COUNT = 256;
+
+  /**
+   * Translates a key into its platform specific code.
+   *
+   * @param key a key.
+   * @return a key code (smaller than {@link #CODE_COUNT}) or -1 when the key is not supported.
+   */
+  int getCode(@NonNull KeyCode key);
+
+  /**
+   * <p>Delivers key presses to the specified listener until the hook is stopped.</p>
+   *
+   * <p>Only transitions to the pressed state are reported. Repeated events which are generated
+   * while a key is held down are filtered.</p>
+   *
+   * @param listener a listener.
+   */
+  void run(@NonNull Listener listener);
+
+  /**
+   * <p>Requests {@link #run(Listener)} to return.</p>
+   *
+   * <p>This method may be invoked from any thread and has no effect once the hook has been
+   * closed. When invoked before the native event source has been entered, it may not take effect
+   * and is expected to be repeated until the running thread has terminated.</p>
+   */
+  void stop();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void close();
+
+  /**
+   * Receives key presses from a hook.
+   */
+  @FunctionalInterface
+  interface Listener {
+
+    /**
+     * Handles the press of a key.
+     *
+     * @param code a platform specific key code.
+     */
+    void onPress(int code);
+  }
+}
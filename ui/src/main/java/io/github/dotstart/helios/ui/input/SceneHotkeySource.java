@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.input;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.input.HotkeyAction;
+import io.github.dotstart.helios.api.input.HotkeyDispatcher;
+import java.util.EnumMap;
+import java.util.Map;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+/**
+ * <p>Provides hotkeys which are active while the application window is focused.</p>
+ *
+ * <p>Key presses are intercepted within an event filter on the scene (e.g. before they are
+ * dispatched to any node) and passed to the {@link HotkeyDispatcher} which captures their
+ * timestamp. Since JavaFX delivers key events on the application thread, this is the earliest
+ * point at which window-level input is observable. This source is thus merely used as a fallback
+ * when the {@link GlobalHotkeySource} (which captures timestamps on its own input thread) is
+ * unavailable on the current platform.</p>
+ *
+ * <p>By default, the numeric keypad is bound in accordance with the defaults of other popular
+ * timers (1 = split, 2 = skip split, 3 = reset, 5 = pause, 8 = undo split).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class SceneHotkeySource {
+
+  private final HotkeyDispatcher dispatcher;
+  private final Map<KeyCode, HotkeyAction> bindings = createDefaultBindings();
+
+  @Inject
+  public SceneHotkeySource(@NonNull HotkeyDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Creates a map which contains the default hotkey bindings.
+   *
+   * @return a map of key codes and their respective actions.
+   */
+  @NonNull
+  static Map<KeyCode, HotkeyAction> createDefaultBindings() {
+    var bindings = new EnumMap<KeyCode, HotkeyAction>(KeyCode.class);
+    bindings.put(KeyCode.NUMPAD1, HotkeyAction.SPLIT);
+    bindings.put(KeyCode.NUMPAD2, HotkeyAction.SKIP_SPLIT);
+    bindings.put(KeyCode.NUMPAD3, HotkeyAction.RESET);
+    bindings.put(KeyCode.NUMPAD5, HotkeyAction.TOGGLE_PAUSE);
+    bindings.put(KeyCode.NUMPAD8, HotkeyAction.UNDO_SPLIT);
+    return bindings;
+  }
+
+  /**
+   * Binds an action to the specified key (replacing any previously bound action).
+   *
+   * @param code a key code.
+   * @param action an action.
+   */
+  public void bind(@NonNull KeyCode code, @NonNull HotkeyAction action) {
+    this.bindings.put(code, action);
+  }
+
+  /**
+   * Removes the action which is bound to the specified key (if any).
+   *
+   * @param code a key code.
+   */
+  public void unbind(@NonNull KeyCode code) {
+    this.bindings.remove(code);
+  }
+
+  /**
+   * Listens for hotkeys within the specified scene.
+   *
+   * @param scene a scene.
+   */
+  public void hookScene(@NonNull Scene scene) {
+    scene.addEventFilter(KeyEvent.KEY_PRESSED, this::onKeyPressed);
+  }
+
+  private void onKeyPressed(@NonNull KeyEvent event) {
+    var action = this.bindings.get(event.getCode());
+    if (action == null) {
+      return;
+    }
+
+    this.dispatcher.dispatch(action);
+    event.consume();
+  }
+}
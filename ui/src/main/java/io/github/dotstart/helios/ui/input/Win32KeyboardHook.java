@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.input;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import javafx.scene.input.KeyCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Receives key presses through a low level keyboard hook ({@code WH_KEYBOARD_LL}) of the
+ * Windows user interface.</p>
+ *
+ * <p>The system invokes the hook procedure on the thread which has installed it while this thread
+ * waits for messages within {@code GetMessage}. The hook thus does not consume any processor time
+ * until a key is pressed or released. Events are always passed on to the next hook and are never
+ * withheld from other applications.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class Win32KeyboardHook implements KeyboardHook {
+
+  private static final Logger logger = LogManager.getFormatterLogger(Win32KeyboardHook.class);
+
+  private static final int WH_KEYBOARD_LL = 13;
+  private static final int WM_QUIT = 0x0012;
+  private static final int WM_KEYDOWN = 0x0100;
+  private static final int WM_KEYUP = 0x0101;
+  private static final int WM_SYSKEYDOWN = 0x0104;
+  private static final int WM_SYSKEYUP = 0x0105;
+  private static final int WM_USER = 0x0400;
+  private static final int PM_NOREMOVE = 0x0000;
+  private static final int MSG_SIZE = 48;
+  private static final int VK_RETURN = 0x0D;
+
+  private static final boolean nativeAvailable;
+
+  static {
+    boolean available = false;
+    try {
+      Native.register("user32");
+      Native.register(Kernel32.class, "kernel32");
+      available = true;
+    } catch (UnsatisfiedLinkError ignore) {
+      // reported when opened
+    }
+    nativeAvailable = available;
+  }
+
+  private final boolean[] pressed = new boolean[CODE_COUNT];
+
+  // referenced for as long as the hook is installed as JNA does not retain callbacks
+  private LowLevelKeyboardProc procedure;
+  private volatile int threadId;
+  private volatile boolean stopped;
+
+  private Win32KeyboardHook() {
+  }
+
+  /**
+   * Opens the keyboard hook.
+   *
+   * @return a keyboard hook.
+   * @throws IOException when the user interface library is unavailable.
+   */
+  @NonNull
+  static Win32KeyboardHook open() throws IOException {
+    if (!nativeAvailable) {
+      throw new IOException("Cannot access keyboard: user32 is unavailable");
+    }
+
+    return new Win32KeyboardHook();
+  }
+
+  private static native Pointer SetWindowsHookExW(int idHook, LowLevelKeyboardProc procedure,
+      Pointer module, int threadId);
+
+  private static native boolean UnhookWindowsHookEx(Pointer hook);
+
+  private static native Pointer CallNextHookEx(Pointer hook, int code, Pointer wParam,
+      Pointer lParam);
+
+  private static native int GetMessageW(Pointer msg, Pointer window, int min, int max);
+
+  private static native boolean PeekMessageW(Pointer msg, Pointer window, int min, int max,
+      int remove);
+
+  private static native boolean PostThreadMessageW(int threadId, int msg, Pointer wParam,
+      Pointer lParam);
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getCode(@NonNull KeyCode key) {
+    // the virtual key codes of letters, digits (including the numeric keypad) and the first
+    // twelve function keys coincide with the codes which are used by JavaFX
+    var code = key.getCode();
+    if (key.isLetterKey() || key.isDigitKey() || (code >= 0x70 && code <= 0x7B)
+        || key == KeyCode.SPACE) {
+      return code;
+    }
+    if (key == KeyCode.ENTER) {
+      return VK_RETURN;
+    }
+
+    return -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void run(@NonNull Listener listener) {
+    var msg = new Memory(MSG_SIZE);
+
+    // the message queue of a thread is created when it first asks for messages - it must exist
+    // before its identifier is used to post the quit message
+    PeekMessageW(msg, null, WM_USER, WM_USER, PM_NOREMOVE);
+    this.threadId = Kernel32.GetCurrentThreadId();
+    if (this.stopped) {
+      this.threadId = 0;
+      return;
+    }
+
+    this.procedure = (code, wParam, lParam) -> {
+      if (code >= 0) {
+        try {
+          this.handle((int) Pointer.nativeValue(wParam), lParam.getInt(0) & 0xFF, listener);
+        } catch (RuntimeException ex) {
+          logger.error("Failed to handle keyboard event", ex);
+        }
+      }
+
+      return CallNextHookEx(null, code, wParam, lParam);
+    };
+
+    var hook = SetWindowsHookExW(WH_KEYBOARD_LL, this.procedure,
+        Kernel32.GetModuleHandleW(null), 0);
+    if (hook == null) {
+      throw new IllegalStateException(
+          "Cannot install keyboard hook: Error " + Native.getLastError());
+    }
+
+    try {
+      // returns zero when the quit message is received and -1 on error
+      while (GetMessageW(msg, null, 0, 0) > 0) {
+        // the hook procedure is invoked while waiting for messages
+      }
+    } finally {
+      UnhookWindowsHookEx(hook);
+      this.procedure = null;
+      this.threadId = 0;
+    }
+  }
+
+  /**
+   * Tracks the state of a key and reports its transition to the pressed state.
+   *
+   * @param message a keyboard message.
+   * @param code a virtual key code.
+   * @param listener a listener.
+   */
+  private void handle(int message, int code, @NonNull Listener listener) {
+    if (message == WM_KEYDOWN || message == WM_SYSKEYDOWN) {
+      // held keys repeat their down messages without intermediate up messages
+      if (!this.pressed[code]) {
+        this.pressed[code] = true;
+        listener.onPress(code);
+      }
+    } else if (message == WM_KEYUP || message == WM_SYSKEYUP) {
+      this.pressed[code] = false;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void stop() {
+    this.stopped = true;
+
+    var threadId = this.threadId;
+    if (threadId != 0) {
+      PostThreadMessageW(threadId, WM_QUIT, null, null);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Represents a low level keyboard hook procedure.
+   */
+  @FunctionalInterface
+  private interface LowLevelKeyboardProc extends Callback {
+
+    Pointer callback(int code, Pointer wParam, Pointer lParam);
+  }
+
+  /**
+   * Provides access to the kernel functions which are required to install hooks.
+   */
+  private static final class Kernel32 {
+
+    private Kernel32() {
+    }
+
+    static native int GetCurrentThreadId();
+
+    static native Pointer GetModuleHandleW(Pointer name);
+  }
+}
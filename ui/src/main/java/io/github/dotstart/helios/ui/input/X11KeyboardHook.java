@@ -0,0 +1,345 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.input;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.Arrays;
+import javafx.scene.input.KeyCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Receives key presses of an X11 display through the record extension.</p>
+ *
+ * <p>A record context which intercepts the key events of all clients is enabled on a dedicated
+ * data connection. {@code XRecordEnableContext} blocks the calling thread until the context is
+ * disabled and invokes the intercept procedure for every recorded event in the meantime. The hook
+ * thus does not consume any processor time or issue any requests until a key is pressed or
+ * released. A second control connection is used to create and disable the context as Xlib
+ * connections may not be shared between threads without additional locking.</p>
+ *
+ * <p>Note that the server generates a release and press event pair for every repetition of a
+ * held key. Since both events are recorded at the same server time, such pairs are filtered.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class X11KeyboardHook implements KeyboardHook {
+
+  private static final Logger logger = LogManager.getFormatterLogger(X11KeyboardHook.class);
+
+  private static final int XK_RETURN = 0xFF0D;
+  private static final int XK_KP_0 = 0xFFB0;
+  private static final int XK_F1 = 0xFFBE;
+
+  private static final int KEY_PRESS = 2;
+  private static final int KEY_RELEASE = 3;
+  private static final long RECORD_ALL_CLIENTS = 3;
+  private static final int RECORD_FROM_SERVER = 0;
+
+  // offsets within XRecordRange and XRecordInterceptData (as laid out on 64-bit platforms)
+  private static final int RANGE_DEVICE_EVENTS = 18;
+  private static final int DATA_SERVER_TIME = 8;
+  private static final int DATA_CATEGORY = 24;
+  private static final int DATA_DATA = 32;
+
+  private static final boolean nativeAvailable;
+
+  static {
+    boolean available = false;
+    if (Native.POINTER_SIZE == 8) { // KeySym and XID are passed as a long
+      try {
+        Native.register("X11");
+        Native.register(Xtst.class, "Xtst");
+        available = true;
+      } catch (UnsatisfiedLinkError ignore) {
+        // reported when opened
+      }
+    }
+    nativeAvailable = available;
+  }
+
+  private final Pointer control;
+  private final Pointer data;
+  private final long context;
+  private final int[] codes;
+
+  private final boolean[] pressed = new boolean[CODE_COUNT];
+  private final long[] releaseTimes = new long[CODE_COUNT];
+  private boolean stopped;
+  private boolean closed;
+
+  private X11KeyboardHook(@NonNull Pointer control, @NonNull Pointer data, long context,
+      @NonNull int[] codes) {
+    this.control = control;
+    this.data = data;
+    this.context = context;
+    this.codes = codes;
+
+    Arrays.fill(this.releaseTimes, -1);
+  }
+
+  /**
+   * Opens a pair of connections to the display which is specified through the {@code DISPLAY}
+   * environment variable and creates a record context for its key events.
+   *
+   * @return a keyboard hook.
+   * @throws IOException when Xlib or the record extension are unavailable or the display cannot
+   * be opened.
+   */
+  @NonNull
+  static X11KeyboardHook open() throws IOException {
+    if (!nativeAvailable) {
+      throw new IOException("Cannot access keyboard: libX11 or libXtst are unavailable");
+    }
+
+    var control = XOpenDisplay(null);
+    if (control == null) {
+      throw new IOException(
+          "Cannot access keyboard: Failed to open display " + System.getenv("DISPLAY"));
+    }
+
+    Pointer data = null;
+    try {
+      if (Xtst.XRecordQueryVersion(control, new int[1], new int[1]) == 0) {
+        throw new IOException("Cannot access keyboard: Record extension is unavailable");
+      }
+
+      data = XOpenDisplay(null);
+      if (data == null) {
+        throw new IOException(
+            "Cannot access keyboard: Failed to open display " + System.getenv("DISPLAY"));
+      }
+
+      // key codes are resolved up front so that bindings may be translated on any thread
+      var keys = KeyCode.values();
+      var codes = new int[keys.length];
+      for (var key : keys) {
+        codes[key.ordinal()] = getCode(control, key);
+      }
+
+      var range = Xtst.XRecordAllocRange();
+      if (range == null) {
+        throw new IOException("Cannot access keyboard: Failed to allocate record range");
+      }
+
+      long context;
+      try {
+        range.setByte(RANGE_DEVICE_EVENTS, (byte) KEY_PRESS);
+        range.setByte(RANGE_DEVICE_EVENTS + 1, (byte) KEY_RELEASE);
+        context = Xtst.XRecordCreateContext(control, 0, new long[]{RECORD_ALL_CLIENTS}, 1,
+            new long[]{Pointer.nativeValue(range)}, 1);
+      } finally {
+        XFree(range);
+      }
+      if (context == 0) {
+        throw new IOException("Cannot access keyboard: Failed to create record context");
+      }
+
+      // the context must exist on the server before it is enabled through the data connection
+      XSync(control, false);
+      return new X11KeyboardHook(control, data, context, codes);
+    } catch (IOException | RuntimeException ex) {
+      if (data != null) {
+        XCloseDisplay(data);
+      }
+      XCloseDisplay(control);
+      throw ex;
+    }
+  }
+
+  private static native Pointer XOpenDisplay(String name);
+
+  private static native int XCloseDisplay(Pointer display);
+
+  private static native int XFlush(Pointer display);
+
+  private static native int XSync(Pointer display, boolean discard);
+
+  private static native int XFree(Pointer data);
+
+  private static native byte XKeysymToKeycode(Pointer display, long keysym);
+
+  /**
+   * Translates a key into its X11 key symbol.
+   *
+   * @param key a key.
+   * @return a key symbol or -1 when the key is not supported.
+   */
+  private static int getSymbol(@NonNull KeyCode key) {
+    var code = key.getCode();
+    if (key.isLetterKey()) {
+      return Character.toLowerCase(code);
+    }
+    if (key.isDigitKey()) {
+      return code >= KeyCode.NUMPAD0.getCode() ? XK_KP_0 + code - KeyCode.NUMPAD0.getCode() : code;
+    }
+    if (code >= KeyCode.F1.getCode() && code <= KeyCode.F12.getCode()) {
+      return XK_F1 + code - KeyCode.F1.getCode();
+    }
+    if (key == KeyCode.SPACE) {
+      return ' ';
+    }
+    if (key == KeyCode.ENTER) {
+      return XK_RETURN;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Translates a key into the key code of the specified display.
+   *
+   * @param display a display.
+   * @param key a key.
+   * @return a key code or -1 when the key is not supported.
+   */
+  private static int getCode(@NonNull Pointer display, @NonNull KeyCode key) {
+    var symbol = getSymbol(key);
+    if (symbol == -1) {
+      return -1;
+    }
+
+    var code = XKeysymToKeycode(display, symbol) & 0xFF;
+    return code != 0 ? code : -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getCode(@NonNull KeyCode key) {
+    return this.codes[key.ordinal()];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void run(@NonNull Listener listener) {
+    synchronized (this) {
+      if (this.stopped) {
+        return;
+      }
+    }
+
+    InterceptProc procedure = (closure, recorded) -> {
+      try {
+        if (recorded.getInt(DATA_CATEGORY) == RECORD_FROM_SERVER) {
+          var event = recorded.getPointer(DATA_DATA);
+          this.handle(event.getByte(0) & 0x7F, event.getByte(1) & 0xFF,
+              recorded.getLong(DATA_SERVER_TIME), listener);
+        }
+      } catch (RuntimeException ex) {
+        logger.error("Failed to handle keyboard event", ex);
+      } finally {
+        Xtst.XRecordFreeData(recorded);
+      }
+    };
+
+    // blocks until the context is disabled through the control connection
+    if (Xtst.XRecordEnableContext(this.data, this.context, procedure, null) == 0) {
+      throw new IllegalStateException("Cannot enable record context");
+    }
+  }
+
+  /**
+   * Tracks the state of a key and reports its transition to the pressed state.
+   *
+   * @param type an event type.
+   * @param code a key code.
+   * @param time the server time at which the event has been recorded.
+   * @param listener a listener.
+   */
+  private void handle(int type, int code, long time, @NonNull Listener listener) {
+    if (type == KEY_PRESS) {
+      if (!this.pressed[code] && this.releaseTimes[code] != time) {
+        listener.onPress(code);
+      }
+      this.pressed[code] = true;
+    } else if (type == KEY_RELEASE) {
+      this.pressed[code] = false;
+      this.releaseTimes[code] = time;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void stop() {
+    this.stopped = true;
+    if (this.closed) {
+      return;
+    }
+
+    Xtst.XRecordDisableContext(this.control, this.context);
+    XFlush(this.control);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+
+    Xtst.XRecordFreeContext(this.control, this.context);
+    XCloseDisplay(this.data);
+    XCloseDisplay(this.control);
+  }
+
+  /**
+   * Represents a procedure which receives recorded protocol data.
+   */
+  @FunctionalInterface
+  private interface InterceptProc extends Callback {
+
+    void callback(Pointer closure, Pointer recorded);
+  }
+
+  /**
+   * Provides access to the record extension.
+   */
+  private static final class Xtst {
+
+    private Xtst() {
+    }
+
+    static native int XRecordQueryVersion(Pointer display, int[] major, int[] minor);
+
+    static native Pointer XRecordAllocRange();
+
+    static native long XRecordCreateContext(Pointer display, int flags, long[] clients,
+        int clientCount, long[] ranges, int rangeCount);
+
+    static native int XRecordEnableContext(Pointer display, long context,
+        InterceptProc procedure, Pointer closure);
+
+    static native int XRecordDisableContext(Pointer display, long context);
+
+    static native int XRecordFreeContext(Pointer display, long context);
+
+    static native void XRecordFreeData(Pointer data);
+  }
+}
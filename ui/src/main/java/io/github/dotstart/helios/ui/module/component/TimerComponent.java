@@ -20,7 +20,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import io.github.dotstart.helios.api.node.StatelessComponent;
+import io.github.dotstart.helios.api.node.Component;
 import io.github.dotstart.helios.api.theme.variable.VariableDefinition;
 import io.github.dotstart.helios.api.theme.variable.color.ColorVariableDefinition;
 import io.github.dotstart.helios.api.theme.variable.color.LinearGradient;
@@ -28,6 +28,7 @@ import io.github.dotstart.helios.api.theme.variable.color.LinearGradient.Stop;
 import io.github.dotstart.helios.api.theme.variable.color.SolidColor;
 import io.github.dotstart.helios.api.time.TimeManager;
 import io.github.dotstart.helios.ui.module.component.node.TimerComponentNode;
+import io.github.dotstart.helios.ui.render.RenderScheduler;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.Set;
@@ -40,10 +41,15 @@ import java.util.Set;
  * configuration (e.g. depending on whether the user is comparing against in-game or real
  * time).</p>
  *
+ * <p>The precision of the displayed time defaults to milliseconds and is configured separately
+ * for every node (see {@link TimerComponentConfiguration}). Timers which display whole seconds
+ * are refreshed once per second rather than on every frame.</p>
+ *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 @Singleton
-public class TimerComponent implements StatelessComponent<TimerComponentNode> {
+public class TimerComponent implements
+    Component<TimerComponentNode, TimerComponentConfiguration> {
 
   private static final Set<VariableDefinition> variables = Set.of(
       new ColorVariableDefinition(
@@ -65,6 +71,26 @@ public class TimerComponent implements StatelessComponent<TimerComponentNode> {
               new Stop(new SolidColor(128, 128, 128), 1)
           )
       ),
+      new ColorVariableDefinition(
+          "helios+component://io.github.dotstart.helios.ui.module.component/TimerComponent/timeSaveColor",
+          "Time Save Color",
+          "Specifies the running timer text color while ahead of the selected comparison",
+          new LinearGradient(
+              LinearGradient.Direction.TOP_TO_BOTTOM,
+              new Stop(new SolidColor(128, 255, 128), 0),
+              new Stop(new SolidColor(0, 160, 0), 1)
+          )
+      ),
+      new ColorVariableDefinition(
+          "helios+component://io.github.dotstart.helios.ui.module.component/TimerComponent/timeLossColor",
+          "Time Loss Color",
+          "Specifies the running timer text color while behind the selected comparison",
+          new LinearGradient(
+              LinearGradient.Direction.TOP_TO_BOTTOM,
+              new Stop(new SolidColor(255, 128, 128), 0),
+              new Stop(new SolidColor(160, 0, 0), 1)
+          )
+      ),
       new ColorVariableDefinition(
           "helios+component://io.github.dotstart.helios.ui.module.component/TimerComponent/pausedColor",
           "Paused Color", "Specifies the standard paused timer text color",
@@ -77,10 +103,13 @@ public class TimerComponent implements StatelessComponent<TimerComponentNode> {
   );
 
   private final TimeManager timeManager;
+  private final RenderScheduler renderScheduler;
 
   @Inject
-  public TimerComponent(@NonNull TimeManager timeManager) {
+  public TimerComponent(@NonNull TimeManager timeManager,
+      @NonNull RenderScheduler renderScheduler) {
     this.timeManager = timeManager;
+    this.renderScheduler = renderScheduler;
   }
 
   /**
@@ -101,13 +130,31 @@ public class TimerComponent implements StatelessComponent<TimerComponentNode> {
     return "Displays the current overall run time";
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Class<TimerComponentConfiguration> getConfigurationType() {
+    return TimerComponentConfiguration.class;
+  }
+
   /**
    * {@inheritDoc}
    */
   @NonNull
   @Override
   public TimerComponentNode createNode() {
-    return new TimerComponentNode(this, this.timeManager);
+    return this.loadNode(new TimerComponentConfiguration());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public TimerComponentNode loadNode(@NonNull TimerComponentConfiguration conf) {
+    return new TimerComponentNode(this, this.timeManager, this.renderScheduler, conf);
   }
 
   /**
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.module.component;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.github.dotstart.helios.api.time.Timer.FormatPrecision;
+import io.github.dotstart.helios.ui.module.component.node.TimerComponentNode;
+
+/**
+ * Represents the configuration of a single {@link TimerComponentNode} within a layout.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimerComponentConfiguration {
+
+  private FormatPrecision precision = FormatPrecision.MILLISECONDS;
+
+  public TimerComponentConfiguration() {
+  }
+
+  public TimerComponentConfiguration(@NonNull FormatPrecision precision) {
+    this.setPrecision(precision);
+  }
+
+  /**
+   * Retrieves the precision at which the elapsed time is displayed.
+   *
+   * @return a precision.
+   */
+  @NonNull
+  public FormatPrecision getPrecision() {
+    return this.precision;
+  }
+
+  public void setPrecision(@NonNull FormatPrecision precision) {
+    this.precision = precision;
+  }
+}
@@ -20,28 +20,41 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.github.dotstart.helios.api.node.Component;
 import io.github.dotstart.helios.api.node.ComponentNode;
-import io.github.dotstart.helios.api.node.StatelessComponentNode;
+import io.github.dotstart.helios.api.time.TimeFormatter;
 import io.github.dotstart.helios.api.time.TimeManager;
 import io.github.dotstart.helios.api.time.Timer.FormatPrecision;
 import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.split.Segment;
 import io.github.dotstart.helios.ui.module.component.TimerComponent;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import io.github.dotstart.helios.ui.module.component.TimerComponentConfiguration;
+import io.github.dotstart.helios.ui.render.RenderScheduler;
+import io.github.dotstart.helios.ui.render.RenderTarget;
 import javafx.beans.binding.Bindings;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.css.PseudoClass;
-import javafx.event.ActionEvent;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
-import javafx.util.Duration;
 
 /**
- * Displays the current overall time of the selected timer.
+ * <p>Displays the current overall time of the selected timer.</p>
+ *
+ * <p>The node is refreshed by the {@link RenderScheduler} for as long as it is part of a scene.
+ * Since its formatter returns the same string instance for as long as the visible text remains
+ * unchanged, the label (and thus the layout) is only updated when the displayed time actually
+ * changes.</p>
+ *
+ * <p>The displayed precision is part of the node configuration. When it is changed, the formatter
+ * is replaced and the node is rendered again right away.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class TimerComponentNode extends VBox implements
-    StatelessComponentNode<TimerComponentNode> {
+    ComponentNode<TimerComponentNode, TimerComponentConfiguration>, RenderTarget {
 
   public static final PseudoClass WAITING_CLASS = PseudoClass.getPseudoClass("waiting");
   public static final PseudoClass RUNNING_CLASS = PseudoClass.getPseudoClass("running");
@@ -53,17 +66,24 @@ public class TimerComponentNode extends VBox implements
 
   private final TimerComponent definition;
   private final TimeManager timeManager;
+  private final RenderScheduler renderScheduler;
 
   private final ObservableValue<State> stateBinding;
 
+  private final ObjectProperty<FormatPrecision> precision;
+  private TimeFormatter formatter;
   private final Label label = new Label();
-  private final Timeline timeline = new Timeline(
-      new KeyFrame(Duration.millis(16), this::refreshLabel)
-  );
+  private int deltaSign;
 
-  public TimerComponentNode(@NonNull TimerComponent definition, @NonNull TimeManager timeManager) {
+  public TimerComponentNode(@NonNull TimerComponent definition, @NonNull TimeManager timeManager,
+      @NonNull RenderScheduler renderScheduler, @NonNull TimerComponentConfiguration conf) {
     this.definition = definition;
     this.timeManager = timeManager;
+    this.renderScheduler = renderScheduler;
+
+    this.precision = new SimpleObjectProperty<>(this, "precision", conf.getPrecision());
+    this.formatter = new TimeFormatter(conf.getPrecision());
+    this.precision.addListener(this::refreshPrecision);
 
     this.stateBinding = Bindings.select(this.timeManager.timerGroupProperty(), "state");
     this.stateBinding.addListener(this::refreshState);
@@ -71,9 +91,7 @@ public class TimerComponentNode extends VBox implements
         timeManager.getTimerGroup().getActiveTimer().getState());
 
     this.getChildren().add(this.label);
-
-    this.timeline.setCycleCount(Timeline.INDEFINITE);
-    this.timeline.play();
+    this.sceneProperty().addListener(this::refreshScene);
 
     ComponentNode.setGeneratedClassName(this);
   }
@@ -88,16 +106,64 @@ public class TimerComponentNode extends VBox implements
     this.pseudoClassStateChanged(RUNNING_CLASS, newValue == State.RUNNING);
     this.pseudoClassStateChanged(PAUSED_CLASS, newValue == State.PAUSED);
     this.pseudoClassStateChanged(STOPPED_CLASS, newValue == State.STOPPED);
+  }
 
-    // TODO: Time loss & save
+  /**
+   * Replaces the formatter and renders the node with the new precision right away.
+   */
+  private void refreshPrecision(@NonNull ObservableValue<? extends FormatPrecision> observable,
+      @Nullable FormatPrecision oldValue, @NonNull FormatPrecision newValue) {
+    this.formatter = new TimeFormatter(newValue);
+
+    if (this.getScene() != null) {
+      this.renderScheduler.requestRender();
+    }
   }
 
   /**
-   * Refreshes the label text.
+   * Registers or unregisters this node with the render scheduler when it is added to or removed
+   * from a scene.
    */
-  private void refreshLabel(@NonNull ActionEvent event) {
-    // TODO: Configurable format precision
-    this.label.setText(this.timeManager.getTimerGroup().toString(FormatPrecision.MILLISECONDS));
+  private void refreshScene(@NonNull ObservableValue<? extends Scene> observable,
+      @Nullable Scene oldValue, @Nullable Scene newValue) {
+    if (newValue != null) {
+      this.renderScheduler.register(this);
+    } else {
+      this.renderScheduler.unregister(this);
+    }
+  }
+
+  /**
+   * <p>Refreshes the label text along with the time loss and time save pseudoclass states.</p>
+   *
+   * <p>The next refresh is scheduled for the moment at which either the displayed text or the
+   * comparison state changes (assuming that the displayed timer advances at real time). Timers
+   * which advance slower (such as in-game timers during loads) are simply refreshed early and
+   * re-evaluated.</p>
+   */
+  @Override
+  public long render(long now) {
+    var group = this.timeManager.getTimerGroup();
+    var elapsed = group.getElapsedNanos(now);
+
+    var text = this.formatter.format(elapsed);
+    if (text != this.label.getText()) {
+      this.label.setText(text);
+    }
+
+    var delta = this.timeManager.getTimeline().getDelta(group.getActiveSlot(), elapsed);
+    var sign = delta == Segment.NO_TIME ? 0 : Long.signum(delta);
+    if (sign != this.deltaSign) {
+      this.deltaSign = sign;
+      this.pseudoClassStateChanged(TIME_LOSS, sign > 0);
+      this.pseudoClassStateChanged(TIME_SAVE, sign < 0);
+    }
+
+    var next = now + this.formatter.getNanosUntilChange(elapsed);
+    if (delta != Segment.NO_TIME && delta <= 0) {
+      next = Math.min(next, now + 1 - delta);
+    }
+    return next;
   }
 
   /**
@@ -105,7 +171,47 @@ public class TimerComponentNode extends VBox implements
    */
   @NonNull
   @Override
-  public Component<TimerComponentNode, Void> definition() {
+  public Component<TimerComponentNode, TimerComponentConfiguration> definition() {
     return this.definition;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public TimerComponentConfiguration configuration() {
+    return new TimerComponentConfiguration(this.getPrecision());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Node createConfigurationNode() {
+    var precision = new ComboBox<FormatPrecision>();
+    precision.getItems().setAll(FormatPrecision.values());
+    precision.valueProperty().bindBidirectional(this.precision);
+    return precision;
+  }
+
+  /**
+   * Retrieves the precision at which the elapsed time is displayed.
+   *
+   * @return a precision.
+   */
+  @NonNull
+  public FormatPrecision getPrecision() {
+    return this.precision.get();
+  }
+
+  @NonNull
+  public ObjectProperty<FormatPrecision> precisionProperty() {
+    return this.precision;
+  }
+
+  public void setPrecision(@NonNull FormatPrecision precision) {
+    this.precision.set(precision);
+  }
 }
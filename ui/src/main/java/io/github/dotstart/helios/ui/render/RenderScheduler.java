@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.render;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.github.dotstart.helios.api.time.TickClock;
+import io.github.dotstart.helios.api.time.TimeManager;
+import io.github.dotstart.helios.api.time.Timer.State;
+import io.github.dotstart.helios.api.time.split.Timeline;
+import io.github.dotstart.helios.api.time.split.TimelineListener;
+import io.github.dotstart.helios.api.utility.PlatformUtility;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javafx.animation.AnimationTimer;
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * <p>Refreshes all time dependent nodes in sync with the JavaFX pulse.</p>
+ *
+ * <p>While the current timer group is running, the scheduler samples the clock of the time manager
+ * exactly once per refresh and passes the resulting timestamp to every registered {@link
+ * RenderTarget}. All displayed times are thus consistent with each other.</p>
+ *
+ * <p>Each target reports the point in time at which its displayed information changes next (for
+ * instance, a timer which displays full seconds only changes once per second). When the earliest
+ * of these points lies within the next couple of frames, targets are refreshed on every pulse
+ * (e.g. at the refresh rate of the display). Otherwise, the pulse listener is stopped and the
+ * scheduler wakes up exactly when the earliest point has been reached instead. As a result, coarse
+ * precisions do not cause any work in between visible changes while fine precisions are displayed
+ * at the full refresh rate of the display. Since splits may change the displayed information
+ * of a target at any time, all targets are additionally refreshed whenever the timeline
+ * progresses.</p>
+ *
+ * <p>When the timer group enters any other state (e.g. when it is paused, stopped or reset), all
+ * targets are refreshed one final time and the scheduler goes idle until the group is started or
+ * un-paused again. Targets which are registered while the scheduler is idle are refreshed
+ * immediately.</p>
+ *
+ * <p>This implementation is not thread safe and is expected to be accessed from the JavaFX
+ * application thread only.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class RenderScheduler {
+
+  /**
+   * Defines the maximum amount of time until the next refresh for which targets are refreshed on
+   * every pulse (roughly two frames at 60 Hz).
+   */
+  private static final long PULSE_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(34);
+
+  private static final ScheduledExecutorService wakeExecutor = Executors
+      .newSingleThreadScheduledExecutor((r) -> {
+        var thread = new Thread(r, "render-wake");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private final TimeManager timeManager;
+  private final TickClock clock;
+  private final ObservableValue<State> stateBinding;
+  private final List<RenderTarget> targets = new ArrayList<>();
+  private final AnimationTimer timer = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      RenderScheduler.this.refresh();
+    }
+  };
+  private final Runnable wakeTask = () -> PlatformUtility.runOnApplicationThread(this::refresh);
+
+  private boolean active;
+  private long deadline = RenderTarget.NEVER;
+  private ScheduledFuture<?> wakeup;
+
+  @Inject
+  public RenderScheduler(@NonNull TimeManager timeManager) {
+    this.timeManager = timeManager;
+    this.clock = new TickClock(timeManager.getClock());
+
+    this.stateBinding = Bindings.select(timeManager.timerGroupProperty(), "state");
+    this.stateBinding.addListener(this::onStateChanged);
+    this.onStateChanged(this.stateBinding, null, this.stateBinding.getValue());
+
+    timeManager.addTimelineListener(new TimelineListener() {
+      @Override
+      public void onStart(@NonNull Timeline timeline) {
+        PlatformUtility.runOnApplicationThread(RenderScheduler.this::requestRender);
+      }
+
+      @Override
+      public void onSplit(@NonNull Timeline timeline, int index, long timestamp) {
+        PlatformUtility.runOnApplicationThread(RenderScheduler.this::requestRender);
+      }
+
+      @Override
+      public void onUndoSplit(@NonNull Timeline timeline, int index, long timestamp) {
+        PlatformUtility.runOnApplicationThread(RenderScheduler.this::requestRender);
+      }
+
+      @Override
+      public void onSkipSplit(@NonNull Timeline timeline, int index, long timestamp) {
+        PlatformUtility.runOnApplicationThread(RenderScheduler.this::requestRender);
+      }
+    });
+  }
+
+  /**
+   * <p>Registers a new render target.</p>
+   *
+   * <p>Registered targets are strongly referenced by the scheduler. Nodes are thus expected to
+   * unregister themselves once they are removed from their scene.</p>
+   *
+   * @param target a render target.
+   */
+  public void register(@NonNull RenderTarget target) {
+    if (this.targets.contains(target)) {
+      return;
+    }
+
+    this.targets.add(target);
+
+    if (!this.active) {
+      target.render(this.clock.tick());
+    } else if (target.render(this.clock.nanoTime()) < this.deadline) {
+      this.refresh(); // the new target changes before any of the existing targets
+    }
+  }
+
+  /**
+   * Removes a previously registered render target.
+   *
+   * @param target a render target.
+   */
+  public void unregister(@NonNull RenderTarget target) {
+    this.targets.remove(target);
+  }
+
+  /**
+   * Refreshes all targets immediately (for instance, when information which is not time
+   * dependent has changed while the timer is idle).
+   */
+  public void requestRender() {
+    if (this.active) {
+      this.refresh();
+    } else {
+      this.render();
+    }
+  }
+
+  /**
+   * Evaluates whether the scheduler is currently refreshing its targets (e.g. whether the timer is
+   * running).
+   *
+   * @return true if active, false if idle.
+   */
+  public boolean isActive() {
+    return this.active;
+  }
+
+  /**
+   * Samples the clock and refreshes all registered targets.
+   *
+   * @return the earliest point in time at which any target has to be refreshed again.
+   */
+  private long render() {
+    var now = this.clock.tick();
+
+    var deadline = RenderTarget.NEVER;
+    for (var i = 0; i < this.targets.size(); ++i) {
+      deadline = Math.min(deadline, this.targets.get(i).render(now));
+    }
+    return deadline;
+  }
+
+  /**
+   * Refreshes all registered targets (given that the scheduler is active) and schedules the next
+   * refresh.
+   */
+  private void refresh() {
+    if (!this.active) {
+      return;
+    }
+
+    this.deadline = this.render();
+    this.cancelWakeup();
+
+    if (this.deadline == RenderTarget.NEVER) {
+      this.timer.stop();
+      return;
+    }
+
+    var delay = this.deadline - this.clock.nanoTime();
+    if (delay <= PULSE_THRESHOLD) {
+      this.timer.start();
+    } else {
+      this.timer.stop();
+      this.wakeup = wakeExecutor.schedule(this.wakeTask, delay, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Cancels the pending wake up (if any).
+   */
+  private void cancelWakeup() {
+    if (this.wakeup != null) {
+      this.wakeup.cancel(false);
+      this.wakeup = null;
+    }
+  }
+
+  /**
+   * Starts or stops the pulse listener in accordance with the current timer state.
+   */
+  private void onStateChanged(@NonNull ObservableValue<? extends State> observable,
+      @Nullable State oldValue, @Nullable State newValue) {
+    this.active = newValue == State.RUNNING;
+    this.deadline = RenderTarget.NEVER;
+
+    if (this.active) {
+      this.refresh();
+    } else {
+      this.timer.stop();
+      this.cancelWakeup();
+      this.render();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.dotstart.helios.ui.render;
+
+/**
+ * <p>Represents a node which displays time dependent information and is thus refreshed by the
+ * {@link RenderScheduler}.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface RenderTarget {
+
+  /**
+   * Indicates that a target does not change its displayed information until it is explicitly
+   * refreshed.
+   */
+  long NEVER = Long.MAX_VALUE;
+
+  /**
+   * <p>Refreshes the displayed information.</p>
+   *
+   * <p>This method is invoked on the JavaFX application thread while a timer is running. All
+   * targets receive the exact same timestamp within a given frame. Implementations are expected
+   * to only modify the scene graph when their displayed state actually changes.</p>
+   *
+   * <p>Each target reports the earliest point in time at which its displayed information may
+   * change. The scheduler will not refresh any targets before the earliest of these points has
+   * been reached. Targets which display rapidly changing information may simply return a
+   * timestamp within the next frame in order to be refreshed on every pulse.</p>
+   *
+   * @param now the frame timestamp (as provided by the clock of the time manager).
+   * @return the timestamp at which this target has to be refreshed next or {@link #NEVER}.
+   */
+  long render(long now);
+}